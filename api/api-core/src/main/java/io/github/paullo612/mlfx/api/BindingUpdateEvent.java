@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event of FXML binding expression recomputation.
+ *
+ * <p>Emitted by binding expressions of documents compiled with {@code micronaut.mlfx.flightRecorderEvents} annotation
+ * processor option set to {@code true}. Only recomputations that took longer than threshold (1 ms by default) are
+ * recorded.</p>
+ *
+ * <p>Intended to be used by generated code.</p>
+ *
+ * @author Paullo612
+ */
+@Name(BindingUpdateEvent.NAME)
+@Label("Binding Update")
+@Category("mlfx")
+@Description("Recomputation of FXML binding expression")
+@Threshold("1 ms")
+public final class BindingUpdateEvent extends Event {
+
+    /**
+     * Name of event.
+     */
+    public static final String NAME = "io.github.paullo612.mlfx.BindingUpdate";
+
+    @Label("Expression")
+    @Description("Binding expression text")
+    private String expression;
+
+    @Label("Step")
+    @Description("Step recomputation started from; 0 recomputes whole expression")
+    private int step;
+
+    /**
+     * Ends event and commits it, if it should be recorded.
+     *
+     * @param expression binding expression text
+     * @param step step recomputation started from
+     */
+    public void commit(String expression, int step) {
+        end();
+
+        if (shouldCommit()) {
+            this.expression = expression;
+            this.step = step;
+            commit();
+        }
+    }
+}
@@ -42,4 +42,27 @@ public @interface CompileFXML {
      * @return FXML files charset
      */
     String charset() default "UTF-8";
+
+    /**
+     * Returns base names of resource bundles to compile.
+     *
+     * <p>Each bundle's {@code .properties} files (one per locale) are looked up in resources directory and compiled to
+     * {@link CompiledResourceBundle} subclasses. Resource keys ({@code %key} attribute values) of FXML files found in
+     * compiled bundles are resolved by key index at runtime if document is loaded with one of compiled bundles. Other
+     * keys are resolved by name at runtime.</p>
+     *
+     * @return base names of resource bundles to compile
+     */
+    String[] resourceBundles() default {};
+
+    /**
+     * Returns whether resource keys of FXML files should be checked against compiled resource bundles.
+     *
+     * <p>If {@code true}, and there is at least one compiled resource bundle, resource key that is not found in any of
+     * compiled bundles is a compile error. Should not be enabled if documents are loaded with resource bundles that
+     * are not compiled (e.g. ones specified by {@code fx:include}'s {@code resources} attribute).</p>
+     *
+     * @return whether resource keys should be checked against compiled resource bundles
+     */
+    boolean checkResourceKeys() default false;
 }
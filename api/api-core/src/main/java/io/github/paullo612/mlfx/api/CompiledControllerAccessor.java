@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Base class for controller accessors generated by mlfx compiler.
+ *
+ * <p>Generated accessor is placed into controller's package, so, it reaches controller's constructor and non-private
+ * {@code @FXML} annotated fields and methods directly, without reflection. Fields and methods are addressed by index,
+ * names and parameter types are only compared to find that index.</p>
+ *
+ * <p>Intended to be extended by generated code.</p>
+ *
+ * @param <C> controller type
+ *
+ * @author Paullo612
+ */
+public abstract class CompiledControllerAccessor<C> implements ControllerAccessor<C> {
+
+    private final Class<C> controllerClass;
+    private final String[] fieldNames;
+    private final String[] methodNames;
+    private final Class<?>[][] methodParameterTypes;
+
+    /**
+     * Creates new compiled controller accessor.
+     *
+     * @param controllerClass {@code Class} of controller type
+     * @param fieldNames sorted names of accessible fields
+     * @param methodNames names of accessible methods
+     * @param methodParameterTypes parameter types of accessible methods, by method index
+     */
+    protected CompiledControllerAccessor(
+            Class<C> controllerClass,
+            String[] fieldNames,
+            String[] methodNames,
+            Class<?>[][] methodParameterTypes) {
+        if (methodNames.length != methodParameterTypes.length) {
+            throw new IllegalArgumentException("Method names and parameter types count differ.");
+        }
+
+        this.controllerClass = Objects.requireNonNull(controllerClass);
+        this.fieldNames = fieldNames;
+        this.methodNames = methodNames;
+        this.methodParameterTypes = methodParameterTypes;
+    }
+
+    /**
+     * Creates controller instance by calling controller's no-args constructor.
+     *
+     * @return new controller instance
+     *
+     * @throws CompiledLoadException in case controller has no accessible no-args constructor
+     */
+    protected abstract C instantiate() throws CompiledLoadException;
+
+    /**
+     * Sets controller field by index.
+     *
+     * @param controller controller instance
+     * @param index field index
+     * @param value field's new value
+     */
+    protected abstract void setField(C controller, int index, Object value);
+
+    /**
+     * Calls controller method by index.
+     *
+     * @param controller controller instance
+     * @param index method index
+     * @param arguments arguments to pass
+     */
+    protected abstract void executeMethod(C controller, int index, Object[] arguments);
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        }
+
+        return Double.class;
+    }
+
+    private CompiledLoadException methodNotFound(String methodName) {
+        return new CompiledLoadException(
+                "Unable to find method \"" + methodName + "\" with compatible signature in class \""
+                        + controllerClass.getName() + "\"."
+        );
+    }
+
+    @Override
+    public Class<C> getControllerClass() {
+        return controllerClass;
+    }
+
+    @Override
+    public C newControllerInstance() throws CompiledLoadException {
+        return instantiate();
+    }
+
+    @Override
+    public void setField(C controller, String fieldName, Object value) throws CompiledLoadException {
+        int index = Arrays.binarySearch(fieldNames, fieldName);
+
+        if (index < 0) {
+            throw new CompiledLoadException(
+                    "Unable to find property \"" + fieldName + "\" in class \"" + controllerClass.getName() + "\"."
+            );
+        }
+
+        try {
+            setField(controller, index, value);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new CompiledLoadException(
+                    "Unable to set property \"" + fieldName + "\" of class \"" + controllerClass.getName() + "\".", e
+            );
+        }
+    }
+
+    @Override
+    public void executeMethod(C controller, String methodName, Object... arguments) throws CompiledLoadException {
+        for (int i = 0; i < methodNames.length; ++i) {
+            if (!methodNames[i].equals(methodName) || methodParameterTypes[i].length != arguments.length) {
+                continue;
+            }
+
+            boolean compatible = true;
+
+            for (int j = 0; j < arguments.length && compatible; ++j) {
+                Class<?> parameterType = methodParameterTypes[i][j];
+
+                compatible = arguments[j] != null
+                        ? box(parameterType).isInstance(arguments[j])
+                        : !parameterType.isPrimitive();
+            }
+
+            if (compatible) {
+                executeMethod(controller, i, arguments);
+                return;
+            }
+        }
+
+        throw methodNotFound(methodName);
+    }
+
+    @Override
+    public ExecutableMethod findMethod(C controller, String methodName, Class<?>... argumentTypes)
+            throws CompiledLoadException {
+        for (int i = 0; i < methodNames.length; ++i) {
+            if (!methodNames[i].equals(methodName) || methodParameterTypes[i].length != argumentTypes.length) {
+                continue;
+            }
+
+            boolean compatible = true;
+
+            for (int j = 0; j < argumentTypes.length && compatible; ++j) {
+                compatible = methodParameterTypes[i][j].isAssignableFrom(argumentTypes[j]);
+            }
+
+            if (compatible) {
+                int index = i;
+
+                return arguments -> executeMethod(controller, index, arguments);
+            }
+        }
+
+        throw methodNotFound(methodName);
+    }
+}
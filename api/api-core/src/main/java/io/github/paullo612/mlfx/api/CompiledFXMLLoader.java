@@ -15,7 +15,11 @@
  */
 package io.github.paullo612.mlfx.api;
 
+import javafx.util.Callback;
+
 import java.net.URI;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -34,6 +38,55 @@ public abstract class CompiledFXMLLoader<R, C> {
      */
     public static final int ABI_VERSION = 0;
 
+    private static volatile LoadListener loadListener = LoadListener.NO_OP;
+    private static volatile boolean flightRecorderRecording;
+
+    // NB: Load listener, live registry and flight recorder are folded into single flag, so, unobserved load costs one
+    //  volatile read.
+    private static volatile boolean loadObserved;
+
+    /**
+     * Returns listener of document loads.
+     *
+     * @return listener of document loads
+     */
+    public static LoadListener getLoadListener() {
+        return loadListener;
+    }
+
+    /**
+     * Sets listener of document loads. Documents are measured only while listener other than
+     * {@link LoadListener#NO_OP} is set.
+     *
+     * @param loadListener listener of document loads
+     */
+    public static void setLoadListener(LoadListener loadListener) {
+        CompiledFXMLLoader.loadListener = Objects.requireNonNull(loadListener);
+        updateLoadObserved();
+    }
+
+    private static synchronized void updateLoadObserved() {
+        loadObserved = loadListener != LoadListener.NO_OP || LiveObjects.isTracking() || flightRecorderRecording;
+    }
+
+    static void setFlightRecorderRecording(boolean flightRecorderRecording) {
+        CompiledFXMLLoader.flightRecorderRecording = flightRecorderRecording;
+        updateLoadObserved();
+    }
+
+    static void liveObjectsTrackingChanged() {
+        updateLoadObserved();
+    }
+
+    /**
+     * Creates loader.
+     */
+    protected CompiledFXMLLoader() {
+        if (emitsFlightRecorderEvents()) {
+            FlightRecorderObserver.install();
+        }
+    }
+
     /**
      * Loads AOT compiled FXML file.
      *
@@ -52,6 +105,117 @@ public abstract class CompiledFXMLLoader<R, C> {
             Object externalController,
             Object rootInstance,
             ResourceBundle resourceBundle) throws CompiledLoadException {
+        if (!loadObserved) {
+            return load(controllerAccessorFactory, externalController, rootInstance, resourceBundle, null);
+        }
+
+        LoadListener listener = loadListener;
+        DocumentLoadEvent event = flightRecorderRecording && emitsFlightRecorderEvents()
+                ? new DocumentLoadEvent()
+                : null;
+
+        if (event != null && !event.isEnabled()) {
+            event = null;
+        }
+
+        if (listener == LoadListener.NO_OP && event == null) {
+            Result<R, C> result = load(
+                    controllerAccessorFactory,
+                    externalController,
+                    rootInstance,
+                    resourceBundle,
+                    null
+            );
+
+            if (LiveObjects.isTracking()) {
+                LiveObjects.trackDocument(getURI(), result.getRootInstance());
+            }
+
+            return result;
+        }
+
+        LoadRecorder recorder = LoadRecorder.start(listener);
+
+        if (event != null) {
+            event.begin();
+        }
+
+        try {
+            Result<R, C> result = load(
+                    controllerAccessorFactory,
+                    externalController,
+                    rootInstance,
+                    resourceBundle,
+                    recorder
+            );
+
+            URI uri = getURI();
+            recorder.finish(uri);
+
+            if (event != null) {
+                event.commit(uri, recorder.getDepth());
+            }
+
+            if (LiveObjects.isTracking()) {
+                LiveObjects.trackDocument(uri, result.getRootInstance());
+            }
+
+            return result;
+        } finally {
+            recorder.close();
+        }
+    }
+
+    /**
+     * Loads AOT compiled FXML file included by another AOT compiled FXML file.
+     *
+     * <p>Same as {@link #load(ControllerAccessorFactory, Object, Object, ResourceBundle)} without external controller
+     * and root instance, but skips argument checks that always pass for included documents, unless loads are
+     * observed (i.e. load listener is set, JDK Flight Recorder is recording or live registry is registered).</p>
+     *
+     * <p>Intended to be called by generated code.</p>
+     *
+     * @param controllerAccessorFactory factory for controller accessors
+     * @param resourceBundle resource bundle or {@code null}
+     * @return load result
+     *
+     * @throws CompiledLoadException in case of load failure
+     */
+    public final Result<R, C> loadIncluded(
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle) throws CompiledLoadException {
+        if (loadObserved) {
+            return load(controllerAccessorFactory, null, null, resourceBundle);
+        }
+
+        if (requiresResourceBundle() && resourceBundle == null) {
+            throw new CompiledLoadException("Resource bundle required, but none provided.");
+        }
+
+        Optional<Class<C>> optionalControllerClass = getControllerClass();
+
+        if (optionalControllerClass.isPresent()) {
+            ControllerAccessor<C> accessor =
+                    controllerAccessorFactory.createControllerAccessor(optionalControllerClass.get());
+
+            return doLoad(
+                    controllerAccessorFactory,
+                    resourceBundle,
+                    null,
+                    accessor,
+                    newController(controllerAccessorFactory, accessor)
+            );
+        }
+
+        return doLoad(controllerAccessorFactory, resourceBundle, null, null, null);
+    }
+
+    private Result<R, C> load(
+            ControllerAccessorFactory controllerAccessorFactory,
+            Object externalController,
+            Object rootInstance,
+            ResourceBundle resourceBundle,
+            LoadRecorder recorder) throws CompiledLoadException {
         if (getABIVersion() > ABI_VERSION) {
             // We're not forward compatible. Sorry.
             throw new CompiledLoadException(
@@ -99,6 +263,7 @@ public abstract class CompiledFXMLLoader<R, C> {
         if (optionalControllerClass.isPresent()) {
             ControllerAccessor<C> accessor;
             C controllerInstance;
+            long controllerCreationStartNanos = recorder != null ? System.nanoTime() : 0;
 
             Class<C> controllerClass = optionalControllerClass.get();
             boolean requiresExternalController = requiresExternalController();
@@ -126,11 +291,12 @@ public abstract class CompiledFXMLLoader<R, C> {
                 }
 
                 accessor = controllerAccessorFactory.createControllerAccessor(controllerClass);
-                // Controller is required, but none provided. Create one. Create it directly if we're able to do so and
-                //  there is no controller factory specified. Fallback to accessor otherwise.
-                controllerInstance = canCreateController() && !controllerAccessorFactory.isBackedByControllerFactory()
-                        ? createController()
-                        : accessor.newControllerInstance();
+                controllerInstance = newController(controllerAccessorFactory, accessor);
+            }
+
+            if (recorder != null) {
+                recorder.controllerCreated(System.nanoTime() - controllerCreationStartNanos);
+                accessor = recorder.wrap(accessor);
             }
 
             return doLoad(controllerAccessorFactory, resourceBundle, castRoot, accessor, controllerInstance);
@@ -144,6 +310,16 @@ public abstract class CompiledFXMLLoader<R, C> {
         return doLoad(controllerAccessorFactory, resourceBundle, castRoot, null, null);
     }
 
+    private C newController(
+            ControllerAccessorFactory controllerAccessorFactory,
+            ControllerAccessor<C> accessor) throws CompiledLoadException {
+        // Controller is required, but none provided. Create one. Create it directly if we're able to do so and there is
+        //  no controller factory specified. Fallback to accessor otherwise.
+        return canCreateController() && !controllerAccessorFactory.isBackedByControllerFactory()
+                ? createController()
+                : accessor.newControllerInstance();
+    }
+
     /**
      * Loads AOT compiled FXML file.
      *
@@ -167,6 +343,52 @@ public abstract class CompiledFXMLLoader<R, C> {
             ControllerAccessor<C> accessor,
             C controller) throws CompiledLoadException;
 
+    /**
+     * Creates cell factory of cell template document.
+     *
+     * <p>Cell template document is marked by {@code mlfxCellType} processing instruction. Each cell created by returned
+     * factory loads document once, when it gets its first non-null item, and shows document's root as its graphic.
+     * Document's bindings observe cell's item, so, cells are updated without reloading document.</p>
+     *
+     * @param controllerAccessorFactory factory for controller accessors
+     * @param resourceBundle resource bundle or {@code null}
+     * @return cell factory
+     * @param <V> view type
+     * @param <T> cell type
+     *
+     * @throws CompiledLoadException if document is not a cell template, or it requires resource bundle, but none
+     *         provided
+     */
+    @SuppressWarnings("unchecked")
+    public <V, T> Callback<V, T> createCellFactory(
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle) throws CompiledLoadException {
+        if (requiresResourceBundle() && resourceBundle == null) {
+            throw new CompiledLoadException("Resource bundle required, but none provided.");
+        }
+
+        return (Callback<V, T>) doCreateCellFactory(controllerAccessorFactory, resourceBundle);
+    }
+
+    /**
+     * Creates cell factory of cell template document.
+     *
+     * <p>Intended to be implemented by generated code.</p>
+     *
+     * @param controllerAccessorFactory factory for controller accessors
+     * @param resourceBundle resource bundle or {@code null}
+     * @return cell factory
+     *
+     * @throws CompiledLoadException if document is not a cell template
+     */
+    protected Callback<?, ?> doCreateCellFactory(
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle) throws CompiledLoadException {
+        throw new CompiledLoadException(
+                "Document is not a cell template; There is no \"mlfxCellType\" processing instruction in document."
+        );
+    }
+
     /**
      * Returns ABI version of loader.
      *
@@ -242,6 +464,17 @@ public abstract class CompiledFXMLLoader<R, C> {
         return false;
     }
 
+    /**
+     * Whether this loader emits JDK Flight Recorder events.
+     *
+     * <p>Intended to be implemented by generated code.</p>
+     *
+     * @return {@code true} if this loader emits {@link DocumentLoadEvent}s, {@code false} otherwise
+     */
+    public boolean emitsFlightRecorderEvents() {
+        return false;
+    }
+
     /**
      * Creates controller.
      *
@@ -279,4 +512,96 @@ public abstract class CompiledFXMLLoader<R, C> {
             }
         };
     }
+
+    /**
+     * Creates {@link Result} instance that is able to relocalize document.
+     *
+     * @param rootInstance document's root element
+     * @param controller document's controller
+     * @param localizedTargets objects resource values were applied to, in order {@link #relocalize(List,
+     *                         ResourceBundle)} expects them
+     *
+     * @return new {@link Result} instance
+     */
+    protected Result<R, C> createResult(R rootInstance, C controller, List<Object> localizedTargets) {
+        return new Result<>() {
+
+            @Override
+            public R getRootInstance() {
+                return rootInstance;
+            }
+
+            @Override
+            public C getController() {
+                return controller;
+            }
+
+            @Override
+            public void relocalize(ResourceBundle resourceBundle) throws CompiledLoadException {
+                if (resourceBundle == null) {
+                    throw new CompiledLoadException("Resource bundle required, but none provided.");
+                }
+
+                CompiledFXMLLoader.this.relocalize(localizedTargets, resourceBundle);
+            }
+        };
+    }
+
+    /**
+     * Creates {@link Result} instance with fx:id namespace object.
+     *
+     * @param rootInstance document's root element
+     * @param controller document's controller
+     * @param localizedTargets objects resource values were applied to, in order {@link #relocalize(List,
+     *                         ResourceBundle)} expects them, or {@code null} if document is not relocalizable
+     * @param namespace document's fx:id namespace object
+     *
+     * @return new {@link Result} instance
+     */
+    protected Result<R, C> createResult(R rootInstance, C controller, List<Object> localizedTargets, Object namespace) {
+        return new Result<>() {
+
+            @Override
+            public R getRootInstance() {
+                return rootInstance;
+            }
+
+            @Override
+            public C getController() {
+                return controller;
+            }
+
+            @Override
+            public Object getNamespace() {
+                return namespace;
+            }
+
+            @Override
+            public void relocalize(ResourceBundle resourceBundle) throws CompiledLoadException {
+                if (localizedTargets == null) {
+                    return;
+                }
+
+                if (resourceBundle == null) {
+                    throw new CompiledLoadException("Resource bundle required, but none provided.");
+                }
+
+                CompiledFXMLLoader.this.relocalize(localizedTargets, resourceBundle);
+            }
+        };
+    }
+
+    /**
+     * Re-applies resource values to objects of loaded document.
+     *
+     * <p>Intended to be implemented by generated code.</p>
+     *
+     * @param localizedTargets objects resource values were applied to on load
+     * @param resourceBundle resource bundle to take values from
+     *
+     * @throws CompiledLoadException if resource bundle lacks some of document's resource keys
+     */
+    protected void relocalize(List<Object> localizedTargets, ResourceBundle resourceBundle)
+            throws CompiledLoadException {
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * Base class for resource bundles compiled from {@code .properties} files.
+ *
+ * <p>All locales of one bundle family share the same sorted key array, so, generated loaders address values by key
+ * index instead of hash lookup. Generated classes are named after bundle's base name and locale, same as
+ * {@code .properties} files they are compiled from, so, {@code ResourceBundle.getBundle} finds them before
+ * {@code .properties} files.</p>
+ *
+ * <p>Intended to be extended by generated code.</p>
+ *
+ * @author Paullo612
+ */
+public abstract class CompiledResourceBundle extends ResourceBundle {
+
+    private final String[] keys;
+    private final String[] values;
+
+    /**
+     * Creates new compiled resource bundle.
+     *
+     * @param keys sorted keys of bundle family
+     * @param values values by key index, {@code null} for keys this locale does not define
+     */
+    protected CompiledResourceBundle(String[] keys, String[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values count differ.");
+        }
+
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Returns value by key index, consulting parent bundles if this locale does not define one.
+     *
+     * @param index key index in bundle family
+     * @return value or {@code null} if neither this bundle nor its parents define one
+     */
+    public final String findString(int index) {
+        String value = values[index];
+
+        if (value != null) {
+            return value;
+        }
+
+        if (parent instanceof CompiledResourceBundle && ((CompiledResourceBundle) parent).keys == keys) {
+            return ((CompiledResourceBundle) parent).findString(index);
+        }
+
+        if (parent != null && parent.containsKey(keys[index])) {
+            return parent.getString(keys[index]);
+        }
+
+        return null;
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+
+        int index = Arrays.binarySearch(keys, key);
+
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    protected Set<String> handleKeySet() {
+        Set<String> keySet = new LinkedHashSet<>();
+
+        for (int i = 0; i < keys.length; ++i) {
+            if (values[i] != null) {
+                keySet.add(keys[i]);
+            }
+        }
+
+        return keySet;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+        Set<String> keySet = handleKeySet();
+
+        if (parent != null) {
+            keySet.addAll(Collections.list(parent.getKeys()));
+        }
+
+        return Collections.enumeration(keySet);
+    }
+}
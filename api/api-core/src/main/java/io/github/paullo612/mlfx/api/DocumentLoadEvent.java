@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.net.URI;
+
+/**
+ * JDK Flight Recorder event of AOT compiled FXML document load.
+ *
+ * <p>Emitted by loaders of documents compiled with {@code micronaut.mlfx.flightRecorderEvents} annotation processor
+ * option set to {@code true}. Event's duration is time of document load, including loads of its included
+ * documents.</p>
+ *
+ * @author Paullo612
+ */
+@Name(DocumentLoadEvent.NAME)
+@Label("Document Load")
+@Category("mlfx")
+@Description("Load of AOT compiled FXML document")
+public final class DocumentLoadEvent extends Event {
+
+    /**
+     * Name of event.
+     */
+    public static final String NAME = "io.github.paullo612.mlfx.DocumentLoad";
+
+    @Label("URI")
+    @Description("Original URI of loaded document")
+    private String uri;
+
+    @Label("Include Depth")
+    @Description("Depth of document in include hierarchy; 0 for top level documents")
+    private int includeDepth;
+
+    void commit(URI uri, int includeDepth) {
+        end();
+
+        if (shouldCommit()) {
+            this.uri = uri.toString();
+            this.includeDepth = includeDepth;
+            commit();
+        }
+    }
+}
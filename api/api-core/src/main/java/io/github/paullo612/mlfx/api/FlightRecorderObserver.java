@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+// NB: Only checked event instance knows whether it is enabled, so, loads do not allocate events unless there is
+//  running recording. This class is only initialized by loaders that emit events, as jdk.jfr module is optional.
+final class FlightRecorderObserver implements FlightRecorderListener {
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderObserver());
+    }
+
+    // Starts tracking recordings. Does nothing if tracking is started already.
+    static void install() {
+        // Class initializer does the job.
+    }
+
+    private static void update() {
+        boolean recording = FlightRecorder.isInitialized() && FlightRecorder.getFlightRecorder().getRecordings()
+                .stream()
+                .anyMatch(r -> r.getState() == RecordingState.RUNNING);
+
+        CompiledFXMLLoader.setFlightRecorderRecording(recording);
+    }
+
+    private FlightRecorderObserver() {
+    }
+
+    @Override
+    public void recorderInitialized(FlightRecorder recorder) {
+        update();
+    }
+
+    @Override
+    public void recordingStateChanged(Recording recording) {
+        update();
+    }
+}
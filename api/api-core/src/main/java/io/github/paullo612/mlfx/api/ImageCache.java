@@ -0,0 +1,303 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Shared cache of images declared in AOT compiled FXML documents.
+ *
+ * <p>Images declared with constant arguments (e.g. {@code <Image url="@icons/save.png"/>}) in documents with
+ * {@code mlfxImageCache} processing instruction are looked up in this cache instead of being decoded on each document
+ * load. Images are keyed by URL and requested size, and are shared between all documents that declare them, so, same
+ * image is decoded once and its pixels are held once.</p>
+ *
+ * <p>Cache is bounded by total size of decoded pixels of its images. Least recently used images are evicted first.
+ * Images that failed to load are not cached, and ones loaded in background are evicted once they fail. Images
+ * loaded in background are accounted once they are loaded. Setting maximum size to {@code 0} disables
+ * caching.</p>
+ *
+ * <p>Intended to be used by generated code.</p>
+ *
+ * @author Paullo612
+ */
+public final class ImageCache {
+
+    /**
+     * Default maximum size of cache's images in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 64L * 1024 * 1024;
+
+    private static final class Key {
+
+        private final String url;
+        private final double requestedWidth;
+        private final double requestedHeight;
+        private final boolean preserveRatio;
+        private final boolean smooth;
+
+        Key(String url, double requestedWidth, double requestedHeight, boolean preserveRatio, boolean smooth) {
+            this.url = url;
+            this.requestedWidth = requestedWidth;
+            this.requestedHeight = requestedHeight;
+            this.preserveRatio = preserveRatio;
+            this.smooth = smooth;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return url.equals(other.url)
+                    && Double.compare(requestedWidth, other.requestedWidth) == 0
+                    && Double.compare(requestedHeight, other.requestedHeight) == 0
+                    && preserveRatio == other.preserveRatio
+                    && smooth == other.smooth;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, requestedWidth, requestedHeight, preserveRatio, smooth);
+        }
+    }
+
+    // NB: Access ordered, so, iteration starts from least recently used image.
+    private static final Map<Key, Image> IMAGES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static volatile long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * Returns maximum size of cache's images in bytes.
+     *
+     * @return maximum size of cache's images in bytes
+     */
+    public static long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets maximum size of cache's images in bytes. Evicts least recently used images, if cache's images do not fit
+     * into new size.
+     *
+     * @param maximumSize maximum size of cache's images in bytes
+     */
+    public static void setMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative.");
+        }
+
+        ImageCache.maximumSize = maximumSize;
+
+        synchronized (IMAGES) {
+            trim();
+        }
+    }
+
+    /**
+     * Evicts all images from cache.
+     */
+    public static void clear() {
+        synchronized (IMAGES) {
+            IMAGES.clear();
+        }
+    }
+
+    /**
+     * Returns cached image or loads it, as {@link Image#Image(String)} does.
+     *
+     * @param url image URL
+     * @return image
+     */
+    public static Image get(String url) {
+        return get(url, 0, 0, false, false, false);
+    }
+
+    /**
+     * Returns cached image or loads it, as {@link Image#Image(String, boolean)} does.
+     *
+     * @param url image URL
+     * @param backgroundLoading whether image is loaded in background
+     * @return image
+     */
+    public static Image get(String url, boolean backgroundLoading) {
+        return get(url, 0, 0, false, false, backgroundLoading);
+    }
+
+    /**
+     * Returns cached image or loads it, as {@link Image#Image(String, double, double, boolean, boolean)} does.
+     *
+     * @param url image URL
+     * @param requestedWidth image's bounding box width
+     * @param requestedHeight image's bounding box height
+     * @param preserveRatio whether to preserve image's aspect ratio when scaling it to bounding box
+     * @param smooth whether to use better quality filtering algorithm when scaling image
+     * @return image
+     */
+    public static Image get(
+            String url,
+            double requestedWidth,
+            double requestedHeight,
+            boolean preserveRatio,
+            boolean smooth) {
+        return get(url, requestedWidth, requestedHeight, preserveRatio, smooth, false);
+    }
+
+    /**
+     * Returns cached image or loads it, as {@link Image#Image(String, double, double, boolean, boolean, boolean)}
+     * does. Background loading does not make a difference for cached images.
+     *
+     * @param url image URL
+     * @param requestedWidth image's bounding box width
+     * @param requestedHeight image's bounding box height
+     * @param preserveRatio whether to preserve image's aspect ratio when scaling it to bounding box
+     * @param smooth whether to use better quality filtering algorithm when scaling image
+     * @param backgroundLoading whether image is loaded in background
+     * @return image
+     */
+    public static Image get(
+            String url,
+            double requestedWidth,
+            double requestedHeight,
+            boolean preserveRatio,
+            boolean smooth,
+            boolean backgroundLoading) {
+        if (url == null || maximumSize == 0) {
+            // Let Image report null URL the usual way.
+            return new Image(
+                    url,
+                    requestedWidth,
+                    requestedHeight,
+                    preserveRatio,
+                    smooth,
+                    backgroundLoading
+            );
+        }
+
+        Key key = new Key(url, requestedWidth, requestedHeight, preserveRatio, smooth);
+
+        synchronized (IMAGES) {
+            Image image = IMAGES.get(key);
+
+            if (image != null) {
+                if (!image.isError()) {
+                    return image;
+                }
+
+                IMAGES.remove(key);
+            }
+        }
+
+        // NB: Decode outside of lock, so, documents loaded concurrently do not wait for each other's images.
+        Image image = new Image(
+                url,
+                requestedWidth,
+                requestedHeight,
+                preserveRatio,
+                smooth,
+                backgroundLoading
+        );
+
+        if (image.isError()) {
+            return image;
+        }
+
+        synchronized (IMAGES) {
+            Image cachedImage = IMAGES.putIfAbsent(key, image);
+
+            if (cachedImage != null) {
+                return cachedImage;
+            }
+
+            trim();
+        }
+
+        if (image.getProgress() < 1) {
+            // NB: Images loaded in background have neither size nor error till they are loaded. Account them once
+            //  they are. Listener is added before progress is checked again, so, completion can't be missed.
+            InvalidationListener listener = new InvalidationListener() {
+
+                @Override
+                public void invalidated(Observable observable) {
+                    if (image.getProgress() < 1 && !image.isError()) {
+                        return;
+                    }
+
+                    image.progressProperty().removeListener(this);
+                    image.errorProperty().removeListener(this);
+
+                    synchronized (IMAGES) {
+                        if (image.isError()) {
+                            IMAGES.remove(key, image);
+                        } else {
+                            trim();
+                        }
+                    }
+                }
+            };
+
+            image.progressProperty().addListener(listener);
+            image.errorProperty().addListener(listener);
+            listener.invalidated(image.progressProperty());
+        }
+
+        return image;
+    }
+
+    private static long sizeOf(Image image) {
+        // NB: Images loaded in background have no size till they are loaded. Cache is trimmed again once they are.
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    private static void trim() {
+        assert Thread.holdsLock(IMAGES);
+
+        long size = 0;
+
+        for (Iterator<Image> it = IMAGES.values().iterator(); it.hasNext(); ) {
+            Image image = it.next();
+
+            // NB: Images loaded in background may fail after they were cached.
+            if (image.isError()) {
+                it.remove();
+                continue;
+            }
+
+            size += sizeOf(image);
+        }
+
+        Iterator<Image> it = IMAGES.values().iterator();
+
+        while (size > maximumSize && it.hasNext()) {
+            size -= sizeOf(it.next());
+            it.remove();
+        }
+    }
+
+    private ImageCache() {
+        super();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * Content of compiled FXML document which construction is deferred till trigger property becomes {@code true}.
+ *
+ * <p>Lazy content is marked by {@code mlfxLazy} processing instruction. It is constructed at most once, when trigger
+ * property (e.g. {@code Tab}'s {@code selected} or {@code TitledPane}'s {@code expanded} property) of its owner becomes
+ * {@code true}, or right away, if trigger property is already {@code true} when document is loaded.</p>
+ *
+ * <p>Lazy content takes part in document's relocalization: content that is not constructed yet is constructed with
+ * the latest resource bundle, and resource values of already constructed content are re-applied.</p>
+ *
+ * <p>Intended to be used by generated code.</p>
+ *
+ * @author Paullo612
+ */
+public final class LazyContent implements ChangeListener<Boolean> {
+
+    /**
+     * Constructs lazy content and applies it to its owner.
+     *
+     * @author Paullo612
+     */
+    @FunctionalInterface
+    public interface Initializer {
+
+        /**
+         * Constructs lazy content and applies it to its owner.
+         *
+         * @param resourceBundle resource bundle to construct lazy content with
+         * @param localizedTargets list to add objects resource values were applied to, or {@code null} if lazy
+         *                         content is not relocalizable
+         * @throws CompiledLoadException if an error occurs during lazy content construction
+         */
+        void initialize(ResourceBundle resourceBundle, List<Object> localizedTargets) throws CompiledLoadException;
+    }
+
+    /**
+     * Re-applies resource values to objects of constructed lazy content.
+     *
+     * @author Paullo612
+     */
+    @FunctionalInterface
+    public interface Relocalizer {
+
+        /**
+         * Re-applies resource values to objects of constructed lazy content.
+         *
+         * @param localizedTargets objects resource values were applied to on construction
+         * @param resourceBundle resource bundle to take values from
+         * @throws CompiledLoadException if resource bundle lacks some of lazy content's resource keys
+         */
+        void relocalize(List<Object> localizedTargets, ResourceBundle resourceBundle) throws CompiledLoadException;
+    }
+
+    /**
+     * Installs lazy content initializer.
+     *
+     * @param trigger trigger property
+     * @param resourceBundle resource bundle to construct lazy content with
+     * @param initializer lazy content initializer
+     * @param relocalizer lazy content relocalizer, or {@code null} if lazy content is not relocalizable
+     * @return installed lazy content
+     * @throws CompiledLoadException if trigger property is already {@code true} and an error occurs during lazy
+     *  content construction
+     */
+    public static LazyContent install(
+            ObservableValue<Boolean> trigger,
+            ResourceBundle resourceBundle,
+            Initializer initializer,
+            Relocalizer relocalizer) throws CompiledLoadException {
+        LazyContent lazyContent = new LazyContent(resourceBundle, initializer, relocalizer);
+
+        if (Boolean.TRUE.equals(trigger.getValue())) {
+            lazyContent.initialize();
+            return lazyContent;
+        }
+
+        trigger.addListener(lazyContent);
+        return lazyContent;
+    }
+
+    private final Relocalizer relocalizer;
+    private final List<Object> localizedTargets;
+    private ResourceBundle resourceBundle;
+    private Initializer initializer;
+    private boolean initialized;
+
+    private LazyContent(ResourceBundle resourceBundle, Initializer initializer, Relocalizer relocalizer) {
+        this.relocalizer = relocalizer;
+        this.localizedTargets = relocalizer != null ? new ArrayList<>() : null;
+        this.resourceBundle = resourceBundle;
+        this.initializer = initializer;
+    }
+
+    private void initialize() throws CompiledLoadException {
+        Initializer initializer = this.initializer;
+        this.initializer = null;
+
+        initializer.initialize(resourceBundle, localizedTargets);
+        initialized = true;
+    }
+
+    /**
+     * Relocalizes lazy content.
+     *
+     * <p>If lazy content is not constructed yet, it will be constructed with given resource bundle. Otherwise, its
+     * resource values are re-applied.</p>
+     *
+     * @param resourceBundle resource bundle to take values from
+     * @throws CompiledLoadException if resource bundle lacks some of lazy content's resource keys
+     */
+    public void relocalize(ResourceBundle resourceBundle) throws CompiledLoadException {
+        this.resourceBundle = resourceBundle;
+
+        if (initialized && relocalizer != null) {
+            relocalizer.relocalize(localizedTargets, resourceBundle);
+        }
+    }
+
+    @Override
+    public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+        if (initializer == null || !Boolean.TRUE.equals(newValue)) {
+            return;
+        }
+
+        observable.removeListener(this);
+
+        try {
+            initialize();
+        } catch (CompiledLoadException e) {
+            throw new IllegalStateException("Failed to construct lazy content.", e);
+        }
+    }
+}
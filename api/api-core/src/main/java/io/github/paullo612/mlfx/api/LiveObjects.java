@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LiveObjects {
+
+    private static final class DocumentReference extends WeakReference<Object> {
+
+        private final String uri;
+
+        DocumentReference(Object rootInstance, URI uri, ReferenceQueue<Object> queue) {
+            super(rootInstance, queue);
+            this.uri = uri.toString();
+        }
+    }
+
+    // NB: Everything is referenced weakly, so, tracking never keeps documents or bindings alive. Cleared references
+    //  are expunged on each track and on each read.
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+    private static final Set<DocumentReference> DOCUMENTS = ConcurrentHashMap.newKeySet();
+    private static final Set<WeakReference<ObservableListenerHelperImpl>> BINDINGS = ConcurrentHashMap.newKeySet();
+
+    private static volatile boolean tracking;
+
+    static boolean isTracking() {
+        return tracking;
+    }
+
+    static void setTracking(boolean tracking) {
+        LiveObjects.tracking = tracking;
+        CompiledFXMLLoader.liveObjectsTrackingChanged();
+
+        if (!tracking) {
+            DOCUMENTS.clear();
+            BINDINGS.clear();
+        }
+    }
+
+    // NB: Tracking may be turned off after caller checked it, but before reference is added, so, reference added
+    //  after set is cleared is removed here. Either clear sees added reference, or this sees tracking turned off.
+    static void trackDocument(URI uri, Object rootInstance) {
+        expunge();
+
+        DocumentReference reference = new DocumentReference(rootInstance, uri, QUEUE);
+        DOCUMENTS.add(reference);
+
+        if (!tracking) {
+            DOCUMENTS.remove(reference);
+        }
+    }
+
+    static void trackBinding(ObservableListenerHelperImpl helper) {
+        expunge();
+
+        WeakReference<ObservableListenerHelperImpl> reference = new WeakReference<>(helper, QUEUE);
+        BINDINGS.add(reference);
+
+        if (!tracking) {
+            BINDINGS.remove(reference);
+        }
+    }
+
+    private static void expunge() {
+        Reference<?> reference;
+
+        while ((reference = QUEUE.poll()) != null) {
+            if (reference instanceof DocumentReference) {
+                DOCUMENTS.remove(reference);
+            } else {
+                BINDINGS.remove(reference);
+            }
+        }
+    }
+
+    static Map<String, Integer> countDocuments() {
+        Map<String, Integer> result = new TreeMap<>();
+
+        expunge();
+
+        for (DocumentReference reference : DOCUMENTS) {
+            if (reference.get() != null) {
+                result.merge(reference.uri, 1, Integer::sum);
+            }
+        }
+
+        return result;
+    }
+
+    static Map<String, Integer> countBindings() {
+        Map<String, Integer> result = new TreeMap<>();
+
+        expunge();
+
+        for (WeakReference<ObservableListenerHelperImpl> reference : BINDINGS) {
+            ObservableListenerHelperImpl helper = reference.get();
+
+            if (helper != null) {
+                result.merge(helper.getUpdater().getClass().getName(), 1, Integer::sum);
+            }
+        }
+
+        return result;
+    }
+
+    static int countListeners() {
+        expunge();
+
+        int result = 0;
+
+        for (WeakReference<ObservableListenerHelperImpl> reference : BINDINGS) {
+            ObservableListenerHelperImpl helper = reference.get();
+
+            if (helper != null) {
+                result += helper.getListenerCount();
+            }
+        }
+
+        return result;
+    }
+
+    private LiveObjects() {
+    }
+}
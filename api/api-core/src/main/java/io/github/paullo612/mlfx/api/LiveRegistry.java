@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Registry of live AOT compiled FXML documents and their binding expressions, exposed through JMX.
+ *
+ * <p>Once registered, registry tracks root instances of documents loaded by {@link CompiledFXMLLoader}s, binding
+ * expressions of loaded documents, and listeners those expressions register on observable values. Documents and
+ * expressions that are not reachable anymore disappear from registry once they are garbage collected, so, steadily
+ * growing counts point to leaked views. Objects are referenced weakly, so, registry never keeps them alive itself.</p>
+ *
+ * <p>Only objects created while registry is registered are tracked.</p>
+ *
+ * @author Paullo612
+ */
+public final class LiveRegistry implements LiveRegistryMXBean {
+
+    /**
+     * Object name registry is registered under.
+     */
+    public static final String OBJECT_NAME = "io.github.paullo612.mlfx:type=LiveRegistry";
+
+    /**
+     * Registers registry in platform MBean server and starts tracking. Does nothing if registry is registered already.
+     *
+     * @throws IllegalStateException if registry cannot be registered
+     */
+    public static synchronized void register() {
+        if (LiveObjects.isTracking()) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.registerMBean(new LiveRegistry(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by other copy of this class. Track anyway.
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register live registry.", e);
+        }
+
+        LiveObjects.setTracking(true);
+    }
+
+    /**
+     * Stops tracking and unregisters registry from platform MBean server. Does nothing if registry is not registered.
+     */
+    public static synchronized void unregister() {
+        if (!LiveObjects.isTracking()) {
+            return;
+        }
+
+        LiveObjects.setTracking(false);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (InstanceNotFoundException e) {
+            // Unregistered by someone else already.
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister live registry.", e);
+        }
+    }
+
+    /**
+     * Whether registry is registered and tracks documents.
+     *
+     * @return {@code true} if registry is registered, {@code false} otherwise
+     */
+    public static boolean isRegistered() {
+        return LiveObjects.isTracking();
+    }
+
+    private LiveRegistry() {
+    }
+
+    @Override
+    public Map<String, Integer> getLiveDocuments() {
+        return LiveObjects.countDocuments();
+    }
+
+    @Override
+    public int getLiveDocumentCount() {
+        return getLiveDocuments().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public Map<String, Integer> getLiveBindings() {
+        return LiveObjects.countBindings();
+    }
+
+    @Override
+    public int getLiveBindingCount() {
+        return getLiveBindings().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int getListenerCount() {
+        return LiveObjects.countListeners();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link LiveRegistry}.
+ *
+ * @author Paullo612
+ */
+public interface LiveRegistryMXBean {
+
+    /**
+     * Returns count of live loaded documents by document's original URI.
+     *
+     * @return count of live loaded documents by URI
+     */
+    Map<String, Integer> getLiveDocuments();
+
+    /**
+     * Returns total count of live loaded documents.
+     *
+     * @return total count of live loaded documents
+     */
+    int getLiveDocumentCount();
+
+    /**
+     * Returns count of live binding expressions by generated expression class name. Expression class is nested in
+     * loader of document expression is declared in.
+     *
+     * @return count of live binding expressions by class name
+     */
+    Map<String, Integer> getLiveBindings();
+
+    /**
+     * Returns total count of live binding expressions.
+     *
+     * @return total count of live binding expressions
+     */
+    int getLiveBindingCount();
+
+    /**
+     * Returns total count of listeners live binding expressions have registered on observable values.
+     *
+     * @return total count of listeners registered by live binding expressions
+     */
+    int getListenerCount();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+/**
+ * Listener of AOT compiled FXML document loads.
+ *
+ * <p>Listener is notified once top level document is loaded successfully. Loads of included documents are reported as
+ * part of including document's {@link LoadMetrics}. Documents are measured only while listener other than
+ * {@link #NO_OP} is set by {@link CompiledFXMLLoader#setLoadListener(LoadListener)}, so, there is no overhead
+ * otherwise.</p>
+ *
+ * <p>Listener is called on thread that loaded document, so, it should return quickly and should not throw.</p>
+ *
+ * @author Paullo612
+ */
+@FunctionalInterface
+public interface LoadListener {
+
+    /**
+     * Listener that does nothing. Disables load measurement.
+     */
+    LoadListener NO_OP = metrics -> { };
+
+    /**
+     * Called once top level document is loaded.
+     *
+     * @param metrics load metrics of document
+     */
+    void documentLoaded(LoadMetrics metrics);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Load metrics of AOT compiled FXML document.
+ *
+ * @author Paullo612
+ */
+public final class LoadMetrics {
+
+    private final URI uri;
+    private final long totalNanos;
+    private final long controllerCreationNanos;
+    private final int controllerAccessCount;
+    private final List<LoadMetrics> includes;
+
+    LoadMetrics(
+            URI uri,
+            long totalNanos,
+            long controllerCreationNanos,
+            int controllerAccessCount,
+            List<LoadMetrics> includes) {
+        this.uri = uri;
+        this.totalNanos = totalNanos;
+        this.controllerCreationNanos = controllerCreationNanos;
+        this.controllerAccessCount = controllerAccessCount;
+        this.includes = includes;
+    }
+
+    /**
+     * Returns original URI of loaded document.
+     *
+     * @return original URI of loaded document
+     */
+    public URI getURI() {
+        return uri;
+    }
+
+    /**
+     * Returns total time of document load in nanoseconds, including loads of its included documents.
+     *
+     * @return total time of document load in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns time spent to create document's controller and its accessor in nanoseconds, or {@code 0} if document
+     * has no controller.
+     *
+     * @return time spent to create document's controller in nanoseconds
+     */
+    public long getControllerCreationNanos() {
+        return controllerCreationNanos;
+    }
+
+    /**
+     * Returns count of controller fields set and controller methods looked up or called through controller accessor
+     * during document load. Whether these calls are reflective depends on controller accessor backend.
+     *
+     * @return count of calls to controller accessor
+     */
+    public int getControllerAccessCount() {
+        return controllerAccessCount;
+    }
+
+    /**
+     * Returns load metrics of documents included by this document, in order their loads were completed. Documents
+     * included by included documents are reported by included documents' metrics.
+     *
+     * @return load metrics of included documents
+     */
+    public List<LoadMetrics> getIncludes() {
+        return includes;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadMetrics{"
+                + "uri=" + uri
+                + ", totalNanos=" + totalNanos
+                + ", controllerCreationNanos=" + controllerCreationNanos
+                + ", controllerAccessCount=" + controllerAccessCount
+                + ", includes=" + includes
+                + '}';
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+final class LoadRecorder {
+
+    private static final class CountingControllerAccessor<C> implements ControllerAccessor<C> {
+
+        private final ControllerAccessor<C> delegate;
+        private final LoadRecorder recorder;
+
+        CountingControllerAccessor(ControllerAccessor<C> delegate, LoadRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Class<C> getControllerClass() {
+            return delegate.getControllerClass();
+        }
+
+        @Override
+        public C newControllerInstance() throws CompiledLoadException {
+            return delegate.newControllerInstance();
+        }
+
+        @Override
+        public void setField(C controller, String fieldName, Object value) throws CompiledLoadException {
+            recorder.controllerAccessCount++;
+            delegate.setField(controller, fieldName, value);
+        }
+
+        @Override
+        public void executeMethod(C controller, String methodName, Object... arguments) throws CompiledLoadException {
+            recorder.controllerAccessCount++;
+            delegate.executeMethod(controller, methodName, arguments);
+        }
+
+        @Override
+        public ExecutableMethod findMethod(C controller, String methodName, Class<?>... argumentTypes)
+                throws CompiledLoadException {
+            recorder.controllerAccessCount++;
+            return delegate.findMethod(controller, methodName, argumentTypes);
+        }
+    }
+
+    private static final ThreadLocal<LoadRecorder> CURRENT = new ThreadLocal<>();
+
+    static LoadRecorder start(LoadListener listener) {
+        LoadRecorder recorder = new LoadRecorder(CURRENT.get(), listener);
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    // NB: Included documents may be loaded on other threads (see ParallelInclude). Make their loads to be reported
+    //  as includes of document that started them.
+    static <T> Callable<T> inheriting(Callable<T> callable) {
+        LoadRecorder parent = CURRENT.get();
+
+        if (parent == null) {
+            return callable;
+        }
+
+        return () -> {
+            LoadRecorder previous = CURRENT.get();
+            CURRENT.set(parent);
+
+            try {
+                return callable.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(LoadRecorder recorder) {
+        if (recorder != null) {
+            CURRENT.set(recorder);
+        } else {
+            // Do not leave anything behind on pooled threads.
+            CURRENT.remove();
+        }
+    }
+
+    private final LoadRecorder parent;
+    private final LoadListener listener;
+    private final int depth;
+    private final long startNanos = System.nanoTime();
+    // NB: Synchronized, as parallel includes report their loads from other threads.
+    private final List<LoadMetrics> includes = Collections.synchronizedList(new ArrayList<>());
+    private long controllerCreationNanos;
+    private int controllerAccessCount;
+
+    private LoadRecorder(LoadRecorder parent, LoadListener listener) {
+        this.parent = parent;
+        this.listener = listener;
+        this.depth = parent != null ? parent.depth + 1 : 0;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    <C> ControllerAccessor<C> wrap(ControllerAccessor<C> accessor) {
+        return new CountingControllerAccessor<>(accessor, this);
+    }
+
+    void controllerCreated(long controllerCreationNanos) {
+        this.controllerCreationNanos = controllerCreationNanos;
+    }
+
+    void finish(URI uri) {
+        // NB: Recorder may be started for flight recorder events only.
+        if (listener == LoadListener.NO_OP) {
+            return;
+        }
+
+        LoadMetrics metrics;
+
+        synchronized (includes) {
+            metrics = new LoadMetrics(
+                    uri,
+                    System.nanoTime() - startNanos,
+                    controllerCreationNanos,
+                    controllerAccessCount,
+                    List.copyOf(includes)
+            );
+        }
+
+        if (parent != null) {
+            parent.includes.add(metrics);
+        } else {
+            listener.documentLoaded(metrics);
+        }
+    }
+
+    void close() {
+        restore(parent);
+    }
+}
@@ -22,8 +22,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
 
 /**
  * Loader of AOT compiled FXML file.
@@ -80,6 +82,37 @@ public class MLFXLoader {
         return new MLFXLoader(location, resources, controllerFactory).load();
     }
 
+    /**
+     * Loads cell factory of AOT compiled cell template FXML file from specified fxml file location.
+     *
+     * @param location location of FXML file
+     * @return cell factory
+     * @param <V> view type
+     * @param <T> cell type
+     *
+     * @throws IOException in case of load failure
+     * @see CompiledFXMLLoader#createCellFactory(ControllerAccessorFactory, ResourceBundle)
+     */
+    public static <V, T> Callback<V, T> loadCellFactory(URL location) throws IOException {
+        return new MLFXLoader(location).loadCellFactory();
+    }
+
+    /**
+     * Returns controller accessor factory of backend {@code MLFXLoader} uses.
+     *
+     * <p>Used by generated document facades to load documents without loader lookup.</p>
+     *
+     * @return controller accessor factory
+     */
+    public static ControllerAccessorFactory getDefaultControllerAccessorFactory() {
+        return DELEGATE;
+    }
+
+    // NB: Used by training run to load every compiled document known to backend.
+    static Map<URI, CompiledFXMLLoader<?, ?>> getCompiledLoaders() {
+        return DELEGATE.getCompiledLoaders();
+    }
+
     private static class ControllerAccessorDelegate<C> implements ControllerAccessor<C> {
 
         private final ControllerAccessor<C> source;
@@ -125,9 +158,11 @@ public class MLFXLoader {
     private URL location;
     private ResourceBundle resources;
     private Callback<Class<?>, Object> controllerFactory;
+    private ControllerAccessorFactory controllerAccessorFactory;
 
     private Object root;
     private Object controller;
+    private Result<?, ?> result;
 
     /**
      * Constructs new loader.
@@ -223,6 +258,28 @@ public class MLFXLoader {
         this.controllerFactory = controllerFactory;
     }
 
+    /**
+     * Returns current controller accessor factory.
+     *
+     * @return current controller accessor factory or {@code null} if none currently specified
+     */
+    public ControllerAccessorFactory getControllerAccessorFactory() {
+        return controllerAccessorFactory;
+    }
+
+    /**
+     * Sets new controller accessor factory.
+     *
+     * <p>Controller accessor factory replaces backend's default one, and takes precedence over controller factory.
+     * Use it to plug in factories that create controllers without per-load lookups, like Micronaut backend's
+     * {@code BeanContextControllerAccessorFactory}.</p>
+     *
+     * @param controllerAccessorFactory controller accessor factory
+     */
+    public void setControllerAccessorFactory(ControllerAccessorFactory controllerAccessorFactory) {
+        this.controllerAccessorFactory = controllerAccessorFactory;
+    }
+
     /**
      * Sets new document's root type instance.
      *
@@ -263,15 +320,7 @@ public class MLFXLoader {
         return (C) controller;
     }
 
-    /**
-     * Loads AOT compiled FXML file.
-     *
-     * @return instance of document's root element type
-     * @param <R> document's root element type
-     *
-     * @throws IOException in case of load failure
-     */
-    public <R> R load() throws IOException {
+    private CompiledFXMLLoader<?, ?> getCompiledLoader() throws IOException {
         if (location == null) {
             throw new IllegalStateException("Location is not set.");
         }
@@ -284,42 +333,135 @@ public class MLFXLoader {
             throw new UnsupportedOperationException("Failed to convert URL \"" + location + "\" to URI.");
         }
 
-        CompiledFXMLLoader<?, ?> loader = DELEGATE.getCompiledLoader(uri)
+        return DELEGATE.getCompiledLoader(uri)
                 .orElseThrow(
                         () -> new IOException("Failed to find compiled FXML loader for URL \"" + location + "\".")
                 );
+    }
 
-        ControllerAccessorFactory factory;
-
-        if (controllerFactory != null) {
-            factory = new ControllerAccessorFactory() {
-                @Override
-                public <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
-                    return new ControllerAccessorDelegate<>(
-                            DELEGATE.createControllerAccessor(controllerClass), controllerFactory
-                    );
-                }
-
-                @Override
-                public boolean isBackedByControllerFactory() {
-                    return true;
-                }
-            };
-        } else {
-            factory = DELEGATE;
+    private ControllerAccessorFactory createControllerAccessorFactory() {
+        if (controllerAccessorFactory != null) {
+            return controllerAccessorFactory;
         }
 
+        if (controllerFactory == null) {
+            return DELEGATE;
+        }
+
+        Callback<Class<?>, Object> controllerFactory = this.controllerFactory;
+
+        return new ControllerAccessorFactory() {
+            @Override
+            public <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+                return new ControllerAccessorDelegate<>(
+                        DELEGATE.createControllerAccessor(controllerClass), controllerFactory
+                );
+            }
+
+            @Override
+            public boolean isBackedByControllerFactory() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Loads AOT compiled FXML file.
+     *
+     * @return instance of document's root element type
+     * @param <R> document's root element type
+     *
+     * @throws IOException in case of load failure
+     */
+    public <R> R load() throws IOException {
+        CompiledFXMLLoader<?, ?> loader = getCompiledLoader();
+
         Result<?, ?> result;
 
         try {
-            result = loader.load(factory, controller, root, resources);
+            result = loader.load(createControllerAccessorFactory(), controller, root, resources);
         } catch (CompiledLoadException e) {
             throw new IOException("Failed to load compiled FXML file.", e);
         }
 
+        this.result = result;
         this.controller = result.getController();
         this.root = result.getRootInstance();
 
         return getRoot();
     }
+
+    /**
+     * Loads cell factory of AOT compiled cell template FXML file.
+     *
+     * <p>Cells created by returned factory load document using current resource bundle and controller factory.</p>
+     *
+     * @return cell factory
+     * @param <V> view type
+     * @param <T> cell type
+     *
+     * @throws IOException in case of load failure
+     * @see CompiledFXMLLoader#createCellFactory(ControllerAccessorFactory, ResourceBundle)
+     */
+    public <V, T> Callback<V, T> loadCellFactory() throws IOException {
+        CompiledFXMLLoader<?, ?> loader = getCompiledLoader();
+
+        try {
+            return loader.createCellFactory(createControllerAccessorFactory(), resources);
+        } catch (CompiledLoadException e) {
+            throw new IOException("Failed to load cell factory of compiled FXML file.", e);
+        }
+    }
+
+    /**
+     * Creates pool of loaded AOT compiled FXML documents and schedules its initial fill.
+     *
+     * <p>Pooled documents are loaded using current resource bundle and controller factory.</p>
+     *
+     * @param capacity maximum number of pooled documents
+     * @param executor executor to refill pool on
+     * @return pool of loaded documents
+     * @param <R> document's root element type
+     * @param <C> controller type
+     *
+     * @throws IOException if compiled FXML file is not found or cannot be pooled
+     * @see ResultPool
+     */
+    @SuppressWarnings("unchecked")
+    public <R, C> ResultPool<R, C> createPool(int capacity, Executor executor) throws IOException {
+        CompiledFXMLLoader<R, C> loader = (CompiledFXMLLoader<R, C>) getCompiledLoader();
+
+        ResultPool<R, C> pool;
+
+        try {
+            pool = new ResultPool<>(loader, createControllerAccessorFactory(), resources, capacity, executor);
+        } catch (CompiledLoadException e) {
+            throw new IOException("Failed to create pool of compiled FXML file.", e);
+        }
+
+        pool.prewarm();
+        return pool;
+    }
+
+    /**
+     * Re-applies resource values to last loaded document, without rebuilding its object tree.
+     *
+     * @param resources resource bundle to take values from
+     *
+     * @throws IOException in case of relocalization failure
+     * @see Result#relocalize(ResourceBundle)
+     */
+    public void relocalize(ResourceBundle resources) throws IOException {
+        if (result == null) {
+            throw new IllegalStateException("Nothing loaded yet.");
+        }
+
+        try {
+            result.relocalize(resources);
+        } catch (CompiledLoadException e) {
+            throw new IOException("Failed to relocalize compiled FXML file.", e);
+        }
+
+        this.resources = resources;
+    }
 }
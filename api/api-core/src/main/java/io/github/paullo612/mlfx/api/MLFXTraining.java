@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Training run for class data sharing archives.
+ *
+ * <p>Loads every AOT compiled FXML document found by {@link MLFXLoader}'s backend once, so, generated loaders, their
+ * nested classes (binding expressions, cell and handler classes) and controllers get loaded. Running it with
+ * {@code -XX:ArchiveClassesAtExit=<archive>} produces dynamic CDS archive containing those classes, which application
+ * then may be started with using {@code -XX:SharedArchiveFile=<archive>}. Names of loaded generated and controller
+ * classes may also be written to class list file to be merged into existing {@code -XX:SharedClassListFile}.</p>
+ *
+ * <p>Documents are loaded on JavaFX application thread, so, JavaFX toolkit must be able to start. Use Monocle's
+ * headless platform when there is no display.</p>
+ *
+ * <p>Documents that can't be loaded standalone (e.g. requiring external root or controller) are reported and skipped,
+ * their loaders are still loaded.</p>
+ *
+ * @author Paullo612
+ */
+public final class MLFXTraining {
+
+    private static final String USAGE = "Usage: java " + MLFXTraining.class.getName() + " [options]\n"
+            + "Options:\n"
+            + "  --class-list <file>      Write names of loaded generated and controller classes to file\n"
+            + "  --resources <base name>  Resource bundle to load documents with\n";
+
+    private MLFXTraining() {
+        throw new AssertionError();
+    }
+
+    private static void addClass(Set<String> classNames, Class<?> clazz) {
+        for (Class<?> nestMember : clazz.getNestMembers()) {
+            classNames.add(nestMember.getName().replace('.', '/'));
+        }
+    }
+
+    /**
+     * Loads every AOT compiled FXML document once.
+     *
+     * <p>Must be called on JavaFX application thread.</p>
+     *
+     * @param resourceBundle resource bundle to load documents with or {@code null}
+     * @param out stream to report documents that failed to load to
+     * @return internal names of loaded generated and controller classes, sorted
+     */
+    public static List<String> loadAll(ResourceBundle resourceBundle, PrintStream out) {
+        return loadAll(
+                MLFXLoader.getCompiledLoaders(),
+                MLFXLoader.getDefaultControllerAccessorFactory(),
+                resourceBundle,
+                out
+        );
+    }
+
+    static List<String> loadAll(
+            Map<URI, CompiledFXMLLoader<?, ?>> compiledLoaders,
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle,
+            PrintStream out) {
+        Set<String> classNames = new TreeSet<>();
+        Map<URI, CompiledFXMLLoader<?, ?>> loaders = new TreeMap<>(compiledLoaders);
+
+        for (Map.Entry<URI, CompiledFXMLLoader<?, ?>> entry : loaders.entrySet()) {
+            CompiledFXMLLoader<?, ?> loader = entry.getValue();
+
+            addClass(classNames, loader.getClass());
+
+            try {
+                Object controller = loader.load(controllerAccessorFactory, null, null, resourceBundle)
+                        .getController();
+
+                if (controller != null) {
+                    addClass(classNames, controller.getClass());
+                }
+            } catch (CompiledLoadException | RuntimeException e) {
+                out.println("Skipping " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+
+        return new ArrayList<>(classNames);
+    }
+
+    private static int usage(String message) {
+        System.err.println(message);
+        System.err.print(USAGE);
+        return 2;
+    }
+
+    static int run(String[] args) {
+        Path classListFile = null;
+        ResourceBundle resourceBundle = null;
+
+        for (int i = 0; i < args.length; ++i) {
+            String arg = args[i];
+
+            if (i + 1 == args.length) {
+                return usage("Missing value for option " + arg + ".");
+            }
+
+            String value = args[++i];
+
+            try {
+                switch (arg) {
+                    case "--class-list":
+                        classListFile = Paths.get(value);
+                        break;
+                    case "--resources":
+                        resourceBundle = ResourceBundle.getBundle(value);
+                        break;
+                    default:
+                        return usage("Unknown option " + arg + ".");
+                }
+            } catch (IllegalArgumentException | MissingResourceException e) {
+                return usage("Bad value \"" + value + "\" for option " + arg + ": " + e.getMessage());
+            }
+        }
+
+        ResourceBundle finalResourceBundle = resourceBundle;
+        FutureTask<List<String>> training = new FutureTask<>(() -> loadAll(finalResourceBundle, System.err));
+        CountDownLatch startup = new CountDownLatch(1);
+
+        Platform.startup(startup::countDown);
+
+        try {
+            startup.await();
+            Platform.runLater(training);
+
+            List<String> classNames = training.get();
+
+            if (classListFile != null) {
+                Files.write(classListFile, classNames, StandardCharsets.UTF_8);
+            }
+
+            return 0;
+        } catch (ExecutionException e) {
+            System.err.println("error: " + e.getCause());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("error: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Training run entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+}
@@ -33,7 +33,13 @@ public interface ObservableListenerHelper {
      * @return new observable listener helper
      */
     static ObservableListenerHelper newInstance(ValueUpdater valueUpdater) {
-        return new ObservableListenerHelperImpl(valueUpdater);
+        ObservableListenerHelperImpl helper = new ObservableListenerHelperImpl(valueUpdater);
+
+        if (LiveObjects.isTracking()) {
+            LiveObjects.trackBinding(helper);
+        }
+
+        return helper;
     }
 
     /**
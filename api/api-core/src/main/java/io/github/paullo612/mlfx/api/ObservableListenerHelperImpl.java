@@ -73,11 +73,22 @@ class ObservableListenerHelperImpl implements ObservableListenerHelper {
     private final Map<Object, List<ListenerData<?>>> listenerData = new IdentityHashMap<>();
     private final ValueUpdater updater;
     private List<Integer> toUpdate;
+    // NB: Plain field, as listeners are added and removed on the thread binding lives on only. LiveRegistry reads it
+    //  from other threads, and may get a stale count, which is fine for monitoring.
+    private int listenerCount;
 
     ObservableListenerHelperImpl(ValueUpdater updater) {
         this.updater = updater;
     }
 
+    ValueUpdater getUpdater() {
+        return updater;
+    }
+
+    int getListenerCount() {
+        return listenerCount;
+    }
+
     void doUpdate(Integer step) {
         if (toUpdate != null) {
             // Postpone update till listeners unlock.
@@ -119,6 +130,7 @@ class ObservableListenerHelperImpl implements ObservableListenerHelper {
         if (data == null) {
             data = new ListenerData<>(propertyModel);
             listeners.add(data);
+            ++listenerCount;
         }
 
         data.addStep(step);
@@ -141,6 +153,7 @@ class ObservableListenerHelperImpl implements ObservableListenerHelper {
                 if (!currentData.hasSteps()) {
                     currentData.dispose();
                     it.remove();
+                    --listenerCount;
                 }
 
                 if (listeners.isEmpty()) {
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Load of included document started ahead of time.
+ *
+ * <p>Documents marked with {@code mlfxParallelIncludes} processing instruction start loads of their included documents
+ * on common fork-join pool right away, and join them before included documents are attached to their parents.
+ * Joining thread may perform load itself, if pool has not picked it up yet.</p>
+ *
+ * <p>Intended to be used by generated code.</p>
+ *
+ * @author Paullo612
+ */
+public final class ParallelInclude {
+
+    /**
+     * Starts load of included document on common fork-join pool.
+     *
+     * @param loader included document's loader
+     * @param controllerAccessorFactory factory for controller accessors
+     * @param resourceBundle resource bundle or {@code null}
+     * @return started load
+     */
+    public static ParallelInclude start(
+            CompiledFXMLLoader<?, ?> loader,
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle) {
+        return new ParallelInclude(
+                ForkJoinPool.commonPool().submit(LoadRecorder.inheriting(
+                        () -> loader.load(controllerAccessorFactory, null, null, resourceBundle)
+                ))
+        );
+    }
+
+    /**
+     * Cancels loads that were not picked up by pool yet.
+     *
+     * <p>Called when including document fails to load, so, results of its includes are not needed anymore. Loads
+     * that are already running are left to complete.</p>
+     *
+     * @param parallelIncludes started loads, elements of loads that were not started are {@code null}
+     */
+    public static void cancelAll(ParallelInclude[] parallelIncludes) {
+        for (ParallelInclude parallelInclude : parallelIncludes) {
+            if (parallelInclude != null) {
+                parallelInclude.task.cancel(false);
+            }
+        }
+    }
+
+    private final ForkJoinTask<? extends Result<?, ?>> task;
+
+    private ParallelInclude(ForkJoinTask<? extends Result<?, ?>> task) {
+        this.task = task;
+    }
+
+    /**
+     * Waits for included document to be loaded.
+     *
+     * @return load result
+     *
+     * @throws CompiledLoadException if included document failed to load or current thread was interrupted while
+     *  waiting
+     */
+    public Result<?, ?> join() throws CompiledLoadException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompiledLoadException("Interrupted while waiting for included document to be loaded.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof CompiledLoadException) {
+                throw (CompiledLoadException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new CompiledLoadException(cause);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per locale cache of resource bundles specified by fx:include's {@code resources} attribute.
+ *
+ * <p>Generated loaders keep one cache per distinct {@code resources} attribute value, so, repeated loads of including
+ * documents skip {@code ResourceBundle} lookup. Bundles are looked up by generated code itself, as
+ * {@code ResourceBundle.getBundle} is caller sensitive. Cached bundles are keyed by locale they were looked up for,
+ * so, changing default locale makes bundles for new locale to be looked up.</p>
+ *
+ * <p>Intended to be used by generated code.</p>
+ *
+ * @author Paullo612
+ */
+public final class ResourceBundleCache {
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private static final class Entry {
+
+        private final int generation;
+        private final ResourceBundle resourceBundle;
+
+        Entry(int generation, ResourceBundle resourceBundle) {
+            this.generation = generation;
+            this.resourceBundle = resourceBundle;
+        }
+    }
+
+    private final Map<Locale, Entry> bundles = new ConcurrentHashMap<>();
+
+    /**
+     * Invalidates all resource bundle caches.
+     *
+     * <p>Call this after resource bundles were reloaded, e.g. after {@code ResourceBundle.clearCache()} call. Caches
+     * are cleared lazily, on next lookup.</p>
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Returns current generation of resource bundle caches.
+     *
+     * <p>Generation is changed by {@link #invalidateAll()}. Take it before looking resource bundle up, and pass it to
+     * {@link #put(Locale, int, ResourceBundle)}.</p>
+     *
+     * @return current generation of resource bundle caches
+     */
+    public static int generation() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Returns cached resource bundle for specified locale.
+     *
+     * @param locale locale resource bundle was looked up for
+     * @return cached resource bundle or {@code null} if there is none
+     */
+    public ResourceBundle get(Locale locale) {
+        Entry entry = bundles.get(locale);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.generation != GENERATION.get()) {
+            bundles.remove(locale, entry);
+            return null;
+        }
+
+        return entry.resourceBundle;
+    }
+
+    /**
+     * Caches resource bundle for specified locale.
+     *
+     * <p>Resource bundle is not cached if caches were invalidated since its lookup started, as it may be looked up
+     * before resource bundles were reloaded.</p>
+     *
+     * @param locale locale resource bundle was looked up for
+     * @param generation generation of resource bundle caches taken before resource bundle lookup
+     * @param resourceBundle resource bundle to cache
+     * @return passed resource bundle
+     */
+    public ResourceBundle put(Locale locale, int generation, ResourceBundle resourceBundle) {
+        // NB: Entry may still land after concurrent invalidation, but it is dropped by get, as it keeps generation
+        //  lookup started in.
+        if (generation == GENERATION.get()) {
+            bundles.put(locale, new Entry(generation, resourceBundle));
+        }
+
+        return resourceBundle;
+    }
+}
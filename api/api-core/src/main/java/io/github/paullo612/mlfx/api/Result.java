@@ -15,6 +15,8 @@
  */
 package io.github.paullo612.mlfx.api;
 
+import java.util.ResourceBundle;
+
 /**
  * Result of compiled FXML loading.
  *
@@ -36,4 +38,32 @@ public interface Result<R, C> {
      * @return controller
      */
     C getController();
+
+    /**
+     * Returns document's fx:id namespace object.
+     *
+     * <p>Namespace object has typed accessor for each fx:id declared in document, except ones declared inside of lazy
+     * content. Its class is {@code Namespace} class nested in document's generated facade, which also provides typed
+     * access to it. Only documents compiled with {@code micronaut.mlfx.facades} annotation processor option have
+     * namespace.</p>
+     *
+     * @return document's fx:id namespace object or {@code null} if document has no fx:ids or no facade
+     */
+    default Object getNamespace() {
+        return null;
+    }
+
+    /**
+     * Re-applies resource values to already loaded document, without rebuilding its object tree.
+     *
+     * <p>Only properties set from plain resource keys ({@code %key} attribute values) of String type are re-applied,
+     * including ones in included documents that share document's resource bundle. Does nothing if document has no such
+     * properties.</p>
+     *
+     * @param resourceBundle resource bundle to take values from
+     *
+     * @throws CompiledLoadException if resource bundle is {@code null} or lacks some of document's resource keys
+     */
+    default void relocalize(ResourceBundle resourceBundle) throws CompiledLoadException {
+    }
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of loaded AOT compiled FXML documents.
+ *
+ * <p>Pool hands out already loaded documents and refills itself on specified executor, so, frequently opened
+ * documents (popups, notifications, editor tabs) do not have to be loaded on demand. Document is loaded on demand only
+ * if pool is empty.</p>
+ *
+ * <p>Documents are loaded on executor's thread, so, they must not contain objects that can only be constructed on
+ * JavaFX application thread (e.g. windows or web views). Executor with low priority threads makes pool to be refilled
+ * during idle time.</p>
+ *
+ * <p>Released documents are reused only if their controller implements {@link Resettable}. Documents with fx:root root
+ * element or requiring external controller cannot be pooled.</p>
+ *
+ * @param <R> document's root element type
+ * @param <C> controller type
+ *
+ * @author Paullo612
+ */
+public final class ResultPool<R, C> {
+
+    /**
+     * Controller of pooled document that can be reused.
+     *
+     * @author Paullo612
+     */
+    @FunctionalInterface
+    public interface Resettable {
+
+        /**
+         * Resets controller and its document to initial state before document is reused.
+         */
+        void reset();
+    }
+
+    private static final System.Logger LOG = System.getLogger(ResultPool.class.getName());
+
+    private final CompiledFXMLLoader<R, C> loader;
+    private final ControllerAccessorFactory controllerAccessorFactory;
+    private final ResourceBundle resourceBundle;
+    private final int capacity;
+    private final Executor executor;
+
+    private final Queue<Result<R, C>> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * Creates pool of documents loaded by specified loader.
+     *
+     * @param loader loader to load documents with
+     * @param controllerAccessorFactory factory for controller accessors
+     * @param resourceBundle resource bundle or {@code null}
+     * @param capacity maximum number of pooled documents
+     * @param executor executor to refill pool on
+     *
+     * @throws CompiledLoadException if document has fx:root root element or requires external controller
+     */
+    public ResultPool(
+            CompiledFXMLLoader<R, C> loader,
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle,
+            int capacity,
+            Executor executor) throws CompiledLoadException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be positive.");
+        }
+
+        if (loader.requiresRootInstance() || loader.requiresExternalController()) {
+            throw new CompiledLoadException(
+                    "Documents with fx:root root element or requiring external controller cannot be pooled."
+            );
+        }
+
+        this.loader = loader;
+        this.controllerAccessorFactory = Objects.requireNonNull(controllerAccessorFactory);
+        this.resourceBundle = resourceBundle;
+        this.capacity = capacity;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Returns pooled document, or loads one if pool is empty.
+     *
+     * <p>Schedules pool refill.</p>
+     *
+     * @return loaded document
+     *
+     * @throws CompiledLoadException if pool is empty and an error occurs during loading
+     */
+    public Result<R, C> acquire() throws CompiledLoadException {
+        Result<R, C> result = results.poll();
+
+        if (result != null) {
+            size.decrementAndGet();
+        } else {
+            result = load();
+        }
+
+        prewarm();
+        return result;
+    }
+
+    /**
+     * Returns document to the pool.
+     *
+     * <p>Document is reused only if its controller implements {@link Resettable}. Its {@link Resettable#reset()} method
+     * is called on caller's thread, before document is returned to the pool. Document must not be used by caller after
+     * it is released.</p>
+     *
+     * @param result document to release
+     * @return {@code true} if document is returned to the pool
+     */
+    public boolean release(Result<R, C> result) {
+        C controller = result.getController();
+
+        if (!(controller instanceof Resettable) || !reserve()) {
+            return false;
+        }
+
+        ((Resettable) controller).reset();
+        results.add(result);
+        return true;
+    }
+
+    /**
+     * Schedules pool refill, if there is no refill in progress.
+     *
+     * <p>Pool is refilled till it is full or loading fails. Failure is logged, and is also reported by next
+     * {@link #acquire()} call that loads document on demand.</p>
+     */
+    public void prewarm() {
+        if (size.get() >= capacity || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        executor.execute(this::refill);
+    }
+
+    /**
+     * Drops all pooled documents.
+     */
+    public void clear() {
+        while (results.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns number of pooled documents.
+     *
+     * @return number of pooled documents
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns maximum number of pooled documents.
+     *
+     * @return maximum number of pooled documents
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private Result<R, C> load() throws CompiledLoadException {
+        return loader.load(controllerAccessorFactory, null, null, resourceBundle);
+    }
+
+    // Reserves place for one document in the pool.
+    private boolean reserve() {
+        int current;
+
+        do {
+            current = size.get();
+
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    // Loads documents till pool is full. Returns false if loading fails.
+    private boolean fill() {
+        while (reserve()) {
+            Result<R, C> result;
+
+            try {
+                result = load();
+            } catch (CompiledLoadException | RuntimeException e) {
+                size.decrementAndGet();
+                LOG.log(System.Logger.Level.WARNING, "Failed to refill pool of " + loader.getClass().getName(), e);
+                return false;
+            }
+
+            results.add(result);
+        }
+
+        return true;
+    }
+
+    private void refill() {
+        boolean filled;
+
+        // NB: Documents acquired after pool was found full, but before refilling flag is cleared, do not schedule
+        //  refill, as it seems to be in progress for them. Check size again once flag is cleared.
+        do {
+            try {
+                filled = fill();
+            } finally {
+                refilling.set(false);
+            }
+        } while (filled && size.get() < capacity && refilling.compareAndSet(false, true));
+    }
+}
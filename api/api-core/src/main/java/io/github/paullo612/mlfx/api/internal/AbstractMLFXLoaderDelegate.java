@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal;
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader;
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+
+/**
+ * Base {@link MLFXLoaderDelegate} implementation that looks compiled loaders up using {@link ServiceLoader}.
+ *
+ * <p>Loaders are looked up lazily, on first request, and are cached for delegate's lifetime afterwards. Providers that
+ * cannot be linked are skipped.</p>
+ *
+ * @author Paullo612
+ */
+public abstract class AbstractMLFXLoaderDelegate implements MLFXLoaderDelegate {
+
+    private static final System.Logger LOG = System.getLogger(AbstractMLFXLoaderDelegate.class.getName());
+
+    private volatile Map<URI, CompiledFXMLLoader<?, ?>> loadersMap;
+
+    /**
+     * Constructs delegate.
+     */
+    protected AbstractMLFXLoaderDelegate() {
+    }
+
+    /**
+     * Passes each linkable provider of specified service, visible to class loader of this delegate, to consumer.
+     *
+     * @param service service interface
+     * @param consumer provider consumer
+     * @param <S> service type
+     */
+    protected final <S> void forEachService(Class<S> service, Consumer<S> consumer) {
+        Iterator<S> iterator = ServiceLoader.load(service, getClass().getClassLoader())
+                .iterator();
+
+        while (true) {
+            S instance;
+
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+
+                instance = iterator.next();
+            } catch (ServiceConfigurationError e) {
+                // NB: Iterator skips broken provider and continues with the next one.
+                LOG.log(
+                        System.Logger.Level.DEBUG,
+                        "Unable to link {0} provider: {1}",
+                        service.getName(),
+                        e.getMessage()
+                );
+                continue;
+            }
+
+            consumer.accept(instance);
+        }
+    }
+
+    private Map<URI, CompiledFXMLLoader<?, ?>> findLoaders() {
+        Map<URI, CompiledFXMLLoader<?, ?>> loadersMap = new HashMap<>();
+
+        forEachService(CompiledFXMLLoader.class, loader -> {
+            URI uri;
+            try {
+                uri = loader.getURI();
+            } catch (CompiledLoadException e) {
+                LOG.log(
+                        System.Logger.Level.ERROR,
+                        "Unable to retrieve URI of compiled FXML loader class \"{0}\"",
+                        loader.getClass().getName()
+                );
+                return;
+            }
+
+            loadersMap.put(uri, loader);
+        });
+
+        return loadersMap;
+    }
+
+    private Map<URI, CompiledFXMLLoader<?, ?>> getLoadersMap() {
+        Map<URI, CompiledFXMLLoader<?, ?>> loadersMap = this.loadersMap;
+
+        if (loadersMap == null) {
+            synchronized (this) {
+                loadersMap = this.loadersMap;
+
+                if (loadersMap == null) {
+                    loadersMap = findLoaders();
+                    this.loadersMap = loadersMap;
+                }
+            }
+        }
+
+        return loadersMap;
+    }
+
+    @Override
+    public Optional<CompiledFXMLLoader<?, ?>> getCompiledLoader(URI location) {
+        return Optional.ofNullable(getLoadersMap().get(location));
+    }
+
+    @Override
+    public Map<URI, CompiledFXMLLoader<?, ?>> getCompiledLoaders() {
+        return Collections.unmodifiableMap(getLoadersMap());
+    }
+}
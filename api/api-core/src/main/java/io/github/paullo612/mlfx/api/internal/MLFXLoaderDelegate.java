@@ -20,6 +20,7 @@ import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
 import io.github.paullo612.mlfx.api.internal.impl.MLFXLoaderDelegateImpl;
 
 import java.net.URI;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -45,4 +46,11 @@ public interface MLFXLoaderDelegate extends ControllerAccessorFactory {
      * @return {@link CompiledFXMLLoader} instance for specified location
      */
     Optional<CompiledFXMLLoader<?, ?>> getCompiledLoader(URI location);
+
+    /**
+     * Retrieves all {@link CompiledFXMLLoader} instances this delegate knows about.
+     *
+     * @return {@link CompiledFXMLLoader} instances by FXML file location
+     */
+    Map<URI, CompiledFXMLLoader<?, ?>> getCompiledLoaders();
 }
@@ -20,6 +20,7 @@ import io.github.paullo612.mlfx.api.ControllerAccessor;
 import io.github.paullo612.mlfx.api.internal.MLFXLoaderDelegate;
 
 import java.net.URI;
+import java.util.Map;
 import java.util.Optional;
 
 public class MLFXLoaderDelegateImpl implements MLFXLoaderDelegate {
@@ -29,6 +30,11 @@ public class MLFXLoaderDelegateImpl implements MLFXLoaderDelegate {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Map<URI, CompiledFXMLLoader<?, ?>> getCompiledLoaders() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
         throw new UnsupportedOperationException();
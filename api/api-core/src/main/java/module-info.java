@@ -23,6 +23,12 @@ module io.github.paullo612.mlfx.api.core {
     exports io.github.paullo612.mlfx.api;
     exports io.github.paullo612.mlfx.api.internal to io.github.paullo612.mlfx.api.internal;
 
+    uses io.github.paullo612.mlfx.api.CompiledFXMLLoader;
+    uses io.github.paullo612.mlfx.api.ControllerAccessor;
+
     requires io.github.paullo612.mlfx.api.internal;
     requires transitive javafx.base;
+    requires static javafx.graphics;
+    requires static java.management;
+    requires static jdk.jfr;
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal.impl;
+
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.github.paullo612.mlfx.api.internal.AbstractMLFXLoaderDelegate;
+import io.github.paullo612.mlfx.api.internal.MLFXLoaderDelegate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Reflection-free {@link MLFXLoaderDelegate} implementation.
+ *
+ * <p>Compiled loaders and controller accessors generated by mlfx compiler are looked up using {@link ServiceLoader}.
+ * Controller fields and methods are accessed by generated code directly, so, neither reflection nor dependency
+ * injection framework is involved in document loading.</p>
+ *
+ * @author Paullo612
+ */
+public class MLFXLoaderDelegateImpl extends AbstractMLFXLoaderDelegate {
+
+    private volatile Map<Class<?>, ControllerAccessor<?>> accessorsMap;
+
+    /**
+     * Constructs reflection-free delegate.
+     */
+    public MLFXLoaderDelegateImpl() {
+    }
+
+    private Map<Class<?>, ControllerAccessor<?>> findAccessors() {
+        Map<Class<?>, ControllerAccessor<?>> accessorsMap = new HashMap<>();
+
+        forEachService(
+                ControllerAccessor.class,
+                accessor -> accessorsMap.put(accessor.getControllerClass(), accessor)
+        );
+
+        return accessorsMap;
+    }
+
+    private Map<Class<?>, ControllerAccessor<?>> getAccessorsMap() {
+        Map<Class<?>, ControllerAccessor<?>> accessorsMap = this.accessorsMap;
+
+        if (accessorsMap == null) {
+            synchronized (this) {
+                accessorsMap = this.accessorsMap;
+
+                if (accessorsMap == null) {
+                    accessorsMap = findAccessors();
+                    this.accessorsMap = accessorsMap;
+                }
+            }
+        }
+
+        return accessorsMap;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+        // NB: Generated accessors are stateless, so, single instance per controller class is shared between loads.
+        ControllerAccessor<C> accessor = (ControllerAccessor<C>) getAccessorsMap().get(controllerClass);
+
+        return accessor != null ? accessor : new MissingControllerAccessor<>(controllerClass);
+    }
+}
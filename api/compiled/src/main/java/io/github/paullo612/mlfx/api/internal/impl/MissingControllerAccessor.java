@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal.impl;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+
+import java.util.Objects;
+
+class MissingControllerAccessor<C> implements ControllerAccessor<C> {
+
+    private final Class<C> controllerClass;
+
+    MissingControllerAccessor(Class<C> controllerClass) {
+        this.controllerClass = Objects.requireNonNull(controllerClass);
+    }
+
+    private CompiledLoadException noAccessor() {
+        return new CompiledLoadException(
+                "No compiled accessor found for controller class \"" + controllerClass.getName() + "\"."
+        );
+    }
+
+    @Override
+    public Class<C> getControllerClass() {
+        return controllerClass;
+    }
+
+    @Override
+    public C newControllerInstance() throws CompiledLoadException {
+        throw noAccessor();
+    }
+
+    @Override
+    public void setField(C controller, String fieldName, Object value) throws CompiledLoadException {
+        throw noAccessor();
+    }
+
+    @Override
+    public void executeMethod(C controller, String methodName, Object... arguments) throws CompiledLoadException {
+        throw noAccessor();
+    }
+
+    @Override
+    public ExecutableMethod findMethod(C controller, String methodName, Class<?>... argumentTypes)
+            throws CompiledLoadException {
+        throw noAccessor();
+    }
+}
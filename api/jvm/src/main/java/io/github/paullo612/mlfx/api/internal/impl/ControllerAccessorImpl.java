@@ -0,0 +1,285 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal.impl;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// NB: Fields and methods are resolved once, on first access by name, and resulting handles are cached for accessor's
+//  lifetime, which is bound to controller class. Method handles are adapted to (Object, Object[])void shape, so, they
+//  are invoked exactly, without per-call type conversions.
+class ControllerAccessorImpl<C> implements ControllerAccessor<C> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static class ResolvedMethod {
+        private final Class<?>[] parameterTypes;
+        private final MethodHandle invoker;
+
+        ResolvedMethod(Class<?>[] parameterTypes, MethodHandle invoker) {
+            this.parameterTypes = parameterTypes;
+            this.invoker = invoker;
+        }
+    }
+
+    private final Class<C> controllerClass;
+    private final Map<Class<?>, MethodHandles.Lookup> lookups = new ConcurrentHashMap<>();
+    private final Map<String, VarHandle> fields = new ConcurrentHashMap<>();
+    private final Map<String, List<ResolvedMethod>> methods = new ConcurrentHashMap<>();
+    private volatile MethodHandle constructor;
+
+    ControllerAccessorImpl(Class<C> controllerClass) {
+        this.controllerClass = Objects.requireNonNull(controllerClass);
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive()
+                ? MethodType.methodType(type).wrap().returnType()
+                : type;
+    }
+
+    private static void invoke(MethodHandle invoker, Object controller, Object[] arguments) {
+        try {
+            invoker.invokeExact(controller, arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private MethodHandles.Lookup getLookup(Class<?> type) throws CompiledLoadException {
+        MethodHandles.Lookup lookup = lookups.get(type);
+
+        if (lookup != null) {
+            return lookup;
+        }
+
+        try {
+            lookup = MethodHandles.privateLookupIn(type, LOOKUP);
+        } catch (IllegalAccessException e) {
+            throw new CompiledLoadException(
+                    "Unable to access class \"" + type.getName() + "\". Make sure its package is open to "
+                            + "io.github.paullo612.mlfx.api.internal module.",
+                    e
+            );
+        }
+
+        lookups.putIfAbsent(type, lookup);
+
+        return lookup;
+    }
+
+    private VarHandle getField(String fieldName) throws CompiledLoadException {
+        VarHandle handle = fields.get(fieldName);
+
+        if (handle != null) {
+            return handle;
+        }
+
+        for (Class<?> type = controllerClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            Field field;
+
+            try {
+                field = type.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                continue;
+            }
+
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            try {
+                handle = getLookup(type).unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                throw new CompiledLoadException(
+                        "Unable to access property \"" + fieldName + "\" of class \"" + controllerClass.getName()
+                                + "\".",
+                        e
+                );
+            }
+
+            fields.putIfAbsent(fieldName, handle);
+
+            return handle;
+        }
+
+        throw new CompiledLoadException(
+                "Unable to find property \"" + fieldName + "\" in class \"" + controllerClass.getName() + "\"."
+        );
+    }
+
+    private List<ResolvedMethod> getMethods(String methodName) throws CompiledLoadException {
+        List<ResolvedMethod> resolvedMethods = methods.get(methodName);
+
+        if (resolvedMethods != null) {
+            return resolvedMethods;
+        }
+
+        resolvedMethods = new ArrayList<>();
+
+        for (Class<?> type = controllerClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.getName().equals(methodName)
+                        || Modifier.isStatic(method.getModifiers())
+                        || method.isBridge()) {
+                    continue;
+                }
+
+                Class<?>[] parameterTypes = method.getParameterTypes();
+
+                // Skip overridden methods, subclass ones were already seen.
+                if (resolvedMethods.stream().anyMatch(m -> Arrays.equals(m.parameterTypes, parameterTypes))) {
+                    continue;
+                }
+
+                MethodHandle handle;
+
+                try {
+                    handle = getLookup(type).unreflect(method);
+                } catch (IllegalAccessException e) {
+                    throw new CompiledLoadException(
+                            "Unable to access method \"" + methodName + "\" of class \"" + controllerClass.getName()
+                                    + "\".",
+                            e
+                    );
+                }
+
+                MethodHandle invoker = handle
+                        .asType(MethodType.genericMethodType(parameterTypes.length + 1).changeReturnType(void.class))
+                        .asSpreader(Object[].class, parameterTypes.length);
+
+                resolvedMethods.add(new ResolvedMethod(parameterTypes, invoker));
+            }
+        }
+
+        List<ResolvedMethod> previous = methods.putIfAbsent(methodName, resolvedMethods);
+
+        return previous != null ? previous : resolvedMethods;
+    }
+
+    private CompiledLoadException methodNotFound(String methodName) {
+        return new CompiledLoadException(
+                "Unable to find method \"" + methodName + "\" with compatible signature in class \""
+                        + controllerClass.getName() + "\"."
+        );
+    }
+
+    @Override
+    public Class<C> getControllerClass() {
+        return controllerClass;
+    }
+
+    @Override
+    public C newControllerInstance() throws CompiledLoadException {
+        MethodHandle constructor = this.constructor;
+
+        try {
+            if (constructor == null) {
+                constructor = getLookup(controllerClass)
+                        .findConstructor(controllerClass, MethodType.methodType(void.class))
+                        .asType(CONSTRUCTOR_TYPE);
+                this.constructor = constructor;
+            }
+
+            return controllerClass.cast(constructor.invokeExact());
+        } catch (CompiledLoadException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CompiledLoadException("Unable to instantiate class \"" + controllerClass.getName() + "\".", e);
+        }
+    }
+
+    @Override
+    public void setField(C controller, String fieldName, Object value) throws CompiledLoadException {
+        VarHandle handle = getField(fieldName);
+
+        try {
+            handle.set(controller, value);
+        } catch (ClassCastException | NullPointerException | UnsupportedOperationException e) {
+            throw new CompiledLoadException(
+                    "Unable to set property \"" + fieldName + "\" of class \"" + controllerClass.getName() + "\".", e
+            );
+        }
+    }
+
+    @Override
+    public void executeMethod(C controller, String methodName, Object... arguments) throws CompiledLoadException {
+        for (ResolvedMethod method : getMethods(methodName)) {
+            if (method.parameterTypes.length != arguments.length) {
+                continue;
+            }
+
+            boolean compatible = true;
+
+            for (int i = 0; i < arguments.length && compatible; ++i) {
+                Class<?> parameterType = method.parameterTypes[i];
+
+                compatible = arguments[i] != null
+                        ? box(parameterType).isInstance(arguments[i])
+                        : !parameterType.isPrimitive();
+            }
+
+            if (compatible) {
+                invoke(method.invoker, controller, arguments);
+                return;
+            }
+        }
+
+        throw methodNotFound(methodName);
+    }
+
+    @Override
+    public ExecutableMethod findMethod(C controller, String methodName, Class<?>... argumentTypes)
+            throws CompiledLoadException {
+        for (ResolvedMethod method : getMethods(methodName)) {
+            if (method.parameterTypes.length != argumentTypes.length) {
+                continue;
+            }
+
+            boolean compatible = true;
+
+            for (int i = 0; i < argumentTypes.length && compatible; ++i) {
+                compatible = method.parameterTypes[i].isAssignableFrom(argumentTypes[i]);
+            }
+
+            if (compatible) {
+                MethodHandle invoker = method.invoker;
+
+                return arguments -> invoke(invoker, controller, arguments);
+            }
+        }
+
+        throw methodNotFound(methodName);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal.impl;
+
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.github.paullo612.mlfx.api.internal.AbstractMLFXLoaderDelegate;
+import io.github.paullo612.mlfx.api.internal.MLFXLoaderDelegate;
+
+import java.util.ServiceLoader;
+
+/**
+ * Plain JVM {@link MLFXLoaderDelegate} implementation.
+ *
+ * <p>Compiled loaders are looked up using {@link ServiceLoader}. Controller fields and methods are resolved once per
+ * controller class through {@link java.lang.invoke.MethodHandles#privateLookupIn}, and accessed through cached
+ * variable and method handles afterwards. Packages of controllers must be open to
+ * {@code io.github.paullo612.mlfx.api.internal} module, if controllers are in named module.</p>
+ *
+ * @author Paullo612
+ */
+public class MLFXLoaderDelegateImpl extends AbstractMLFXLoaderDelegate {
+
+    // NB: Accessor is created once per controller class, and caches handles it resolves.
+    private final ClassValue<ControllerAccessor<?>> accessors = new ClassValue<>() {
+        @Override
+        protected ControllerAccessor<?> computeValue(Class<?> type) {
+            return new ControllerAccessorImpl<>(type);
+        }
+    };
+
+    /**
+     * Constructs plain JVM delegate.
+     */
+    public MLFXLoaderDelegateImpl() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+        return (ControllerAccessor<C>) accessors.get(controllerClass);
+    }
+}
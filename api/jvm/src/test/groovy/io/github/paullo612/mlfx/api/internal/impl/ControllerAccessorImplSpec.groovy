@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal.impl
+
+import io.github.paullo612.mlfx.api.CompiledLoadException
+import io.github.paullo612.mlfx.api.ControllerAccessor
+import spock.lang.Specification
+
+import java.lang.reflect.UndeclaredThrowableException
+
+class ControllerAccessorImplSpec extends Specification {
+
+    private final ControllerAccessor<GarageController> accessor =
+            new MLFXLoaderDelegateImpl().createControllerAccessor(GarageController)
+
+    def "Accessor is shared per controller class"() {
+        given:
+        MLFXLoaderDelegateImpl delegate = new MLFXLoaderDelegateImpl()
+
+        expect:
+        delegate.createControllerAccessor(GarageController).is(delegate.createControllerAccessor(GarageController))
+        accessor.controllerClass == GarageController
+    }
+
+    def "Controller is instantiated through private constructor"() {
+        expect:
+        accessor.newControllerInstance() instanceof GarageController
+    }
+
+    def "Private fields are set, including superclass ones"() {
+        given:
+        GarageController controller = accessor.newControllerInstance()
+
+        when:
+        accessor.setField(controller, 'capacity', 2)
+        accessor.setField(controller, 'name', 'Home')
+
+        then:
+        controller.capacity == 2
+        controller.name == 'Home'
+    }
+
+    def "Setting unknown field fails"() {
+        when:
+        accessor.setField(accessor.newControllerInstance(), 'doors', 2)
+
+        then:
+        CompiledLoadException e = thrown()
+        e.message.contains('Unable to find property "doors"')
+    }
+
+    def "Setting field to incompatible value fails"() {
+        when:
+        accessor.setField(accessor.newControllerInstance(), 'capacity', 'two')
+
+        then:
+        CompiledLoadException e = thrown()
+        e.message.contains('Unable to set property "capacity"')
+
+        when:
+        accessor.setField(accessor.newControllerInstance(), 'capacity', null)
+
+        then:
+        thrown(CompiledLoadException)
+    }
+
+    def "Methods are executed by name and arguments"() {
+        given:
+        GarageController controller = accessor.newControllerInstance()
+
+        when:
+        accessor.executeMethod(controller, 'open')
+        accessor.executeMethod(controller, 'park', 'Mustang')
+        accessor.executeMethod(controller, 'park', 3)
+        accessor.executeMethod(controller, 'park', [null] as Object[])
+        accessor.executeMethod(controller, 'rename', 'Home')
+
+        then:
+        controller.log == 'open;park Mustang;park 3 cars;park null;rename Home;'
+        controller.name == null
+    }
+
+    def "Executing method without compatible overload fails"() {
+        given:
+        GarageController controller = accessor.newControllerInstance()
+
+        when:
+        accessor.executeMethod(controller, methodName, arguments as Object[])
+
+        then:
+        CompiledLoadException e = thrown()
+        e.message.contains('Unable to find method "' + methodName + '"')
+
+        where:
+        methodName | arguments
+        'park'     | [2.5d]
+        'park'     | ['Mustang', 'Camaro']
+        'drive'    | []
+    }
+
+    def "Found method is bound to controller"() {
+        given:
+        GarageController controller = accessor.newControllerInstance()
+
+        when:
+        ControllerAccessor.ExecutableMethod method = accessor.findMethod(controller, 'park', String)
+        method.execute('Mustang')
+        method.execute('Camaro')
+
+        then:
+        controller.log == 'park Mustang;park Camaro;'
+
+        when:
+        accessor.findMethod(controller, 'park', Object)
+
+        then:
+        thrown(CompiledLoadException)
+    }
+
+    def "Exceptions thrown by controller methods are propagated"() {
+        given:
+        GarageController controller = accessor.newControllerInstance()
+
+        when:
+        accessor.executeMethod(controller, 'fail')
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == 'Garage is on fire'
+
+        when:
+        accessor.executeMethod(controller, 'close')
+
+        then:
+        UndeclaredThrowableException undeclared = thrown()
+        undeclared.cause instanceof IOException
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.internal.impl;
+
+import java.io.IOException;
+
+public class GarageController extends BaseController {
+
+    private int capacity;
+    private final StringBuilder log = new StringBuilder();
+
+    private GarageController() {
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public String getLog() {
+        return log.toString();
+    }
+
+    private void open() {
+        log.append("open;");
+    }
+
+    private void park(String car) {
+        log.append("park ").append(car).append(';');
+    }
+
+    private void park(int count) {
+        log.append("park ").append(count).append(" cars;");
+    }
+
+    private void rename(String name) {
+        log.append("rename ").append(name).append(';');
+    }
+
+    private void fail() {
+        throw new IllegalStateException("Garage is on fire");
+    }
+
+    private void close() throws IOException {
+        throw new IOException("Door is stuck");
+    }
+}
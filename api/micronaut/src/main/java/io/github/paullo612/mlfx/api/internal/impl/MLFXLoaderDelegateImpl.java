@@ -27,6 +27,7 @@ import io.micronaut.core.reflect.ClassUtils;
 import org.slf4j.Logger;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -40,12 +41,18 @@ public class MLFXLoaderDelegateImpl implements MLFXLoaderDelegate {
 
     private static final Logger LOG = ClassUtils.getLogger(MLFXLoaderDelegateImpl.class);
 
-    private final Map<URI, CompiledFXMLLoader<?, ?>> loadersMap = new HashMap<>();
+    // NB: Loaders are looked up lazily, as documents loaded through generated facades do not need them at all.
+    private volatile Map<URI, CompiledFXMLLoader<?, ?>> loadersMap;
 
     /**
      * Constructs Micronaut based delegate.
      */
     public MLFXLoaderDelegateImpl() {
+    }
+
+    private static Map<URI, CompiledFXMLLoader<?, ?>> findLoaders() {
+        Map<URI, CompiledFXMLLoader<?, ?>> loadersMap = new HashMap<>();
+
         SoftServiceLoader<CompiledFXMLLoader> softLoaders =
                 SoftServiceLoader.load(CompiledFXMLLoader.class, MLFXLoaderDelegateImpl.class.getClassLoader());
 
@@ -69,11 +76,35 @@ public class MLFXLoaderDelegateImpl implements MLFXLoaderDelegate {
                 }
             }
         }
+
+        return loadersMap;
+    }
+
+    private Map<URI, CompiledFXMLLoader<?, ?>> getLoadersMap() {
+        Map<URI, CompiledFXMLLoader<?, ?>> loadersMap = this.loadersMap;
+
+        if (loadersMap == null) {
+            synchronized (this) {
+                loadersMap = this.loadersMap;
+
+                if (loadersMap == null) {
+                    loadersMap = findLoaders();
+                    this.loadersMap = loadersMap;
+                }
+            }
+        }
+
+        return loadersMap;
     }
 
     @Override
     public Optional<CompiledFXMLLoader<?, ?>> getCompiledLoader(URI location) {
-        return Optional.ofNullable(loadersMap.get(location));
+        return Optional.ofNullable(getLoadersMap().get(location));
+    }
+
+    @Override
+    public Map<URI, CompiledFXMLLoader<?, ?>> getCompiledLoaders() {
+        return Collections.unmodifiableMap(getLoadersMap());
     }
 
     @Override
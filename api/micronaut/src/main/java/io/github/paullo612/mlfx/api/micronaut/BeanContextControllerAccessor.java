@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.micronaut;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.exceptions.BeanContextException;
+import io.micronaut.inject.BeanDefinition;
+
+import java.util.Objects;
+import java.util.Optional;
+
+// NB: Bean definition is resolved on first controller creation, so, resolution errors are reported as load errors.
+//  Empty optional means that controller is not a bean, and is instantiated by source accessor.
+class BeanContextControllerAccessor<C> implements ControllerAccessor<C> {
+
+    private final BeanContext beanContext;
+    private final ControllerAccessor<C> source;
+    private volatile Optional<BeanDefinition<C>> definition;
+
+    BeanContextControllerAccessor(BeanContext beanContext, ControllerAccessor<C> source) {
+        this.beanContext = Objects.requireNonNull(beanContext);
+        this.source = Objects.requireNonNull(source);
+    }
+
+    private Optional<BeanDefinition<C>> getDefinition() throws CompiledLoadException {
+        Optional<BeanDefinition<C>> definition = this.definition;
+
+        if (definition == null) {
+            try {
+                definition = beanContext.findBeanDefinition(getControllerClass());
+            } catch (BeanContextException e) {
+                throw new CompiledLoadException(
+                        "Failed to find bean definition of controller class \"" + getControllerClass().getName()
+                                + "\".",
+                        e
+                );
+            }
+
+            this.definition = definition;
+        }
+
+        return definition;
+    }
+
+    @Override
+    public Class<C> getControllerClass() {
+        return source.getControllerClass();
+    }
+
+    @Override
+    public C newControllerInstance() throws CompiledLoadException {
+        Optional<BeanDefinition<C>> definition = getDefinition();
+
+        if (definition.isEmpty()) {
+            return source.newControllerInstance();
+        }
+
+        try {
+            return beanContext.getBean(definition.get());
+        } catch (BeanContextException e) {
+            throw new CompiledLoadException("Failed to construct controller using bean context.", e);
+        }
+    }
+
+    @Override
+    public void setField(C controller, String fieldName, Object value) throws CompiledLoadException {
+        source.setField(controller, fieldName, value);
+    }
+
+    @Override
+    public void executeMethod(C controller, String methodName, Object... arguments) throws CompiledLoadException {
+        source.executeMethod(controller, methodName, arguments);
+    }
+
+    @Override
+    public ExecutableMethod findMethod(C controller, String methodName, Class<?>... argumentTypes)
+            throws CompiledLoadException {
+        return source.findMethod(controller, methodName, argumentTypes);
+    }
+}
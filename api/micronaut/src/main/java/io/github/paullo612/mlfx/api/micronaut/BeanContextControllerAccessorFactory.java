@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.api.micronaut;
+
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
+import io.github.paullo612.mlfx.api.MLFXLoader;
+import io.micronaut.context.BeanContext;
+
+import java.util.Objects;
+
+/**
+ * Controller accessor factory that creates controllers as beans of Micronaut's bean context.
+ *
+ * <p>Unlike controller factory like {@code context::getBean}, which resolves bean definition from bean registry on
+ * each load, this factory resolves bean definition of each controller class once, and creates following controllers of
+ * that class from resolved definition directly. Controllers without bean definition are instantiated through their
+ * bean introspection. Controller fields and methods are accessed through bean introspection, same as with
+ * {@link MLFXLoader#getDefaultControllerAccessorFactory()}.</p>
+ *
+ * <p>Factory is thread safe, and should be shared between loads, as resolved definitions are cached per factory
+ * instance.</p>
+ *
+ * <pre>{@code
+ * ControllerAccessorFactory factory = new BeanContextControllerAccessorFactory(applicationContext);
+ * Result<Car, CarController> result = CarFXML.load(factory, null, null, resources);
+ * }</pre>
+ *
+ * @author Paullo612
+ */
+public class BeanContextControllerAccessorFactory implements ControllerAccessorFactory {
+
+    private final BeanContext beanContext;
+    private final ClassValue<ControllerAccessor<?>> accessors = new ClassValue<>() {
+        @Override
+        protected ControllerAccessor<?> computeValue(Class<?> type) {
+            return createAccessor(type);
+        }
+    };
+
+    /**
+     * Creates new controller accessor factory.
+     *
+     * @param beanContext bean context to create controllers with
+     */
+    public BeanContextControllerAccessorFactory(BeanContext beanContext) {
+        this.beanContext = Objects.requireNonNull(beanContext);
+    }
+
+    private <C> ControllerAccessor<C> createAccessor(Class<C> controllerClass) {
+        return new BeanContextControllerAccessor<>(
+                beanContext,
+                MLFXLoader.getDefaultControllerAccessorFactory().createControllerAccessor(controllerClass)
+        );
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+        return (ControllerAccessor<C>) accessors.get(controllerClass);
+    }
+
+    @Override
+    public boolean isBackedByControllerFactory() {
+        return true;
+    }
+}
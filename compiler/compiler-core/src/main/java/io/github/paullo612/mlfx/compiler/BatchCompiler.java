@@ -0,0 +1,475 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompileFXML;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles FXML files outside of project's javac run.
+ *
+ * <p>FXML files are compiled against already compiled classes and jars. javac is still used under the hood, but only
+ * as a class file backed type model for {@link CompileFXMLVisitor}, no Java sources are recompiled. Each compilation
+ * unit (a group of FXML directories that may {@code fx:include} each other, same as one {@link CompileFXML}
+ * annotation) is compiled on its own thread to its own directory. Once all units are compiled, their output is moved to
+ * output directory, and service descriptors are merged.</p>
+ *
+ * @author Paullo612
+ */
+public class BatchCompiler {
+
+    // NB: Loaders' service descriptor is written by aggregating visitor, so, both processors are required.
+    private static final String PROCESSOR_CLASS_NAMES =
+            "io.micronaut.annotation.processing.TypeElementVisitorProcessor,"
+                    + "io.micronaut.annotation.processing.AggregatingTypeElementVisitorProcessor";
+    private static final String UNIT_CLASS_NAME_PREFIX = "MLFXBatchCompilationUnit";
+    private static final String SERVICES_DIRECTORY = "META-INF/services";
+
+    private static final String USAGE = "Usage: java " + BatchCompiler.class.getName()
+            + " [options] <unit>...\n"
+            + "Where <unit> is comma separated list of FXML directories relative to resources directory.\n"
+            + "Options:\n"
+            + "  -cp, --class-path <path>  Compiled classes and jars FXML files refer to\n"
+            + "  -r, --resources <dir>     Resources directory (required)\n"
+            + "  -d <dir>                  Output directory for generated classes (required)\n"
+            + "  --charset <name>          FXML files charset, UTF-8 by default\n"
+            + "  --threads <count>         Number of units compiled in parallel, all cores by default\n"
+            + "  -A<key>=<value>           FXML compiler option, e.g. -Amicronaut.mlfx.inlineIncludes=true\n";
+
+    private static class UnitSource extends SimpleJavaFileObject {
+
+        private final String content;
+
+        UnitSource(String className, String content) {
+            super(URI.create("string:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private final List<Path> classPath;
+    private final Path resourcesDirectory;
+    private final Path outputDirectory;
+    private final int threads;
+    private final List<String> compilerOptions;
+
+    /**
+     * Creates new batch compiler.
+     *
+     * @param classPath compiled classes and jars FXML files refer to
+     * @param resourcesDirectory directory FXML directories are relative to
+     * @param outputDirectory directory where to put generated classes
+     * @param threads number of compilation units compiled in parallel
+     */
+    public BatchCompiler(List<Path> classPath, Path resourcesDirectory, Path outputDirectory, int threads) {
+        this(classPath, resourcesDirectory, outputDirectory, threads, List.of());
+    }
+
+    /**
+     * Creates new batch compiler.
+     *
+     * @param classPath compiled classes and jars FXML files refer to
+     * @param resourcesDirectory directory FXML directories are relative to
+     * @param outputDirectory directory where to put generated classes
+     * @param threads number of compilation units compiled in parallel
+     * @param compilerOptions FXML compiler options, in {@code key=value} form (e.g.
+     *                        {@code micronaut.mlfx.inlineIncludes=true})
+     */
+    public BatchCompiler(
+            List<Path> classPath,
+            Path resourcesDirectory,
+            Path outputDirectory,
+            int threads,
+            List<String> compilerOptions) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads count must be positive.");
+        }
+
+        this.classPath = List.copyOf(classPath);
+        this.resourcesDirectory = resourcesDirectory.toAbsolutePath();
+        this.outputDirectory = outputDirectory.toAbsolutePath();
+        this.threads = threads;
+        this.compilerOptions = List.copyOf(compilerOptions);
+    }
+
+    private static String quote(String string) {
+        StringBuilder builder = new StringBuilder("\"");
+
+        for (int i = 0; i < string.length(); ++i) {
+            char c = string.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                builder.append('\\');
+            }
+
+            builder.append(c);
+        }
+
+        return builder.append('"').toString();
+    }
+
+    private static String renderUnitSource(String className, List<String> fxmlDirectories, Charset charset) {
+        // @CompileFXML(fxmlDirectories = { ... }, charset = "...")
+        // class MLFXBatchCompilationUnitN { }
+        return "@" + CompileFXML.class.getName() + "(fxmlDirectories = {"
+                + fxmlDirectories.stream()
+                        .map(BatchCompiler::quote)
+                        .collect(Collectors.joining(", "))
+                + "}, charset = " + quote(charset.name()) + ")\n"
+                + "class " + className + " { }\n";
+    }
+
+    private static String toPathString(List<Path> paths) {
+        return paths.stream()
+                .map(Path::toString)
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private boolean compileUnit(
+            JavaCompiler compiler,
+            int index,
+            List<String> fxmlDirectories,
+            Charset charset,
+            Path unitOutputDirectory,
+            PrintWriter out) throws IOException {
+        String className = UNIT_CLASS_NAME_PREFIX + index;
+
+        List<Path> fullClassPath = new ArrayList<>(classPath);
+        String toolClassPath = System.getProperty("java.class.path");
+
+        Arrays.stream(toolClassPath.split(File.pathSeparator))
+                .filter(entry -> !entry.isEmpty())
+                .map(Paths::get)
+                .forEach(fullClassPath::add);
+
+        List<String> options = new ArrayList<>(List.of(
+                "-proc:only",
+                "-implicit:none",
+                "-classpath", toPathString(fullClassPath),
+                // NB: Compiler is loaded from tool's class path, so, annotation processors are too.
+                "-processorpath", toolClassPath,
+                "-processor", PROCESSOR_CLASS_NAMES,
+                "-A" + CompileFXMLVisitor.RESOURCES_DIRECTORY_OPTION + "=" + resourcesDirectory,
+                "-d", unitOutputDirectory.toString()
+        ));
+
+        for (String compilerOption : compilerOptions) {
+            options.add("-A" + compilerOption);
+        }
+
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+
+        boolean result;
+
+        try (StandardJavaFileManager fileManager =
+                     compiler.getStandardFileManager(collector, Locale.getDefault(), StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    collector,
+                    options,
+                    null,
+                    List.of(new UnitSource(className, renderUnitSource(className, fxmlDirectories, charset)))
+            );
+
+            result = Boolean.TRUE.equals(task.call());
+        }
+
+        synchronized (out) {
+            for (Diagnostic<? extends JavaFileObject> diagnostic : collector.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+                    continue;
+                }
+
+                out.println(
+                        diagnostic.getKind().toString().toLowerCase(Locale.ROOT) + ": "
+                                + String.join(",", fxmlDirectories) + ": " + diagnostic.getMessage(null)
+                );
+            }
+
+            out.flush();
+        }
+
+        return result;
+    }
+
+    private static Set<String> readServiceDescriptor(Path descriptor) throws IOException {
+        Set<String> services = new LinkedHashSet<>();
+
+        if (!Files.isRegularFile(descriptor)) {
+            return services;
+        }
+
+        for (String line : Files.readAllLines(descriptor, StandardCharsets.UTF_8)) {
+            String service = line.trim();
+
+            if (!service.isEmpty()) {
+                services.add(service);
+            }
+        }
+
+        return services;
+    }
+
+    // NB: Units are compiled to their own directories, as Micronaut writes service descriptors by read-merge-write, and
+    //  concurrent units writing to the same directory would drop each other's services. Descriptors are merged here,
+    //  after all units are done, everything else is just moved.
+    private void mergeUnitOutput(Path unitOutputDirectory) throws IOException {
+        List<Path> files;
+
+        try (Stream<Path> stream = Files.walk(unitOutputDirectory)) {
+            files = stream
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+
+        for (Path file : files) {
+            Path relativePath = unitOutputDirectory.relativize(file);
+            Path target = outputDirectory.resolve(relativePath.toString());
+
+            Files.createDirectories(target.getParent());
+
+            Path directory = relativePath.getParent();
+
+            if (directory != null && directory.toString().replace(File.separatorChar, '/').equals(SERVICES_DIRECTORY)) {
+                Set<String> services = readServiceDescriptor(target);
+                services.addAll(readServiceDescriptor(file));
+
+                Files.write(target, services, StandardCharsets.UTF_8);
+                continue;
+            }
+
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        List<Path> paths;
+
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream
+                    .sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList());
+        }
+
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Compiles FXML files.
+     *
+     * @param units compilation units, each one is a list of FXML directories relative to resources directory
+     * @param charset FXML files charset
+     * @param out where to report diagnostics to
+     * @return {@code true} if all units compiled successfully, {@code false} otherwise
+     * @throws IOException if output directory cannot be created
+     */
+    public boolean compile(List<List<String>> units, Charset charset, PrintWriter out) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler found. Are you running a JRE?");
+        }
+
+        Files.createDirectories(outputDirectory);
+
+        Path unitsOutputDirectory = Files.createTempDirectory("mlfx-batch");
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(units.size(), 1)));
+
+        try {
+            List<Path> unitOutputDirectories = new ArrayList<>();
+            List<Future<Boolean>> futures = new ArrayList<>();
+
+            for (int i = 0; i < units.size(); ++i) {
+                int index = i;
+                List<String> unit = units.get(i);
+                Path unitOutputDirectory = Files.createDirectory(unitsOutputDirectory.resolve(Integer.toString(i)));
+
+                unitOutputDirectories.add(unitOutputDirectory);
+                futures.add(executor.submit(
+                        () -> compileUnit(compiler, index, unit, charset, unitOutputDirectory, out)
+                ));
+            }
+
+            boolean result = true;
+
+            for (Future<Boolean> future : futures) {
+                try {
+                    result &= future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+
+                    throw new IllegalStateException(cause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+
+            for (Path unitOutputDirectory : unitOutputDirectories) {
+                mergeUnitOutput(unitOutputDirectory);
+            }
+
+            return result;
+        } finally {
+            executor.shutdownNow();
+            delete(unitsOutputDirectory);
+        }
+    }
+
+    private static int usage(String message) {
+        System.err.println(message);
+        System.err.print(USAGE);
+        return 2;
+    }
+
+    static int run(String[] args) {
+        List<Path> classPath = new ArrayList<>();
+        Path resourcesDirectory = null;
+        Path outputDirectory = null;
+        Charset charset = StandardCharsets.UTF_8;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> compilerOptions = new ArrayList<>();
+        List<List<String>> units = new ArrayList<>();
+
+        for (int i = 0; i < args.length; ++i) {
+            String arg = args[i];
+
+            if (!arg.startsWith("-")) {
+                units.add(Arrays.stream(arg.split(","))
+                        .filter(directory -> !directory.isEmpty())
+                        .collect(Collectors.toList())
+                );
+                continue;
+            }
+
+            if (arg.startsWith("-A")) {
+                if (arg.length() == 2) {
+                    return usage("Missing key for option " + arg + ".");
+                }
+
+                compilerOptions.add(arg.substring(2));
+                continue;
+            }
+
+            if (i + 1 == args.length) {
+                return usage("Missing value for option " + arg + ".");
+            }
+
+            String value = args[++i];
+
+            try {
+                switch (arg) {
+                    case "-cp":
+                    case "--class-path":
+                        Arrays.stream(value.split(File.pathSeparator))
+                                .filter(entry -> !entry.isEmpty())
+                                .map(Paths::get)
+                                .forEach(classPath::add);
+                        break;
+                    case "-r":
+                    case "--resources":
+                        resourcesDirectory = Paths.get(value);
+                        break;
+                    case "-d":
+                        outputDirectory = Paths.get(value);
+                        break;
+                    case "--charset":
+                        charset = Charset.forName(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    default:
+                        return usage("Unknown option " + arg + ".");
+                }
+            } catch (IllegalArgumentException e) {
+                return usage("Bad value \"" + value + "\" for option " + arg + ": " + e.getMessage());
+            }
+        }
+
+        if (resourcesDirectory == null || outputDirectory == null) {
+            return usage("Both resources and output directories must be specified.");
+        }
+
+        if (units.isEmpty()) {
+            return usage("Nothing to compile.");
+        }
+
+        if (threads < 1) {
+            return usage("Threads count must be positive.");
+        }
+
+        PrintWriter out = new PrintWriter(System.err, true);
+
+        try {
+            return new BatchCompiler(classPath, resourcesDirectory, outputDirectory, threads, compilerOptions)
+                    .compile(units, charset, out) ? 0 : 1;
+        } catch (IOException e) {
+            out.println("error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Batch compiler entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+}
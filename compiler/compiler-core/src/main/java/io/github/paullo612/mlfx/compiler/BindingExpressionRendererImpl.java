@@ -15,6 +15,7 @@
  */
 package io.github.paullo612.mlfx.compiler;
 
+import io.github.paullo612.mlfx.api.BindingUpdateEvent;
 import io.github.paullo612.mlfx.api.ObservableListenerHelper;
 import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
 import io.github.paullo612.mlfx.expression.BindingContext;
@@ -47,6 +48,9 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
 
     private static final String LISTENER_HELPER_FIELD_N = "listenerHelper";
 
+    private static final String COMMIT_METHOD_N = "commit";
+    private static final String COMMIT_METHOD_D = "(" + RenderUtils.STRING_D + "I)V";
+
     static final String ARG_CAPTURE_NAME = "arg";
     static final String STORE_NAME = "store";
 
@@ -270,12 +274,16 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
 
     private final String className;
     private final String internalClassName;
+    private final String expression;
     private final Type parentType;
 
     private final ClassWriter expressionWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
     private final FieldReference listenerHelperField;
     private final GeneratorAdapter updateMethodVisitor;
     private final Label updateMethodCodeStart;
+    private final int clearLocal;
+    // NB: -1 if binding update events are not emitted.
+    private final int updateEventLocal;
 
     // NB: We could use identity hash map here, but this would make results non-reproducible, as IdentityHashMap does
     //  not maintain insertion order.
@@ -289,11 +297,13 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
             String expression,
             Class<? extends Property> parentClass,
             ClassElement genericType,
-            ClassElement listenerHelperClassElement) {
+            ClassElement listenerHelperClassElement,
+            boolean flightRecorderEvents) {
         String outerInternalClassName = RenderUtils.type(outerClass).getInternalName();
 
         this.className = className;
         this.internalClassName = outerInternalClassName + "$" + className;
+        this.expression = expression;
         this.parentType = Type.getType(parentClass);
 
         Type valueUpdaterObject = Type.getType(ObservableListenerHelper.ValueUpdater.class);
@@ -398,6 +408,25 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
 
         updateMethodVisitor.visitCode();
 
+        // NB: Used by SavePointRenderingAdapter, which initializes it on its own.
+        clearLocal = updateMethodVisitor.newLocal(Type.getType(int.class));
+
+        if (flightRecorderEvents) {
+            // BindingUpdateEvent event = new BindingUpdateEvent();
+            // event.begin();
+            Type eventType = Type.getType(BindingUpdateEvent.class);
+
+            updateEventLocal = updateMethodVisitor.newLocal(eventType);
+            updateMethodVisitor.newInstance(eventType);
+            updateMethodVisitor.dup();
+            updateMethodVisitor.invokeConstructor(eventType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+            updateMethodVisitor.dup();
+            updateMethodVisitor.invokeVirtual(eventType, new Method("begin", "()V"));
+            updateMethodVisitor.storeLocal(updateEventLocal, eventType);
+        } else {
+            updateEventLocal = -1;
+        }
+
         // listenerHelper.lockListeners();
         listenerHelperField.load().render(updateMethodVisitor);
         updateMethodVisitor.invokeInterface(
@@ -487,6 +516,11 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
         return listenerHelperField;
     }
 
+    @Override
+    public int getClearVariableIndex() {
+        return clearLocal;
+    }
+
     @Override
     public Flag createFlag() {
         return flagSet.createFlag();
@@ -585,6 +619,16 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
                 Type.getType(ObservableListenerHelper.class),
                 new Method("unlockListeners", "()V")
         );
+
+        if (updateEventLocal != -1) {
+            // event.commit(|expression|, step);
+            Type eventType = Type.getType(BindingUpdateEvent.class);
+
+            updateMethodVisitor.loadLocal(updateEventLocal, eventType);
+            updateMethodVisitor.push(expression);
+            updateMethodVisitor.loadArg(0);
+            updateMethodVisitor.invokeVirtual(eventType, new Method(COMMIT_METHOD_N, COMMIT_METHOD_D));
+        }
     }
 
     byte[] dispose() {
@@ -592,6 +636,7 @@ class BindingExpressionRendererImpl implements BindingContext.BindingExpressionR
         //     ...
         // } finally {
         //     listenerHelper.unlockListeners();
+        //     event.commit(|expression|, step); // If binding update events are emitted.
         // }
         Label out = updateMethodVisitor.newLabel();
         Label codeEnd = updateMethodVisitor.mark();
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
+import io.github.paullo612.mlfx.api.Result;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import javafx.util.Callback;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+// NB: Cell loads cell template document once, when it gets its first non-null item, and shows document's root as a
+//  graphic for every non-empty item afterwards. Binding expressions do not expect nulls in the middle of property
+//  chains, so, template's item is the last non-null item of the cell. Template's bindings observe cell's item
+//  property, so, updating cell re-evaluates them without reloading anything.
+class CellRenderer {
+
+    static final String CONSTRUCTOR_DESCRIPTOR =
+            "(" + Type.getType(ControllerAccessorFactory.class).getDescriptor() + RootRenderer.RESOURCE_BUNDLE_D + ")V";
+
+    private static final String CLASS_NAME = "Cell";
+    private static final String CONTROLLER_ACCESSOR_FACTORY_FIELD_NAME = "$controllerAccessorFactory";
+    private static final String RESOURCE_BUNDLE_FIELD_NAME = "$resourceBundle";
+    private static final String ITEM_FIELD_NAME = "$item";
+    private static final String GRAPHIC_FIELD_NAME = "$graphic";
+    private static final String UPDATE_ITEM_METHOD_DESCRIPTOR = "(" + RenderUtils.OBJECT_D + "Z)V";
+    private static final String NODE_D = "Ljavafx/scene/Node;";
+    private static final String NEW_CELL_METHOD_NAME = "$newCell";
+    private static final String DO_CREATE_CELL_FACTORY_METHOD_NAME = "doCreateCellFactory";
+
+    private final ClassWriter cellWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+    private final String loaderInternalClassName;
+    private final String internalClassName;
+    private final String cellFieldName;
+    private final Type cellType;
+    private final Type rootType;
+
+    CellRenderer(String loaderInternalClassName, String cellFieldName, Type cellType, Type rootType) {
+        this.loaderInternalClassName = loaderInternalClassName;
+        this.internalClassName = loaderInternalClassName + "$" + CLASS_NAME;
+        this.cellFieldName = cellFieldName;
+        this.cellType = cellType;
+        this.rootType = rootType;
+    }
+
+    String getInternalClassName() {
+        return internalClassName;
+    }
+
+    String getClassName() {
+        return CLASS_NAME;
+    }
+
+    // Consumes cell from stack top and loads its last non-null item.
+    void loadItem(GeneratorAdapter methodVisitor) {
+        Type objectType = Type.getObjectType(internalClassName);
+
+        // ((|objectType|) cell).$item
+        methodVisitor.checkCast(objectType);
+        methodVisitor.getField(objectType, ITEM_FIELD_NAME, Type.getType(Object.class));
+    }
+
+    private void renderConstructor() {
+        Type objectType = Type.getObjectType(internalClassName);
+
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                0,
+                new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR),
+                null,
+                null,
+                cellWriter
+        );
+
+        constructor.visitCode();
+
+        // super();
+        constructor.loadThis();
+        constructor.invokeConstructor(cellType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+
+        // this.$controllerAccessorFactory = controllerAccessorFactory;
+        constructor.loadThis();
+        constructor.loadArg(0);
+        constructor.putField(
+                objectType,
+                CONTROLLER_ACCESSOR_FACTORY_FIELD_NAME,
+                Type.getType(ControllerAccessorFactory.class)
+        );
+
+        // this.$resourceBundle = resourceBundle;
+        constructor.loadThis();
+        constructor.loadArg(1);
+        constructor.putField(objectType, RESOURCE_BUNDLE_FIELD_NAME, Type.getObjectType("java/util/ResourceBundle"));
+
+        constructor.returnValue();
+        constructor.endMethod();
+    }
+
+    private void renderLoad(GeneratorAdapter methodVisitor) {
+        Type objectType = Type.getObjectType(internalClassName);
+        Type loaderType = Type.getObjectType(loaderInternalClassName);
+        Type factoryType = Type.getType(ControllerAccessorFactory.class);
+        Type resultType = Type.getType(Result.class);
+        Type loadExceptionType = Type.getType(CompiledLoadException.class);
+
+        // try {
+        //     |loaderType| loader = new |loaderType|();
+        //     loader.$cell = this;
+        //     this.$graphic = (|rootType|) loader.load($controllerAccessorFactory, null, null, $resourceBundle)
+        //             .getRootInstance();
+        // } catch (CompiledLoadException e) {
+        //     throw new IllegalStateException("Failed to load cell template.", e);
+        // }
+        Label tryStart = methodVisitor.mark();
+
+        int loaderLocal = methodVisitor.newLocal(loaderType);
+        methodVisitor.newInstance(loaderType);
+        methodVisitor.dup();
+        methodVisitor.invokeConstructor(loaderType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+        methodVisitor.storeLocal(loaderLocal);
+
+        methodVisitor.loadLocal(loaderLocal);
+        methodVisitor.loadThis();
+        methodVisitor.putField(loaderType, cellFieldName, cellType);
+
+        methodVisitor.loadThis();
+        methodVisitor.loadLocal(loaderLocal);
+        methodVisitor.loadThis();
+        methodVisitor.getField(objectType, CONTROLLER_ACCESSOR_FACTORY_FIELD_NAME, factoryType);
+        methodVisitor.push((Type) null);
+        methodVisitor.push((Type) null);
+        methodVisitor.loadThis();
+        methodVisitor.getField(objectType, RESOURCE_BUNDLE_FIELD_NAME, Type.getObjectType("java/util/ResourceBundle"));
+        methodVisitor.invokeVirtual(
+                loaderType,
+                new Method(
+                        "load",
+                        "(" + factoryType.getDescriptor() + RenderUtils.OBJECT_D + RenderUtils.OBJECT_D
+                                + RootRenderer.RESOURCE_BUNDLE_D + ")" + resultType.getDescriptor()
+                )
+        );
+        methodVisitor.invokeInterface(resultType, new Method("getRootInstance", "()" + RenderUtils.OBJECT_D));
+        methodVisitor.checkCast(rootType);
+        methodVisitor.putField(objectType, GRAPHIC_FIELD_NAME, rootType);
+
+        Label tryEnd = methodVisitor.mark();
+        Label out = methodVisitor.newLabel();
+        methodVisitor.goTo(out);
+
+        methodVisitor.catchException(tryStart, tryEnd, loadExceptionType);
+        int exceptionLocal = methodVisitor.newLocal(loadExceptionType);
+        methodVisitor.storeLocal(exceptionLocal);
+
+        Type illegalStateExceptionType = Type.getType(IllegalStateException.class);
+        methodVisitor.newInstance(illegalStateExceptionType);
+        methodVisitor.dup();
+        methodVisitor.push("Failed to load cell template.");
+        methodVisitor.loadLocal(exceptionLocal);
+        methodVisitor.invokeConstructor(
+                illegalStateExceptionType,
+                new Method(
+                        RenderUtils.CONSTRUCTOR_N,
+                        "(" + RenderUtils.STRING_D + Type.getType(Throwable.class).getDescriptor() + ")V"
+                )
+        );
+        methodVisitor.throwException();
+
+        methodVisitor.mark(out);
+    }
+
+    private void renderUpdateItemMethod() {
+        Type objectType = Type.getObjectType(internalClassName);
+
+        GeneratorAdapter updateItemMethod = new GeneratorAdapter(
+                Opcodes.ACC_PROTECTED,
+                new Method("updateItem", UPDATE_ITEM_METHOD_DESCRIPTOR),
+                null,
+                null,
+                cellWriter
+        );
+
+        updateItemMethod.visitCode();
+
+        // if (!empty && item != null) {
+        //     this.$item = item;
+        //
+        //     if (this.$graphic == null) {
+        //         <load>
+        //     }
+        // }
+        Label update = updateItemMethod.newLabel();
+
+        updateItemMethod.loadArg(1);
+        updateItemMethod.ifZCmp(GeneratorAdapter.NE, update);
+        updateItemMethod.loadArg(0);
+        updateItemMethod.ifNull(update);
+
+        updateItemMethod.loadThis();
+        updateItemMethod.loadArg(0);
+        updateItemMethod.putField(objectType, ITEM_FIELD_NAME, Type.getType(Object.class));
+
+        updateItemMethod.loadThis();
+        updateItemMethod.getField(objectType, GRAPHIC_FIELD_NAME, rootType);
+        updateItemMethod.ifNonNull(update);
+        renderLoad(updateItemMethod);
+
+        updateItemMethod.mark(update);
+
+        // super.updateItem(item, empty);
+        updateItemMethod.loadThis();
+        updateItemMethod.loadArg(0);
+        updateItemMethod.loadArg(1);
+        updateItemMethod.visitMethodInsn(
+                Opcodes.INVOKESPECIAL,
+                cellType.getInternalName(),
+                "updateItem",
+                UPDATE_ITEM_METHOD_DESCRIPTOR,
+                false
+        );
+
+        // setGraphic(empty || item == null ? null : this.$graphic);
+        Label hide = updateItemMethod.newLabel();
+        Label setGraphic = updateItemMethod.newLabel();
+
+        updateItemMethod.loadThis();
+        updateItemMethod.loadArg(1);
+        updateItemMethod.ifZCmp(GeneratorAdapter.NE, hide);
+        updateItemMethod.loadArg(0);
+        updateItemMethod.ifNull(hide);
+        updateItemMethod.loadThis();
+        updateItemMethod.getField(objectType, GRAPHIC_FIELD_NAME, rootType);
+        updateItemMethod.goTo(setGraphic);
+        updateItemMethod.mark(hide);
+        updateItemMethod.push((Type) null);
+        updateItemMethod.mark(setGraphic);
+        updateItemMethod.invokeVirtual(cellType, new Method("setGraphic", "(" + NODE_D + ")V"));
+
+        updateItemMethod.returnValue();
+        updateItemMethod.endMethod();
+    }
+
+    byte[] dispose() {
+        // Class
+        cellWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                internalClassName,
+                null,
+                cellType.getInternalName(),
+                null
+        );
+
+        cellWriter.visitNestHost(loaderInternalClassName);
+        cellWriter.visitInnerClass(
+                internalClassName,
+                loaderInternalClassName,
+                CLASS_NAME,
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC
+        );
+
+        cellWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                CONTROLLER_ACCESSOR_FACTORY_FIELD_NAME,
+                Type.getType(ControllerAccessorFactory.class).getDescriptor(),
+                null,
+                null
+        );
+        cellWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                RESOURCE_BUNDLE_FIELD_NAME,
+                RootRenderer.RESOURCE_BUNDLE_D,
+                null,
+                null
+        );
+        cellWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC,
+                ITEM_FIELD_NAME,
+                RenderUtils.OBJECT_D,
+                null,
+                null
+        );
+        cellWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC,
+                GRAPHIC_FIELD_NAME,
+                rootType.getDescriptor(),
+                null,
+                null
+        );
+
+        renderConstructor();
+        renderUpdateItemMethod();
+
+        cellWriter.visitEnd();
+
+        return cellWriter.toByteArray();
+    }
+
+    // Renders loader's cell factory methods to |loaderWriter|.
+    void renderCreateCellFactoryMethods(ClassWriter loaderWriter) {
+        Type loaderType = Type.getObjectType(loaderInternalClassName);
+        Type cellClassType = Type.getObjectType(internalClassName);
+        Type loadExceptionType = Type.getType(CompiledLoadException.class);
+        Type callbackType = Type.getType(Callback.class);
+
+        String argumentsDescriptor = Type.getType(ControllerAccessorFactory.class).getDescriptor()
+                + RootRenderer.RESOURCE_BUNDLE_D;
+        String newCellDescriptor = "(" + argumentsDescriptor + RenderUtils.OBJECT_D + ")" + RenderUtils.OBJECT_D;
+
+        GeneratorAdapter newCellMethod = new GeneratorAdapter(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                new Method(NEW_CELL_METHOD_NAME, newCellDescriptor),
+                null,
+                null,
+                loaderWriter
+        );
+
+        newCellMethod.visitCode();
+
+        // return new |cellClassType|(controllerAccessorFactory, resourceBundle);
+        newCellMethod.newInstance(cellClassType);
+        newCellMethod.dup();
+        newCellMethod.loadArg(0);
+        newCellMethod.loadArg(1);
+        newCellMethod.invokeConstructor(
+                cellClassType,
+                new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR)
+        );
+        newCellMethod.returnValue();
+        newCellMethod.endMethod();
+
+        GeneratorAdapter createCellFactoryMethod = new GeneratorAdapter(
+                Opcodes.ACC_PROTECTED,
+                new Method(
+                        DO_CREATE_CELL_FACTORY_METHOD_NAME,
+                        "(" + argumentsDescriptor + ")" + callbackType.getDescriptor()
+                ),
+                null,
+                new Type[] { loadExceptionType },
+                loaderWriter
+        );
+
+        createCellFactoryMethod.visitCode();
+
+        // return view -> $newCell(controllerAccessorFactory, resourceBundle, view);
+        createCellFactoryMethod.loadArg(0);
+        createCellFactoryMethod.loadArg(1);
+
+        Type callDescriptor = Type.getType("(" + RenderUtils.OBJECT_D + ")" + RenderUtils.OBJECT_D);
+
+        createCellFactoryMethod.visitInvokeDynamicInsn(
+                "call",
+                "(" + argumentsDescriptor + ")" + callbackType.getDescriptor(),
+                RenderUtils.LAMBDA_METAFACTORY_HANDLE,
+                callDescriptor,
+                new Handle(
+                        Opcodes.H_INVOKESTATIC,
+                        loaderType.getInternalName(),
+                        NEW_CELL_METHOD_NAME,
+                        newCellDescriptor,
+                        false
+                ),
+                callDescriptor
+        );
+        createCellFactoryMethod.returnValue();
+        createCellFactoryMethod.endMethod();
+    }
+}
@@ -18,6 +18,7 @@ package io.github.paullo612.mlfx.compiler;
 import com.google.auto.service.AutoService;
 import io.github.paullo612.mlfx.api.CompileFXML;
 import io.github.paullo612.mlfx.api.CompiledFXMLLoader;
+import io.github.paullo612.mlfx.api.ControllerAccessor;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.naming.NameUtils;
@@ -26,19 +27,28 @@ import io.micronaut.inject.ast.ClassElement;
 import io.micronaut.inject.visitor.TypeElementVisitor;
 import io.micronaut.inject.visitor.VisitorContext;
 
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -52,12 +62,40 @@ public class CompileFXMLVisitor implements TypeElementVisitor<CompileFXML, Objec
     static final String RESOURCES_DIRECTORY_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME
             + ".mlfx.resourcesDirectory";
 
+    static final String INLINE_INCLUDES_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME + ".mlfx.inlineIncludes";
+
+    static final String BINARY_STYLESHEETS_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME
+            + ".mlfx.binaryStylesheets";
+
+    static final String STATIC_HANDLERS_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME + ".mlfx.staticHandlers";
+
+    static final String NATIVE_IMAGE_METADATA_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME
+            + ".mlfx.nativeImageMetadata";
+
+    static final String CONTROLLER_ACCESSORS_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME
+            + ".mlfx.controllerAccessors";
+
+    static final String FLIGHT_RECORDER_EVENTS_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME
+            + ".mlfx.flightRecorderEvents";
+
+    static final String FACADES_OPTION = VisitorContext.MICRONAUT_BASE_OPTION_NAME + ".mlfx.facades";
+
+    static final String CONTROLLER_ACCESSORS_SERVICE_DESCRIPTOR =
+            "META-INF/services/" + ControllerAccessor.class.getName();
+
     private static final String FXML_DIRECTORIES_MEMBER = "fxmlDirectories";
     private static final String CHARSET_MEMBER = "charset";
+    private static final String RESOURCE_BUNDLES_MEMBER = "resourceBundles";
+    private static final String CHECK_RESOURCE_KEYS_MEMBER = "checkResourceKeys";
 
     private static final String RESOURCES_DIRECTORY = "src/main/resources";
     static final String FXML_EXTENSION = ".fxml";
 
+    // NB: Controllers may be shared between @CompileFXML annotated classes, so, accessors are collected for whole
+    //  compilation and registered in service descriptor at once.
+    private final Set<String> controllerAccessors = new TreeSet<>();
+    private final List<ClassElement> controllerAccessorsOrigins = new ArrayList<>();
+
     static String computeClassName(String className) {
         // Capitalize class name. Micronaut's AST implementation thinks that element is subpackage if element
         //  name does not start from capital letter.
@@ -79,6 +117,34 @@ public class CompileFXMLVisitor implements TypeElementVisitor<CompileFXML, Objec
         return className;
     }
 
+    // NB: VisitorContext can only write resources to source output or META-INF, and there is no way to put arbitrary
+    //  resource to class output through Micronaut's API. Java visitor context exposes processing environment, so, get
+    //  the filer from there.
+    private static OutputStream createResource(VisitorContext context, String name, ClassElement... elements)
+            throws IOException {
+        ProcessingEnvironment processingEnvironment;
+
+        try {
+            processingEnvironment = (ProcessingEnvironment) context.getClass()
+                    .getMethod("getProcessingEnv")
+                    .invoke(context);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | ClassCastException e) {
+            throw new IOException("Writing resources is not supported by " + context.getClass().getName(), e);
+        }
+
+        javax.lang.model.element.Element[] originatingElements = Arrays.stream(elements)
+                .map(ClassElement::getNativeType)
+                .filter(javax.lang.model.element.Element.class::isInstance)
+                .map(javax.lang.model.element.Element.class::cast)
+                .toArray(javax.lang.model.element.Element[]::new);
+
+        // NB: Resource directories are not necessarily valid package names (think of META-INF), so pass the whole
+        //  path as relative name to an unnamed package.
+        return processingEnvironment.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", name, originatingElements)
+                .openOutputStream();
+    }
+
     @Override
     public void visitClass(ClassElement element, VisitorContext context) {
         if (!MICRONAUT_VERSION_CHECK_DONE) {
@@ -124,19 +190,25 @@ public class CompileFXMLVisitor implements TypeElementVisitor<CompileFXML, Objec
             return;
         }
 
-        Path projectDirectory = context.getProjectDir()
-                .orElse(null);
+        String resourcesDirectory = context.getOptions().getOrDefault(RESOURCES_DIRECTORY_OPTION, RESOURCES_DIRECTORY);
 
-        if (projectDirectory == null) {
-            context.fail("Failed to get project directory.", element);
-            return;
-        }
+        Path resourcesPath = Paths.get(resourcesDirectory);
 
-        String separator = projectDirectory.getFileSystem().getSeparator();
+        // NB: Absolute resources directory does not need project directory to be known. This is the case for batch
+        //  compiler, which has no project layout to guess from.
+        if (!resourcesPath.isAbsolute()) {
+            Path projectDirectory = context.getProjectDir()
+                    .orElse(null);
 
-        String resourcesDirectory = context.getOptions().getOrDefault(RESOURCES_DIRECTORY_OPTION, RESOURCES_DIRECTORY);
+            if (projectDirectory == null) {
+                context.fail("Failed to get project directory.", element);
+                return;
+            }
+
+            resourcesPath = projectDirectory.resolve(resourcesPath);
+        }
 
-        Path resourcesPath = projectDirectory.resolve(resourcesDirectory);
+        String separator = resourcesPath.getFileSystem().getSeparator();
 
         if (!Files.isDirectory(resourcesPath)) {
             context.warn(
@@ -153,14 +225,70 @@ public class CompileFXMLVisitor implements TypeElementVisitor<CompileFXML, Objec
                 return context.visitClass(name, element);
             }
 
+            @Override
+            public OutputStream createResource(String name) throws IOException {
+                return CompileFXMLVisitor.createResource(context, name, element);
+            }
+
             @Override
             public void warn(String message) {
                 context.warn(message, element);
             }
         };
 
-        TaskFactory taskFactory =
-                new TaskFactory(context, resourcesPath.toUri(), compilerDelegate);
+        NativeImageMetadata nativeImageMetadata =
+                Boolean.parseBoolean(context.getOptions().get(NATIVE_IMAGE_METADATA_OPTION))
+                        ? new NativeImageMetadata()
+                        : null;
+
+        List<ResourceBundleCompiler.Family> resourceBundles = new ArrayList<>();
+
+        for (String baseName : metadata.stringValues(CompileFXML.class, RESOURCE_BUNDLES_MEMBER)) {
+            try {
+                ResourceBundleCompiler.Family family = ResourceBundleCompiler.read(resourcesPath, baseName);
+
+                ResourceBundleCompiler.render(family, compilerDelegate);
+                resourceBundles.add(family);
+
+                if (nativeImageMetadata != null) {
+                    nativeImageMetadata.addBundle(family.getBaseName());
+                    family.getClassNames().forEach(nativeImageMetadata::addBuildTimeInitializedType);
+                }
+            } catch (CompileErrorException e) {
+                context.fail(e.getMessage(), element);
+                return;
+            }
+        }
+
+        boolean checkResourceKeys = metadata.booleanValue(CompileFXML.class, CHECK_RESOURCE_KEYS_MEMBER)
+                .orElse(false);
+
+        boolean inlineIncludes = Boolean.parseBoolean(context.getOptions().get(INLINE_INCLUDES_OPTION));
+        boolean binaryStylesheets = Boolean.parseBoolean(context.getOptions().get(BINARY_STYLESHEETS_OPTION));
+        boolean staticHandlers = Boolean.parseBoolean(context.getOptions().get(STATIC_HANDLERS_OPTION));
+        boolean flightRecorderEvents = Boolean.parseBoolean(context.getOptions().get(FLIGHT_RECORDER_EVENTS_OPTION));
+        boolean facades = Boolean.parseBoolean(context.getOptions().get(FACADES_OPTION));
+
+        boolean controllerAccessors = Boolean.parseBoolean(context.getOptions().get(CONTROLLER_ACCESSORS_OPTION));
+
+        if (controllerAccessors) {
+            controllerAccessorsOrigins.add(element);
+        }
+
+        TaskFactory taskFactory = new TaskFactory(
+                context,
+                resourcesPath.toUri(),
+                compilerDelegate,
+                resourceBundles,
+                checkResourceKeys,
+                inlineIncludes,
+                binaryStylesheets,
+                staticHandlers,
+                flightRecorderEvents,
+                facades,
+                nativeImageMetadata,
+                controllerAccessors ? this.controllerAccessors : null
+        );
 
         List<CompileTask> tasks = new ArrayList<>();
 
@@ -230,6 +358,40 @@ public class CompileFXMLVisitor implements TypeElementVisitor<CompileFXML, Objec
                 return;
             }
         }
+
+        if (nativeImageMetadata != null) {
+            try {
+                nativeImageMetadata.write(element.getName(), compilerDelegate);
+            } catch (CompileErrorException e) {
+                context.fail(e.getMessage(), element);
+            }
+        }
+    }
+
+    @Override
+    public void finish(VisitorContext context) {
+        if (controllerAccessors.isEmpty()) {
+            return;
+        }
+
+        ClassElement[] elements = controllerAccessorsOrigins.toArray(new ClassElement[0]);
+
+        try (Writer writer = new OutputStreamWriter(
+                createResource(context, CONTROLLER_ACCESSORS_SERVICE_DESCRIPTOR, elements),
+                StandardCharsets.UTF_8)) {
+            for (String controllerClassName : controllerAccessors) {
+                writer.write(ControllerAccessorRenderer.computeClassName(controllerClassName));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            context.fail(
+                    "Failed to write ServiceLoader descriptor for compiled controller accessors: " + e.getMessage(),
+                    elements[0]
+            );
+        } finally {
+            controllerAccessors.clear();
+            controllerAccessorsOrigins.clear();
+        }
     }
 
     @Override
@@ -250,6 +412,15 @@ public class CompileFXMLVisitor implements TypeElementVisitor<CompileFXML, Objec
 
     @Override
     public Set<String> getSupportedOptions() {
-        return Collections.singleton(RESOURCES_DIRECTORY_OPTION);
+        return Set.of(
+                RESOURCES_DIRECTORY_OPTION,
+                INLINE_INCLUDES_OPTION,
+                BINARY_STYLESHEETS_OPTION,
+                STATIC_HANDLERS_OPTION,
+                NATIVE_IMAGE_METADATA_OPTION,
+                CONTROLLER_ACCESSORS_OPTION,
+                FLIGHT_RECORDER_EVENTS_OPTION,
+                FACADES_OPTION
+        );
     }
 }
@@ -22,11 +22,20 @@ import java.nio.charset.Charset;
 public interface CompileTask {
 
     interface CompiledFXMLLoaderReference {
+        String LOAD_INCLUDED_METHOD_NAME = "loadIncluded";
+
         ClassElement getTargetType();
 
         ClassElement getRootClassElement();
 
         ClassElement getControllerClassElement();
+
+        // Whether target type can be loaded by CompiledFXMLLoader#|LOAD_INCLUDED_METHOD_NAME|, that skips
+        //  CompiledFXMLLoader#load argument checks.
+        boolean canLoadIncluded();
+
+        // Whether load results of target type re-apply anything on Result#relocalize.
+        boolean isRelocalizable();
     }
 
     CompiledFXMLLoaderReference compile(Charset charset);
@@ -19,6 +19,8 @@ import io.github.paullo612.mlfx.expression.BindingContext;
 import io.github.paullo612.mlfx.expression.ExpressionContext;
 import io.micronaut.inject.ast.ClassElement;
 import io.micronaut.inject.ast.Element;
+import io.micronaut.inject.ast.MethodElement;
+import org.objectweb.asm.commons.GeneratorAdapter;
 
 import java.net.URI;
 import java.nio.charset.Charset;
@@ -31,6 +33,31 @@ public interface CompilerContext extends BindingContext {
         void render(ExpressionContext.RenderCommand command);
     }
 
+    interface CompiledResource {
+
+        // Internal name of resource bundle family's root locale class.
+        String getBundleInternalName();
+
+        int getIndex();
+    }
+
+    interface RelocalizationSite {
+
+        // Re-applies resource value to target. Target is loaded as Object, resource bundle as ResourceBundle.
+        void render(GeneratorAdapter methodVisitor, RenderCommand loadTarget, RenderCommand loadResources);
+    }
+
+    interface LazyContentRenderer extends Renderer {
+
+        // Loads lazy content owner. Only valid for commands rendered by this renderer.
+        RenderCommand loadOwner();
+
+        // Finishes lazy content and restores previous renderer. Lazy content is constructed when property returned by
+        //  owner's |triggerMethod| becomes true. Owner is loaded by |loadOwner| after enclosing method is fully
+        //  rendered.
+        void finish(RenderCommand loadOwner, MethodElement triggerMethod);
+    }
+
     @Override
     CompileErrorException compileError(String message);
 
@@ -48,8 +75,62 @@ public interface CompilerContext extends BindingContext {
 
     void setControllerField(String name, Loadable value);
 
+    // Stores |value| to document's fx:id namespace object.
+    void setNamespaceField(String name, Loadable value);
+
     Loadable getNonRequiredResourceBundle();
 
+    Loadable getIncludedResourceBundle(String baseName);
+
+    // Starts load of included document ahead of time. Only valid for fx:include elements marked by
+    //  ParallelIncludesPass. |startLoad| pushes included document's loader, controller accessor factory and resource
+    //  bundle. Returns command that leaves Result of included document on stack top.
+    RenderCommand startParallelInclude(RenderCommand startLoad);
+
+    // Returns true, if images with constant arguments should be looked up in ImageCache instead of being constructed.
+    boolean hasImageCache();
+
+    // Returns true, if images looked up in ImageCache should be loaded in background.
+    boolean hasImageCacheBackgroundLoading();
+
+    // Returns true, if listeners created from controller method references should be implemented by document's
+    //  handler class instead of invokedynamic.
+    boolean hasStaticHandlers();
+
+    // Consumes |targetClassElement| instance from stack top and produces |listenerClass| instance implemented by
+    //  document's handler class, which calls |method| of target. Listener arguments are dropped, if method has none.
+    void renderStaticHandler(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            ClassElement targetClassElement,
+            MethodElement method
+    );
+
+    // Consumes ExecutableMethod from stack top and produces |listenerClass| instance implemented by document's handler
+    //  class, which executes it with |argumentCount| first listener arguments.
+    void renderStaticExecutableHandler(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            int argumentCount
+    );
+
+    // Loads URL of |path| resolved against document location as a String. Resolved once per compiled loader.
+    Loadable getRelativeResource(String path);
+
+    Optional<CompiledResource> getCompiledResource(String key);
+
+    // Returned command consumes target from stack top and records it, so, |site| can be re-applied to it on
+    //  relocalization.
+    RenderCommand recordRelocalizationTarget(RelocalizationSite site);
+
+    // Starts lazy content owned by instance of |ownerClassElement|. Lazy content is rendered to separate method.
+    //  Returned renderer is current one till it is finished.
+    LazyContentRenderer startLazyContent(ClassElement ownerClassElement);
+
     Loadable getControllerAccessor();
 
     Loadable getControllerAccessorFactory();
@@ -58,6 +139,9 @@ public interface CompilerContext extends BindingContext {
 
     Optional<CompileTask> getCompileTask(URI location);
 
+    // Converts stylesheet at |path| to binary format, if enabled. Returns path document should refer to.
+    String compileStylesheet(String path);
+
     Renderer getRenderer();
 
     void setRenderer(Renderer renderer);
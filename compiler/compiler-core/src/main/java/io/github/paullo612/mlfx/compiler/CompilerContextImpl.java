@@ -25,23 +25,28 @@ import io.micronaut.inject.ast.ClassElement;
 import io.micronaut.inject.ast.Element;
 import io.micronaut.inject.ast.ElementQuery;
 import io.micronaut.inject.ast.FieldElement;
+import io.micronaut.inject.ast.MethodElement;
 import io.micronaut.inject.visitor.VisitorContext;
 import javafx.beans.property.Property;
 import javafx.fxml.FXMLLoader;
 import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
 import org.objectweb.asm.commons.Method;
 
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 class CompilerContextImpl implements CompilerContext {
 
@@ -49,6 +54,12 @@ class CompilerContextImpl implements CompilerContext {
         void warn(String message);
     }
 
+    static final String CELL_KEYWORD = "cell";
+    static final String ITEM_KEYWORD = "item";
+
+    private static final String CELL_CLASS_NAME = "javafx.scene.control.Cell";
+    private static final String IMAGE_CACHE_BACKGROUND_LOADING = "backgroundLoading";
+
     private final VisitorContext visitorContext;
     private final TaskFactory taskFactory;
     private final Warner warner;
@@ -100,13 +111,23 @@ class CompilerContextImpl implements CompilerContext {
     };
 
     private FXMLElement<?> currentFXMLElement;
+    private int lineNumber;
 
     private boolean hasFxRoot;
     private boolean requiresExternalController;
+    private boolean imageCache;
+    private boolean imageCacheBackgroundLoading;
     private Loadable rootLoadable;
+    private ClassElement cellClassElement;
+    private ClassElement cellItemClassElement;
 
+    private final RootRenderer rootRenderer;
     private Renderer renderer;
     private final BitSet slots = new BitSet();
+
+    // NB: Lazy content is installed at the end of method it is declared in, when its owner is fully constructed. Last
+    //  list holds installs of lazy content declared in load method.
+    private final Deque<List<RenderCommand>> lazyContentInstalls = new ArrayDeque<>(List.of(new ArrayList<>()));
     private int expressionCounter;
 
     CompilerContextImpl(
@@ -121,6 +142,7 @@ class CompilerContextImpl implements CompilerContext {
         this.warner = warner;
         this.targetType = targetType;
         this.charset = charset;
+        this.rootRenderer = rootRenderer;
         this.renderer = rootRenderer;
 
         // Location
@@ -160,6 +182,14 @@ class CompilerContextImpl implements CompilerContext {
         this.currentFXMLElement = currentFXMLElement;
     }
 
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
     @Override
     public CompileErrorException compileError(String message) {
         return new CompileErrorException(message);
@@ -360,11 +390,239 @@ class CompilerContextImpl implements CompilerContext {
                 .ifPresent(f -> doSetControllerField(f, value, controller));
     }
 
+    @Override
+    public void setNamespaceField(String name, Loadable value) {
+        if (!rootRenderer.hasNamespace()) {
+            return;
+        }
+
+        if (lazyContentInstalls.size() > 1) {
+            // NB: Lazy content is constructed after load, so, its elements can't be in namespace.
+            warn(
+                    "Element with fx:id \"" + name + "\" is declared inside of lazy content, so, it has no accessor in "
+                            + "document's namespace."
+            );
+            return;
+        }
+
+        ClassElement classElement = value.getClassElement();
+
+        renderer.render(methodVisitor -> {
+            value.load().render(methodVisitor);
+            rootRenderer.setNamespaceField(name, classElement, methodVisitor);
+        });
+    }
+
     @Override
     public Loadable getNonRequiredResourceBundle() {
         return nonRequiredResourceBundle;
     }
 
+    @Override
+    public Loadable getIncludedResourceBundle(String baseName) {
+        return new Loadable() {
+
+            @Override
+            public ClassElement getClassElement() {
+                return CompilerContextImpl.this.getClassElement(ResourceBundle.class);
+            }
+
+            @Override
+            public RenderCommand load() {
+                return methodVisitor -> rootRenderer.loadIncludedResourceBundle(baseName, methodVisitor);
+            }
+        };
+    }
+
+    @Override
+    public RenderCommand startParallelInclude(RenderCommand startLoad) {
+        return rootRenderer.startParallelInclude(startLoad);
+    }
+
+    @Override
+    public boolean hasImageCache() {
+        return imageCache;
+    }
+
+    @Override
+    public boolean hasImageCacheBackgroundLoading() {
+        return imageCacheBackgroundLoading;
+    }
+
+    @Override
+    public boolean hasStaticHandlers() {
+        return rootRenderer.hasStaticHandlers();
+    }
+
+    @Override
+    public void renderStaticHandler(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            ClassElement targetClassElement,
+            MethodElement method) {
+        rootRenderer.renderStaticHandler(
+                methodVisitor,
+                listenerClass,
+                listenerMethodName,
+                listenerParameters,
+                targetClassElement,
+                method
+        );
+    }
+
+    @Override
+    public void renderStaticExecutableHandler(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            int argumentCount) {
+        rootRenderer.renderStaticExecutableHandler(
+                methodVisitor,
+                listenerClass,
+                listenerMethodName,
+                listenerParameters,
+                argumentCount
+        );
+    }
+
+    @Override
+    public Loadable getRelativeResource(String path) {
+        return new Loadable() {
+
+            @Override
+            public ClassElement getClassElement() {
+                return CompilerContextImpl.this.getClassElement(String.class);
+            }
+
+            @Override
+            public RenderCommand load() {
+                return methodVisitor -> rootRenderer.loadRelativeResource(path, methodVisitor);
+            }
+        };
+    }
+
+    @Override
+    public Optional<CompiledResource> getCompiledResource(String key) {
+        List<ResourceBundleCompiler.Family> resourceBundles = taskFactory.getResourceBundles();
+
+        for (ResourceBundleCompiler.Family family : resourceBundles) {
+            int index = family.indexOf(key);
+
+            if (index < 0) {
+                continue;
+            }
+
+            return Optional.of(new CompiledResource() {
+
+                @Override
+                public String getBundleInternalName() {
+                    return family.getInternalName();
+                }
+
+                @Override
+                public int getIndex() {
+                    return index;
+                }
+            });
+        }
+
+        if (taskFactory.isCheckResourceKeys()) {
+            throw compileError(
+                    "Resource \"" + key + "\" not found in "
+                            + resourceBundles.stream()
+                                    .map(ResourceBundleCompiler.Family::getBaseName)
+                                    .collect(Collectors.joining(", "))
+                            + " resource bundle(s)."
+            );
+        }
+
+        // NB: Key may belong to a bundle that is not compiled, e.g. one specified by fx:include resources attribute, or
+        //  passed to load by the caller. Such keys are resolved by name at runtime.
+        return Optional.empty();
+    }
+
+    @Override
+    public RenderCommand recordRelocalizationTarget(RelocalizationSite site) {
+        return methodVisitor -> rootRenderer.recordRelocalizationTarget(site, methodVisitor);
+    }
+
+    @Override
+    public LazyContentRenderer startLazyContent(ClassElement ownerClassElement) {
+        Renderer parent = renderer;
+        Map<String, Loadable> parentScope = new HashMap<>(scope);
+
+        int ownerSlot = acquireSlot(ownerClassElement);
+        LazyContentMethod method = rootRenderer.startLazyContentMethod(ownerClassElement, ownerSlot);
+
+        lazyContentInstalls.push(new ArrayList<>());
+
+        LazyContentRenderer lazyContentRenderer = new LazyContentRenderer() {
+
+            @Override
+            public void render(RenderCommand command) {
+                method.render(command);
+            }
+
+            @Override
+            public RenderCommand loadOwner() {
+                return method::loadOwner;
+            }
+
+            @Override
+            public void finish(RenderCommand loadOwner, MethodElement triggerMethod) {
+                lazyContentInstalls.pop().forEach(method::render);
+
+                if (method.hasOuterReferences()) {
+                    throw compileError("Lazy content can only reference elements declared inside of it.");
+                }
+
+                rootRenderer.finishLazyContentMethod(method);
+                releaseSlot(ownerSlot);
+                renderer = parent;
+
+                // NB: Lazy content elements are not constructed at the end of load method. Forbid any references to
+                //  them from outside.
+                for (Map.Entry<String, Loadable> entry : scope.entrySet()) {
+                    String name = entry.getKey();
+                    Loadable loadable = entry.getValue();
+
+                    if (parentScope.get(name) == loadable) {
+                        continue;
+                    }
+
+                    entry.setValue(new Loadable() {
+
+                        @Override
+                        public ClassElement getClassElement() {
+                            return loadable.getClassElement();
+                        }
+
+                        @Override
+                        public RenderCommand load() {
+                            throw compileError(
+                                    "\"" + name + "\" is declared inside of lazy content and cannot be referenced"
+                                            + " outside of it."
+                            );
+                        }
+                    });
+                }
+
+                lazyContentInstalls.element()
+                        .add(methodVisitor -> method.renderInstall(methodVisitor, loadOwner, triggerMethod));
+            }
+        };
+
+        renderer = lazyContentRenderer;
+        return lazyContentRenderer;
+    }
+
+    void renderLazyContentInstalls() {
+        lazyContentInstalls.element().forEach(renderer::render);
+    }
+
     @Override
     public Loadable getControllerAccessor() {
         return controllerAccessor;
@@ -405,6 +663,134 @@ class CompilerContextImpl implements CompilerContext {
         };
     }
 
+    void handleCellType(String value) {
+        ClassElement cellClassElement = getFXMLClassElement(value)
+                .orElseThrow(() -> compileError("Invalid type \"" + value + "\"."));
+
+        if (!cellClassElement.isAssignable(CELL_CLASS_NAME)) {
+            throw compileError("Cell type \"" + cellClassElement.getName() + "\" is not a " + CELL_CLASS_NAME + ".");
+        }
+
+        // NB: Generated cell class extends cell type.
+        boolean isExtendable = !cellClassElement.isFinal()
+                && !cellClassElement.isInterface()
+                && cellClassElement.getEnclosedElement(ElementQuery.CONSTRUCTORS
+                        .filter(c -> c.getParameters().length == 0)
+                        .filter(c -> c.isPublic() || c.isProtected())
+                )
+                .isPresent();
+
+        if (!isExtendable) {
+            throw compileError("Cell type \"" + cellClassElement.getName() + "\" must be a non final class with"
+                    + " public or protected no-args constructor."
+            );
+        }
+
+        MethodElement itemPropertyMethod = cellClassElement.getEnclosedElement(ElementQuery.ALL_METHODS
+                .onlyInstance()
+                .named(Predicate.isEqual(ITEM_KEYWORD + "Property"))
+                .filter(m -> m.getParameters().length == 0)
+        )
+                // NB: Cell always has item property.
+                .orElseThrow(AssertionError::new);
+
+        this.cellClassElement = cellClassElement;
+
+        Loadable cell = new Loadable() {
+            @Override
+            public ClassElement getClassElement() {
+                return cellClassElement;
+            }
+
+            @Override
+            public RenderCommand load() {
+                return rootRenderer::loadCell;
+            }
+        };
+
+        scope.put(CELL_KEYWORD, cell);
+        scope.put(ITEM_KEYWORD, new ObservableLoadable() {
+            @Override
+            public Loadable getOwner() {
+                return cell;
+            }
+
+            @Override
+            public MethodElement getPropertyModel() {
+                return itemPropertyMethod;
+            }
+
+            @Override
+            public ClassElement getClassElement() {
+                return getCellItemClassElement();
+            }
+
+            @Override
+            public RenderCommand read() {
+                ClassElement itemClassElement = getClassElement();
+
+                // NB: Reads last non-null item of the cell, so, template's bindings never see null item.
+                return methodVisitor -> {
+                    rootRenderer.loadCellItem(methodVisitor);
+                    methodVisitor.checkCast(RenderUtils.type(itemClassElement));
+                };
+            }
+        });
+    }
+
+    void handleCellItemType(String value) {
+        ClassElement cellItemClassElement = getFXMLClassElement(value)
+                .orElseThrow(() -> compileError("Invalid type \"" + value + "\"."));
+
+        if (ElementUtils.isPrimitive(cellItemClassElement)) {
+            throw compileError("Cell item type must be a reference type.");
+        }
+
+        this.cellItemClassElement = cellItemClassElement;
+    }
+
+    ClassElement getCellClassElement() {
+        return cellClassElement;
+    }
+
+    ClassElement getCellItemClassElement() {
+        return cellItemClassElement != null ? cellItemClassElement : getClassElement(Object.class);
+    }
+
+    boolean hasCellItemType() {
+        return cellItemClassElement != null;
+    }
+
+    void handleParallelIncludes() {
+        // NB: Includes to start are collected by ParallelIncludesPass, which only looks at top level processing
+        //  instructions.
+        if (currentFXMLElement != null) {
+            throw compileError(
+                    ProcessingInstructions.MLFX_PARALLEL_INCLUDES + " processing instruction must precede root element."
+            );
+        }
+    }
+
+    void handleImageCache(String value) {
+        if (currentFXMLElement != null) {
+            throw compileError(
+                    ProcessingInstructions.MLFX_IMAGE_CACHE + " processing instruction must precede root element."
+            );
+        }
+
+        boolean backgroundLoading = value != null && !value.isEmpty();
+
+        if (backgroundLoading && !IMAGE_CACHE_BACKGROUND_LOADING.equals(value)) {
+            throw compileError(
+                    "Invalid " + ProcessingInstructions.MLFX_IMAGE_CACHE + " processing instruction value \"" + value
+                            + "\". Expected nothing or \"" + IMAGE_CACHE_BACKGROUND_LOADING + "\"."
+            );
+        }
+
+        imageCache = true;
+        imageCacheBackgroundLoading = backgroundLoading;
+    }
+
     void handleControllerType(String value) {
         ClassElement controllerClassElement = getFXMLClassElement(value)
                 .orElseThrow(() -> compileError("Invalid type \"" + value + "\"."));
@@ -428,6 +814,11 @@ class CompilerContextImpl implements CompilerContext {
         return taskFactory.getTask(location);
     }
 
+    @Override
+    public String compileStylesheet(String path) {
+        return taskFactory.compileStylesheet(path, warner);
+    }
+
     @Override
     public Renderer getRenderer() {
         return renderer;
@@ -510,7 +901,8 @@ class CompilerContextImpl implements CompilerContext {
                 expression,
                 parentClass,
                 genericType,
-                getClassElement(ObservableListenerHelper.class)
+                getClassElement(ObservableListenerHelper.class),
+                rootRenderer.hasFlightRecorderEvents()
         );
 
         expressionRenderers.add(expressionRenderer);
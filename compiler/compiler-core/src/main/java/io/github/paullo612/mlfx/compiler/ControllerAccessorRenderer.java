@@ -0,0 +1,379 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledControllerAccessor;
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.compiler.elements.ElementUtils;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.ElementQuery;
+import io.micronaut.inject.ast.FieldElement;
+import io.micronaut.inject.ast.MemberElement;
+import io.micronaut.inject.ast.MethodElement;
+import io.micronaut.inject.ast.ParameterElement;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.commons.TableSwitchGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+// NB: Renders CompiledControllerAccessor subclass for controller type. Accessor is placed into controller's package,
+//  so, it reaches constructor and package-private @FXML annotated members of controller directly. Private members are
+//  out of reach without reflection, so, those are reported and left out. Accessor is stateless, so, single instance
+//  is shared by all loads.
+class ControllerAccessorRenderer {
+
+    private static final String CLASS_NAME_SUFFIX = "$" + CompiledControllerAccessor.class.getSimpleName();
+    private static final String CLASS_D = Type.getDescriptor(Class.class);
+    private static final String STRING_ARRAY_D = Type.getDescriptor(String[].class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "(" + CLASS_D + STRING_ARRAY_D + STRING_ARRAY_D
+            + Type.getDescriptor(Class[][].class) + ")V";
+
+    private final ClassElement controllerClassElement;
+    private final Type controllerType;
+    private final String internalClassName;
+    private final CompilerContextImpl.Warner warner;
+    private final ClassWriter accessorWriter =
+            new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+
+    private ControllerAccessorRenderer(ClassElement controllerClassElement, CompilerContextImpl.Warner warner) {
+        this.controllerClassElement = controllerClassElement;
+        this.controllerType = RenderUtils.type(controllerClassElement);
+        this.internalClassName = computeClassName(controllerClassElement.getName()).replace('.', '/');
+        this.warner = warner;
+    }
+
+    static String computeClassName(String controllerClassName) {
+        return controllerClassName + CLASS_NAME_SUFFIX;
+    }
+
+    static byte[] render(ClassElement controllerClassElement, CompilerContextImpl.Warner warner) {
+        return new ControllerAccessorRenderer(controllerClassElement, warner).render();
+    }
+
+    private boolean isReachable(MemberElement member) {
+        if (member.isPrivate()) {
+            return false;
+        }
+
+        return member.isPublic()
+                || member.getDeclaringType().getPackageName().equals(controllerClassElement.getPackageName());
+    }
+
+    private boolean checkReachable(MemberElement member, String kind) {
+        if (isReachable(member)) {
+            return true;
+        }
+
+        warner.warn(
+                "Controller " + kind + " \"" + member.getName() + "\" of class \"" + controllerClassElement.getName()
+                        + "\" cannot be reached by compiled controller accessor. Make it package-private."
+        );
+        return false;
+    }
+
+    private Map<String, FieldElement> findFields() {
+        // NB: Sorted by name, as accessor finds field index by binary search.
+        Map<String, FieldElement> fields = new TreeMap<>();
+
+        controllerClassElement.getEnclosedElements(ElementQuery.ALL_FIELDS.onlyInstance())
+                .stream()
+                .filter(ElementUtils::isAccessibleFromFXMLFile)
+                .filter(field -> !field.isFinal())
+                .filter(field -> checkReachable(field, "field"))
+                .forEach(field -> fields.putIfAbsent(field.getName(), field));
+
+        return fields;
+    }
+
+    private List<MethodElement> findMethods() {
+        return controllerClassElement.getEnclosedElements(ElementQuery.ALL_METHODS.onlyInstance())
+                .stream()
+                .filter(ElementUtils::isAccessibleFromFXMLFile)
+                .filter(method -> checkReachable(method, "method"))
+                .collect(Collectors.toList());
+    }
+
+    private boolean canInstantiate() {
+        return !controllerClassElement.isAbstract()
+                && !controllerClassElement.isInterface()
+                && controllerClassElement.getEnclosedElement(
+                        ElementQuery.CONSTRUCTORS
+                                .filter(c -> c.getParameters().length == 0)
+                                .filter(this::isReachable)
+                )
+                .isPresent();
+    }
+
+    private void renderConstructor(List<String> fieldNames, List<MethodElement> methods) {
+        Type classType = Type.getType(Class.class);
+        Type stringType = Type.getType(String.class);
+
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                Opcodes.ACC_PUBLIC,
+                new Method(RenderUtils.CONSTRUCTOR_N, "()V"),
+                null,
+                null,
+                accessorWriter
+        );
+
+        constructor.visitCode();
+
+        // super(|controllerType|.class, new String[] { |fieldName|, ... }, new String[] { |methodName|, ... },
+        //         new Class[][] { { |parameterType|, ... }, ... });
+        constructor.loadThis();
+        constructor.push(controllerType);
+
+        constructor.push(fieldNames.size());
+        constructor.newArray(stringType);
+
+        for (int i = 0; i < fieldNames.size(); ++i) {
+            constructor.dup();
+            constructor.push(i);
+            constructor.push(fieldNames.get(i));
+            constructor.arrayStore(stringType);
+        }
+
+        constructor.push(methods.size());
+        constructor.newArray(stringType);
+
+        for (int i = 0; i < methods.size(); ++i) {
+            constructor.dup();
+            constructor.push(i);
+            constructor.push(methods.get(i).getName());
+            constructor.arrayStore(stringType);
+        }
+
+        Type classArrayType = Type.getType(Class[].class);
+
+        constructor.push(methods.size());
+        constructor.newArray(classArrayType);
+
+        for (int i = 0; i < methods.size(); ++i) {
+            ParameterElement[] parameters = methods.get(i).getParameters();
+
+            constructor.dup();
+            constructor.push(i);
+            constructor.push(parameters.length);
+            constructor.newArray(classType);
+
+            for (int j = 0; j < parameters.length; ++j) {
+                constructor.dup();
+                constructor.push(j);
+                constructor.push(RenderUtils.type(parameters[j].getType()));
+                constructor.arrayStore(classType);
+            }
+
+            constructor.arrayStore(classArrayType);
+        }
+
+        constructor.invokeConstructor(
+                Type.getType(CompiledControllerAccessor.class),
+                new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR)
+        );
+
+        constructor.returnValue();
+        constructor.endMethod();
+    }
+
+    private void renderInstantiateMethod(boolean canInstantiate) {
+        Type loadExceptionType = Type.getType(CompiledLoadException.class);
+
+        GeneratorAdapter methodVisitor = new GeneratorAdapter(
+                Opcodes.ACC_PROTECTED,
+                new Method("instantiate", "()" + RenderUtils.OBJECT_D),
+                null,
+                new Type[] { loadExceptionType },
+                accessorWriter
+        );
+
+        methodVisitor.visitCode();
+
+        if (canInstantiate) {
+            // return new |controllerType|();
+            methodVisitor.newInstance(controllerType);
+            methodVisitor.dup();
+            methodVisitor.invokeConstructor(controllerType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+            methodVisitor.returnValue();
+        } else {
+            methodVisitor.throwException(
+                    loadExceptionType,
+                    "Unable to instantiate class \"" + controllerClassElement.getName() + "\"."
+            );
+        }
+
+        methodVisitor.endMethod();
+    }
+
+    private void renderSwitch(GeneratorAdapter methodVisitor, int count, String kind, IntConsumer caseGenerator) {
+        Runnable defaultGenerator = () -> methodVisitor.throwException(
+                Type.getType(IllegalStateException.class),
+                "Unknown " + kind + "."
+        );
+
+        if (count == 0) {
+            defaultGenerator.run();
+            return;
+        }
+
+        int[] keys = new int[count];
+        Arrays.setAll(keys, i -> i);
+
+        // switch (index) {
+        //     case |index|:
+        //         ...
+        //         return;
+        //     ...
+        //     default:
+        //         throw new IllegalStateException("Unknown |kind|.");
+        // }
+        methodVisitor.loadArg(1);
+        methodVisitor.tableSwitch(keys, new TableSwitchGenerator() {
+
+            @Override
+            public void generateCase(int key, Label end) {
+                caseGenerator.accept(key);
+            }
+
+            @Override
+            public void generateDefault() {
+                defaultGenerator.run();
+            }
+        });
+    }
+
+    private void invoke(GeneratorAdapter methodVisitor, Method method) {
+        if (controllerClassElement.isInterface()) {
+            methodVisitor.invokeInterface(controllerType, method);
+        } else {
+            methodVisitor.invokeVirtual(controllerType, method);
+        }
+    }
+
+    private void renderSetFieldMethod(List<FieldElement> fields) {
+        GeneratorAdapter methodVisitor = new GeneratorAdapter(
+                Opcodes.ACC_PROTECTED,
+                new Method("setField", "(" + RenderUtils.OBJECT_D + "I" + RenderUtils.OBJECT_D + ")V"),
+                null,
+                null,
+                accessorWriter
+        );
+
+        methodVisitor.visitCode();
+
+        // ((|controllerType|) controller).|field| = (|fieldType|) value;
+        renderSwitch(methodVisitor, fields.size(), "field", index -> {
+            FieldElement field = fields.get(index);
+            Type fieldType = RenderUtils.type(field.getType());
+
+            methodVisitor.loadArg(0);
+            methodVisitor.checkCast(controllerType);
+            methodVisitor.loadArg(2);
+            methodVisitor.unbox(fieldType);
+            methodVisitor.putField(controllerType, field.getName(), fieldType);
+            methodVisitor.returnValue();
+        });
+
+        methodVisitor.endMethod();
+    }
+
+    private void renderExecuteMethodMethod(List<MethodElement> methods) {
+        GeneratorAdapter methodVisitor = new GeneratorAdapter(
+                Opcodes.ACC_PROTECTED,
+                new Method(
+                        "executeMethod",
+                        "(" + RenderUtils.OBJECT_D + "I" + Type.getDescriptor(Object[].class) + ")V"
+                ),
+                null,
+                null,
+                accessorWriter
+        );
+
+        methodVisitor.visitCode();
+
+        // ((|controllerType|) controller).|method|((|parameterType|) arguments[0], ...);
+        renderSwitch(methodVisitor, methods.size(), "method", index -> {
+            MethodElement method = methods.get(index);
+            ParameterElement[] parameters = method.getParameters();
+            Type returnType = RenderUtils.type(method.getReturnType());
+
+            methodVisitor.loadArg(0);
+            methodVisitor.checkCast(controllerType);
+
+            for (int i = 0; i < parameters.length; ++i) {
+                methodVisitor.loadArg(2);
+                methodVisitor.push(i);
+                methodVisitor.arrayLoad(Type.getType(Object.class));
+                methodVisitor.unbox(RenderUtils.type(parameters[i].getType()));
+            }
+
+            invoke(methodVisitor, new Method(
+                    method.getName(),
+                    Arrays.stream(parameters)
+                            .map(ParameterElement::getType)
+                            .map(RenderUtils::type)
+                            .map(Type::getDescriptor)
+                            .collect(Collectors.joining("", "(", ")" + returnType.getDescriptor()))
+            ));
+
+            // Result, if any, is dropped.
+            if (returnType.getSize() == 2) {
+                methodVisitor.pop2();
+            } else if (returnType.getSize() == 1) {
+                methodVisitor.pop();
+            }
+
+            methodVisitor.returnValue();
+        });
+
+        methodVisitor.endMethod();
+    }
+
+    private byte[] render() {
+        Map<String, FieldElement> fields = findFields();
+        List<MethodElement> methods = findMethods();
+
+        accessorWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                internalClassName,
+                "L" + Type.getInternalName(CompiledControllerAccessor.class) + "<" + controllerType.getDescriptor()
+                        + ">;",
+                Type.getInternalName(CompiledControllerAccessor.class),
+                null
+        );
+
+        renderConstructor(new ArrayList<>(fields.keySet()), methods);
+        renderInstantiateMethod(canInstantiate());
+        renderSetFieldMethod(new ArrayList<>(fields.values()));
+        renderExecuteMethodMethod(methods);
+
+        accessorWriter.visitEnd();
+
+        return accessorWriter.toByteArray();
+    }
+}
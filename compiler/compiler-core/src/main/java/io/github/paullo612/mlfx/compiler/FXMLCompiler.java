@@ -16,6 +16,7 @@
 package io.github.paullo612.mlfx.compiler;
 
 import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.github.paullo612.mlfx.api.GeneratedByMLFX;
 import io.github.paullo612.mlfx.compiler.elements.CopyFXMLElement;
 import io.github.paullo612.mlfx.compiler.elements.DefineFXMLElement;
 import io.github.paullo612.mlfx.compiler.elements.ElementUtils;
@@ -39,7 +40,6 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.Method;
 
 import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
@@ -48,6 +48,8 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -58,22 +60,73 @@ class FXMLCompiler {
 
     private static final String INITIALIZABLE_INTERFACE_NAME = "javafx.fxml.Initializable";
     private static final String INITIALIZE_METHOD_NAME = "initialize";
+    private static final String NODE_CLASS_NAME = "javafx.scene.Node";
 
     interface Delegate extends CompilerContextImpl.Warner {
 
         OutputStream createClass(String name) throws IOException;
+
+        // Creates resource at |name| relative to class output root.
+        OutputStream createResource(String name) throws IOException;
     }
 
+    private static final List<FXMLDocumentPass> PASSES = List.of(
+            new UnreferencedDefinitionsPass(),
+            new ListAddBatchingPass(),
+            new ParallelIncludesPass()
+    );
+
     private final VisitorContext visitorContext;
     private final TaskFactory taskFactory;
-
-    FXMLCompiler(VisitorContext visitorContext, TaskFactory taskFactory) {
+    private final boolean inlineIncludes;
+    private final boolean staticHandlers;
+    private final boolean flightRecorderEvents;
+    private final boolean facades;
+
+    FXMLCompiler(
+            VisitorContext visitorContext,
+            TaskFactory taskFactory,
+            boolean inlineIncludes,
+            boolean staticHandlers,
+            boolean flightRecorderEvents,
+            boolean facades) {
         this.visitorContext = visitorContext;
         this.taskFactory = taskFactory;
+        this.inlineIncludes = inlineIncludes;
+        this.staticHandlers = staticHandlers;
+        this.flightRecorderEvents = flightRecorderEvents;
+        this.facades = facades;
     }
 
-    private String getFXMLTrace(URL location, XMLStreamReader xmlStreamReader) {
-        return "\n" + location + ":" + xmlStreamReader.getLocation().getLineNumber() + "\n";
+    // Returns null if there is no facade for document, i.e. facades are disabled, document is in default package, or
+    //  facade's name is taken by existing type that is not a facade generated by previous compilation.
+    private String computeFacadeClassName(ClassElement targetType, Delegate delegate) {
+        if (!facades) {
+            return null;
+        }
+
+        String facadeClassName = FacadeRenderer.computeClassName(targetType.getName());
+
+        if (facadeClassName == null) {
+            return null;
+        }
+
+        boolean clashes = visitorContext.getClassElement(facadeClassName)
+                .filter(classElement -> !classElement.hasDeclaredAnnotation(GeneratedByMLFX.class))
+                .isPresent();
+
+        if (clashes) {
+            delegate.warn(
+                    "Facade class is not generated, as its name clashes with existing type " + facadeClassName + "."
+            );
+            return null;
+        }
+
+        return facadeClassName;
+    }
+
+    private String getFXMLTrace(URL location, int lineNumber) {
+        return "\n" + location + ":" + lineNumber + "\n";
     }
 
     private void handleProcessingInstruction(
@@ -90,6 +143,18 @@ class FXMLCompiler {
             case ProcessingInstructions.MLFX_CONTROLLER_TYPE:
                 context.handleControllerType(processingInstructionData);
                 break;
+            case ProcessingInstructions.MLFX_CELL_TYPE:
+                context.handleCellType(processingInstructionData);
+                break;
+            case ProcessingInstructions.MLFX_CELL_ITEM_TYPE:
+                context.handleCellItemType(processingInstructionData);
+                break;
+            case ProcessingInstructions.MLFX_PARALLEL_INCLUDES:
+                context.handleParallelIncludes();
+                break;
+            case ProcessingInstructions.MLFX_IMAGE_CACHE:
+                context.handleImageCache(processingInstructionData);
+                break;
         }
     }
 
@@ -288,129 +353,182 @@ class FXMLCompiler {
                 );
     }
 
-    private void handleParserEvent(
+    private void handleElement(
             CompilerContextImpl context,
             RootRenderer renderer,
-            XMLStreamReader xmlStreamReader,
-            int event) {
+            FXMLDocument.Element documentElement,
+            String lazyContentTrigger) {
         FXMLElement<?> current = context.getCurrentFXMLElement();
 
-        switch (event) {
-            case XMLStreamConstants.PROCESSING_INSTRUCTION: {
-                String processingInstructionTarget = Optional.ofNullable(xmlStreamReader.getPITarget())
-                        .map(String::trim)
-                        .orElse("");
-                String processingInstructionData = Optional.ofNullable(xmlStreamReader.getPIData())
-                        .map(String::trim)
-                        .orElse(null);
+        context.setLineNumber(documentElement.getLineNumber());
 
-                handleProcessingInstruction(context, processingInstructionTarget, processingInstructionData);
-                break;
-            }
-            case XMLStreamConstants.START_ELEMENT: {
-                String prefix = xmlStreamReader.getPrefix();
-                String localName = xmlStreamReader.getLocalName();
+        FXMLElement<?> element =
+                createElement(context, current, documentElement.getPrefix(), documentElement.getLocalName());
 
-                FXMLElement<?> element = createElement(context, current, prefix, localName);
+        if (lazyContentTrigger != null) {
+            element.handleLazyContent(context, lazyContentTrigger);
+        }
 
-                element.initialize(context);
+        LoadableFXMLElement<?> loadableElement = element.asLoadableFXMLElement();
 
-                if (element.requiresAttributesLookahead()) {
-                    for (int i = 0; i < xmlStreamReader.getAttributeCount(); ++i) {
-                        element.handleAttributeLookahead(
-                                context,
-                                xmlStreamReader.getAttributePrefix(i),
-                                xmlStreamReader.getAttributeLocalName(i),
-                                xmlStreamReader.getAttributeValue(i)
-                        );
-                    }
-                }
+        if (loadableElement != null && documentElement.isListAddBatchable()) {
+            loadableElement.enableListAddBatching();
+        }
 
-                if (current == null) {
-                    boolean hasFxRoot = context.hasFxRoot();
-                    ExpressionContext.Loadable rootLoadable = context.getRootLoadable();
+        if (documentElement.isParallelInclude()) {
+            ((IncludeFXMLElement) element).enableParallelLoad();
+        }
 
-                    if (rootLoadable != null && !hasFxRoot) {
-                        throw context.compileError(
-                                ProcessingInstructions.MLFX_ROOT_TYPE
-                                        + " processing instruction defined, but no " +
-                                        FXMLLoader.FX_NAMESPACE_PREFIX + ":" + FXMLLoader.ROOT_TAG + " present."
-                        );
-                    }
+        element.initialize(context);
+
+        if (element.requiresAttributesLookahead()) {
+            for (FXMLDocument.Attribute attribute : documentElement.getAttributes()) {
+                element.handleAttributeLookahead(
+                        context,
+                        attribute.getPrefix(),
+                        attribute.getLocalName(),
+                        attribute.getValue()
+                );
+            }
+        }
 
-                    ClassElement controllerClassElement =
-                            Optional.ofNullable(context.getScope().get(FXMLLoader.CONTROLLER_KEYWORD))
-                                    .map(ExpressionContext.Loadable::getClassElement)
-                                    .orElse(null);
+        if (current == null) {
+            boolean hasFxRoot = context.hasFxRoot();
+            ExpressionContext.Loadable rootLoadable = context.getRootLoadable();
 
-                    boolean hasController = controllerClassElement != null;
+            if (rootLoadable != null && !hasFxRoot) {
+                throw context.compileError(
+                        ProcessingInstructions.MLFX_ROOT_TYPE
+                                + " processing instruction defined, but no " +
+                                FXMLLoader.FX_NAMESPACE_PREFIX + ":" + FXMLLoader.ROOT_TAG + " present."
+                );
+            }
 
-                    if (controllerClassElement == null) {
-                        controllerClassElement = context.getClassElement(Object.class);
-                    }
+            ClassElement cellClassElement = context.getCellClassElement();
 
-                    boolean canCreateController = hasController
-                            && !context.requiresExternalController()
-                            && controllerClassElement.getEnclosedElement(
-                                    ElementQuery.CONSTRUCTORS
-                                            .filter(c -> c.getParameters().length == 0)
-                                            .filter(c -> !c.isReflectionRequired(context.getTargetType()))
-                            )
-                            .isPresent();
-
-                    LoadableFXMLElement<?> loadableFXMLElement = element.asLoadableFXMLElement();
-                    assert loadableFXMLElement != null;
-
-                    renderer.initialize(
-                            context.getTargetType(),
-                            loadableFXMLElement.getClassElement(),
-                            controllerClassElement,
-                            hasFxRoot,
-                            hasController,
-                            context.requiresExternalController(),
-                            canCreateController
-                    );
-                }
+            if (cellClassElement == null && context.hasCellItemType()) {
+                throw context.compileError(
+                        ProcessingInstructions.MLFX_CELL_ITEM_TYPE
+                                + " processing instruction defined, but no "
+                                + ProcessingInstructions.MLFX_CELL_TYPE + " processing instruction present."
+                );
+            }
 
-                if (element.requiresAttributesLookahead()) {
-                    element.handleAttributesLookaheadFinish(context);
+            if (cellClassElement != null) {
+                if (hasFxRoot || context.requiresExternalController()) {
+                    throw context.compileError(
+                            "Cell template cannot have " + FXMLLoader.FX_NAMESPACE_PREFIX + ":" + FXMLLoader.ROOT_TAG
+                                    + " root element or require external controller."
+                    );
                 }
 
-                // Push new FXMLElement to the stack
-                context.setCurrentFXMLElement(element);
+                LoadableFXMLElement<?> loadableFXMLElement = element.asLoadableFXMLElement();
 
-                for (int i = 0; i < xmlStreamReader.getAttributeCount(); ++i) {
-                    element.handleAttribute(
-                            context,
-                            xmlStreamReader.getAttributePrefix(i),
-                            xmlStreamReader.getAttributeLocalName(i),
-                            xmlStreamReader.getAttributeValue(i)
-                    );
+                if (loadableFXMLElement == null
+                        || !loadableFXMLElement.getClassElement().isAssignable(NODE_CLASS_NAME)) {
+                    throw context.compileError("Cell template's root element must be a " + NODE_CLASS_NAME + ".");
                 }
+            }
 
-                element.handleAttributesFinish(context);
+            ClassElement controllerClassElement =
+                    Optional.ofNullable(context.getScope().get(FXMLLoader.CONTROLLER_KEYWORD))
+                            .map(ExpressionContext.Loadable::getClassElement)
+                            .orElse(null);
 
-                break;
+            boolean hasController = controllerClassElement != null;
+
+            if (controllerClassElement == null) {
+                controllerClassElement = context.getClassElement(Object.class);
             }
-            case XMLStreamConstants.END_ELEMENT: {
-                current.handleEndElement(context);
 
-                // Pop FXMLElement from the stack
-                context.setCurrentFXMLElement(current.getParent());
-                break;
+            boolean canCreateController = hasController
+                    && !context.requiresExternalController()
+                    && controllerClassElement.getEnclosedElement(
+                            ElementQuery.CONSTRUCTORS
+                                    .filter(c -> c.getParameters().length == 0)
+                                    .filter(c -> !c.isReflectionRequired(context.getTargetType()))
+                    )
+                    .isPresent();
+
+            LoadableFXMLElement<?> loadableFXMLElement = element.asLoadableFXMLElement();
+            assert loadableFXMLElement != null;
+
+            renderer.initialize(
+                    context.getTargetType(),
+                    loadableFXMLElement.getClassElement(),
+                    controllerClassElement,
+                    hasFxRoot,
+                    hasController,
+                    context.requiresExternalController(),
+                    canCreateController,
+                    cellClassElement
+            );
+        }
+
+        if (element.requiresAttributesLookahead()) {
+            element.handleAttributesLookaheadFinish(context);
+        }
+
+        // Push new FXMLElement to the stack
+        context.setCurrentFXMLElement(element);
+
+        for (FXMLDocument.Attribute attribute : documentElement.getAttributes()) {
+            element.handleAttribute(
+                    context,
+                    attribute.getPrefix(),
+                    attribute.getLocalName(),
+                    attribute.getValue()
+            );
+        }
+
+        element.handleAttributesFinish(context);
+
+        handleNodes(context, renderer, documentElement.getChildren());
+
+        context.setLineNumber(documentElement.getEndLineNumber());
+
+        element.handleEndElement(context);
+
+        // Pop FXMLElement from the stack
+        context.setCurrentFXMLElement(element.getParent());
+    }
+
+    private void handleNodes(CompilerContextImpl context, RootRenderer renderer, List<FXMLDocument.Node> nodes) {
+        // NB: mlfxLazy processing instruction applies to element that follows it.
+        String lazyContentTrigger = null;
+
+        for (FXMLDocument.Node node : nodes) {
+            if (node instanceof FXMLDocument.Element) {
+                handleElement(context, renderer, (FXMLDocument.Element) node, lazyContentTrigger);
+                lazyContentTrigger = null;
+                continue;
             }
-            case XMLStreamConstants.CHARACTERS: {
-                if (xmlStreamReader.isWhiteSpace()) {
-                    // Not interested in whitespaces.
-                    break;
-                }
 
-                String text = xmlStreamReader.getText();
-                current.handleCharacters(context, text);
+            context.setLineNumber(node.getLineNumber());
 
-                break;
+            if (node instanceof FXMLDocument.ProcessingInstruction) {
+                FXMLDocument.ProcessingInstruction processingInstruction = (FXMLDocument.ProcessingInstruction) node;
+
+                if (ProcessingInstructions.MLFX_LAZY.equals(processingInstruction.getTarget())) {
+                    lazyContentTrigger = Optional.ofNullable(processingInstruction.getData()).orElse("").trim();
+                    continue;
+                }
+
+                handleProcessingInstruction(
+                        context,
+                        processingInstruction.getTarget(),
+                        processingInstruction.getData()
+                );
+            } else if (node instanceof FXMLDocument.Characters) {
+                context.getCurrentFXMLElement().handleCharacters(context, ((FXMLDocument.Characters) node).getText());
             }
         }
+
+        if (lazyContentTrigger != null) {
+            throw context.compileError(
+                    ProcessingInstructions.MLFX_LAZY + " processing instruction must be followed by an element."
+            );
+        }
     }
 
     private CompileTask.CompiledFXMLLoaderReference doCompile(
@@ -427,21 +545,48 @@ class FXMLCompiler {
         }
 
         XMLStreamReader xmlStreamReader = createParser(fxmlFile, charset);
-        RootRenderer renderer = new RootRenderer(fxmlFileName);
+
+        FXMLDocument document;
+
+        try {
+            document = FXMLDocument.parse(xmlStreamReader);
+        } catch (XMLStreamException e) {
+            // Attach FXML trace.
+            throw new CompileErrorException(
+                    e.getMessage() + getFXMLTrace(location, xmlStreamReader.getLocation().getLineNumber()), e
+            );
+        }
+
+        for (FXMLDocumentPass pass : PASSES) {
+            pass.run(document, visitorContext);
+        }
+
+        String facadeClassName = computeFacadeClassName(targetType, delegate);
+
+        RootRenderer renderer = new RootRenderer(
+                fxmlFileName,
+                facadeClassName,
+                inlineIncludes,
+                staticHandlers,
+                flightRecorderEvents,
+                document.getParallelIncludeCount()
+        );
 
         CompilerContextImpl context =
                 new CompilerContextImpl(visitorContext, taskFactory, delegate, targetType, charset, renderer);
 
         // GO !
         try {
-            while (xmlStreamReader.hasNext()) {
-                handleParserEvent(context, renderer, xmlStreamReader, xmlStreamReader.next());
-            }
+            handleNodes(context, renderer, document.getNodes());
+
+            // NB: Install lazy content before controller initialization, so, content that is shown right away is
+            //  injected into controller before it is initialized.
+            context.renderLazyContentInstalls();
 
             initializeController(context);
-        } catch (XMLStreamException | CompileErrorException e) {
+        } catch (CompileErrorException e) {
             // Attach FXML trace.
-            throw new CompileErrorException(e.getMessage() + getFXMLTrace(location, xmlStreamReader), e);
+            throw new CompileErrorException(e.getMessage() + getFXMLTrace(location, context.getLineNumber()), e);
         }
 
         for (BindingExpressionRendererImpl expressionRenderer : context.getExpressionRenderers()) {
@@ -453,12 +598,83 @@ class FXMLCompiler {
             );
         }
 
+        CellRenderer cellRenderer = renderer.getCellRenderer();
+        boolean isCellTemplate = cellRenderer != null;
+
+        if (isCellTemplate) {
+            renderer.addInnerClass(cellRenderer.getInternalClassName(), cellRenderer.getClassName());
+            createClass(delegate, cellRenderer.getInternalClassName().replace('/', '.'), cellRenderer.dispose());
+        }
+
+        NativeImageMetadata nativeImageMetadata = taskFactory.getNativeImageMetadata();
+
+        if (nativeImageMetadata != null) {
+            // NB: Loaders are found by service loader, which instantiates them reflectively.
+            nativeImageMetadata.addReflectiveType(targetType.getName());
+            taskFactory.getResourceName(fxmlFileName).ifPresent(nativeImageMetadata::addResource);
+
+            for (String path : renderer.getRelativeResources()) {
+                taskFactory.getResourceName(path).ifPresent(nativeImageMetadata::addResource);
+            }
+
+            renderer.getIncludedResourceBundles().forEach(nativeImageMetadata::addBundle);
+        }
+
+        HandlerRenderer handlerRenderer = renderer.getHandlerRenderer();
+
+        if (handlerRenderer != null) {
+            renderer.addInnerClass(handlerRenderer.getInternalClassName(), handlerRenderer.getClassName());
+            createClass(
+                    delegate,
+                    handlerRenderer.getInternalClassName().replace('/', '.'),
+                    handlerRenderer.dispose()
+            );
+        }
+
         // Get root and controller class elements before root renderer disposal.
         ClassElement rootClassElement = renderer.getRootClassElement();
         ClassElement controllerClassElement = renderer.getControllerClassElement();
+        boolean canLoadIncluded = renderer.canLoadIncluded();
+        boolean isRelocalizable = renderer.isRelocalizable();
+        boolean requiresLoadArguments = renderer.requiresLoadArguments();
+        Map<String, Type> namespaceFields = renderer.getNamespaceFields();
+
+        if (renderer.hasController() && taskFactory.registerControllerAccessor(controllerClassElement)) {
+            String accessorClassName = ControllerAccessorRenderer.computeClassName(controllerClassElement.getName());
+
+            byte[] accessorBytes = ControllerAccessorRenderer.render(controllerClassElement, delegate);
+
+            createClass(delegate, accessorClassName, accessorBytes);
+
+            if (nativeImageMetadata != null) {
+                // NB: Same as loaders, accessors are found by service loader.
+                nativeImageMetadata.addReflectiveType(accessorClassName);
+                nativeImageMetadata.addResource(CompileFXMLVisitor.CONTROLLER_ACCESSORS_SERVICE_DESCRIPTOR);
+            }
+        }
 
         createClass(delegate, targetType.getName(), renderer.dispose());
 
+        if (facadeClassName != null) {
+            FacadeRenderer facadeRenderer = new FacadeRenderer(
+                    facadeClassName,
+                    RenderUtils.type(targetType).getInternalName(),
+                    RenderUtils.type(rootClassElement),
+                    RenderUtils.type(controllerClassElement),
+                    namespaceFields
+            );
+
+            createClass(delegate, facadeClassName, facadeRenderer.render(requiresLoadArguments, isCellTemplate));
+
+            if (facadeRenderer.hasNamespace()) {
+                createClass(
+                        delegate,
+                        facadeClassName + "$" + FacadeRenderer.NAMESPACE_CLASS_NAME,
+                        facadeRenderer.renderNamespace()
+                );
+            }
+        }
+
         // NB: It would be better to return just compiled class element obtained through visitor context, and collect
         //  all needed information from it. But javac bites us here. Filer#createClassFile checks file existence before
         //  giving us OutputStream to write to. So, just compiled class is cached as nonexistent inside javac internals
@@ -479,6 +695,16 @@ class FXMLCompiler {
             public ClassElement getControllerClassElement() {
                 return controllerClassElement;
             }
+
+            @Override
+            public boolean canLoadIncluded() {
+                return canLoadIncluded;
+            }
+
+            @Override
+            public boolean isRelocalizable() {
+                return isRelocalizable;
+            }
         };
     }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+// NB: Whole document representation, untyped XML tree. Parser fills it in, passes rewrite it, and only then
+//  FXMLCompiler walks it to render bytecode. So, passes are free to look ahead, which is impossible while streaming
+//  parser events.
+class FXMLDocument {
+
+    abstract static class Node {
+
+        private final int lineNumber;
+
+        Node(int lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        int getLineNumber() {
+            return lineNumber;
+        }
+    }
+
+    static class ProcessingInstruction extends Node {
+
+        private final String target;
+        private final String data;
+
+        ProcessingInstruction(int lineNumber, String target, String data) {
+            super(lineNumber);
+            this.target = target;
+            this.data = data;
+        }
+
+        String getTarget() {
+            return target;
+        }
+
+        String getData() {
+            return data;
+        }
+    }
+
+    static class Characters extends Node {
+
+        private final String text;
+
+        Characters(int lineNumber, String text) {
+            super(lineNumber);
+            this.text = text;
+        }
+
+        String getText() {
+            return text;
+        }
+    }
+
+    static class Attribute {
+
+        private final String prefix;
+        private final String localName;
+        private final String value;
+
+        Attribute(String prefix, String localName, String value) {
+            this.prefix = prefix;
+            this.localName = localName;
+            this.value = value;
+        }
+
+        String getPrefix() {
+            return prefix;
+        }
+
+        String getLocalName() {
+            return localName;
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+
+    static class Element extends Node {
+
+        private final String prefix;
+        private final String localName;
+        private final List<Attribute> attributes;
+        private final List<Node> children = new ArrayList<>();
+        private int endLineNumber;
+        private boolean listAddBatchable;
+        private boolean parallelInclude;
+
+        Element(int lineNumber, String prefix, String localName, List<Attribute> attributes) {
+            super(lineNumber);
+            this.prefix = prefix;
+            this.localName = localName;
+            this.attributes = attributes;
+        }
+
+        String getPrefix() {
+            return prefix;
+        }
+
+        String getLocalName() {
+            return localName;
+        }
+
+        List<Attribute> getAttributes() {
+            return attributes;
+        }
+
+        Optional<Attribute> findAttribute(String prefix, String localName) {
+            return attributes.stream()
+                    .filter(a -> prefix.equals(a.getPrefix() == null ? "" : a.getPrefix()))
+                    .filter(a -> localName.equals(a.getLocalName()))
+                    .findFirst();
+        }
+
+        int getEndLineNumber() {
+            return endLineNumber;
+        }
+
+        // NB: Mutable on purpose, passes rewrite it in place.
+        List<Node> getChildren() {
+            return children;
+        }
+
+        // Whether adds of children of this element to list can be deferred till this element end. See
+        //  ListAddBatchingPass.
+        boolean isListAddBatchable() {
+            return listAddBatchable;
+        }
+
+        void setListAddBatchable(boolean listAddBatchable) {
+            this.listAddBatchable = listAddBatchable;
+        }
+
+        // Whether load of document included by this fx:include element is started ahead of time. See
+        //  ParallelIncludesPass.
+        boolean isParallelInclude() {
+            return parallelInclude;
+        }
+
+        void setParallelInclude(boolean parallelInclude) {
+            this.parallelInclude = parallelInclude;
+        }
+    }
+
+    private final List<Node> nodes = new ArrayList<>();
+    private int parallelIncludeCount;
+
+    private FXMLDocument() {
+    }
+
+    // Top level nodes: processing instructions and root element.
+    List<Node> getNodes() {
+        return nodes;
+    }
+
+    // Number of elements marked as parallel includes.
+    int getParallelIncludeCount() {
+        return parallelIncludeCount;
+    }
+
+    void setParallelIncludeCount(int parallelIncludeCount) {
+        this.parallelIncludeCount = parallelIncludeCount;
+    }
+
+    static FXMLDocument parse(XMLStreamReader xmlStreamReader) throws XMLStreamException {
+        FXMLDocument document = new FXMLDocument();
+        Deque<Element> stack = new ArrayDeque<>();
+
+        while (xmlStreamReader.hasNext()) {
+            int event = xmlStreamReader.next();
+            int lineNumber = xmlStreamReader.getLocation().getLineNumber();
+
+            List<Node> siblings = stack.isEmpty() ? document.nodes : stack.peek().getChildren();
+
+            switch (event) {
+                case XMLStreamConstants.PROCESSING_INSTRUCTION: {
+                    String target = Optional.ofNullable(xmlStreamReader.getPITarget())
+                            .map(String::trim)
+                            .orElse("");
+                    String data = Optional.ofNullable(xmlStreamReader.getPIData())
+                            .map(String::trim)
+                            .orElse(null);
+
+                    siblings.add(new ProcessingInstruction(lineNumber, target, data));
+                    break;
+                }
+                case XMLStreamConstants.START_ELEMENT: {
+                    List<Attribute> attributes = new ArrayList<>(xmlStreamReader.getAttributeCount());
+
+                    for (int i = 0; i < xmlStreamReader.getAttributeCount(); ++i) {
+                        attributes.add(new Attribute(
+                                xmlStreamReader.getAttributePrefix(i),
+                                xmlStreamReader.getAttributeLocalName(i),
+                                xmlStreamReader.getAttributeValue(i)
+                        ));
+                    }
+
+                    Element element = new Element(
+                            lineNumber,
+                            xmlStreamReader.getPrefix(),
+                            xmlStreamReader.getLocalName(),
+                            attributes
+                    );
+
+                    siblings.add(element);
+                    stack.push(element);
+                    break;
+                }
+                case XMLStreamConstants.END_ELEMENT:
+                    stack.pop().endLineNumber = lineNumber;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                    if (xmlStreamReader.isWhiteSpace()) {
+                        // Not interested in whitespaces.
+                        break;
+                    }
+
+                    siblings.add(new Characters(lineNumber, xmlStreamReader.getText()));
+                    break;
+            }
+        }
+
+        return document;
+    }
+}
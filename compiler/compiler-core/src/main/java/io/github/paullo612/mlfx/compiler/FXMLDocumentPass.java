@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.micronaut.inject.visitor.VisitorContext;
+
+// NB: Passes run in order, each one sees document rewritten by previous ones. Pass must keep document valid, i.e. it
+//  must not produce anything FXMLCompiler would not accept from parser. Document is untyped, so, passes resolve types
+//  they are interested in through visitor context, same as FXMLCompiler does.
+interface FXMLDocumentPass {
+
+    void run(FXMLDocument document, VisitorContext context);
+}
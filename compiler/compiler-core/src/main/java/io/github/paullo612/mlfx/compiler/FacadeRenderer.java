@@ -0,0 +1,449 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader;
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
+import io.github.paullo612.mlfx.api.GeneratedByMLFX;
+import io.github.paullo612.mlfx.api.MLFXLoader;
+import io.github.paullo612.mlfx.api.Result;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import javafx.util.Callback;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.util.Map;
+import java.util.Set;
+
+// NB: Facade is a public class with typed static methods, that delegate to single loader instance. User code refers
+//  to facade directly, so, there is no URI based loader lookup and no casts at call sites, and missing document is a
+//  compile error.
+class FacadeRenderer {
+
+    static final String CLASS_NAME_SUFFIX = "FXML";
+    static final String NAMESPACE_CLASS_NAME = "Namespace";
+
+    private static final String LOADER_FIELD_NAME = "LOADER";
+    private static final String GET_LOADER_METHOD_NAME = "getLoader";
+    private static final String LOAD_METHOD_NAME = "load";
+    private static final String CREATE_CELL_FACTORY_METHOD_NAME = "createCellFactory";
+    private static final String GET_NAMESPACE_METHOD_NAME = "getNamespace";
+
+    // No-args methods of Object, namespace accessors can't have those names.
+    private static final Set<String> RESERVED_NAMESPACE_FIELD_NAMES = Set.of(
+            "getClass", "hashCode", "toString", "clone", "finalize", "notify", "notifyAll", "wait"
+    );
+
+    private static final Type LOADER_TYPE = Type.getType(CompiledFXMLLoader.class);
+    private static final Type RESULT_TYPE = Type.getType(Result.class);
+    private static final Type FACTORY_TYPE = Type.getType(ControllerAccessorFactory.class);
+    private static final Type CALLBACK_TYPE = Type.getType(Callback.class);
+
+    // Computes facade class name from compiled loader class name, e.g. com.acme.$Car$CompiledFXMLLoader becomes
+    //  com.acme.CarFXML. Returns null for documents in default package, as those can't be referenced anyway.
+    static String computeClassName(String loaderClassName) {
+        int lastDotIndex = loaderClassName.lastIndexOf('.');
+
+        if (lastDotIndex < 0) {
+            return null;
+        }
+
+        String suffix = "$" + CompiledFXMLLoader.class.getSimpleName();
+
+        assert loaderClassName.charAt(lastDotIndex + 1) == '$';
+        assert loaderClassName.endsWith(suffix);
+
+        return loaderClassName.substring(0, lastDotIndex + 1)
+                + loaderClassName.substring(lastDotIndex + 2, loaderClassName.length() - suffix.length())
+                + CLASS_NAME_SUFFIX;
+    }
+
+    static boolean isReservedNamespaceFieldName(String name) {
+        return RESERVED_NAMESPACE_FIELD_NAMES.contains(name);
+    }
+
+    private final ClassWriter facadeWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+    private final String internalClassName;
+    private final Type loaderType;
+    private final Type rootType;
+    private final Type controllerType;
+
+    private final Map<String, Type> namespaceFields;
+
+    FacadeRenderer(
+            String className,
+            String loaderInternalClassName,
+            Type rootType,
+            Type controllerType,
+            Map<String, Type> namespaceFields) {
+        this.internalClassName = className.replace('.', '/');
+        this.loaderType = Type.getObjectType(loaderInternalClassName);
+        this.rootType = rootType;
+        this.controllerType = controllerType;
+        this.namespaceFields = namespaceFields;
+    }
+
+    private String getNamespaceInternalClassName() {
+        return internalClassName + "$" + NAMESPACE_CLASS_NAME;
+    }
+
+    boolean hasNamespace() {
+        return !namespaceFields.isEmpty();
+    }
+
+    private String resultSignature() {
+        return "L" + RESULT_TYPE.getInternalName() + "<" + rootType.getDescriptor() + controllerType.getDescriptor()
+                + ">;";
+    }
+
+    private GeneratorAdapter startMethod(String name, String descriptor, String signature) {
+        GeneratorAdapter methodVisitor = new GeneratorAdapter(
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                new Method(name, descriptor),
+                signature,
+                new Type[] { Type.getType(CompiledLoadException.class) },
+                facadeWriter
+        );
+
+        methodVisitor.visitCode();
+        return methodVisitor;
+    }
+
+    private void loadLoader(GeneratorAdapter methodVisitor) {
+        methodVisitor.getStatic(Type.getObjectType(internalClassName), LOADER_FIELD_NAME, loaderType);
+    }
+
+    private void renderStaticInitializer() {
+        GeneratorAdapter staticInitializer = new GeneratorAdapter(
+                Opcodes.ACC_STATIC,
+                new Method("<clinit>", "()V"),
+                null,
+                null,
+                facadeWriter
+        );
+
+        staticInitializer.visitCode();
+
+        // LOADER = new |loaderType|();
+        staticInitializer.newInstance(loaderType);
+        staticInitializer.dup();
+        staticInitializer.invokeConstructor(loaderType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+        staticInitializer.putStatic(Type.getObjectType(internalClassName), LOADER_FIELD_NAME, loaderType);
+
+        staticInitializer.returnValue();
+        staticInitializer.endMethod();
+    }
+
+    private void renderConstructor() {
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                Opcodes.ACC_PRIVATE,
+                new Method(RenderUtils.CONSTRUCTOR_N, "()V"),
+                null,
+                null,
+                facadeWriter
+        );
+
+        constructor.visitCode();
+
+        // super();
+        constructor.loadThis();
+        constructor.invokeConstructor(Type.getType(Object.class), new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+
+        constructor.returnValue();
+        constructor.endMethod();
+    }
+
+    private void renderGetLoaderMethod() {
+        GeneratorAdapter getLoaderMethod = new GeneratorAdapter(
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                new Method(GET_LOADER_METHOD_NAME, "()" + LOADER_TYPE.getDescriptor()),
+                "()L" + LOADER_TYPE.getInternalName() + "<" + rootType.getDescriptor() + controllerType.getDescriptor()
+                        + ">;",
+                null,
+                facadeWriter
+        );
+
+        getLoaderMethod.visitCode();
+
+        // return LOADER;
+        loadLoader(getLoaderMethod);
+        getLoaderMethod.returnValue();
+        getLoaderMethod.endMethod();
+    }
+
+    private void renderLoad(GeneratorAdapter methodVisitor) {
+        // LOADER.load(controllerAccessorFactory, controller, root, resourceBundle)
+        methodVisitor.invokeVirtual(
+                LOADER_TYPE,
+                new Method(
+                        LOAD_METHOD_NAME,
+                        "(" + FACTORY_TYPE.getDescriptor() + RenderUtils.OBJECT_D + RenderUtils.OBJECT_D
+                                + RootRenderer.RESOURCE_BUNDLE_D + ")" + RESULT_TYPE.getDescriptor()
+                )
+        );
+    }
+
+    private void loadDefaultControllerAccessorFactory(GeneratorAdapter methodVisitor) {
+        // MLFXLoader.getDefaultControllerAccessorFactory()
+        methodVisitor.invokeStatic(
+                Type.getType(MLFXLoader.class),
+                new Method("getDefaultControllerAccessorFactory", "()" + FACTORY_TYPE.getDescriptor())
+        );
+    }
+
+    private void renderLoadMethods(boolean requiresArguments) {
+        // public static Result<|rootType|, |controllerType|> load(ControllerAccessorFactory controllerAccessorFactory,
+        //         |controllerType| controller, |rootType| root, ResourceBundle resourceBundle)
+        //         throws CompiledLoadException {
+        //     return LOADER.load(controllerAccessorFactory, controller, root, resourceBundle);
+        // }
+        String arguments = FACTORY_TYPE.getDescriptor() + controllerType.getDescriptor() + rootType.getDescriptor()
+                + RootRenderer.RESOURCE_BUNDLE_D;
+
+        GeneratorAdapter loadMethod = startMethod(
+                LOAD_METHOD_NAME,
+                "(" + arguments + ")" + RESULT_TYPE.getDescriptor(),
+                "(" + arguments + ")" + resultSignature()
+        );
+
+        loadLoader(loadMethod);
+        loadMethod.loadArgs();
+        renderLoad(loadMethod);
+        loadMethod.returnValue();
+        loadMethod.endMethod();
+
+        if (requiresArguments) {
+            return;
+        }
+
+        // public static Result<|rootType|, |controllerType|> load(ResourceBundle resourceBundle)
+        //         throws CompiledLoadException {
+        //     return LOADER.load(MLFXLoader.getDefaultControllerAccessorFactory(), null, null, resourceBundle);
+        // }
+        loadMethod = startMethod(
+                LOAD_METHOD_NAME,
+                "(" + RootRenderer.RESOURCE_BUNDLE_D + ")" + RESULT_TYPE.getDescriptor(),
+                "(" + RootRenderer.RESOURCE_BUNDLE_D + ")" + resultSignature()
+        );
+
+        loadLoader(loadMethod);
+        loadDefaultControllerAccessorFactory(loadMethod);
+        loadMethod.push((Type) null);
+        loadMethod.push((Type) null);
+        loadMethod.loadArg(0);
+        renderLoad(loadMethod);
+        loadMethod.returnValue();
+        loadMethod.endMethod();
+
+        // public static Result<|rootType|, |controllerType|> load() throws CompiledLoadException {
+        //     return LOADER.load(MLFXLoader.getDefaultControllerAccessorFactory(), null, null, null);
+        // }
+        loadMethod = startMethod(LOAD_METHOD_NAME, "()" + RESULT_TYPE.getDescriptor(), "()" + resultSignature());
+
+        loadLoader(loadMethod);
+        loadDefaultControllerAccessorFactory(loadMethod);
+        loadMethod.push((Type) null);
+        loadMethod.push((Type) null);
+        loadMethod.push((Type) null);
+        renderLoad(loadMethod);
+        loadMethod.returnValue();
+        loadMethod.endMethod();
+    }
+
+    private void renderCreateCellFactoryMethod() {
+        // public static <V, T> Callback<V, T> createCellFactory(ResourceBundle resourceBundle)
+        //         throws CompiledLoadException {
+        //     return LOADER.createCellFactory(MLFXLoader.getDefaultControllerAccessorFactory(), resourceBundle);
+        // }
+        String descriptor = "(" + FACTORY_TYPE.getDescriptor() + RootRenderer.RESOURCE_BUNDLE_D + ")"
+                + CALLBACK_TYPE.getDescriptor();
+
+        GeneratorAdapter createCellFactoryMethod = startMethod(
+                CREATE_CELL_FACTORY_METHOD_NAME,
+                "(" + RootRenderer.RESOURCE_BUNDLE_D + ")" + CALLBACK_TYPE.getDescriptor(),
+                "<V:" + RenderUtils.OBJECT_D + "T:" + RenderUtils.OBJECT_D + ">(" + RootRenderer.RESOURCE_BUNDLE_D
+                        + ")L" + CALLBACK_TYPE.getInternalName() + "<TV;TT;>;"
+        );
+
+        loadLoader(createCellFactoryMethod);
+        loadDefaultControllerAccessorFactory(createCellFactoryMethod);
+        createCellFactoryMethod.loadArg(0);
+        createCellFactoryMethod.invokeVirtual(
+                LOADER_TYPE,
+                new Method(CREATE_CELL_FACTORY_METHOD_NAME, descriptor)
+        );
+        createCellFactoryMethod.returnValue();
+        createCellFactoryMethod.endMethod();
+    }
+
+    private void renderGetNamespaceMethod() {
+        Type namespaceType = Type.getObjectType(getNamespaceInternalClassName());
+
+        // public static |namespaceType| getNamespace(Result<|rootType|, |controllerType|> result) {
+        //     return (|namespaceType|) result.getNamespace();
+        // }
+        GeneratorAdapter getNamespaceMethod = new GeneratorAdapter(
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC,
+                new Method(
+                        GET_NAMESPACE_METHOD_NAME,
+                        "(" + RESULT_TYPE.getDescriptor() + ")" + namespaceType.getDescriptor()
+                ),
+                "(" + resultSignature() + ")" + namespaceType.getDescriptor(),
+                null,
+                facadeWriter
+        );
+
+        getNamespaceMethod.visitCode();
+        getNamespaceMethod.loadArg(0);
+        getNamespaceMethod.invokeInterface(
+                RESULT_TYPE,
+                new Method(GET_NAMESPACE_METHOD_NAME, "()" + RenderUtils.OBJECT_D)
+        );
+        getNamespaceMethod.checkCast(namespaceType);
+        getNamespaceMethod.returnValue();
+        getNamespaceMethod.endMethod();
+    }
+
+    // NB: Fields are package private, as they are set by loader, that resides in the same package. Namespace is
+    //  immutable to anyone else.
+    byte[] renderNamespace() {
+        String namespaceInternalClassName = getNamespaceInternalClassName();
+        Type namespaceType = Type.getObjectType(namespaceInternalClassName);
+
+        ClassWriter namespaceWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+
+        // Class
+        namespaceWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                namespaceInternalClassName,
+                null,
+                RenderUtils.OBJECT_N,
+                null
+        );
+
+        namespaceWriter.visitNestHost(internalClassName);
+        namespaceWriter.visitInnerClass(
+                namespaceInternalClassName,
+                internalClassName,
+                NAMESPACE_CLASS_NAME,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL
+        );
+
+        // Mark as generated by us.
+        namespaceWriter.visitAnnotation(Type.getType(GeneratedByMLFX.class).getDescriptor(), false);
+
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                0,
+                new Method(RenderUtils.CONSTRUCTOR_N, "()V"),
+                null,
+                null,
+                namespaceWriter
+        );
+
+        constructor.visitCode();
+
+        // super();
+        constructor.loadThis();
+        constructor.invokeConstructor(Type.getType(Object.class), new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+
+        constructor.returnValue();
+        constructor.endMethod();
+
+        for (Map.Entry<String, Type> entry : namespaceFields.entrySet()) {
+            String name = entry.getKey();
+            Type type = entry.getValue();
+
+            namespaceWriter.visitField(0, name, type.getDescriptor(), null, null);
+
+            // public |type| |name|() {
+            //     return this.|name|;
+            // }
+            GeneratorAdapter accessor = new GeneratorAdapter(
+                    Opcodes.ACC_PUBLIC,
+                    new Method(name, "()" + type.getDescriptor()),
+                    null,
+                    null,
+                    namespaceWriter
+            );
+
+            accessor.visitCode();
+            accessor.loadThis();
+            accessor.getField(namespaceType, name, type);
+            accessor.returnValue();
+            accessor.endMethod();
+        }
+
+        namespaceWriter.visitEnd();
+
+        return namespaceWriter.toByteArray();
+    }
+
+    byte[] render(boolean requiresArguments, boolean isCellTemplate) {
+        // Class
+        facadeWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                internalClassName,
+                null,
+                RenderUtils.OBJECT_N,
+                null
+        );
+
+        if (hasNamespace()) {
+            facadeWriter.visitNestMember(getNamespaceInternalClassName());
+            facadeWriter.visitInnerClass(
+                    getNamespaceInternalClassName(),
+                    internalClassName,
+                    NAMESPACE_CLASS_NAME,
+                    Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL
+            );
+        }
+
+        // Mark as generated by us.
+        facadeWriter.visitAnnotation(Type.getType(GeneratedByMLFX.class).getDescriptor(), false);
+
+        facadeWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                LOADER_FIELD_NAME,
+                loaderType.getDescriptor(),
+                null,
+                null
+        );
+
+        renderStaticInitializer();
+        renderConstructor();
+        renderGetLoaderMethod();
+
+        if (isCellTemplate) {
+            renderCreateCellFactoryMethod();
+        } else {
+            renderLoadMethods(requiresArguments);
+        }
+
+        if (hasNamespace()) {
+            renderGetNamespaceMethod();
+        }
+
+        facadeWriter.visitEnd();
+
+        return facadeWriter.toByteArray();
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.commons.TableSwitchGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// NB: Implements listeners created from controller method references as a single class per document, instead of
+//  letting LambdaMetafactory spin hidden class per call site on first load. Handler instance holds handler index and
+//  target (controller, or ExecutableMethod found by controller accessor), and listener methods switch over the index.
+//  As handler calls controller method itself, controller methods without event argument may be used as handlers too.
+class HandlerRenderer {
+
+    private static final String CLASS_NAME = "Handler";
+    private static final String INDEX_FIELD_NAME = "$index";
+    private static final String TARGET_FIELD_NAME = "$target";
+    private static final String CONSTRUCTOR_DESCRIPTOR = "(I" + RenderUtils.OBJECT_D + ")V";
+
+    private static class Handler {
+        private final int index;
+        private final Type targetType;
+        private final boolean isInterface;
+        private final Method method;
+        private final Type[] parameterTypes;
+
+        Handler(int index, Type targetType, boolean isInterface, Method method, Type[] parameterTypes) {
+            this.index = index;
+            this.targetType = targetType;
+            this.isInterface = isInterface;
+            this.method = method;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+
+    private static class Listener {
+        private final Method method;
+        private final List<Handler> handlers = new ArrayList<>();
+
+        Listener(Method method) {
+            this.method = method;
+        }
+    }
+
+    private final ClassWriter handlerWriter =
+            new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+    private final String loaderInternalClassName;
+    private final String internalClassName;
+    private final Map<Type, Listener> listeners = new LinkedHashMap<>();
+    private int handlerCount;
+
+    HandlerRenderer(String loaderInternalClassName) {
+        this.loaderInternalClassName = loaderInternalClassName;
+        this.internalClassName = loaderInternalClassName + "$" + CLASS_NAME;
+    }
+
+    String getInternalClassName() {
+        return internalClassName;
+    }
+
+    String getClassName() {
+        return CLASS_NAME;
+    }
+
+    private static String getDescriptor(Class<?>... parameters) {
+        return Arrays.stream(parameters)
+                .map(Type::getDescriptor)
+                .collect(Collectors.joining("", "(", ")V"));
+    }
+
+    // Consumes handler target from stack top and produces |listenerClass| instance, which calls |method| of target
+    //  from |listenerMethodName| with listener arguments cast to |parameterTypes|. Listener arguments are dropped if
+    //  |parameterTypes| is empty.
+    void render(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            Type targetType,
+            boolean isInterface,
+            Method method,
+            Type[] parameterTypes) {
+        Listener listener = listeners.computeIfAbsent(
+                Type.getType(listenerClass),
+                __ -> new Listener(new Method(listenerMethodName, getDescriptor(listenerParameters)))
+        );
+
+        int index = handlerCount++;
+        listener.handlers.add(new Handler(index, targetType, isInterface, method, parameterTypes));
+
+        Type objectType = Type.getObjectType(internalClassName);
+
+        // new |objectType|(|index|, target)
+        methodVisitor.newInstance(objectType);
+        methodVisitor.dupX1();
+        methodVisitor.swap();
+        methodVisitor.push(index);
+        methodVisitor.swap();
+        methodVisitor.invokeConstructor(objectType, new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR));
+    }
+
+    // Consumes ExecutableMethod from stack top and produces |listenerClass| instance, which executes it with
+    //  |argumentCount| first listener arguments.
+    void renderExecutable(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            int argumentCount) {
+        Type[] parameterTypes = new Type[argumentCount];
+        Arrays.fill(parameterTypes, Type.getType(Object.class));
+
+        render(
+                methodVisitor,
+                listenerClass,
+                listenerMethodName,
+                listenerParameters,
+                Type.getType(ControllerAccessor.ExecutableMethod.class),
+                true,
+                new Method("execute", "(" + RenderUtils.OBJECT_D.repeat(argumentCount) + ")V"),
+                parameterTypes
+        );
+    }
+
+    private void renderConstructor() {
+        Type objectType = Type.getObjectType(internalClassName);
+
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                0,
+                new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR),
+                null,
+                null,
+                handlerWriter
+        );
+
+        constructor.visitCode();
+
+        // super();
+        constructor.loadThis();
+        constructor.invokeConstructor(Type.getType(Object.class), new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+
+        // this.$index = index;
+        constructor.loadThis();
+        constructor.loadArg(0);
+        constructor.putField(objectType, INDEX_FIELD_NAME, Type.INT_TYPE);
+
+        // this.$target = target;
+        constructor.loadThis();
+        constructor.loadArg(1);
+        constructor.putField(objectType, TARGET_FIELD_NAME, Type.getType(Object.class));
+
+        constructor.returnValue();
+        constructor.endMethod();
+    }
+
+    private void renderListenerMethod(Listener listener) {
+        Type objectType = Type.getObjectType(internalClassName);
+
+        GeneratorAdapter methodVisitor = new GeneratorAdapter(
+                Opcodes.ACC_PUBLIC,
+                listener.method,
+                null,
+                null,
+                handlerWriter
+        );
+
+        methodVisitor.visitCode();
+
+        int[] keys = listener.handlers.stream()
+                .mapToInt(handler -> handler.index)
+                .toArray();
+
+        // switch (this.$index) {
+        //     case |index|:
+        //         ((|targetType|) this.$target).|method|((|parameterType|) argument, ...);
+        //         return;
+        //     ...
+        //     default:
+        //         throw new IllegalStateException("Unknown handler.");
+        // }
+        methodVisitor.loadThis();
+        methodVisitor.getField(objectType, INDEX_FIELD_NAME, Type.INT_TYPE);
+        methodVisitor.tableSwitch(keys, new TableSwitchGenerator() {
+
+            @Override
+            public void generateCase(int key, Label end) {
+                Handler handler = listener.handlers.get(Arrays.binarySearch(keys, key));
+
+                methodVisitor.loadThis();
+                methodVisitor.getField(objectType, TARGET_FIELD_NAME, Type.getType(Object.class));
+                methodVisitor.checkCast(handler.targetType);
+
+                Type[] argumentTypes = listener.method.getArgumentTypes();
+
+                for (int i = 0; i < handler.parameterTypes.length; ++i) {
+                    Type parameterType = handler.parameterTypes[i];
+
+                    methodVisitor.loadArg(i);
+
+                    if (argumentTypes[i].getSort() < Type.ARRAY) {
+                        // Primitive listener arguments are passed as is, or boxed for ExecutableMethod.
+                        if (parameterType.getSort() >= Type.ARRAY) {
+                            methodVisitor.valueOf(argumentTypes[i]);
+                        }
+                    } else if (!parameterType.equals(argumentTypes[i])) {
+                        methodVisitor.checkCast(parameterType);
+                    }
+                }
+
+                if (handler.isInterface) {
+                    methodVisitor.invokeInterface(handler.targetType, handler.method);
+                } else {
+                    methodVisitor.invokeVirtual(handler.targetType, handler.method);
+                }
+
+                methodVisitor.returnValue();
+            }
+
+            @Override
+            public void generateDefault() {
+                methodVisitor.throwException(Type.getType(IllegalStateException.class), "Unknown handler.");
+            }
+        });
+
+        methodVisitor.endMethod();
+    }
+
+    byte[] dispose() {
+        // Class
+        handlerWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                internalClassName,
+                null,
+                RenderUtils.OBJECT_N,
+                listeners.keySet().stream()
+                        .map(Type::getInternalName)
+                        .toArray(String[]::new)
+        );
+
+        handlerWriter.visitNestHost(loaderInternalClassName);
+        handlerWriter.visitInnerClass(
+                internalClassName,
+                loaderInternalClassName,
+                CLASS_NAME,
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC
+        );
+
+        handlerWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                INDEX_FIELD_NAME,
+                Type.INT_TYPE.getDescriptor(),
+                null,
+                null
+        );
+        handlerWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                TARGET_FIELD_NAME,
+                RenderUtils.OBJECT_D,
+                null,
+                null
+        );
+
+        renderConstructor();
+        listeners.values().forEach(this::renderListenerMethod);
+
+        handlerWriter.visitEnd();
+
+        return handlerWriter.toByteArray();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessor;
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
+import io.github.paullo612.mlfx.api.LazyContent;
+import io.github.paullo612.mlfx.api.ParallelInclude;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import io.micronaut.inject.ast.MethodElement;
+import javafx.beans.value.ObservableValue;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+// NB: Lazy content method mirrors load method's local variables layout, so, commands rendered to load method can be
+//  rendered to it as is. Lazy content owner is passed as last argument. Resource bundle and localized targets list
+//  are passed by LazyContent, after captured arguments, so, those go through initializer method that puts them in
+//  place. Lazy content can only reference its own elements, as load method's locals are gone by the time it is
+//  called, so, loads of locals that were not stored in lazy content method itself are tracked.
+final class LazyContentMethod extends MethodVisitor {
+
+    static final String NAME_PREFIX = "$lazyContent";
+
+    private static final String INITIALIZE_METHOD_NAME_SUFFIX = "$initialize";
+    private static final String RELOCALIZE_METHOD_NAME_PREFIX = "$relocalizeLazyContent";
+
+    private static final String INITIALIZE_DESCRIPTOR =
+            "(" + RootRenderer.RESOURCE_BUNDLE_D + "Ljava/util/List;)V";
+
+    private final RootRenderer rootRenderer;
+    private final String name;
+    private final String descriptor;
+    private final Type ownerType;
+    private final int ownerSlot;
+    private final GeneratorAdapter methodVisitor;
+    private final BitSet storedSlots = new BitSet();
+    private final RelocalizationRenderer relocalizationRenderer;
+    private int outerSlot = -1;
+
+    LazyContentMethod(RootRenderer rootRenderer, String name, Type ownerType, int ownerSlot) {
+        super(Opcodes.ASM9);
+
+        this.rootRenderer = rootRenderer;
+        this.name = name;
+        this.ownerType = ownerType;
+        this.ownerSlot = ownerSlot;
+        this.descriptor = "(" + rootRenderer.getLoaderType().getDescriptor()
+                + Type.getType(ControllerAccessorFactory.class).getDescriptor()
+                + RootRenderer.RESOURCE_BUNDLE_D
+                + rootRenderer.getRootType().getDescriptor()
+                + Type.getType(ControllerAccessor.class).getDescriptor()
+                + rootRenderer.getControllerType().getDescriptor()
+                + Type.getType(ArrayList.class).getDescriptor()
+                + RenderUtils.OBJECT_D
+                + Type.getType(ParallelInclude[].class).getDescriptor()
+                + ownerType.getDescriptor()
+                + ")V";
+
+        this.relocalizationRenderer = new RelocalizationRenderer(
+                rootRenderer.getLoaderWriter(),
+                RootRenderer.LOCALIZED_TARGETS_LOCAL_INDEX,
+                true
+        );
+
+        mv = rootRenderer.getLoaderWriter().visitMethod(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                name,
+                descriptor,
+                null,
+                new String[] { Type.getType(CompiledLoadException.class).getInternalName() }
+        );
+
+        methodVisitor = new GeneratorAdapter(
+                this,
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                name,
+                descriptor
+        );
+
+        methodVisitor.visitCode();
+
+        // |ownerType| owner = <last argument>;
+        methodVisitor.loadArg(RootRenderer.LAST_LOCAL_INDEX + 1);
+        methodVisitor.storeLocal(ownerSlot, ownerType);
+
+        // NB: Owner argument load is not an outer reference.
+        outerSlot = -1;
+    }
+
+    GeneratorAdapter getMethodVisitor() {
+        return methodVisitor;
+    }
+
+    RelocalizationRenderer getRelocalizationRenderer() {
+        return relocalizationRenderer;
+    }
+
+    @Override
+    public void visitVarInsn(int opcode, int var) {
+        if (var > RootRenderer.LAST_LOCAL_INDEX) {
+            if (opcode >= Opcodes.ISTORE && opcode <= Opcodes.ASTORE) {
+                storedSlots.set(var);
+            } else if (opcode >= Opcodes.ILOAD && opcode <= Opcodes.ALOAD
+                    && !storedSlots.get(var)
+                    && outerSlot < 0) {
+                outerSlot = var;
+            }
+        }
+
+        super.visitVarInsn(opcode, var);
+    }
+
+    void render(CompilerContext.RenderCommand command) {
+        command.render(methodVisitor);
+    }
+
+    void loadOwner(GeneratorAdapter methodVisitor) {
+        methodVisitor.loadLocal(ownerSlot, ownerType);
+    }
+
+    // Whether lazy content references locals of enclosing method.
+    boolean hasOuterReferences() {
+        return outerSlot >= 0;
+    }
+
+    void finish() {
+        methodVisitor.returnValue();
+        methodVisitor.endMethod();
+
+        renderInitializeMethod();
+
+        if (relocalizationRenderer.isRelocalizable()) {
+            relocalizationRenderer.renderRelocalizeMethod(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                    getRelocalizeMethodName()
+            );
+        }
+    }
+
+    private String getInitializeMethodDescriptor() {
+        return "(" + rootRenderer.getLoaderType().getDescriptor()
+                + Type.getType(ControllerAccessorFactory.class).getDescriptor()
+                + rootRenderer.getRootType().getDescriptor()
+                + Type.getType(ControllerAccessor.class).getDescriptor()
+                + rootRenderer.getControllerType().getDescriptor()
+                + ownerType.getDescriptor()
+                + INITIALIZE_DESCRIPTOR.substring(1);
+    }
+
+    private void renderInitializeMethod() {
+        GeneratorAdapter initializeMethod = new GeneratorAdapter(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                new Method(name + INITIALIZE_METHOD_NAME_SUFFIX, getInitializeMethodDescriptor()),
+                null,
+                new Type[] { Type.getType(CompiledLoadException.class) },
+                rootRenderer.getLoaderWriter()
+        );
+
+        initializeMethod.visitCode();
+
+        // $lazyContentN(loader, controllerAccessorFactory, resourceBundle, root, accessor, controller,
+        //         (ArrayList) localizedTargets, null, null, owner);
+        initializeMethod.loadArg(0);
+        initializeMethod.loadArg(1);
+        initializeMethod.loadArg(6);
+        initializeMethod.loadArg(2);
+        initializeMethod.loadArg(3);
+        initializeMethod.loadArg(4);
+        initializeMethod.loadArg(7);
+        initializeMethod.checkCast(Type.getType(ArrayList.class));
+        initializeMethod.push((Type) null);
+        initializeMethod.push((Type) null);
+        initializeMethod.loadArg(5);
+        initializeMethod.invokeStatic(rootRenderer.getLoaderType(), new Method(name, descriptor));
+        initializeMethod.returnValue();
+        initializeMethod.endMethod();
+    }
+
+    private String getRelocalizeMethodName() {
+        return RELOCALIZE_METHOD_NAME_PREFIX + name.substring(NAME_PREFIX.length());
+    }
+
+    void renderInstall(
+            GeneratorAdapter methodVisitor,
+            CompilerContext.RenderCommand loadOwner,
+            MethodElement triggerMethod) {
+        Type loaderType = rootRenderer.getLoaderType();
+        Type lazyContentType = Type.getType(LazyContent.class);
+        Type initializerType = Type.getType(LazyContent.Initializer.class);
+        Type relocalizerType = Type.getType(LazyContent.Relocalizer.class);
+        Type observableValueType = Type.getType(ObservableValue.class);
+
+        // LazyContent.install(
+        //         owner.triggerProperty(),
+        //         resourceBundle,
+        //         (resourceBundle, localizedTargets) -> $lazyContentN$initialize(this, controllerAccessorFactory,
+        //                 root, accessor, controller, owner, resourceBundle, localizedTargets),
+        //         $relocalizeLazyContentN or null
+        // );
+        loadOwner.render(methodVisitor);
+        RenderUtils.renderMethodCall(methodVisitor, triggerMethod);
+
+        RootRenderer.loadNonRequiredResourceBundle(methodVisitor);
+
+        methodVisitor.loadThis();
+        RootRenderer.loadControllerAccessorFactory(methodVisitor);
+        RootRenderer.loadRootInstance(methodVisitor);
+        RootRenderer.loadAccessor(methodVisitor);
+        RootRenderer.loadController(methodVisitor);
+        loadOwner.render(methodVisitor);
+
+        String initializeMethodDescriptor = getInitializeMethodDescriptor();
+        String capturedDescriptor = initializeMethodDescriptor.substring(
+                0,
+                initializeMethodDescriptor.length() - INITIALIZE_DESCRIPTOR.length() + 1
+        );
+
+        methodVisitor.visitInvokeDynamicInsn(
+                "initialize",
+                capturedDescriptor + ")" + initializerType.getDescriptor(),
+                RenderUtils.LAMBDA_METAFACTORY_HANDLE,
+                Type.getType(INITIALIZE_DESCRIPTOR),
+                new Handle(
+                        Opcodes.H_INVOKESTATIC,
+                        loaderType.getInternalName(),
+                        name + INITIALIZE_METHOD_NAME_SUFFIX,
+                        initializeMethodDescriptor,
+                        false
+                ),
+                Type.getType(INITIALIZE_DESCRIPTOR)
+        );
+
+        if (!relocalizationRenderer.isRelocalizable()) {
+            methodVisitor.push((Type) null);
+        } else {
+            methodVisitor.visitInvokeDynamicInsn(
+                    "relocalize",
+                    "()" + relocalizerType.getDescriptor(),
+                    RenderUtils.LAMBDA_METAFACTORY_HANDLE,
+                    Type.getType(RelocalizationRenderer.RELOCALIZE_DESCRIPTOR),
+                    new Handle(
+                            Opcodes.H_INVOKESTATIC,
+                            loaderType.getInternalName(),
+                            getRelocalizeMethodName(),
+                            RelocalizationRenderer.RELOCALIZE_DESCRIPTOR,
+                            false
+                    ),
+                    Type.getType(RelocalizationRenderer.RELOCALIZE_DESCRIPTOR)
+            );
+        }
+
+        methodVisitor.invokeStatic(
+                lazyContentType,
+                new Method(
+                        "install",
+                        "(" + observableValueType.getDescriptor() + RootRenderer.RESOURCE_BUNDLE_D
+                                + initializerType.getDescriptor() + relocalizerType.getDescriptor() + ")"
+                                + lazyContentType.getDescriptor()
+                )
+        );
+
+        if (!relocalizationRenderer.isRelocalizable()) {
+            methodVisitor.pop();
+            return;
+        }
+
+        // NB: Lazy content itself is a relocalization target of enclosing method.
+        rootRenderer.recordRelocalizationTarget(
+                (relocalizeMethodVisitor, loadTarget, loadResources) -> {
+                    // ((LazyContent) target).relocalize(resourceBundle);
+                    loadTarget.render(relocalizeMethodVisitor);
+                    relocalizeMethodVisitor.checkCast(lazyContentType);
+                    loadResources.render(relocalizeMethodVisitor);
+                    relocalizeMethodVisitor.invokeVirtual(
+                            lazyContentType,
+                            new Method("relocalize", "(" + RootRenderer.RESOURCE_BUNDLE_D + ")V")
+                    );
+                },
+                methodVisitor
+        );
+    }
+}
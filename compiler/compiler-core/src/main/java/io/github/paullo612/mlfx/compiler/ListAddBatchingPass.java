@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.micronaut.inject.visitor.VisitorContext;
+import javafx.fxml.FXMLLoader;
+
+// Marks elements whose children can be added to list by single addAll call at element end, instead of one add call per
+//  child. That is possible only if nothing inside element can see objects created earlier in the same element: scripts,
+//  references, copies, variable references or expressions. Document is walked once, bottom up, as whether element
+//  can observe its siblings depends on its whole subtree.
+class ListAddBatchingPass implements FXMLDocumentPass {
+
+    @Override
+    public void run(FXMLDocument document, VisitorContext context) {
+        for (FXMLDocument.Node node : document.getNodes()) {
+            if (node instanceof FXMLDocument.Element) {
+                canObserveSiblings((FXMLDocument.Element) node);
+            }
+        }
+    }
+
+    private static boolean canObserveSiblings(FXMLDocument.Element element) {
+        boolean result = isObserver(element);
+
+        // NB: Visit all children, even if result is already known, as each of them has to be marked.
+        for (FXMLDocument.Node node : element.getChildren()) {
+            if (node instanceof FXMLDocument.Element) {
+                result |= canObserveSiblings((FXMLDocument.Element) node);
+            } else if (node instanceof FXMLDocument.Characters) {
+                result |= ((FXMLDocument.Characters) node).getText().trim().startsWith(FXMLLoader.EXPRESSION_PREFIX);
+            }
+        }
+
+        element.setListAddBatchable(!result);
+        return result;
+    }
+
+    private static boolean isObserver(FXMLDocument.Element element) {
+        if (FXMLLoader.FX_NAMESPACE_PREFIX.equals(element.getPrefix())) {
+            switch (element.getLocalName()) {
+                case FXMLLoader.SCRIPT_TAG:
+                case FXMLLoader.REFERENCE_TAG:
+                case FXMLLoader.COPY_TAG:
+                    return true;
+                default:
+                    break;
+            }
+        }
+
+        for (FXMLDocument.Attribute attribute : element.getAttributes()) {
+            if (attribute.getValue().startsWith(FXMLLoader.EXPRESSION_PREFIX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// NB: Collects what generated code of compilation unit needs at runtime, and renders it as GraalVM's reachability
+//  metadata, so, native images do not require tracing agent run. Loaders are instantiated reflectively by service
+//  loader, documents and relative path (@) attribute values are resolved as class path resources, and fx:include'd
+//  resource bundles are looked up by ResourceBundle#getBundle. Compiled resource bundles only hold constants, so,
+//  those are safe to be initialized at build time.
+class NativeImageMetadata {
+
+    private static final String BASE_PATH = "META-INF/native-image/io.github.paullo612.mlfx/";
+    private static final String REACHABILITY_METADATA_FILE_NAME = "reachability-metadata.json";
+    private static final String PROPERTIES_FILE_NAME = "native-image.properties";
+    private static final String SERVICE_DESCRIPTOR = "META-INF/services/" + CompiledFXMLLoader.class.getName();
+
+    private final Set<String> reflectiveTypes = new TreeSet<>();
+    private final Set<String> resources = new TreeSet<>();
+    private final Set<String> bundles = new TreeSet<>();
+    private final Set<String> buildTimeInitializedTypes = new TreeSet<>();
+
+    NativeImageMetadata() {
+        resources.add(SERVICE_DESCRIPTOR);
+    }
+
+    void addReflectiveType(String className) {
+        reflectiveTypes.add(className);
+    }
+
+    void addResource(String path) {
+        resources.add(path);
+    }
+
+    void addBundle(String baseName) {
+        bundles.add(baseName);
+    }
+
+    void addBuildTimeInitializedType(String className) {
+        buildTimeInitializedTypes.add(className);
+    }
+
+    private static String quote(String string) {
+        StringBuilder builder = new StringBuilder("\"");
+
+        for (int i = 0; i < string.length(); ++i) {
+            char c = string.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+    private static String renderArray(String name, Set<String> values, String elementFormat) {
+        return values.stream()
+                .map(value -> "    " + String.format(elementFormat, quote(value)))
+                .collect(Collectors.joining(",\n", "  " + quote(name) + ": [\n", "\n  ]"));
+    }
+
+    private String renderReachabilityMetadata() {
+        // NB: Glob patterns treat '*' and '\' specially, but neither of those can appear in compiled class path
+        //  resources' names in practice.
+        return "{\n"
+                + renderArray(
+                        "reflection",
+                        reflectiveTypes,
+                        "{ \"type\": %s, \"methods\": [ { \"name\": \"<init>\", \"parameterTypes\": [] } ] }"
+                )
+                + ",\n"
+                + renderArray("resources", resources, "{ \"glob\": %s }")
+                + (bundles.isEmpty() ? "" : ",\n" + renderArray("bundles", bundles, "{ \"name\": %s }"))
+                + "\n}\n";
+    }
+
+    private String renderProperties() {
+        return "Args = --initialize-at-build-time=" + String.join(",", buildTimeInitializedTypes) + "\n";
+    }
+
+    private static void createResource(FXMLCompiler.Delegate delegate, String name, String content) {
+        try (OutputStream outputStream = delegate.createResource(name)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new CompileErrorException("Failed to write native image metadata: " + e.getMessage(), e);
+        }
+    }
+
+    // Writes metadata to directory named after compilation unit, so, units do not overwrite each other's metadata.
+    void write(String unitName, FXMLCompiler.Delegate delegate) {
+        String path = BASE_PATH + unitName + "/";
+
+        createResource(delegate, path + REACHABILITY_METADATA_FILE_NAME, renderReachabilityMetadata());
+
+        if (!buildTimeInitializedTypes.isEmpty()) {
+            createResource(delegate, path + PROPERTIES_FILE_NAME, renderProperties());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.micronaut.inject.visitor.VisitorContext;
+import javafx.fxml.FXMLLoader;
+
+import java.util.List;
+
+// Marks fx:include elements whose loads are started right at load method's start, if document has mlfxParallelIncludes
+//  processing instruction. Lazy content is not constructed along with the document, so, there is nothing to start ahead
+//  of time for includes inside of it. Placement of processing instruction itself is checked by FXMLCompiler, so, only
+//  top level processing instructions are looked at here.
+class ParallelIncludesPass implements FXMLDocumentPass {
+
+    @Override
+    public void run(FXMLDocument document, VisitorContext context) {
+        boolean parallelIncludes = document.getNodes().stream()
+                .filter(FXMLDocument.ProcessingInstruction.class::isInstance)
+                .map(FXMLDocument.ProcessingInstruction.class::cast)
+                .anyMatch(p -> ProcessingInstructions.MLFX_PARALLEL_INCLUDES.equals(p.getTarget()));
+
+        if (parallelIncludes) {
+            document.setParallelIncludeCount(markParallelIncludes(document.getNodes()));
+        }
+    }
+
+    // Returns number of marked elements.
+    private static int markParallelIncludes(List<FXMLDocument.Node> nodes) {
+        int count = 0;
+        boolean isLazy = false;
+
+        for (FXMLDocument.Node node : nodes) {
+            if (node instanceof FXMLDocument.ProcessingInstruction) {
+                String target = ((FXMLDocument.ProcessingInstruction) node).getTarget();
+
+                // NB: mlfxLazy processing instruction applies to element that follows it.
+                isLazy |= ProcessingInstructions.MLFX_LAZY.equals(target);
+                continue;
+            }
+
+            if (!(node instanceof FXMLDocument.Element)) {
+                continue;
+            }
+
+            FXMLDocument.Element element = (FXMLDocument.Element) node;
+
+            if (isLazy) {
+                isLazy = false;
+                continue;
+            }
+
+            if (FXMLLoader.FX_NAMESPACE_PREFIX.equals(element.getPrefix())
+                    && FXMLLoader.INCLUDE_TAG.equals(element.getLocalName())) {
+                element.setParallelInclude(true);
+                ++count;
+            }
+
+            count += markParallelIncludes(element.getChildren());
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader;
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
+import io.github.paullo612.mlfx.api.ParallelInclude;
+import io.github.paullo612.mlfx.api.Result;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// NB: Loads of included documents are started by loader's method called right at load method's start. Which
+//  fx:include elements are loaded this way is decided by ParallelIncludesPass, so, their number is known before
+//  document is rendered, but their loaders are only known once their elements are handled. So, starts are recorded as
+//  elements come, and start method is rendered after whole document. Start method mirrors load method's arguments
+//  layout, so, commands that push load arguments can be rendered to it as is.
+class ParallelIncludesRenderer {
+
+    private static final String START_METHOD_NAME = "$startParallelIncludes";
+
+    private static final Type PARALLEL_INCLUDE_TYPE = Type.getType(ParallelInclude.class);
+    private static final Type PARALLEL_INCLUDES_TYPE = Type.getType(ParallelInclude[].class);
+
+    private final ClassWriter loaderWriter;
+    private final String loaderInternalClassName;
+    private final int parallelIncludeCount;
+    private final int parallelIncludesSlot;
+
+    // NB: Commands that push included document's loader, controller accessor factory and resource bundle. Index is
+    //  started load's index in parallel includes array.
+    private final List<CompilerContext.RenderCommand> starts = new ArrayList<>();
+    private Label startedLabel;
+
+    ParallelIncludesRenderer(
+            ClassWriter loaderWriter,
+            String loaderInternalClassName,
+            int parallelIncludeCount,
+            int parallelIncludesSlot) {
+        this.loaderWriter = loaderWriter;
+        this.loaderInternalClassName = loaderInternalClassName;
+        this.parallelIncludeCount = parallelIncludeCount;
+        this.parallelIncludesSlot = parallelIncludesSlot;
+    }
+
+    private Method getStartMethod() {
+        return new Method(
+                START_METHOD_NAME,
+                "(" + Type.getType(ControllerAccessorFactory.class).getDescriptor() + RootRenderer.RESOURCE_BUNDLE_D
+                        + PARALLEL_INCLUDES_TYPE.getDescriptor() + ")V"
+        );
+    }
+
+    void renderStart(GeneratorAdapter loadMethodVisitor) {
+        // ParallelInclude[] parallelIncludes = new ParallelInclude[|parallelIncludeCount|];
+        loadMethodVisitor.push(parallelIncludeCount);
+        loadMethodVisitor.newArray(PARALLEL_INCLUDE_TYPE);
+        loadMethodVisitor.storeLocal(parallelIncludesSlot, PARALLEL_INCLUDES_TYPE);
+
+        // NB: Whole rest of load method is guarded, so, loads are cancelled whenever it fails. See renderCancel.
+        startedLabel = loadMethodVisitor.mark();
+
+        // $startParallelIncludes(controllerAccessorFactory, resourceBundle, parallelIncludes);
+        loadMethodVisitor.loadThis();
+        RootRenderer.loadControllerAccessorFactory(loadMethodVisitor);
+        RootRenderer.loadNonRequiredResourceBundle(loadMethodVisitor);
+        loadMethodVisitor.loadLocal(parallelIncludesSlot, PARALLEL_INCLUDES_TYPE);
+        loadMethodVisitor.invokeVirtual(Type.getObjectType(loaderInternalClassName), getStartMethod());
+    }
+
+    // Returns index of started load. |startLoad| pushes included document's loader, controller accessor factory and
+    //  resource bundle.
+    int addStart(CompilerContext.RenderCommand startLoad) {
+        if (starts.size() == parallelIncludeCount) {
+            throw new IllegalStateException("More included documents than expected.");
+        }
+
+        starts.add(startLoad);
+        return starts.size() - 1;
+    }
+
+    // Leaves Result of included document on stack top.
+    void renderJoin(GeneratorAdapter methodVisitor, int index) {
+        // parallelIncludes[|index|].join();
+        methodVisitor.loadLocal(parallelIncludesSlot, PARALLEL_INCLUDES_TYPE);
+        methodVisitor.push(index);
+        methodVisitor.arrayLoad(PARALLEL_INCLUDE_TYPE);
+        methodVisitor.invokeVirtual(
+                PARALLEL_INCLUDE_TYPE,
+                new Method("join", "()" + Type.getType(Result.class).getDescriptor())
+        );
+    }
+
+    // Renders exception handler of load method. Must be rendered after load method's last instruction.
+    void renderCancel(GeneratorAdapter loadMethodVisitor) {
+        // } catch (Throwable e) {
+        //     ParallelInclude.cancelAll(parallelIncludes);
+        //     throw e;
+        // }
+        Label endLabel = loadMethodVisitor.mark();
+        loadMethodVisitor.catchException(startedLabel, endLabel, Type.getType(Throwable.class));
+        loadMethodVisitor.loadLocal(parallelIncludesSlot, PARALLEL_INCLUDES_TYPE);
+        loadMethodVisitor.invokeStatic(
+                PARALLEL_INCLUDE_TYPE,
+                new Method("cancelAll", "(" + PARALLEL_INCLUDES_TYPE.getDescriptor() + ")V")
+        );
+        loadMethodVisitor.throwException();
+    }
+
+    void renderStartMethod() {
+        GeneratorAdapter startMethod = new GeneratorAdapter(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC,
+                getStartMethod(),
+                null,
+                new Type[] { Type.getType(CompiledLoadException.class) },
+                loaderWriter
+        );
+
+        startMethod.visitCode();
+
+        for (int i = 0; i < starts.size(); ++i) {
+            // parallelIncludes[|i|] = ParallelInclude.start(loader, controllerAccessorFactory, resourceBundle);
+            startMethod.loadArg(2);
+            startMethod.push(i);
+            starts.get(i).render(startMethod);
+            startMethod.invokeStatic(
+                    PARALLEL_INCLUDE_TYPE,
+                    new Method(
+                            "start",
+                            "(" + Type.getType(CompiledFXMLLoader.class).getDescriptor()
+                                    + Type.getType(ControllerAccessorFactory.class).getDescriptor()
+                                    + RootRenderer.RESOURCE_BUNDLE_D + ")" + PARALLEL_INCLUDE_TYPE.getDescriptor()
+                    )
+            );
+            startMethod.arrayStore(PARALLEL_INCLUDE_TYPE);
+        }
+
+        startMethod.returnValue();
+        startMethod.endMethod();
+    }
+}
@@ -19,6 +19,11 @@ public final class ProcessingInstructions {
 
     public static final String MLFX_ROOT_TYPE = "mlfxRootType";
     public static final String MLFX_CONTROLLER_TYPE = "mlfxControllerType";
+    public static final String MLFX_LAZY = "mlfxLazy";
+    public static final String MLFX_CELL_TYPE = "mlfxCellType";
+    public static final String MLFX_CELL_ITEM_TYPE = "mlfxCellItemType";
+    public static final String MLFX_PARALLEL_INCLUDES = "mlfxParallelIncludes";
+    public static final String MLFX_IMAGE_CACHE = "mlfxImageCache";
 
     private ProcessingInstructions() {
         super();
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// NB: Relocalization targets of a method are recorded to list, which is kept in |localizedTargetsSlot| of that
+//  method, and relocalize method gets them back by index. Site index is index of its target in targets list, so, sites
+//  are added in order targets are recorded.
+class RelocalizationRenderer {
+
+    static final String RELOCALIZE_DESCRIPTOR = "(Ljava/util/List;" + RootRenderer.RESOURCE_BUNDLE_D + ")V";
+
+    private final ClassWriter loaderWriter;
+    private final int localizedTargetsSlot;
+    private final boolean isArgument;
+    private final List<CompilerContext.RelocalizationSite> relocalizationSites = new ArrayList<>();
+
+    // NB: Localized targets list of lazy content method is its argument, and GeneratorAdapter refuses to track types of
+    //  arguments as locals, so, |isArgument| tells how to access it.
+    RelocalizationRenderer(ClassWriter loaderWriter, int localizedTargetsSlot, boolean isArgument) {
+        this.loaderWriter = loaderWriter;
+        this.localizedTargetsSlot = localizedTargetsSlot;
+        this.isArgument = isArgument;
+    }
+
+    boolean isRelocalizable() {
+        return !relocalizationSites.isEmpty();
+    }
+
+    // Consumes target from stack top and records it along with its |site|.
+    void recordTarget(CompilerContext.RelocalizationSite site, GeneratorAdapter methodVisitor) {
+        Type listType = Type.getType(ArrayList.class);
+
+        // NB: Targets may be rendered out of element order (see InstanceDeclarationFXMLElement), so, list is created
+        //  lazily by whichever target comes first.
+        //
+        // if (localizedTargets == null) {
+        //     localizedTargets = new ArrayList();
+        // }
+        // localizedTargets.add(target);
+        Label add = methodVisitor.newLabel();
+        loadLocalizedTargets(methodVisitor);
+        methodVisitor.ifNonNull(add);
+        methodVisitor.newInstance(listType);
+        methodVisitor.dup();
+        methodVisitor.invokeConstructor(listType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+        storeLocalizedTargets(methodVisitor);
+        methodVisitor.mark(add);
+        loadLocalizedTargets(methodVisitor);
+        methodVisitor.swap();
+        methodVisitor.invokeVirtual(listType, new Method("add", "(" + RenderUtils.OBJECT_D + ")Z"));
+        methodVisitor.pop();
+
+        relocalizationSites.add(site);
+    }
+
+    void loadLocalizedTargets(GeneratorAdapter methodVisitor) {
+        if (isArgument) {
+            methodVisitor.loadArg(localizedTargetsSlot);
+        } else {
+            methodVisitor.loadLocal(localizedTargetsSlot, Type.getType(ArrayList.class));
+        }
+    }
+
+    private void storeLocalizedTargets(GeneratorAdapter methodVisitor) {
+        if (isArgument) {
+            methodVisitor.storeArg(localizedTargetsSlot);
+        } else {
+            methodVisitor.storeLocal(localizedTargetsSlot, Type.getType(ArrayList.class));
+        }
+    }
+
+    void renderRelocalizeMethod(int access, String name) {
+        Type listType = Type.getType(List.class);
+
+        GeneratorAdapter relocalizeMethod = new GeneratorAdapter(
+                access,
+                new Method(name, RELOCALIZE_DESCRIPTOR),
+                "(L" + listType.getInternalName() + "<" + RenderUtils.OBJECT_D + ">;" + RootRenderer.RESOURCE_BUNDLE_D
+                        + ")V",
+                new Type[] { Type.getType(CompiledLoadException.class) },
+                loaderWriter
+        );
+
+        relocalizeMethod.visitCode();
+
+        for (int i = 0; i < relocalizationSites.size(); ++i) {
+            int index = i;
+
+            // localizedTargets.get(index);
+            relocalizationSites.get(i).render(
+                    relocalizeMethod,
+                    methodVisitor -> {
+                        methodVisitor.loadArg(0);
+                        methodVisitor.push(index);
+                        methodVisitor.invokeInterface(listType, new Method("get", "(I)" + RenderUtils.OBJECT_D));
+                    },
+                    methodVisitor -> methodVisitor.loadArg(1)
+            );
+        }
+
+        relocalizeMethod.returnValue();
+        relocalizeMethod.endMethod();
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledResourceBundle;
+import io.github.paullo612.mlfx.api.GeneratedByMLFX;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// NB: Compiles .properties files of resource bundle family to CompiledResourceBundle subclasses. Root locale class is
+//  named after bundle's base name, and other locales' classes extend it, so, ResourceBundle.getBundle picks them up
+//  instead of .properties files, and generated loaders can check for whole family with single instanceof.
+class ResourceBundleCompiler {
+
+    private static final String PROPERTIES_EXTENSION = ".properties";
+    private static final String KEYS_FIELD_NAME = "$keys";
+    private static final String STRING_ARRAY_D = "[" + RenderUtils.STRING_D;
+    private static final String FILL_KEYS_METHOD_PREFIX = "$fillKeys$";
+    private static final String FILL_VALUES_METHOD_PREFIX = "$fillValues$";
+    private static final int FILL_CHUNK_SIZE = 2048;
+
+    static class Family {
+
+        private final String baseName;
+        private final String[] keys;
+        // Locale suffix (empty for root locale) to values by key index.
+        private final Map<String, String[]> values;
+
+        Family(String baseName, String[] keys, Map<String, String[]> values) {
+            this.baseName = baseName;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        String getBaseName() {
+            return baseName;
+        }
+
+        String getInternalName() {
+            return baseName.replace('.', '/');
+        }
+
+        List<String> getClassNames() {
+            return values.keySet().stream()
+                    .map(suffix -> suffix.isEmpty() ? baseName : baseName + "_" + suffix)
+                    .collect(Collectors.toList());
+        }
+
+        int indexOf(String key) {
+            return Arrays.binarySearch(keys, key);
+        }
+    }
+
+    private static boolean isValidSuffix(String suffix) {
+        for (int i = 0; i < suffix.length(); ++i) {
+            if (!Character.isJavaIdentifierPart(suffix.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static Family read(Path resourcesPath, String baseName) {
+        String simpleName = baseName.substring(baseName.lastIndexOf('.') + 1);
+        Path directory = resourcesPath;
+
+        if (simpleName.length() != baseName.length()) {
+            for (String part : baseName.substring(0, baseName.length() - simpleName.length() - 1).split("\\.")) {
+                directory = directory.resolve(part);
+            }
+        }
+
+        if (!Files.isDirectory(directory)) {
+            throw new CompileErrorException("Resource bundle " + baseName + " not found.");
+        }
+
+        List<Path> files;
+
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream
+                    .filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String fileName = file.getFileName().toString();
+
+                        return fileName.endsWith(PROPERTIES_EXTENSION)
+                                && (fileName.equals(simpleName + PROPERTIES_EXTENSION)
+                                        || fileName.startsWith(simpleName + "_"));
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new CompileErrorException(
+                    "Failed to list resource bundle " + baseName + " files: " + e.getMessage(), e
+            );
+        }
+
+        Map<String, PropertyResourceBundle> bundles = new LinkedHashMap<>();
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            String suffix = fileName.substring(simpleName.length(), fileName.length() - PROPERTIES_EXTENSION.length());
+
+            if (!suffix.isEmpty()) {
+                suffix = suffix.substring(1);
+
+                if (suffix.isEmpty() || !isValidSuffix(suffix)) {
+                    continue;
+                }
+            }
+
+            // NB: Parse the same way ResourceBundle does at runtime, UTF-8 with ISO-8859-1 fallback.
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                bundles.put(suffix, new PropertyResourceBundle(inputStream));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new CompileErrorException(
+                        "Failed to read resource bundle file " + file + ": " + e.getMessage(), e
+                );
+            }
+        }
+
+        if (bundles.isEmpty()) {
+            throw new CompileErrorException("Resource bundle " + baseName + " not found.");
+        }
+
+        TreeSet<String> keySet = new TreeSet<>();
+        bundles.values().forEach(bundle -> keySet.addAll(bundle.keySet()));
+
+        String[] keys = keySet.toArray(new String[0]);
+        Map<String, String[]> values = new LinkedHashMap<>();
+
+        // Root locale class comes first, other ones extend it.
+        values.put("", new String[keys.length]);
+
+        for (Map.Entry<String, PropertyResourceBundle> entry : bundles.entrySet()) {
+            PropertyResourceBundle bundle = entry.getValue();
+            String[] localeValues = values.computeIfAbsent(entry.getKey(), __ -> new String[keys.length]);
+
+            for (String key : bundle.keySet()) {
+                localeValues[Arrays.binarySearch(keys, key)] = bundle.getString(key);
+            }
+        }
+
+        return new Family(baseName, keys, Collections.unmodifiableMap(values));
+    }
+
+    // NB: Each array element costs up to 8 bytes of bytecode, so, filling the whole array inline overflows 64K method
+    //  size limit for big bundles. Elements are stored by static helper methods, |FILL_CHUNK_SIZE| elements each.
+    private static void renderFillMethods(ClassWriter classWriter, String methodPrefix, String[] strings) {
+        Type stringType = Type.getType(String.class);
+
+        for (int chunk = 0; chunk * FILL_CHUNK_SIZE < strings.length; ++chunk) {
+            // private static void |methodPrefix||chunk|(String[] array)
+            GeneratorAdapter methodVisitor = new GeneratorAdapter(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                    new Method(methodPrefix + chunk, "(" + STRING_ARRAY_D + ")V"),
+                    null,
+                    null,
+                    classWriter
+            );
+            methodVisitor.visitCode();
+
+            int end = Math.min(strings.length, (chunk + 1) * FILL_CHUNK_SIZE);
+
+            for (int i = chunk * FILL_CHUNK_SIZE; i < end; ++i) {
+                if (strings[i] == null) {
+                    continue;
+                }
+
+                methodVisitor.loadArg(0);
+                methodVisitor.push(i);
+                methodVisitor.push(strings[i]);
+                methodVisitor.arrayStore(stringType);
+            }
+
+            methodVisitor.returnValue();
+            methodVisitor.endMethod();
+        }
+    }
+
+    private static void pushStringArray(
+            GeneratorAdapter methodVisitor,
+            Type classType,
+            String methodPrefix,
+            String[] strings) {
+        methodVisitor.push(strings.length);
+        methodVisitor.newArray(Type.getType(String.class));
+
+        for (int chunk = 0; chunk * FILL_CHUNK_SIZE < strings.length; ++chunk) {
+            methodVisitor.dup();
+            methodVisitor.invokeStatic(classType, new Method(methodPrefix + chunk, "(" + STRING_ARRAY_D + ")V"));
+        }
+    }
+
+    private static byte[] renderRootClass(Family family) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        Type classType = Type.getObjectType(family.getInternalName());
+        Type parentType = Type.getType(CompiledResourceBundle.class);
+
+        // public class |baseName| extends CompiledResourceBundle
+        classWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_PUBLIC | Opcodes.ACC_SYNTHETIC,
+                classType.getInternalName(),
+                null,
+                parentType.getInternalName(),
+                null
+        );
+        classWriter.visitAnnotation(Type.getType(GeneratedByMLFX.class).getDescriptor(), false);
+
+        // private static final String[] $keys = { ... };
+        classWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                KEYS_FIELD_NAME,
+                STRING_ARRAY_D,
+                null,
+                null
+        ).visitEnd();
+
+        GeneratorAdapter staticInitializer = new GeneratorAdapter(
+                Opcodes.ACC_STATIC,
+                new Method("<clinit>", "()V"),
+                null,
+                null,
+                classWriter
+        );
+        staticInitializer.visitCode();
+        pushStringArray(staticInitializer, classType, FILL_KEYS_METHOD_PREFIX, family.keys);
+        staticInitializer.putStatic(classType, KEYS_FIELD_NAME, Type.getType(STRING_ARRAY_D));
+        staticInitializer.returnValue();
+        staticInitializer.endMethod();
+
+        renderFillMethods(classWriter, FILL_KEYS_METHOD_PREFIX, family.keys);
+
+        // protected |baseName|(String[] values) {
+        //     super($keys, values);
+        // }
+        Method valuesConstructor = new Method(RenderUtils.CONSTRUCTOR_N, "(" + STRING_ARRAY_D + ")V");
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                Opcodes.ACC_PROTECTED,
+                valuesConstructor,
+                null,
+                null,
+                classWriter
+        );
+        constructor.visitCode();
+        constructor.loadThis();
+        constructor.getStatic(classType, KEYS_FIELD_NAME, Type.getType(STRING_ARRAY_D));
+        constructor.loadArg(0);
+        constructor.invokeConstructor(
+                parentType,
+                new Method(RenderUtils.CONSTRUCTOR_N, "(" + STRING_ARRAY_D + STRING_ARRAY_D + ")V")
+        );
+        constructor.returnValue();
+        constructor.endMethod();
+
+        renderDefaultConstructor(classWriter, classType, classType, family.values.get(""));
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static byte[] renderLocaleClass(Family family, String suffix) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        Type classType = Type.getObjectType(family.getInternalName() + "_" + suffix);
+        Type rootType = Type.getObjectType(family.getInternalName());
+
+        // public class |baseName|_|suffix| extends |baseName|
+        classWriter.visit(
+                Opcodes.V11,
+                Opcodes.ACC_SUPER | Opcodes.ACC_PUBLIC | Opcodes.ACC_SYNTHETIC,
+                classType.getInternalName(),
+                null,
+                rootType.getInternalName(),
+                null
+        );
+        classWriter.visitAnnotation(Type.getType(GeneratedByMLFX.class).getDescriptor(), false);
+
+        renderDefaultConstructor(classWriter, classType, rootType, family.values.get(suffix));
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void renderDefaultConstructor(
+            ClassWriter classWriter,
+            Type classType,
+            Type superType,
+            String[] values) {
+        // public |className|() {
+        //     super(new String[] { ... });
+        // }
+        GeneratorAdapter constructor = new GeneratorAdapter(
+                Opcodes.ACC_PUBLIC,
+                new Method(RenderUtils.CONSTRUCTOR_N, "()V"),
+                null,
+                null,
+                classWriter
+        );
+        constructor.visitCode();
+        constructor.loadThis();
+        pushStringArray(constructor, classType, FILL_VALUES_METHOD_PREFIX, values);
+        constructor.invokeConstructor(superType, new Method(RenderUtils.CONSTRUCTOR_N, "(" + STRING_ARRAY_D + ")V"));
+        constructor.returnValue();
+        constructor.endMethod();
+
+        renderFillMethods(classWriter, FILL_VALUES_METHOD_PREFIX, values);
+    }
+
+    private static void createClass(FXMLCompiler.Delegate delegate, String name, byte[] data) {
+        try (OutputStream outputStream = delegate.createClass(name)) {
+            outputStream.write(data);
+        } catch (IOException e) {
+            throw new CompileErrorException("Failed to define class: " + e.getMessage(), e);
+        }
+    }
+
+    static void render(Family family, FXMLCompiler.Delegate delegate) {
+        for (String suffix : family.values.keySet()) {
+            byte[] data;
+
+            // NB: Fill methods keep code size per method bounded, but all the strings still go to single constant pool.
+            try {
+                data = suffix.isEmpty() ? renderRootClass(family) : renderLocaleClass(family, suffix);
+            } catch (ClassTooLargeException e) {
+                throw new CompileErrorException(
+                        "Resource bundle " + family.getBaseName() + " has too many distinct strings to be compiled.",
+                        e
+                );
+            }
+
+            createClass(delegate, suffix.isEmpty() ? family.getBaseName() : family.getBaseName() + "_" + suffix, data);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.ResourceBundleCache;
+import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+// NB: Renders loader's accessors of resources document refers to: its own location, paths specified by relative path
+//  (@) attribute values and resource bundles specified by fx:include's resources attribute. Each one is looked up once
+//  and cached in loader's static field.
+class ResourcesRenderer {
+
+    private static final String CONSTRUCTOR_DESCRIPTOR = "()V";
+
+    private static final String RESOURCE_BUNDLE_CACHE_FIELD_NAME_PREFIX = "$resources";
+    private static final String GET_RESOURCE_BUNDLE_METHOD_NAME_PREFIX = "$getResources";
+
+    private static final String LOCATION_FIELD_NAME = "$location";
+    private static final String GET_LOCATION_METHOD_NAME = "$getLocation";
+    private static final String RELATIVE_RESOURCE_FIELD_NAME_PREFIX = "$relativeResource";
+    private static final String GET_RELATIVE_RESOURCE_METHOD_NAME_PREFIX = "$getRelativeResource";
+
+    private final ClassWriter loaderWriter;
+    private final String loaderInternalClassName;
+    private final String fxmlFileName;
+
+    // NB: Base names of resource bundles specified by fx:include's resources attribute. Index is cache's suffix.
+    private final List<String> includedResourceBundles = new ArrayList<>();
+
+    // NB: Paths specified by relative path (@) attribute values. Index is cache's suffix.
+    private final List<String> relativeResources = new ArrayList<>();
+
+    ResourcesRenderer(ClassWriter loaderWriter, String loaderInternalClassName, String fxmlFileName) {
+        this.loaderWriter = loaderWriter;
+        this.loaderInternalClassName = loaderInternalClassName;
+        this.fxmlFileName = fxmlFileName;
+    }
+
+    List<String> getRelativeResources() {
+        return relativeResources;
+    }
+
+    List<String> getIncludedResourceBundles() {
+        return includedResourceBundles;
+    }
+
+    void loadLocation(GeneratorAdapter methodVisitor) {
+        // $getLocation();
+        methodVisitor.invokeStatic(
+                Type.getObjectType(loaderInternalClassName),
+                new Method(GET_LOCATION_METHOD_NAME, "()" + Type.getType(URL.class).getDescriptor())
+        );
+    }
+
+    void loadRelativeResource(String path, GeneratorAdapter methodVisitor) {
+        int index = relativeResources.indexOf(path);
+
+        if (index < 0) {
+            index = relativeResources.size();
+            relativeResources.add(path);
+        }
+
+        // $getRelativeResourceN();
+        methodVisitor.invokeStatic(
+                Type.getObjectType(loaderInternalClassName),
+                new Method(GET_RELATIVE_RESOURCE_METHOD_NAME_PREFIX + index, "()" + RenderUtils.STRING_D)
+        );
+    }
+
+    void loadIncludedResourceBundle(String baseName, GeneratorAdapter methodVisitor) {
+        int index = includedResourceBundles.indexOf(baseName);
+
+        if (index < 0) {
+            index = includedResourceBundles.size();
+            includedResourceBundles.add(baseName);
+        }
+
+        // $getResourcesN();
+        methodVisitor.invokeStatic(
+                Type.getObjectType(loaderInternalClassName),
+                new Method(GET_RESOURCE_BUNDLE_METHOD_NAME_PREFIX + index, "()" + RootRenderer.RESOURCE_BUNDLE_D)
+        );
+    }
+
+    // NB: Resource lookup is not cheap in fat jars and jimage, so, resource URLs are resolved once per loader class.
+    //  Resolution is lazy to throw missing resource errors at load time, as FXMLLoader does.
+    private void renderCachedResourceMethod(
+            String fieldName,
+            String methodName,
+            String path,
+            String exceptionMessage,
+            boolean convertToString) {
+        Type loaderType = Type.getObjectType(loaderInternalClassName);
+        Type classType = Type.getType(Class.class);
+        Type urlType = Type.getType(URL.class);
+        Type valueType = convertToString ? Type.getType(String.class) : urlType;
+
+        loaderWriter.visitField(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC,
+                fieldName,
+                valueType.getDescriptor(),
+                null,
+                null
+        ).visitEnd();
+
+        GeneratorAdapter cachedResourceMethod = new GeneratorAdapter(
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                new Method(methodName, "()" + valueType.getDescriptor()),
+                null,
+                new Type[] { Type.getType(CompiledLoadException.class) },
+                loaderWriter
+        );
+
+        cachedResourceMethod.visitCode();
+
+        // |valueType| value = |fieldName|;
+        // if (value == null) {
+        //     URL resource = |loaderType|.class.getResource(path);
+        //     if (resource == null) {
+        //         throw new CompiledLoadException(exceptionMessage);
+        //     }
+        //     value = resource; // or resource.toString(), if |convertToString|
+        //     |fieldName| = value;
+        // }
+        // return value;
+        Label done = cachedResourceMethod.newLabel();
+        cachedResourceMethod.getStatic(loaderType, fieldName, valueType);
+        cachedResourceMethod.dup();
+        cachedResourceMethod.ifNonNull(done);
+        cachedResourceMethod.pop();
+
+        cachedResourceMethod.push(loaderType);
+        cachedResourceMethod.push(path);
+        cachedResourceMethod.invokeVirtual(
+                classType,
+                new Method("getResource", "(" + RenderUtils.STRING_D + ")" + urlType.getDescriptor())
+        );
+
+        Label found = cachedResourceMethod.newLabel();
+        cachedResourceMethod.dup();
+        cachedResourceMethod.ifNonNull(found);
+        cachedResourceMethod.throwException(Type.getType(CompiledLoadException.class), exceptionMessage);
+        cachedResourceMethod.mark(found);
+
+        if (convertToString) {
+            cachedResourceMethod.invokeVirtual(
+                    urlType,
+                    new Method(RenderUtils.TO_STRING_M, "()" + RenderUtils.STRING_D)
+            );
+        }
+
+        cachedResourceMethod.dup();
+        cachedResourceMethod.putStatic(loaderType, fieldName, valueType);
+
+        cachedResourceMethod.mark(done);
+        cachedResourceMethod.returnValue();
+        cachedResourceMethod.endMethod();
+    }
+
+    private void renderCachedResources() {
+        renderCachedResourceMethod(
+                LOCATION_FIELD_NAME,
+                GET_LOCATION_METHOD_NAME,
+                fxmlFileName,
+                "Cannot find resource \"./" + fxmlFileName + "\" on classpath.",
+                false
+        );
+
+        for (int i = 0; i < relativeResources.size(); ++i) {
+            String path = relativeResources.get(i);
+
+            renderCachedResourceMethod(
+                    RELATIVE_RESOURCE_FIELD_NAME_PREFIX + i,
+                    GET_RELATIVE_RESOURCE_METHOD_NAME_PREFIX + i,
+                    path,
+                    "Invalid resource: " + path + " not found on the classpath",
+                    true
+            );
+        }
+    }
+
+    private void renderIncludedResourceBundles() {
+        if (includedResourceBundles.isEmpty()) {
+            return;
+        }
+
+        Type loaderType = Type.getObjectType(loaderInternalClassName);
+        Type cacheType = Type.getType(ResourceBundleCache.class);
+        Type localeType = Type.getType(Locale.class);
+        Type resourceBundleType = Type.getType(ResourceBundle.class);
+        Type loadExceptionType = Type.getType(CompiledLoadException.class);
+
+        GeneratorAdapter staticInitializer = new GeneratorAdapter(
+                Opcodes.ACC_STATIC,
+                new Method("<clinit>", CONSTRUCTOR_DESCRIPTOR),
+                null,
+                null,
+                loaderWriter
+        );
+
+        staticInitializer.visitCode();
+
+        for (int i = 0; i < includedResourceBundles.size(); ++i) {
+            String fieldName = RESOURCE_BUNDLE_CACHE_FIELD_NAME_PREFIX + i;
+
+            loaderWriter.visitField(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC,
+                    fieldName,
+                    cacheType.getDescriptor(),
+                    null,
+                    null
+            ).visitEnd();
+
+            // $resourcesN = new ResourceBundleCache();
+            staticInitializer.newInstance(cacheType);
+            staticInitializer.dup();
+            staticInitializer.invokeConstructor(
+                    cacheType,
+                    new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR)
+            );
+            staticInitializer.putStatic(loaderType, fieldName, cacheType);
+
+            GeneratorAdapter getResourcesMethod = new GeneratorAdapter(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                    new Method(GET_RESOURCE_BUNDLE_METHOD_NAME_PREFIX + i, "()" + RootRenderer.RESOURCE_BUNDLE_D),
+                    null,
+                    new Type[] { loadExceptionType },
+                    loaderWriter
+            );
+
+            getResourcesMethod.visitCode();
+
+            // Locale locale = Locale.getDefault();
+            int localeLocal = getResourcesMethod.newLocal(localeType);
+            getResourcesMethod.invokeStatic(localeType, new Method("getDefault", "()" + localeType.getDescriptor()));
+            getResourcesMethod.storeLocal(localeLocal);
+
+            // ResourceBundle resourceBundle = $resourcesN.get(locale);
+            // if (resourceBundle != null) {
+            //     return resourceBundle;
+            // }
+            getResourcesMethod.getStatic(loaderType, fieldName, cacheType);
+            getResourcesMethod.loadLocal(localeLocal);
+            getResourcesMethod.invokeVirtual(
+                    cacheType,
+                    new Method("get", "(" + localeType.getDescriptor() + ")" + RootRenderer.RESOURCE_BUNDLE_D)
+            );
+            getResourcesMethod.dup();
+
+            Label lookup = getResourcesMethod.newLabel();
+            getResourcesMethod.ifNull(lookup);
+            getResourcesMethod.returnValue();
+            getResourcesMethod.mark(lookup);
+            getResourcesMethod.pop();
+
+            // NB: Generation is taken before lookup, so, bundle looked up before concurrent invalidation is not cached.
+            //
+            // try {
+            //     return $resourcesN.put(locale, ResourceBundleCache.generation(),
+            //             ResourceBundle.getBundle(baseName, locale));
+            // } catch (MissingResourceException e) {
+            //     throw new CompiledLoadException(e);
+            // }
+            getResourcesMethod.getStatic(loaderType, fieldName, cacheType);
+            getResourcesMethod.loadLocal(localeLocal);
+            getResourcesMethod.invokeStatic(cacheType, new Method("generation", "()I"));
+
+            Label start = getResourcesMethod.mark();
+
+            getResourcesMethod.push(includedResourceBundles.get(i));
+            getResourcesMethod.loadLocal(localeLocal);
+            getResourcesMethod.invokeStatic(
+                    resourceBundleType,
+                    new Method(
+                            "getBundle",
+                            "(" + RenderUtils.STRING_D + localeType.getDescriptor() + ")"
+                                    + RootRenderer.RESOURCE_BUNDLE_D
+                    )
+            );
+
+            Label end = getResourcesMethod.mark();
+
+            getResourcesMethod.invokeVirtual(
+                    cacheType,
+                    new Method(
+                            "put",
+                            "(" + localeType.getDescriptor() + "I" + RootRenderer.RESOURCE_BUNDLE_D + ")"
+                                    + RootRenderer.RESOURCE_BUNDLE_D
+                    )
+            );
+            getResourcesMethod.returnValue();
+
+            Type exceptionType = Type.getType(MissingResourceException.class);
+            getResourcesMethod.catchException(start, end, exceptionType);
+
+            int exceptionLocal = getResourcesMethod.newLocal(exceptionType);
+            getResourcesMethod.storeLocal(exceptionLocal);
+            getResourcesMethod.newInstance(loadExceptionType);
+            getResourcesMethod.dup();
+            getResourcesMethod.loadLocal(exceptionLocal);
+            getResourcesMethod.invokeConstructor(
+                    loadExceptionType,
+                    new Method(
+                            RenderUtils.CONSTRUCTOR_N, "(" + Type.getType(Throwable.class).getDescriptor() + ")V"
+                    )
+            );
+            getResourcesMethod.throwException();
+            getResourcesMethod.endMethod();
+        }
+
+        staticInitializer.returnValue();
+        staticInitializer.endMethod();
+    }
+
+    void render() {
+        renderCachedResources();
+        renderIncludedResourceBundles();
+    }
+}
@@ -20,9 +20,12 @@ import io.github.paullo612.mlfx.api.CompiledLoadException;
 import io.github.paullo612.mlfx.api.ControllerAccessor;
 import io.github.paullo612.mlfx.api.ControllerAccessorFactory;
 import io.github.paullo612.mlfx.api.GeneratedByMLFX;
+import io.github.paullo612.mlfx.api.ParallelInclude;
 import io.github.paullo612.mlfx.api.Result;
 import io.github.paullo612.mlfx.compiler.elements.RenderUtils;
 import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.MethodElement;
+import io.micronaut.inject.ast.ParameterElement;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -30,10 +33,22 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.GeneratorAdapter;
 import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 class RootRenderer implements CompilerContext.Renderer {
 
@@ -52,46 +67,24 @@ class RootRenderer implements CompilerContext.Renderer {
     private static final String GET_ROOT_INSTANCE_CLASS_METHOD_NAME = "getRootInstanceClass";
     private static final String GET_CONTROLLER_METHOD_NAME = "getControllerClass";
     private static final String CAN_CREATE_CONTROLLER_METHOD_NAME = "canCreateController";
+    private static final String EMITS_FLIGHT_RECORDER_EVENTS_METHOD_NAME = "emitsFlightRecorderEvents";
     private static final String CREATE_CONTROLLER_METHOD_NAME = "createController";
 
     private static final String CREATE_RESULT_METHOD_NAME = "createResult";
+    private static final String RELOCALIZE_METHOD_NAME = "relocalize";
+
+    private static final String CELL_FIELD_NAME = "$cell";
 
     private static final int CONTROLLER_ACCESSOR_FACTORY_LOCAL_INDEX = 1;
     private static final int RESOURCE_BUNDLE_LOCAL_INDEX = 2;
     private static final int ROOT_INSTANCE_LOCAL_INDEX = 3;
     private static final int ACCESSOR_LOCAL_INDEX = 4;
     private static final int CONTROLLER_LOCAL_INDEX = 5;
+    static final int LOCALIZED_TARGETS_LOCAL_INDEX = 6;
+    private static final int NAMESPACE_LOCAL_INDEX = 7;
+    private static final int PARALLEL_INCLUDES_LOCAL_INDEX = 8;
 
-    static final int LAST_LOCAL_INDEX = CONTROLLER_LOCAL_INDEX;
-
-    private static void loadLocation(String fxmlFileName, GeneratorAdapter methodVisitor) {
-        String exceptionMessage = "Cannot find resource \"./" + fxmlFileName + "\" on classpath.";
-
-        // URL resource = getClass().getResource(fxmlFileName);
-        // if (resource == null) {
-        //    throw new CompiledLoadException(exceptionMessage);
-        // }
-        methodVisitor.loadThis();
-
-        Type classType = Type.getType(Class.class);
-        Type urlType = Type.getType(URL.class);
-
-        methodVisitor.invokeVirtual(
-                Type.getType(Object.class),
-                new Method("getClass", "()" + classType.getDescriptor())
-        );
-        methodVisitor.push(fxmlFileName);
-        methodVisitor.invokeVirtual(
-                classType,
-                new Method("getResource", "(" + RenderUtils.STRING_D + ")" + urlType.getDescriptor())
-        );
-
-        Label label = methodVisitor.newLabel();
-        methodVisitor.dup();
-        methodVisitor.ifNonNull(label);
-        methodVisitor.throwException(Type.getType(CompiledLoadException.class), exceptionMessage);
-        methodVisitor.mark(label);
-    }
+    static final int LAST_LOCAL_INDEX = PARALLEL_INCLUDES_LOCAL_INDEX;
 
     static void loadControllerAccessorFactory(GeneratorAdapter methodVisitor) {
         methodVisitor.visitVarInsn(Opcodes.ALOAD, CONTROLLER_ACCESSOR_FACTORY_LOCAL_INDEX);
@@ -115,7 +108,13 @@ class RootRenderer implements CompilerContext.Renderer {
 
     private final ClassWriter loaderWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
     private final String fxmlFileName;
+    private final int parallelIncludeCount;
+    private final boolean inlineIncludes;
+    private final boolean staticHandlers;
+    private final boolean flightRecorderEvents;
 
+    // NB: Load method is buffered, so, its prologue can be completed once whole document is rendered. See dispose.
+    private MethodNode loadMethodNode;
     private GeneratorAdapter loadMethodVisitor;
     private Label methodStartLabel;
     private ClassElement rootClassElement;
@@ -126,13 +125,42 @@ class RootRenderer implements CompilerContext.Renderer {
     private boolean hasController;
     private boolean requiresExternalController;
     private boolean canCreateController;
+    private Type cellType;
+    private CellRenderer cellRenderer;
+    private HandlerRenderer handlerRenderer;
+
+    // NB: Namespace class is nested in document's facade, so, there is no namespace if there is no facade.
+    private final String facadeClassName;
+    private String namespaceInternalClassName;
+    private final Map<String, Type> namespaceFields = new LinkedHashMap<>();
 
     private String internalClassName;
 
     private boolean requiresResourceBundle;
 
-    RootRenderer(String fxmlFileName) {
+    private ResourcesRenderer resourcesRenderer;
+    private RelocalizationRenderer relocalizationRenderer;
+    private ParallelIncludesRenderer parallelIncludesRenderer;
+
+    private int lazyContentMethodCount;
+
+    // NB: Lazy content methods by their method visitors, so, relocalization targets are recorded to lazy content that
+    //  is being rendered.
+    private final Map<GeneratorAdapter, LazyContentMethod> lazyContentMethods = new IdentityHashMap<>();
+
+    RootRenderer(
+            String fxmlFileName,
+            String facadeClassName,
+            boolean inlineIncludes,
+            boolean staticHandlers,
+            boolean flightRecorderEvents,
+            int parallelIncludeCount) {
         this.fxmlFileName = fxmlFileName;
+        this.parallelIncludeCount = parallelIncludeCount;
+        this.facadeClassName = facadeClassName;
+        this.inlineIncludes = inlineIncludes;
+        this.staticHandlers = staticHandlers;
+        this.flightRecorderEvents = flightRecorderEvents;
     }
 
     void initialize(
@@ -142,7 +170,8 @@ class RootRenderer implements CompilerContext.Renderer {
             boolean hasFxRoot,
             boolean hasController,
             boolean requiresExternalController,
-            boolean canCreateController) {
+            boolean canCreateController,
+            ClassElement cellClassElement) {
         this.rootClassElement = rootClassElement;
         this.controllerClassElement = controllerClassElement;
         this.rootType = RenderUtils.type(rootClassElement);
@@ -156,8 +185,54 @@ class RootRenderer implements CompilerContext.Renderer {
 
         startLoaderClass();
 
+        this.resourcesRenderer = new ResourcesRenderer(loaderWriter, internalClassName, fxmlFileName);
+        this.relocalizationRenderer = new RelocalizationRenderer(loaderWriter, LOCALIZED_TARGETS_LOCAL_INDEX, false);
+
+        if (cellClassElement != null) {
+            this.cellType = RenderUtils.type(cellClassElement);
+            this.cellRenderer = new CellRenderer(internalClassName, CELL_FIELD_NAME, cellType, rootType);
+
+            loaderWriter.visitField(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC,
+                    CELL_FIELD_NAME,
+                    cellType.getDescriptor(),
+                    null,
+                    null
+            );
+        }
+
+        if (facadeClassName != null && cellType == null) {
+            this.namespaceInternalClassName = facadeClassName.replace('.', '/') + "$"
+                    + FacadeRenderer.NAMESPACE_CLASS_NAME;
+        }
+
         this.loadMethodVisitor = startLoadMethod();
         this.methodStartLabel = loadMethodVisitor.mark();
+
+        if (cellType != null) {
+            // if (this.$cell == null) {
+            //     throw new CompiledLoadException("Cell template can only be loaded by cells of its cell factory.");
+            // }
+            Label hasCell = loadMethodVisitor.newLabel();
+            loadMethodVisitor.loadThis();
+            loadMethodVisitor.getField(Type.getObjectType(internalClassName), CELL_FIELD_NAME, cellType);
+            loadMethodVisitor.ifNonNull(hasCell);
+            loadMethodVisitor.throwException(
+                    Type.getType(CompiledLoadException.class),
+                    "Cell template can only be loaded by cells of its cell factory."
+            );
+            loadMethodVisitor.mark(hasCell);
+        }
+
+        if (parallelIncludeCount > 0) {
+            parallelIncludesRenderer = new ParallelIncludesRenderer(
+                    loaderWriter,
+                    internalClassName,
+                    parallelIncludeCount,
+                    PARALLEL_INCLUDES_LOCAL_INDEX
+            );
+            parallelIncludesRenderer.renderStart(loadMethodVisitor);
+        }
     }
 
     private void startLoaderClass() {
@@ -260,14 +335,17 @@ class RootRenderer implements CompilerContext.Renderer {
                 + controllerType.getDescriptor() + ">;" + controllerType.getDescriptor() + ")L"
                 + resultType.getInternalName() + "<" + rootType.getDescriptor() + controllerType.getDescriptor() + ">;";
 
+        loadMethodNode = new MethodNode(
+                Opcodes.ASM9,
+                Opcodes.ACC_PROTECTED,
+                LOAD_METHOD_NAME,
+                descriptor,
+                signature,
+                new String[] { Type.getType(CompiledLoadException.class).getInternalName() }
+        );
+
         GeneratorAdapter adapter = new GeneratorAdapter(
-                loaderWriter.visitMethod(
-                        Opcodes.ACC_PROTECTED,
-                        LOAD_METHOD_NAME,
-                        descriptor,
-                        signature,
-                        new String[] { Type.getType(CompiledLoadException.class).getInternalName() }
-                ),
+                loadMethodNode,
                 Opcodes.ACC_PROTECTED,
                 LOAD_METHOD_NAME,
                 descriptor
@@ -309,6 +387,35 @@ class RootRenderer implements CompilerContext.Renderer {
         return controllerClassElement;
     }
 
+    boolean hasController() {
+        checkInitialized();
+
+        return hasController;
+    }
+
+    boolean canLoadIncluded() {
+        checkInitialized();
+
+        // NB: fx:include never passes external root or controller. Documents requiring those fail to load anyway, let
+        //  them fail the usual way.
+        return inlineIncludes && !hasFxRoot && !requiresExternalController;
+    }
+
+    boolean requiresLoadArguments() {
+        checkInitialized();
+
+        return hasFxRoot || requiresExternalController;
+    }
+
+    // Returns command that leaves Result of included document on stack top. |startLoad| pushes included document's
+    //  loader, controller accessor factory and resource bundle, it is rendered to method that starts loads.
+    CompilerContext.RenderCommand startParallelInclude(CompilerContext.RenderCommand startLoad) {
+        checkInitialized();
+
+        int index = parallelIncludesRenderer.addStart(startLoad);
+        return methodVisitor -> parallelIncludesRenderer.renderJoin(methodVisitor, index);
+    }
+
     @Override
     public void render(CompilerContext.RenderCommand command) {
         checkInitialized();
@@ -316,13 +423,108 @@ class RootRenderer implements CompilerContext.Renderer {
         command.render(loadMethodVisitor);
     }
 
+    CellRenderer getCellRenderer() {
+        checkInitialized();
+
+        return cellRenderer;
+    }
+
+    List<String> getRelativeResources() {
+        return resourcesRenderer.getRelativeResources();
+    }
+
+    List<String> getIncludedResourceBundles() {
+        return resourcesRenderer.getIncludedResourceBundles();
+    }
+
+    HandlerRenderer getHandlerRenderer() {
+        checkInitialized();
+
+        return handlerRenderer;
+    }
+
+    boolean hasStaticHandlers() {
+        return staticHandlers;
+    }
+
+    boolean hasFlightRecorderEvents() {
+        return flightRecorderEvents;
+    }
+
+    private HandlerRenderer getOrCreateHandlerRenderer() {
+        checkInitialized();
+
+        if (handlerRenderer == null) {
+            handlerRenderer = new HandlerRenderer(internalClassName);
+        }
+
+        return handlerRenderer;
+    }
+
+    void renderStaticHandler(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            ClassElement targetClassElement,
+            MethodElement method) {
+        String descriptor = Arrays.stream(method.getParameters())
+                .map(ParameterElement::getType)
+                .map(RenderUtils::type)
+                .map(Type::getDescriptor)
+                .collect(Collectors.joining("", "(", ")V"));
+
+        getOrCreateHandlerRenderer().render(
+                methodVisitor,
+                listenerClass,
+                listenerMethodName,
+                listenerParameters,
+                RenderUtils.type(targetClassElement),
+                targetClassElement.isInterface(),
+                new Method(method.getName(), descriptor),
+                Type.getArgumentTypes(descriptor)
+        );
+    }
+
+    void renderStaticExecutableHandler(
+            GeneratorAdapter methodVisitor,
+            Class<?> listenerClass,
+            String listenerMethodName,
+            Class<?>[] listenerParameters,
+            int argumentCount) {
+        getOrCreateHandlerRenderer()
+                .renderExecutable(methodVisitor, listenerClass, listenerMethodName, listenerParameters, argumentCount);
+    }
+
+    void loadCell(GeneratorAdapter methodVisitor) {
+        // NB: Lazy content methods are static, but get loader as first argument, so, load it directly.
+        // this.$cell
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.getField(Type.getObjectType(internalClassName), CELL_FIELD_NAME, cellType);
+    }
+
+    // Consumes cell from stack top and loads its last non-null item.
+    void loadCellItem(GeneratorAdapter methodVisitor) {
+        checkInitialized();
+
+        cellRenderer.loadItem(methodVisitor);
+    }
+
     void loadResourceBundle(GeneratorAdapter methodVisitor) {
         requiresResourceBundle = true;
         loadNonRequiredResourceBundle(methodVisitor);
     }
 
-    void loadLocation(GeneratorAdapter loadMethodVisitor) {
-        loadLocation(fxmlFileName, loadMethodVisitor);
+    void loadLocation(GeneratorAdapter methodVisitor) {
+        resourcesRenderer.loadLocation(methodVisitor);
+    }
+
+    void loadRelativeResource(String path, GeneratorAdapter methodVisitor) {
+        resourcesRenderer.loadRelativeResource(path, methodVisitor);
+    }
+
+    void loadIncludedResourceBundle(String baseName, GeneratorAdapter methodVisitor) {
+        resourcesRenderer.loadIncludedResourceBundle(baseName, methodVisitor);
     }
 
     private void renderGetABIVersionMethod() {
@@ -372,11 +574,8 @@ class RootRenderer implements CompilerContext.Renderer {
 
         getURIMethod.visitCode();
 
-        // URL resource = getClass().getResource(fxmlFileName);
-        // if (resource == null) {
-        //     throw new CompiledLoadException(exceptionMessage);
-        // }
-        loadLocation(fxmlFileName, getURIMethod);
+        // URL resource = $getLocation();
+        loadLocation(getURIMethod);
 
         // try {
         //     return resource.toURI();
@@ -542,6 +741,24 @@ class RootRenderer implements CompilerContext.Renderer {
         requiresExternalControllerMethod.visitEnd();
     }
 
+    private void renderEmitsFlightRecorderEventsMethod() {
+        MethodVisitor emitsFlightRecorderEventsMethod = loaderWriter.visitMethod(
+                Opcodes.ACC_PUBLIC,
+                EMITS_FLIGHT_RECORDER_EVENTS_METHOD_NAME,
+                "()Z",
+                null,
+                null
+        );
+        emitsFlightRecorderEventsMethod.visitCode();
+        emitsFlightRecorderEventsMethod.visitInsn(Opcodes.ICONST_1);
+        emitsFlightRecorderEventsMethod.visitInsn(Opcodes.IRETURN);
+
+        // MAXSTACK = 1 (result)
+        // MAXLOCALS = 1 (this)
+        emitsFlightRecorderEventsMethod.visitMaxs(1, 1);
+        emitsFlightRecorderEventsMethod.visitEnd();
+    }
+
     private void renderCreateControllerMethod() {
         // Generate bridge method first.
         MethodVisitor bridgeMethod = loaderWriter.visitMethod(
@@ -596,6 +813,114 @@ class RootRenderer implements CompilerContext.Renderer {
         createControllerMethod.visitMaxs(2, 1);
     }
 
+    boolean isRelocalizable() {
+        return relocalizationRenderer.isRelocalizable();
+    }
+
+    // Consumes target from stack top and records it for relocalization, unless |methodVisitor| is neither load method
+    //  nor lazy content method, i.e. target is never relocalized.
+    void recordRelocalizationTarget(CompilerContext.RelocalizationSite site, GeneratorAdapter methodVisitor) {
+        RelocalizationRenderer renderer = methodVisitor == loadMethodVisitor
+                ? relocalizationRenderer
+                : Optional.ofNullable(lazyContentMethods.get(methodVisitor))
+                        .map(LazyContentMethod::getRelocalizationRenderer)
+                        .orElse(null);
+
+        if (renderer == null) {
+            methodVisitor.pop();
+            return;
+        }
+
+        renderer.recordTarget(site, methodVisitor);
+    }
+
+    LazyContentMethod startLazyContentMethod(ClassElement ownerClassElement, int ownerSlot) {
+        checkInitialized();
+
+        LazyContentMethod method = new LazyContentMethod(
+                this,
+                LazyContentMethod.NAME_PREFIX + lazyContentMethodCount++,
+                RenderUtils.type(ownerClassElement),
+                ownerSlot
+        );
+
+        lazyContentMethods.put(method.getMethodVisitor(), method);
+        return method;
+    }
+
+    void finishLazyContentMethod(LazyContentMethod method) {
+        lazyContentMethods.remove(method.getMethodVisitor());
+        method.finish();
+    }
+
+    ClassWriter getLoaderWriter() {
+        return loaderWriter;
+    }
+
+    Type getLoaderType() {
+        return Type.getObjectType(internalClassName);
+    }
+
+    Type getRootType() {
+        return rootType;
+    }
+
+    Type getControllerType() {
+        return controllerType;
+    }
+
+    boolean hasNamespace() {
+        checkInitialized();
+
+        return namespaceInternalClassName != null;
+    }
+
+    Map<String, Type> getNamespaceFields() {
+        return namespaceFields;
+    }
+
+    // Consumes value from stack top and stores it to namespace object's |name| field.
+    void setNamespaceField(String name, ClassElement classElement, GeneratorAdapter methodVisitor) {
+        Type type = RenderUtils.type(classElement);
+
+        // NB: Lazy content is constructed after load, so, its elements are not in namespace. Accessors of ids that
+        //  clash with Object's methods can't be generated, and ids redeclared with another type keep first type.
+        if (methodVisitor != loadMethodVisitor
+                || FacadeRenderer.isReservedNamespaceFieldName(name)
+                || !type.equals(namespaceFields.getOrDefault(name, type))) {
+            if (type.getSize() == 2) {
+                methodVisitor.pop2();
+            } else {
+                methodVisitor.pop();
+            }
+            return;
+        }
+
+        namespaceFields.put(name, type);
+
+        Type namespaceType = Type.getObjectType(namespaceInternalClassName);
+
+        // NB: Elements may be rendered out of element order (see InstanceDeclarationFXMLElement), so, namespace object
+        //  is created lazily by whichever element comes first in load method.
+        //
+        // if (namespace == null) {
+        //     namespace = new |namespaceType|();
+        // }
+        // ((|namespaceType|) namespace).|name| = value;
+        Label store = methodVisitor.newLabel();
+        methodVisitor.loadLocal(NAMESPACE_LOCAL_INDEX, Type.getType(Object.class));
+        methodVisitor.ifNonNull(store);
+        methodVisitor.newInstance(namespaceType);
+        methodVisitor.dup();
+        methodVisitor.invokeConstructor(namespaceType, new Method(RenderUtils.CONSTRUCTOR_N, CONSTRUCTOR_DESCRIPTOR));
+        methodVisitor.storeLocal(NAMESPACE_LOCAL_INDEX, Type.getType(Object.class));
+        methodVisitor.mark(store);
+        methodVisitor.loadLocal(NAMESPACE_LOCAL_INDEX, Type.getType(Object.class));
+        methodVisitor.checkCast(namespaceType);
+        methodVisitor.swap(type, namespaceType);
+        methodVisitor.putField(namespaceType, name, type);
+    }
+
     byte[] dispose() {
         loadMethodVisitor.loadThis();
 
@@ -605,16 +930,50 @@ class RootRenderer implements CompilerContext.Renderer {
             loadMethodVisitor.loadLocal(LAST_LOCAL_INDEX + 1);
         }
         loadController(loadMethodVisitor);
-        loadMethodVisitor.invokeVirtual(
-                Type.getType(CompiledFXMLLoader.class),
-                new Method(
-                        CREATE_RESULT_METHOD_NAME,
-                        "(" + RenderUtils.OBJECT_D + RenderUtils.OBJECT_D + ")"
-                                + Type.getType(Result.class).getDescriptor()
-                )
-        );
+
+        if (!namespaceFields.isEmpty()) {
+            // return createResult(root, controller, localizedTargets, namespace);
+            if (isRelocalizable()) {
+                relocalizationRenderer.loadLocalizedTargets(loadMethodVisitor);
+            } else {
+                loadMethodVisitor.push((Type) null);
+            }
+            loadMethodVisitor.loadLocal(NAMESPACE_LOCAL_INDEX, Type.getType(Object.class));
+            loadMethodVisitor.invokeVirtual(
+                    Type.getType(CompiledFXMLLoader.class),
+                    new Method(
+                            CREATE_RESULT_METHOD_NAME,
+                            "(" + RenderUtils.OBJECT_D + RenderUtils.OBJECT_D + Type.getType(List.class)
+                                    + RenderUtils.OBJECT_D + ")" + Type.getType(Result.class).getDescriptor()
+                    )
+            );
+        } else if (isRelocalizable()) {
+            // return createResult(root, controller, localizedTargets);
+            relocalizationRenderer.loadLocalizedTargets(loadMethodVisitor);
+            loadMethodVisitor.invokeVirtual(
+                    Type.getType(CompiledFXMLLoader.class),
+                    new Method(
+                            CREATE_RESULT_METHOD_NAME,
+                            "(" + RenderUtils.OBJECT_D + RenderUtils.OBJECT_D + Type.getType(List.class) + ")"
+                                    + Type.getType(Result.class).getDescriptor()
+                    )
+            );
+        } else {
+            loadMethodVisitor.invokeVirtual(
+                    Type.getType(CompiledFXMLLoader.class),
+                    new Method(
+                            CREATE_RESULT_METHOD_NAME,
+                            "(" + RenderUtils.OBJECT_D + RenderUtils.OBJECT_D + ")"
+                                    + Type.getType(Result.class).getDescriptor()
+                    )
+            );
+        }
         loadMethodVisitor.returnValue();
 
+        if (parallelIncludesRenderer != null) {
+            parallelIncludesRenderer.renderCancel(loadMethodVisitor);
+        }
+
         Label methodEndLabel = loadMethodVisitor.mark();
 
         loadMethodVisitor.visitLocalVariable(
@@ -659,8 +1018,59 @@ class RootRenderer implements CompilerContext.Renderer {
                 methodEndLabel,
                 CONTROLLER_LOCAL_INDEX
         );
+
+        // NB: Locals below are created lazily by whichever element needs them first, so, they have to be initialized
+        //  right at method start. Whether they are needed at all is only known now, so, initialize only those.
+        InsnList prologue = new InsnList();
+
+        if (isRelocalizable()) {
+            // ArrayList localizedTargets = null;
+            prologue.add(new InsnNode(Opcodes.ACONST_NULL));
+            prologue.add(new VarInsnNode(Opcodes.ASTORE, LOCALIZED_TARGETS_LOCAL_INDEX));
+
+            loadMethodVisitor.visitLocalVariable(
+                    "localizedTargets",
+                    Type.getType(ArrayList.class).getDescriptor(),
+                    null,
+                    methodStartLabel,
+                    methodEndLabel,
+                    LOCALIZED_TARGETS_LOCAL_INDEX
+            );
+        }
+
+        if (!namespaceFields.isEmpty()) {
+            // Object namespace = null;
+            prologue.add(new InsnNode(Opcodes.ACONST_NULL));
+            prologue.add(new VarInsnNode(Opcodes.ASTORE, NAMESPACE_LOCAL_INDEX));
+
+            loadMethodVisitor.visitLocalVariable(
+                    "namespace",
+                    RenderUtils.OBJECT_D,
+                    null,
+                    methodStartLabel,
+                    methodEndLabel,
+                    NAMESPACE_LOCAL_INDEX
+            );
+        }
+
+        if (parallelIncludesRenderer != null) {
+            loadMethodVisitor.visitLocalVariable(
+                    "parallelIncludes",
+                    Type.getType(ParallelInclude[].class).getDescriptor(),
+                    null,
+                    methodStartLabel,
+                    methodEndLabel,
+                    PARALLEL_INCLUDES_LOCAL_INDEX
+            );
+
+            parallelIncludesRenderer.renderStartMethod();
+        }
+
         loadMethodVisitor.endMethod();
 
+        loadMethodNode.instructions.insert(prologue);
+        loadMethodNode.accept(loaderWriter);
+
         renderGetABIVersionMethod();
         renderGetURIMethod();
         renderRequiresExternalControllerMethod();
@@ -673,11 +1083,26 @@ class RootRenderer implements CompilerContext.Renderer {
             renderCreateControllerMethod();
         }
 
+        if (flightRecorderEvents) {
+            renderEmitsFlightRecorderEventsMethod();
+        }
+
+        if (isRelocalizable()) {
+            relocalizationRenderer.renderRelocalizeMethod(Opcodes.ACC_PROTECTED, RELOCALIZE_METHOD_NAME);
+        }
+
+        if (cellRenderer != null) {
+            cellRenderer.renderCreateCellFactoryMethods(loaderWriter);
+        }
+
+        resourcesRenderer.render();
+
         loaderWriter.visitEnd();
 
         try {
             return loaderWriter.toByteArray();
         } finally {
+            loadMethodNode = null;
             loadMethodVisitor = null;
         }
     }
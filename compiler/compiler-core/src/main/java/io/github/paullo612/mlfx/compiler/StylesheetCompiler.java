@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import javafx.css.CssParser;
+import javafx.css.Stylesheet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// NB: Converts stylesheets referenced from FXML documents to JavaFX's binary stylesheet format. Binary stylesheet is
+//  written next to its source (relative url()s are resolved against stylesheet location), so, StyleManager would
+//  pick it up even for .css URL. Referencing .bss directly saves probing for it, and also saves parsing stylesheet
+//  at runtime if .bss probing is disabled.
+class StylesheetCompiler {
+
+    static final String CSS_EXTENSION = ".css";
+    static final String BSS_EXTENSION = ".bss";
+
+    private static List<CssParser.ParseError> convert(Path source, Path destination) throws IOException {
+        // NB: Parse errors are reported to static observable list instead of being thrown. Several compilation units
+        //  may be compiled in parallel by batch compiler, so, lock on parser class while collecting errors.
+        synchronized (CssParser.class) {
+            CssParser.errorsProperty().clear();
+
+            try {
+                Stylesheet.convertToBinary(source.toFile(), destination.toFile());
+
+                return List.copyOf(CssParser.errorsProperty());
+            } finally {
+                CssParser.errorsProperty().clear();
+            }
+        }
+    }
+
+    static void compile(URI location, String name, FXMLCompiler.Delegate delegate) {
+        Path source = Paths.get(location);
+
+        if (!Files.isRegularFile(source)) {
+            throw new CompileErrorException("Stylesheet \"" + name + "\" not found.");
+        }
+
+        Path destination = null;
+
+        try {
+            destination = Files.createTempFile(null, BSS_EXTENSION);
+
+            List<CssParser.ParseError> errors = convert(source, destination);
+
+            if (!errors.isEmpty()) {
+                throw new CompileErrorException(
+                        "Failed to parse stylesheet \"" + name + "\":\n" + errors.stream()
+                                .map(CssParser.ParseError::getMessage)
+                                .collect(Collectors.joining("\n"))
+                );
+            }
+
+            String bssName = name.substring(0, name.length() - CSS_EXTENSION.length()) + BSS_EXTENSION;
+
+            try (OutputStream outputStream = delegate.createResource(bssName)) {
+                Files.copy(destination, outputStream);
+            }
+        } catch (IOException e) {
+            throw new CompileErrorException(
+                    "Failed to convert stylesheet \"" + name + "\" to binary format: " + e.getMessage(),
+                    e
+            );
+        } finally {
+            if (destination != null) {
+                try {
+                    Files.deleteIfExists(destination);
+                } catch (IOException e) {
+                    // Nothing to do here, it is just a temporary file.
+                }
+            }
+        }
+    }
+}
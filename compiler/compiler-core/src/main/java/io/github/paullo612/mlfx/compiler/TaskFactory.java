@@ -20,11 +20,15 @@ import io.micronaut.inject.visitor.VisitorContext;
 
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 class TaskFactory {
 
@@ -104,14 +108,64 @@ class TaskFactory {
     private final FXMLCompiler compiler;
     private final URI sourceRoot;
     private final FXMLCompiler.Delegate compilerDelegate;
+    private final List<ResourceBundleCompiler.Family> resourceBundles;
+    private final boolean checkResourceKeys;
+    private final boolean binaryStylesheets;
+    private final NativeImageMetadata nativeImageMetadata;
+    private final Set<String> controllerAccessors;
     private TaskImpl current;
 
     private final Map<URI, CompileTask> tasks = new HashMap<>();
-
-    TaskFactory(VisitorContext visitorContext, URI sourceRoot, FXMLCompiler.Delegate compilerDelegate) {
-        this.compiler = new FXMLCompiler(visitorContext, this);
+    private final Set<URI> stylesheets = new HashSet<>();
+
+    TaskFactory(
+            VisitorContext visitorContext,
+            URI sourceRoot,
+            FXMLCompiler.Delegate compilerDelegate,
+            List<ResourceBundleCompiler.Family> resourceBundles,
+            boolean checkResourceKeys,
+            boolean inlineIncludes,
+            boolean binaryStylesheets,
+            boolean staticHandlers,
+            boolean flightRecorderEvents,
+            boolean facades,
+            NativeImageMetadata nativeImageMetadata,
+            Set<String> controllerAccessors) {
+        this.compiler = new FXMLCompiler(
+                visitorContext,
+                this,
+                inlineIncludes,
+                staticHandlers,
+                flightRecorderEvents,
+                facades
+        );
         this.sourceRoot = sourceRoot.normalize();
         this.compilerDelegate = compilerDelegate;
+        this.resourceBundles = resourceBundles;
+        this.checkResourceKeys = checkResourceKeys;
+        this.binaryStylesheets = binaryStylesheets;
+        this.nativeImageMetadata = nativeImageMetadata;
+        this.controllerAccessors = controllerAccessors;
+    }
+
+    List<ResourceBundleCompiler.Family> getResourceBundles() {
+        return resourceBundles;
+    }
+
+    // Returns true if resource keys not found in any of compiled resource bundles are compile errors.
+    boolean isCheckResourceKeys() {
+        return checkResourceKeys && !resourceBundles.isEmpty();
+    }
+
+    // Returns null if native image metadata is not requested.
+    NativeImageMetadata getNativeImageMetadata() {
+        return nativeImageMetadata;
+    }
+
+    // Returns true if controller accessor for |controllerClassElement| should be rendered, i.e. if controller accessors
+    //  are requested and no accessor for this controller was rendered in this compilation yet.
+    boolean registerControllerAccessor(ClassElement controllerClassElement) {
+        return controllerAccessors != null && controllerAccessors.add(controllerClassElement.getName());
     }
 
     private CompileTask.CompiledFXMLLoaderReference doCompile(URL location, Charset charset, ClassElement targetType) {
@@ -124,15 +178,69 @@ class TaskFactory {
         return tasks.computeIfAbsent(actualLocation, __ -> new TaskImpl(this, actualLocation, targetType));
     }
 
-    Optional<CompileTask> getTask(URI location) {
-        assert current != null : "getTask should only be called from inside other task";
-
+    private URI resolve(URI location) {
         String locationString = location.toString();
 
-        URI actualLocation = locationString.startsWith("/")
+        return locationString.startsWith("/")
                 ? sourceRoot.resolve(locationString.substring(1))
                 : current.location.resolve(location);
+    }
+
+    Optional<CompileTask> getTask(URI location) {
+        assert current != null : "getTask should only be called from inside other task";
+
+        return Optional.ofNullable(tasks.get(resolve(location)));
+    }
+
+    // Returns class path resource name of |path| resolved against document being compiled, or empty optional, if path
+    //  points outside of resources directory.
+    Optional<String> getResourceName(String path) {
+        assert current != null : "getResourceName should only be called from inside task";
+
+        URI location;
+
+        try {
+            location = resolve(new URI(path));
+        } catch (URISyntaxException e) {
+            return Optional.empty();
+        }
+
+        URI relativeLocation = sourceRoot.relativize(location);
+
+        return relativeLocation.isAbsolute() ? Optional.empty() : Optional.of(relativeLocation.getPath());
+    }
+
+    String compileStylesheet(String path, CompilerContextImpl.Warner warner) {
+        assert current != null : "compileStylesheet should only be called from inside task";
+
+        if (!binaryStylesheets || !path.endsWith(StylesheetCompiler.CSS_EXTENSION)) {
+            return path;
+        }
+
+        URI location;
+
+        try {
+            location = resolve(new URI(path));
+        } catch (URISyntaxException e) {
+            throw new CompileErrorException("Invalid stylesheet path \"" + path + "\".");
+        }
+
+        URI relativeLocation = sourceRoot.relativize(location);
+
+        if (relativeLocation.isAbsolute()) {
+            warner.warn(
+                    "Stylesheet \"" + path + "\" is outside of resources directory. It is not converted to binary"
+                            + " format."
+            );
+            return path;
+        }
+
+        if (!stylesheets.contains(location)) {
+            StylesheetCompiler.compile(location, relativeLocation.getPath(), compilerDelegate);
+            stylesheets.add(location);
+        }
 
-        return Optional.ofNullable(tasks.get(actualLocation));
+        return path.substring(0, path.length() - StylesheetCompiler.CSS_EXTENSION.length())
+                + StylesheetCompiler.BSS_EXTENSION;
     }
 }
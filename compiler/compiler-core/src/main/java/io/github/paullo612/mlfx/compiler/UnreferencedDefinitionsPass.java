@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler;
+
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.visitor.VisitorContext;
+import javafx.fxml.FXMLLoader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Removes fx:define children that can neither be referenced from anywhere, nor have side effects, i.e. literal values
+//  of java.lang types that have no fx:id. Instances created for them would be thrown away right after creation anyway.
+//  Other elements are kept, as their constructors, setters or builders may have side effects FXMLLoader would trigger.
+class UnreferencedDefinitionsPass implements FXMLDocumentPass {
+
+    // NB: Character is not here, as it has no valueOf(String), and FXMLLoader fails to coerce fx:value to it.
+    private static final List<String> LITERAL_CLASS_NAMES = List.of(
+            String.class.getName(),
+            Boolean.class.getName(),
+            Byte.class.getName(),
+            Short.class.getName(),
+            Integer.class.getName(),
+            Long.class.getName(),
+            Float.class.getName(),
+            Double.class.getName()
+    );
+
+    // Resolves element names same as FXMLLoader does: explicit imports take precedence over wildcard ones, names that
+    //  are not imported are fully qualified.
+    private static class Imports {
+
+        private final VisitorContext context;
+        private final Map<String, String> classes = new HashMap<>();
+        private final List<String> packages = new ArrayList<>();
+
+        Imports(VisitorContext context, FXMLDocument document) {
+            this.context = context;
+
+            for (FXMLDocument.Node node : document.getNodes()) {
+                if (!(node instanceof FXMLDocument.ProcessingInstruction)) {
+                    continue;
+                }
+
+                FXMLDocument.ProcessingInstruction instruction = (FXMLDocument.ProcessingInstruction) node;
+
+                if (!FXMLLoader.IMPORT_PROCESSING_INSTRUCTION.equals(instruction.getTarget())
+                        || instruction.getData() == null) {
+                    continue;
+                }
+
+                String data = instruction.getData();
+
+                if (data.endsWith(".*")) {
+                    packages.add(data.substring(0, data.length() - 2));
+                } else {
+                    classes.put(data.substring(data.lastIndexOf('.') + 1), data);
+                }
+            }
+        }
+
+        Optional<ClassElement> resolve(String name) {
+            String className = classes.get(name);
+
+            if (className != null) {
+                return context.getClassElement(className);
+            }
+
+            for (String packageName : packages) {
+                Optional<ClassElement> classElement = context.getClassElement(packageName + "." + name);
+
+                if (classElement.isPresent()) {
+                    return classElement;
+                }
+            }
+
+            return context.getClassElement(name);
+        }
+    }
+
+    private static boolean isFxElement(FXMLDocument.Element element, String localName) {
+        return FXMLLoader.FX_NAMESPACE_PREFIX.equals(element.getPrefix()) && localName.equals(element.getLocalName());
+    }
+
+    private static boolean isBlank(FXMLDocument.Node node) {
+        return node instanceof FXMLDocument.Characters && ((FXMLDocument.Characters) node).getText().isBlank();
+    }
+
+    // NB: Malformed value makes FXMLLoader fail, and that is a side effect too. FXMLLoader coerces fx:value by
+    //  valueOf(String), these are the same parsers.
+    private static boolean isValidValue(String className, String value) {
+        try {
+            if (Byte.class.getName().equals(className)) {
+                Byte.parseByte(value);
+            } else if (Short.class.getName().equals(className)) {
+                Short.parseShort(value);
+            } else if (Integer.class.getName().equals(className)) {
+                Integer.parseInt(value);
+            } else if (Long.class.getName().equals(className)) {
+                Long.parseLong(value);
+            } else if (Float.class.getName().equals(className)) {
+                Float.parseFloat(value);
+            } else if (Double.class.getName().equals(className)) {
+                Double.parseDouble(value);
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isLiteralValue(FXMLDocument.Element element, Imports imports) {
+        if (element.getPrefix() != null && !element.getPrefix().isEmpty()) {
+            return false;
+        }
+
+        if (element.getAttributes().size() != 1
+                || !element.getChildren().stream().allMatch(UnreferencedDefinitionsPass::isBlank)) {
+            return false;
+        }
+
+        Optional<FXMLDocument.Attribute> value =
+                element.findAttribute(FXMLLoader.FX_NAMESPACE_PREFIX, FXMLLoader.FX_VALUE_ATTRIBUTE);
+
+        if (value.isEmpty()) {
+            return false;
+        }
+
+        String className = imports.resolve(element.getLocalName())
+                .map(ClassElement::getName)
+                .orElse(null);
+
+        if (className == null || !LITERAL_CLASS_NAMES.contains(className)) {
+            return false;
+        }
+
+        return isValidValue(className, value.get().getValue());
+    }
+
+    private void visit(List<FXMLDocument.Node> nodes, Imports imports) {
+        for (FXMLDocument.Node node : nodes) {
+            if (!(node instanceof FXMLDocument.Element)) {
+                continue;
+            }
+
+            FXMLDocument.Element element = (FXMLDocument.Element) node;
+
+            if (isFxElement(element, FXMLLoader.DEFINE_TAG)) {
+                element.getChildren().removeIf(child ->
+                        child instanceof FXMLDocument.Element
+                                && isLiteralValue((FXMLDocument.Element) child, imports)
+                );
+            }
+
+            visit(element.getChildren(), imports);
+        }
+    }
+
+    @Override
+    public void run(FXMLDocument document, VisitorContext context) {
+        visit(document.getNodes(), new Imports(context, document));
+    }
+}
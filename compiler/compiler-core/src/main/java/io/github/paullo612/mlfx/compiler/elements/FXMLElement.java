@@ -16,6 +16,7 @@
 package io.github.paullo612.mlfx.compiler.elements;
 
 import io.github.paullo612.mlfx.compiler.CompilerContext;
+import io.github.paullo612.mlfx.compiler.ProcessingInstructions;
 
 import java.util.regex.Pattern;
 
@@ -29,6 +30,12 @@ public abstract class FXMLElement<P extends FXMLElement<?>> {
         this.parent = parent;
     }
 
+    public void handleLazyContent(CompilerContext context, String trigger) {
+        throw context.compileError(
+                ProcessingInstructions.MLFX_LAZY + " processing instruction is not applicable to this element."
+        );
+    }
+
     public void initialize(CompilerContext context) {
         // Does nothing.
     }
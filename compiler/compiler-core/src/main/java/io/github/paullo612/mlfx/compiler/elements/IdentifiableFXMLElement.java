@@ -20,19 +20,33 @@ import io.github.paullo612.mlfx.compiler.ProcessingInstructions;
 import io.github.paullo612.mlfx.expression.ExpressionContext;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.ElementQuery;
 import io.micronaut.inject.ast.MethodElement;
 import io.micronaut.inject.ast.PropertyElement;
+import javafx.beans.value.ObservableBooleanValue;
 import javafx.fxml.FXMLLoader;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 // FXML element that can be identified. Can have id assigned, so, can be referenced anywhere in FXML file.
 abstract class IdentifiableFXMLElement extends LoadableFXMLElement<FXMLElement<?>> {
 
     private static final String ID_PROPERTY_ANNOTATION = "com.sun.javafx.beans.IDProperty";
 
+    // NB: Tab's and TitledPane's properties that indicate that content is shown.
+    private static final List<String> DEFAULT_LAZY_CONTENT_TRIGGERS = List.of("selected", "expanded");
+
     private int slot = -1;
     private boolean hasId;
+    // NB: Lazy content owner must be alive till lazy content is installed.
+    private boolean retainSlot;
+
+    private ReadWriteInstanceProperty lazyContentProperty;
+    private MethodElement lazyContentTrigger;
+    private CompilerContext.LazyContentRenderer lazyContentRenderer;
 
     IdentifiableFXMLElement(FXMLElement<?> parent) {
         super(parent);
@@ -64,6 +78,75 @@ abstract class IdentifiableFXMLElement extends LoadableFXMLElement<FXMLElement<?
         scope.put(FXMLLoader.CONTROLLER_KEYWORD, context.declareFxController(controllerClass));
     }
 
+    private static Optional<MethodElement> findLazyContentTrigger(ClassElement ownerClassElement, String name) {
+        return ownerClassElement.getEnclosedElement(
+                ElementQuery.ALL_METHODS
+                        .onlyInstance()
+                        .onlyAccessible()
+                        .named(Predicate.isEqual(name + "Property"))
+                        .filter(m -> m.getParameters().length == 0)
+                        .filter(m -> ElementUtils.isAssignable(m.getReturnType(), ObservableBooleanValue.class))
+        );
+    }
+
+    @Override
+    public void handleLazyContent(CompilerContext context, String trigger) {
+        FXMLElement<?> parent = getParent();
+
+        if (!(parent instanceof ReadWriteInstanceProperty)
+                || !(((ReadWriteInstanceProperty) parent).getParent() instanceof IdentifiableFXMLElement)) {
+            throw context.compileError(
+                    ProcessingInstructions.MLFX_LAZY + " processing instruction can only be applied to instance"
+                            + " property element's value."
+            );
+        }
+
+        lazyContentProperty = (ReadWriteInstanceProperty) parent;
+        ClassElement ownerClassElement = lazyContentProperty.getParent().getClassElement();
+
+        if (trigger.isEmpty()) {
+            lazyContentTrigger = DEFAULT_LAZY_CONTENT_TRIGGERS.stream()
+                    .map(t -> findLazyContentTrigger(ownerClassElement, t))
+                    .flatMap(Optional::stream)
+                    .findFirst()
+                    .orElseThrow(() -> context.compileError(
+                            "Unable to find lazy content trigger property of class \""
+                                    + ElementUtils.getSimpleName(ownerClassElement) + "\". Specify boolean property"
+                                    + " name as " + ProcessingInstructions.MLFX_LAZY + " processing instruction data."
+                    ));
+        } else {
+            lazyContentTrigger = findLazyContentTrigger(ownerClassElement, trigger)
+                    .orElseThrow(() -> context.compileError(
+                            "Unable to find boolean property \"" + trigger + "\" of class \""
+                                    + ElementUtils.getSimpleName(ownerClassElement) + "\"."
+                    ));
+        }
+
+        lazyContentRenderer = context.startLazyContent(ownerClassElement);
+    }
+
+    private void finishLazyContent(CompilerContext context) {
+        MethodElement writeMethod = lazyContentProperty.getPropertyElement().getWriteMethod()
+                .orElseThrow(() -> context.compileError("Lazy content property must be writable."));
+
+        ExpressionContext.RenderCommand loadOwner = lazyContentRenderer.loadOwner();
+        ExpressionContext.RenderCommand loadValue = loadElement(context, this)
+                .load(writeMethod.getParameters()[0].getType())
+                .run();
+
+        // owner.setProperty(value);
+        lazyContentRenderer.render(methodVisitor -> {
+            loadOwner.render(methodVisitor);
+            loadValue.render(methodVisitor);
+            RenderUtils.renderMethodCall(methodVisitor, writeMethod);
+        });
+
+        IdentifiableFXMLElement owner = (IdentifiableFXMLElement) lazyContentProperty.getParent();
+        owner.retainSlot = true;
+
+        lazyContentRenderer.finish(owner.load(), lazyContentTrigger);
+    }
+
     private void doSetIdProperty(CompilerContext context, String id, MethodElement setter) {
         ClassElement parameterElement = setter.getParameters()[0].getType();
 
@@ -96,6 +179,7 @@ abstract class IdentifiableFXMLElement extends LoadableFXMLElement<FXMLElement<?
         context.getScope().put(id, this);
         setIdProperty(context, id);
         context.setControllerField(id, this);
+        context.setNamespaceField(id, this);
     }
 
     private void handleFxAttribute(CompilerContext context, String localName, String value) {
@@ -156,22 +240,59 @@ abstract class IdentifiableFXMLElement extends LoadableFXMLElement<FXMLElement<?
 
     @Override
     void apply(CompilerContext context, IdentifiableFXMLElement element) {
+        ClassElement classElement = getClassElement();
+        ValueLoader loader = loadElement(context, element);
+
+        if (isListAddBatchable()) {
+            if (ElementUtils.isAssignable(classElement, List.class)) {
+                handleReadOnlyInstancePropertyAttribute(context, classElement, loader, load());
+                return;
+            }
+
+            // NB: Batch adds to read only list default property (e.g. Pane's children) too.
+            MethodElement listGetter = findDefaultProperty(context, classElement)
+                    .filter(p -> p.getWriteMethod().isEmpty())
+                    .flatMap(PropertyElement::getReadMethod)
+                    .filter(m -> ElementUtils.isAssignable(m.getReturnType(), List.class))
+                    .orElse(null);
+
+            if (listGetter != null) {
+                ExpressionContext.RenderCommand loadThis = load();
+
+                handleReadOnlyInstancePropertyAttribute(
+                        context,
+                        listGetter.getReturnType(),
+                        loader,
+                        methodVisitor -> {
+                            loadThis.render(methodVisitor);
+                            RenderUtils.renderMethodCall(methodVisitor, listGetter);
+                        }
+                );
+                return;
+            }
+        }
+
         // NB: Try to add new element to collection if this element is a collection first. Delegate to @DefaultProperty
         //  handling logic if it is not.
-        handleReadOnlyInstancePropertyAttribute(context, getClassElement(), loadElement(context, element));
+        handleReadOnlyInstancePropertyAttribute(context, classElement, loader);
     }
 
     @Override
     public void handleEndElement(CompilerContext context) {
         super.handleEndElement(context);
 
-        // Handle parent's default property.
-        FXMLElement<?> parent = getParent();
-        if (parent != null) {
-            parent.apply(context, this);
+        if (lazyContentRenderer != null) {
+            // NB: Lazy content is applied to its owner by lazy content method.
+            finishLazyContent(context);
+        } else {
+            // Handle parent's default property.
+            FXMLElement<?> parent = getParent();
+            if (parent != null) {
+                parent.apply(context, this);
+            }
         }
 
-        if (slot != -1 && !hasId) {
+        if (slot != -1 && !hasId && !retainSlot) {
             context.releaseSlot(slot);
         }
     }
@@ -15,15 +15,14 @@
  */
 package io.github.paullo612.mlfx.compiler.elements;
 
-import io.github.paullo612.mlfx.api.CompiledLoadException;
 import io.github.paullo612.mlfx.api.Result;
 import io.github.paullo612.mlfx.compiler.CompileTask;
 import io.github.paullo612.mlfx.compiler.CompilerContext;
 import io.github.paullo612.mlfx.expression.ExpressionContext;
 import io.micronaut.inject.ast.ClassElement;
 import javafx.fxml.FXMLLoader;
-import org.objectweb.asm.Label;
 import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
 import org.objectweb.asm.commons.Method;
 
 import java.net.URI;
@@ -31,7 +30,6 @@ import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
 public class IncludeFXMLElement extends IdentifiableFXMLElement {
@@ -40,11 +38,17 @@ public class IncludeFXMLElement extends IdentifiableFXMLElement {
     private String resources;
     private Charset charset;
     private CompileTask.CompiledFXMLLoaderReference reference;
+    private boolean parallelLoad;
 
     public IncludeFXMLElement(FXMLElement<?> parent) {
         super(parent);
     }
 
+    // Makes included document's load be started ahead of time, along with including document's load.
+    public void enableParallelLoad() {
+        this.parallelLoad = true;
+    }
+
     @Override
     public boolean requiresAttributesLookahead() {
         // NB: We use attributes lookahead here, as actual element type can only be determined from attribute.
@@ -106,14 +110,78 @@ public class IncludeFXMLElement extends IdentifiableFXMLElement {
 
         ExpressionContext.Loadable controllerAccessorFactory = context.getControllerAccessorFactory();
 
+        // NB: Included document shares our resource bundle, unless it has its own one. Relocalize it along with us.
+        CompilerContext.RenderCommand recordTarget = resources == null && reference.isRelocalizable()
+                ? context.recordRelocalizationTarget((methodVisitor, loadTarget, loadResources) -> {
+                    // ((Result) target).relocalize(resources);
+                    Type resultType = Type.getType(Result.class);
+
+                    loadTarget.render(methodVisitor);
+                    methodVisitor.checkCast(resultType);
+                    loadResources.render(methodVisitor);
+                    methodVisitor.invokeInterface(
+                            resultType,
+                            new Method(
+                                    "relocalize",
+                                    "(" + Type.getType(ResourceBundle.class).getDescriptor() + ")V"
+                            )
+                    );
+                })
+                : null;
+
+        Type targetType = RenderUtils.type(reference.getTargetType());
+        Type resourceBundleType = Type.getType(ResourceBundle.class);
+        Type resultType = Type.getType(Result.class);
+
+        if (parallelLoad) {
+            // NB: Load started ahead of time goes through included document's public load method, as it is started
+            //  through CompiledFXMLLoader reference.
+            CompilerContext.RenderCommand joinLoad = context.startParallelInclude(methodVisitor -> {
+                // new Target(), controllerAccessorFactory, resourceBundle
+                methodVisitor.newInstance(targetType);
+                methodVisitor.dup();
+                methodVisitor.invokeConstructor(targetType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+
+                controllerAccessorFactory.load().render(methodVisitor);
+                loadResourceBundle(context, methodVisitor);
+            });
+
+            context.getRenderer().render(methodVisitor -> {
+                joinLoad.render(methodVisitor);
+                methodVisitor.storeLocal(getSlot(), resultType);
+                recordRelocalizationTarget(methodVisitor, recordTarget);
+            });
+            return;
+        }
+
         context.getRenderer().render(methodVisitor -> {
-            Type targetType = RenderUtils.type(reference.getTargetType());
 
             methodVisitor.newInstance(targetType);
             methodVisitor.dup();
 
             methodVisitor.invokeConstructor(targetType, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
 
+            if (reference.canLoadIncluded()) {
+                // Result result = new Target().loadIncluded(controllerAccessorFactory, resourceBundle);
+                controllerAccessorFactory.load().render(methodVisitor);
+                loadResourceBundle(context, methodVisitor);
+
+                methodVisitor.invokeVirtual(
+                        targetType,
+                        new Method(
+                                CompileTask.CompiledFXMLLoaderReference.LOAD_INCLUDED_METHOD_NAME,
+                                "(" + RenderUtils.type(controllerAccessorFactory.getClassElement())
+                                        + resourceBundleType.getDescriptor()
+                                        + ")"
+                                        + resultType.getDescriptor()
+                        )
+                );
+
+                methodVisitor.storeLocal(getSlot(), resultType);
+                recordRelocalizationTarget(methodVisitor, recordTarget);
+                return;
+            }
+
             // Ours controller accessor factory should do.
             controllerAccessorFactory.load().render(methodVisitor);
 
@@ -123,52 +191,7 @@ public class IncludeFXMLElement extends IdentifiableFXMLElement {
             // No external root instance
             methodVisitor.push((Type) null);
 
-            Type resourceBundleType = Type.getType(ResourceBundle.class);
-
-            if (resources != null) {
-                // Load resource bundle, if specified
-                //
-                // try {
-                //     ResourceBundle.getBundle(resources);
-                // } catch (MissingResourceException e) {
-                //     throw new CompiledLoadException(e);
-                // }
-                Label start = methodVisitor.mark();
-
-                methodVisitor.push(resources);
-                methodVisitor.invokeStatic(
-                        resourceBundleType,
-                        new Method("getBundle", "(" + RenderUtils.STRING_D + ")" + resourceBundleType.getDescriptor())
-                );
-                Label next = methodVisitor.newLabel();
-                methodVisitor.goTo(next);
-
-                Label end = methodVisitor.mark();
-
-                Type exceptionType = Type.getType(MissingResourceException.class);
-                methodVisitor.catchException(start, end, exceptionType);
-
-                // Local variable slot index does not matter here. We'll throw anyway.
-                methodVisitor.storeLocal(context.getDefaultSlot(), exceptionType);
-                Type loadExceptionType = Type.getType(CompiledLoadException.class);
-                methodVisitor.newInstance(loadExceptionType);
-                methodVisitor.dup();
-                methodVisitor.loadLocal(context.getDefaultSlot());
-                methodVisitor.invokeConstructor(
-                        loadExceptionType,
-                        new Method(
-                                RenderUtils.CONSTRUCTOR_N, "(" + Type.getType(Throwable.class).getDescriptor() + ")V"
-                        )
-                );
-                methodVisitor.throwException();
-
-                methodVisitor.mark(next);
-            } else {
-                // No resources specified, ours resource bundle should do.
-                context.getNonRequiredResourceBundle().load().render(methodVisitor);
-            }
-
-            Type resultType = Type.getType(Result.class);
+            loadResourceBundle(context, methodVisitor);
 
             methodVisitor.invokeVirtual(
                     targetType,
@@ -184,9 +207,32 @@ public class IncludeFXMLElement extends IdentifiableFXMLElement {
             );
 
             methodVisitor.storeLocal(getSlot(), resultType);
+            recordRelocalizationTarget(methodVisitor, recordTarget);
         });
     }
 
+    private void recordRelocalizationTarget(
+            GeneratorAdapter methodVisitor,
+            CompilerContext.RenderCommand recordTarget) {
+        if (recordTarget == null) {
+            return;
+        }
+
+        methodVisitor.loadLocal(getSlot());
+        recordTarget.render(methodVisitor);
+    }
+
+    private void loadResourceBundle(CompilerContext context, GeneratorAdapter methodVisitor) {
+        if (resources == null) {
+            // No resources specified, ours resource bundle should do.
+            context.getNonRequiredResourceBundle().load().render(methodVisitor);
+            return;
+        }
+
+        // Load resource bundle, if specified. Looked up once per locale, generated loader caches it.
+        context.getIncludedResourceBundle(resources).load().render(methodVisitor);
+    }
+
     @Override
     void applyFxId(CompilerContext context, String id) {
         super.applyFxId(context, id);
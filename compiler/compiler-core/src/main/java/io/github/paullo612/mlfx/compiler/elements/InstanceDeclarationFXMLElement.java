@@ -15,6 +15,7 @@
  */
 package io.github.paullo612.mlfx.compiler.elements;
 
+import io.github.paullo612.mlfx.api.ImageCache;
 import io.github.paullo612.mlfx.compiler.CompilerContext;
 import io.github.paullo612.mlfx.expression.ExpressionContext;
 import io.micronaut.core.annotation.AnnotationValue;
@@ -50,6 +51,17 @@ import java.util.stream.Collectors;
 
 public class InstanceDeclarationFXMLElement extends IdentifiableFXMLElement {
 
+    private static final String IMAGE_CLASS_NAME = "javafx.scene.image.Image";
+    private static final String IMAGE_BACKGROUND_LOADING_ARGUMENT = "backgroundLoading";
+
+    // NB: Image constructors that have ImageCache#get counterpart.
+    private static final Set<String> CACHED_IMAGE_CONSTRUCTOR_DESCRIPTORS = Set.of(
+            "(" + RenderUtils.STRING_D + ")V",
+            "(" + RenderUtils.STRING_D + "Z)V",
+            "(" + RenderUtils.STRING_D + "DDZZ)V",
+            "(" + RenderUtils.STRING_D + "DDZZZ)V"
+    );
+
     private static class SeenProperty {
         final PropertyElement propertyElement;
         final ValueLoader loader;
@@ -264,6 +276,44 @@ public class InstanceDeclarationFXMLElement extends IdentifiableFXMLElement {
                     .collect(Collectors.toList());
         }
 
+        // Whether object is an image which constructor arguments are the same on each load.
+        private boolean isCacheableImage(
+                CompilerContext context,
+                ConstructorElement constructorElement,
+                String descriptor) {
+            if (!context.hasImageCache()
+                    || !IMAGE_CLASS_NAME.equals(classElement.getName())
+                    || !CACHED_IMAGE_CONSTRUCTOR_DESCRIPTORS.contains(descriptor)) {
+                return false;
+            }
+
+            for (ParameterElement parameter : constructorElement.getParameters()) {
+                String namedArgValue = parameter.findDeclaredAnnotation(NamedArg.class)
+                        .flatMap(AnnotationValue::stringValue)
+                        .orElseThrow(AssertionError::new);
+
+                // NB: Arguments that are not seen are default values, which are constant.
+                for (SeenProperty property : seenProperties.getOrDefault(namedArgValue, Collections.emptyList())) {
+                    if (property.createCommand != null
+                            || !(property.loader instanceof PropertyValueLoader)
+                            || !((PropertyValueLoader) property.loader).isConstant()) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        private boolean hasImageBackgroundLoadingArgument(ConstructorElement constructorElement) {
+            ParameterElement[] parameters = constructorElement.getParameters();
+
+            return parameters[parameters.length - 1].findDeclaredAnnotation(NamedArg.class)
+                    .flatMap(AnnotationValue::stringValue)
+                    .filter(IMAGE_BACKGROUND_LOADING_ARGUMENT::equals)
+                    .isPresent();
+        }
+
         private boolean construct(CompilerContext context, ConstructorElement constructorElement) {
             Set<String> constructorArguments = new HashSet<>();
 
@@ -417,20 +467,52 @@ public class InstanceDeclarationFXMLElement extends IdentifiableFXMLElement {
                 toRender.add(renderCommand);
             }
 
+            String descriptor = Arrays.stream(constructorElement.getParameters())
+                    .map(ParameterElement::getType)
+                    .map(RenderUtils::type)
+                    .map(Type::getDescriptor)
+                    .collect(Collectors.joining("", "(", ")V"));
+
+            // NB: Images with constant arguments of documents with mlfxImageCache processing instruction are shared
+            //  between loads (and documents), instead of being decoded on each load.
+            boolean isCachedImage = isCacheableImage(context, constructorElement, descriptor);
+            boolean hasBackgroundLoadingArgument =
+                    isCachedImage && hasImageBackgroundLoadingArgument(constructorElement);
+
             // Construct object.
             parent.render(methodVisitor -> {
                 Type objectType = RenderUtils.type(classElement);
+
+                if (isCachedImage) {
+                    // Image image = ImageCache.get(url, ...);
+                    toRender.forEach(c -> c.render(methodVisitor));
+
+                    String argumentsDescriptor = descriptor.substring(0, descriptor.length() - 2);
+
+                    if (context.hasImageCacheBackgroundLoading()) {
+                        // NB: Document loads its cached images in background, whatever their own arguments are.
+                        if (hasBackgroundLoadingArgument) {
+                            methodVisitor.pop();
+                        } else {
+                            argumentsDescriptor += Type.BOOLEAN_TYPE.getDescriptor();
+                        }
+
+                        methodVisitor.push(true);
+                    }
+
+                    methodVisitor.invokeStatic(
+                            Type.getType(ImageCache.class),
+                            new Method("get", argumentsDescriptor + ")" + objectType.getDescriptor())
+                    );
+                    methodVisitor.storeLocal(getSlot(), objectType);
+                    return;
+                }
+
                 methodVisitor.newInstance(objectType);
                 methodVisitor.dup();
 
                 toRender.forEach(c -> c.render(methodVisitor));
 
-                String descriptor = Arrays.stream(constructorElement.getParameters())
-                        .map(ParameterElement::getType)
-                        .map(RenderUtils::type)
-                        .map(Type::getDescriptor)
-                        .collect(Collectors.joining("", "(", ")V"));
-
                 methodVisitor.invokeConstructor(objectType, new Method(RenderUtils.CONSTRUCTOR_N, descriptor));
                 methodVisitor.storeLocal(getSlot(), objectType);
             });
@@ -47,6 +47,9 @@ import javafx.collections.SetChangeListener;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.SubScene;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -55,6 +58,7 @@ import org.objectweb.asm.commons.Method;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -69,16 +73,9 @@ import java.util.stream.Collectors;
 public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXMLElement<P>
         implements ExpressionContext.Loadable {
 
-    private static final Handle LAMBDA_METAFACTORY_HANDLE = new Handle(
-            Opcodes.H_INVOKESTATIC,
-            "java/lang/invoke/LambdaMetafactory",
-            "metafactory",
-            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
-                    + "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodType;"
-                    + "Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)"
-                    + "Ljava/lang/invoke/CallSite;",
-            false
-    );
+    private static final Type ARRAY_LIST_T = Type.getType(ArrayList.class);
+
+    private static final String STYLESHEETS_PROPERTY_NAME = "stylesheets";
 
     static ValueLoader loadElement(CompilerContext context, IdentifiableFXMLElement element) {
         return targetType -> {
@@ -151,6 +148,9 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
     }
 
     private final List<Continuation> continuations = new ArrayList<>();
+    private boolean listAddBatchable;
+    private ExpressionContext.RenderCommand batchList;
+    private int batchSlot = -1;
 
     LoadableFXMLElement(P parent) {
         super(parent);
@@ -197,6 +197,11 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
             Class<?> listenerClass,
             String listenerMethodName,
             Class<?>... listenerParameters) {
+        // NB: invokedynamic can't drop listener arguments, so, handler class is used for methods without arguments
+        //  even if static handlers are not enabled.
+        boolean useHandlerClass = context.hasStaticHandlers()
+                || controllerMethod.getParameters().length != listenerParameters.length;
+
         if (!controllerMethod.isReflectionRequired(context.getTargetType())) {
             // Use method reference directly.
             //
@@ -211,6 +216,21 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                 // Load controller
                 controller.load().render(methodVisitor);
 
+                if (useHandlerClass) {
+                    // (...).set(new |loaderType|$Handler(|index|, controller))
+                    context.renderStaticHandler(
+                            methodVisitor,
+                            listenerClass,
+                            listenerMethodName,
+                            listenerParameters,
+                            controller.getClassElement(),
+                            controllerMethod
+                    );
+
+                    RenderUtils.renderMethodCall(methodVisitor, setter);
+                    return;
+                }
+
                 // Create listener from Controller's method using method reference.
                 Type controllerType = RenderUtils.type(controller.getClassElement());
 
@@ -234,7 +254,7 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                         "(" + controllerType.getDescriptor() + ")" + Type.getType(listenerClass).getDescriptor(),
                         // Bootstrap method: JVM will provide first three arguments, we must provide remaining. We're
                         //  quite happy with default LambdaMetafactory to provide call site for us.
-                        LAMBDA_METAFACTORY_HANDLE,
+                        RenderUtils.LAMBDA_METAFACTORY_HANDLE,
                         // Target method type.
                         targetMethodType,
                         // Handle to implementation. Controller#controllerMethod in our case.
@@ -316,6 +336,20 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                     )
             );
 
+            if (useHandlerClass) {
+                // (...).set(new |loaderType|$Handler(|index|, method))
+                context.renderStaticExecutableHandler(
+                        methodVisitor,
+                        listenerClass,
+                        listenerMethodName,
+                        listenerParameters,
+                        controllerMethod.getParameters().length
+                );
+
+                RenderUtils.renderMethodCall(methodVisitor, setter);
+                return;
+            }
+
             // Create listener from ExecutableMethod's execute method using method reference.
             Type targetMethodType = Type.getType(Arrays.stream(listenerParameters)
                     .map(Type::getType)
@@ -334,7 +368,7 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                             + Type.getType(listenerClass).getDescriptor(),
                     // Bootstrap method: JVM will provide first three arguments, we must provide remaining. We're quite
                     //  happy with default LambdaMetafactory to provide call site for us.
-                    LAMBDA_METAFACTORY_HANDLE,
+                    RenderUtils.LAMBDA_METAFACTORY_HANDLE,
                     // Target method type.
                     targetMethodType,
                     // Handle to implementation. ExecutableMethod#execute in our case.
@@ -679,11 +713,14 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                 }
 
                 ClassElement controllerClassElement = controller.getClassElement();
+                ElementQuery<MethodElement> controllerMethodQuery = ElementQuery.ALL_METHODS
+                        .onlyInstance()
+                        .named(Predicate.isEqual(rawValue))
+                        .filter(m -> ElementUtils.isAssignable(m.getReturnType(), void.class));
+
+                // NB: Like FXMLLoader does, prefer method that takes event, and fall back to method without arguments.
                 MethodElement controllerMethod = controllerClassElement.getEnclosedElement(
-                                ElementQuery.ALL_METHODS
-                                        .onlyInstance()
-                                        .named(Predicate.isEqual(rawValue))
-                                        .filter(m -> ElementUtils.isAssignable(m.getReturnType(), void.class))
+                                controllerMethodQuery
                                         .filter(m -> m.getParameters().length == 1)
                                         .filter(m -> property.getType().getTypeArguments().size() == 0
                                                 || ElementUtils.isAssignable(
@@ -697,6 +734,9 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                                         )
 
                         )
+                        .or(() -> controllerClassElement.getEnclosedElement(
+                                controllerMethodQuery.filter(m -> m.getParameters().length == 0)
+                        ))
                         .orElseThrow(() -> context.compileError(
                                 "Failed to find controller method \"" + rawValue
                                         + "\" compatible with EventHandler signature."
@@ -910,10 +950,81 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
         );
     }
 
+    // NB: FXMLLoader adds each element to the list as soon as it is created. Adds can be deferred till this element
+    //  end only if nothing inside this element can observe the list in between. Decided by ListAddBatchingPass, as it
+    //  requires whole element subtree.
+    public void enableListAddBatching() {
+        listAddBatchable = true;
+    }
+
+    boolean isListAddBatchable() {
+        return listAddBatchable;
+    }
+
     void handleReadOnlyInstancePropertyAttribute(
             CompilerContext context,
             ClassElement type,
             ValueLoader loader) {
+        handleReadOnlyInstancePropertyAttribute(context, type, loader, null);
+    }
+
+    private void renderBatchedListAdd(
+            CompilerContext context,
+            ExpressionContext.RenderCommand loadList,
+            Continuation loadContinuation) {
+        // NB: Each List#add call fires separate change notification, and, in case of Parent#getChildren, does scene
+        //  graph bookkeeping for each child. So, collect elements to plain ArrayList, and add them to target list by
+        //  single addAll call at element end instead.
+        if (batchSlot == -1) {
+            batchSlot = context.acquireSlot(context.getClassElement(ArrayList.class));
+            batchList = loadList;
+
+            context.getRenderer().render(methodVisitor -> {
+                // ArrayList batch = new ArrayList();
+                methodVisitor.newInstance(ARRAY_LIST_T);
+                methodVisitor.dup();
+                methodVisitor.invokeConstructor(ARRAY_LIST_T, new Method(RenderUtils.CONSTRUCTOR_N, "()V"));
+                methodVisitor.storeLocal(batchSlot, ARRAY_LIST_T);
+            });
+        }
+
+        render(context, new ContinuationDelegate(loadContinuation, (methodVisitor, command) -> {
+            // batch.add(element);
+            methodVisitor.loadLocal(batchSlot, ARRAY_LIST_T);
+            command.render(methodVisitor);
+            methodVisitor.invokeVirtual(ARRAY_LIST_T, new Method("add", "(" + RenderUtils.OBJECT_D + ")Z"));
+            methodVisitor.pop();
+        }));
+    }
+
+    private void flushBatchedListAdd(CompilerContext context) {
+        if (batchSlot == -1) {
+            return;
+        }
+
+        context.getRenderer().render(methodVisitor -> {
+            // list.addAll(batch);
+            batchList.render(methodVisitor);
+            methodVisitor.loadLocal(batchSlot, ARRAY_LIST_T);
+            methodVisitor.invokeInterface(
+                    Type.getType(List.class),
+                    new Method("addAll", "(" + Type.getDescriptor(Collection.class) + ")Z")
+            );
+            methodVisitor.pop();
+        });
+
+        context.releaseSlot(batchSlot);
+        batchSlot = -1;
+        batchList = null;
+    }
+
+    // Non-null |batchList| loads the list elements are added to, and means that adds can be batched till this element
+    //  end.
+    void handleReadOnlyInstancePropertyAttribute(
+            CompilerContext context,
+            ClassElement type,
+            ValueLoader loader,
+            ExpressionContext.RenderCommand batchList) {
         if (ElementUtils.isAssignable(type, List.class)) {
             ClassElement listType = type.getFirstTypeArgument()
                     .filter(e -> !e.isGenericPlaceholder())
@@ -937,6 +1048,15 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
                     )
                     .orElseThrow(() -> context.compileError("No add method found in List interface."));
 
+            // Defer adds till element end if possible.
+            if (batchList != null) {
+                for (Continuation loadContinuation : loadContinuations) {
+                    renderBatchedListAdd(context, batchList, loadContinuation);
+                }
+
+                return;
+            }
+
             for (Continuation loadContinuation : loadContinuations) {
                 render(context, new ContinuationDelegate(loadContinuation, (methodVisitor, command) -> {
                     load().render(methodVisitor);
@@ -1020,7 +1140,19 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
             return;
         }
 
-        apply(context, property, new PropertyValueLoader(context, value));
+        apply(context, property, new PropertyValueLoader(context, value, isStylesheetsProperty(property)));
+    }
+
+    private boolean isStylesheetsProperty(PropertyElement property) {
+        if (!STYLESHEETS_PROPERTY_NAME.equals(property.getName())) {
+            return false;
+        }
+
+        ClassElement instance = getClassElement();
+
+        return ElementUtils.isAssignable(instance, Parent.class)
+                || ElementUtils.isAssignable(instance, Scene.class)
+                || ElementUtils.isAssignable(instance, SubScene.class);
     }
 
     private void handleInstancePropertyAttribute(
@@ -1029,10 +1161,51 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
             MethodElement writeMethod,
             ValueLoader loader) {
         Continuation loadContinuation = loader.load(property.getType());
+        CompilerContext.RenderCommand recordTarget = recordRelocalizationTarget(context, writeMethod, loader);
+
+        render(context, new ContinuationDelegate(loadContinuation, (methodVisitor, command) -> {
+            renderPropertySetter(methodVisitor, command, writeMethod);
+
+            if (recordTarget != null) {
+                load().render(methodVisitor);
+                recordTarget.render(methodVisitor);
+            }
+        }));
+    }
+
+    private CompilerContext.RenderCommand recordRelocalizationTarget(
+            CompilerContext context,
+            MethodElement writeMethod,
+            ValueLoader loader) {
+        // NB: Only plain resource keys set to String properties are re-applied on relocalization. Anything else
+        //  (coerced values, lists, static properties) requires reload.
+        if (!(loader instanceof PropertyValueLoader)) {
+            return null;
+        }
 
-        render(context, new ContinuationDelegate(loadContinuation, (methodVisitor, command) ->
-                renderPropertySetter(methodVisitor, command, writeMethod)
-        ));
+        String key = ((PropertyValueLoader) loader).getResourceKey().orElse(null);
+
+        if (key == null
+                || writeMethod.getParameters().length != 1
+                || !ElementUtils.isAssignable(
+                        context.getClassElement(String.class), writeMethod.getParameters()[0].getType()
+                )) {
+            return null;
+        }
+
+        CompilerContext.CompiledResource compiledResource = context.getCompiledResource(key).orElse(null);
+
+        return context.recordRelocalizationTarget((methodVisitor, loadTarget, loadResources) -> {
+            // ((|targetType|) target).|writeMethod|(resources.getString(key));
+            loadTarget.render(methodVisitor);
+            methodVisitor.checkCast(RenderUtils.type(writeMethod.getOwningType()));
+            PropertyValueLoader.renderResourceLookup(methodVisitor, loadResources, key, compiledResource);
+            RenderUtils.renderMethodCall(methodVisitor, writeMethod);
+
+            if (!ElementUtils.isAssignable(writeMethod.getReturnType(), void.class)) {
+                methodVisitor.pop();
+            }
+        });
     }
 
     @Override
@@ -1074,6 +1247,8 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
         for (Continuation continuation : continuations) {
             context.getRenderer().render(continuation.run());
         }
+
+        flushBatchedListAdd(context);
     }
 
     @Override
@@ -1100,7 +1275,12 @@ public abstract class LoadableFXMLElement<P extends FXMLElement<?>> extends FXML
     }
 
     void apply(CompilerContext context, ReadOnlyInstanceProperty property, ValueLoader loader) {
-        property.handleReadOnlyInstancePropertyAttribute(context, property.getClassElement(), loader);
+        property.handleReadOnlyInstancePropertyAttribute(
+                context,
+                property.getClassElement(),
+                loader,
+                property.isListAddBatchable() ? property.load() : null
+        );
     }
 
     void apply(CompilerContext context, ClassElement classElement, String name, ValueLoader valueLoader) {
@@ -16,6 +16,7 @@
 package io.github.paullo612.mlfx.compiler.elements;
 
 import io.github.paullo612.mlfx.api.CompiledLoadException;
+import io.github.paullo612.mlfx.api.CompiledResourceBundle;
 import io.github.paullo612.mlfx.compiler.CompilerContext;
 import io.github.paullo612.mlfx.expression.Continuation;
 import io.github.paullo612.mlfx.expression.Expressions;
@@ -26,11 +27,11 @@ import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.GeneratorAdapter;
 import org.objectweb.asm.commons.Method;
 
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Optional;
 import java.util.ResourceBundle;
 
 // NB: Applies to both static and ind instance properties.
@@ -38,10 +39,17 @@ class PropertyValueLoader implements LoadableFXMLElement.ValueLoader {
 
     private final CompilerContext context;
     private final String value;
+    private final boolean stylesheets;
 
     public PropertyValueLoader(CompilerContext context, String value) {
+        this(context, value, false);
+    }
+
+    // NB: |stylesheets| is set if value is assigned to stylesheets list, i.e. relative paths in it are stylesheets.
+    public PropertyValueLoader(CompilerContext context, String value, boolean stylesheets) {
         this.context = context;
         this.value = value;
+        this.stylesheets = stylesheets;
     }
 
     private boolean checkDeprecatedEscapeSequence(String value, String prefix) {
@@ -53,6 +61,92 @@ class PropertyValueLoader implements LoadableFXMLElement.ValueLoader {
         return false;
     }
 
+    static void renderResourceLookup(
+            GeneratorAdapter methodVisitor,
+            CompilerContext.RenderCommand loadResourcesCommand,
+            String key,
+            CompilerContext.CompiledResource compiledResource) {
+        Type resourceBundleType = Type.getType(ResourceBundle.class);
+        Type loadExceptionType = Type.getType(CompiledLoadException.class);
+        String exceptionMessage = "Resource \"" + key + "\" not found.";
+
+        // if (resources instanceof |bundleType|) {
+        //     String value = ((CompiledResourceBundle) resources).findString(index);
+        //     if (value == null) {
+        //         throw new CompiledLoadException(exceptionMessage);
+        //     }
+        //     value;
+        // } else {
+        //     if (!resources.containsKey(key)) {
+        //         throw new CompiledLoadException(exceptionMessage);
+        //     }
+        //
+        //     resources.getString(key);
+        // }
+        loadResourcesCommand.render(methodVisitor);
+
+        Label end = methodVisitor.newLabel();
+
+        if (compiledResource != null) {
+            Type compiledResourceBundleType = Type.getType(CompiledResourceBundle.class);
+            Label fallback = methodVisitor.newLabel();
+
+            methodVisitor.dup();
+            methodVisitor.instanceOf(Type.getObjectType(compiledResource.getBundleInternalName()));
+            methodVisitor.ifZCmp(GeneratorAdapter.EQ, fallback);
+            methodVisitor.checkCast(compiledResourceBundleType);
+            methodVisitor.push(compiledResource.getIndex());
+            methodVisitor.invokeVirtual(
+                    compiledResourceBundleType,
+                    new Method("findString", "(I)" + RenderUtils.STRING_D)
+            );
+            methodVisitor.dup();
+            methodVisitor.ifNonNull(end);
+            methodVisitor.throwException(loadExceptionType, exceptionMessage);
+            methodVisitor.mark(fallback);
+        }
+
+        methodVisitor.dup();
+        methodVisitor.push(key);
+        methodVisitor.invokeVirtual(
+                resourceBundleType, new Method("containsKey", "(" + RenderUtils.STRING_D + ")Z")
+        );
+
+        Label label = methodVisitor.newLabel();
+        methodVisitor.ifZCmp(GeneratorAdapter.NE, label);
+        methodVisitor.throwException(loadExceptionType, exceptionMessage);
+        methodVisitor.mark(label);
+        methodVisitor.push(key);
+        methodVisitor.invokeVirtual(
+                resourceBundleType,
+                new Method("getString", "(" + RenderUtils.STRING_D + ")" + RenderUtils.STRING_D)
+        );
+        methodVisitor.mark(end);
+    }
+
+    // Whether value is the same on each load, i.e. it is neither a resource reference, nor an expression.
+    boolean isConstant() {
+        return value.startsWith(FXMLLoader.ESCAPE_PREFIX)
+                || !(value.startsWith(FXMLLoader.RESOURCE_KEY_PREFIX)
+                || value.startsWith(FXMLLoader.EXPRESSION_PREFIX)
+                || value.startsWith(FXMLLoader.BI_DIRECTIONAL_BINDING_PREFIX));
+    }
+
+    // Returns resource key if value is a plain resource key reference, i.e. can be looked up again later.
+    Optional<String> getResourceKey() {
+        if (!value.startsWith(FXMLLoader.RESOURCE_KEY_PREFIX)) {
+            return Optional.empty();
+        }
+
+        String key = value.substring(FXMLLoader.RESOURCE_KEY_PREFIX.length());
+
+        if (key.isEmpty() || key.startsWith(FXMLLoader.RESOURCE_KEY_PREFIX)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(key);
+    }
+
     private Continuation loadPrefixedValue(ClassElement targetType, String value) {
         if (value.startsWith(FXMLLoader.RELATIVE_PATH_PREFIX)) {
             value = value.substring(FXMLLoader.RELATIVE_PATH_PREFIX.length());
@@ -64,40 +158,15 @@ class PropertyValueLoader implements LoadableFXMLElement.ValueLoader {
                 return null;
             }
 
-            String pathString = value;
-            String exceptionMessage = "Invalid resource: " + value + " not found on the classpath";
-
-            return () -> methodVisitor -> {
-                // URL resource = getClass().getResource(pathString);
-                // if (resource == null) {
-                //    throw new CompiledLoadException(exceptionMessage);
-                // }
-                // resource.toString();
-                methodVisitor.loadThis();
-
-                Type classType = Type.getType(Class.class);
-                Type urlType = Type.getType(URL.class);
-
-                methodVisitor.invokeVirtual(
-                        Type.getType(Object.class),
-                        new Method("getClass", "()" + classType.getDescriptor())
-                );
-                methodVisitor.push(pathString);
-                methodVisitor.invokeVirtual(
-                        classType,
-                        new Method("getResource", "(" + RenderUtils.STRING_D + ")" + urlType.getDescriptor())
-                );
-
-                Label label = methodVisitor.newLabel();
-                methodVisitor.dup();
-                methodVisitor.ifNonNull(label);
-                methodVisitor.throwException(Type.getType(CompiledLoadException.class), exceptionMessage);
-                methodVisitor.mark(label);
-                methodVisitor.invokeVirtual(
-                        urlType,
-                        new Method(RenderUtils.TO_STRING_M, "()" + RenderUtils.STRING_D)
-                );
-            };
+            // NB: Stylesheets are referenced by relative path, so, this is the only place where those are converted.
+            if (stylesheets) {
+                value = context.compileStylesheet(value);
+            }
+
+            // $getRelativeResourceN();
+            CompilerContext.RenderCommand command = context.getRelativeResource(value).load();
+
+            return () -> command;
         } else if (value.startsWith(FXMLLoader.RESOURCE_KEY_PREFIX)) {
             value = value.substring(FXMLLoader.RESOURCE_KEY_PREFIX.length());
             if (value.length() == 0) {
@@ -109,36 +178,14 @@ class PropertyValueLoader implements LoadableFXMLElement.ValueLoader {
             }
 
             String resourceString = value;
-            String exceptionMessage = "Resource \"" + value + "\" not found.";
 
             CompilerContext.RenderCommand loadResourcesCommand =
                     context.getScope().get(FXMLLoader.RESOURCES_KEY).load();
+            CompilerContext.CompiledResource compiledResource =
+                    context.getCompiledResource(resourceString).orElse(null);
 
-            // if (!resources.containsKey(aValue)) {
-            //     throw new CompiledLoadException(exceptionMessage);
-            // }
-            //
-            // resources.getString(aValue);
-            return () -> methodVisitor -> {
-                Type resourceBundleType = Type.getType(ResourceBundle.class);
-
-                loadResourcesCommand.render(methodVisitor);
-                methodVisitor.dup();
-                methodVisitor.push(resourceString);
-                methodVisitor.invokeVirtual(
-                        resourceBundleType, new Method("containsKey", "(" + RenderUtils.STRING_D + ")Z")
-                );
-
-                Label label = methodVisitor.newLabel();
-                methodVisitor.ifZCmp(GeneratorAdapter.NE, label);
-                methodVisitor.throwException(Type.getType(CompiledLoadException.class), exceptionMessage);
-                methodVisitor.mark(label);
-                methodVisitor.push(resourceString);
-                methodVisitor.invokeVirtual(
-                        resourceBundleType,
-                        new Method("getString", "(" + RenderUtils.STRING_D + ")" + RenderUtils.STRING_D)
-                );
-            };
+            return () -> methodVisitor ->
+                    renderResourceLookup(methodVisitor, loadResourcesCommand, resourceString, compiledResource);
         } else if (value.startsWith(FXMLLoader.EXPRESSION_PREFIX)) {
             value = value.substring(FXMLLoader.EXPRESSION_PREFIX.length());
             if (value.length() == 0) {
@@ -24,7 +24,9 @@ import io.micronaut.inject.ast.MethodElement;
 import io.micronaut.inject.ast.ParameterElement;
 import io.micronaut.inject.ast.PrimitiveElement;
 import io.micronaut.inject.ast.TypedElement;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.GeneratorAdapter;
 import org.objectweb.asm.commons.Method;
@@ -50,6 +52,17 @@ public final class RenderUtils {
     public static final String TO_STRING_M = "toString";
     public static final String VALUE_OF_M = "valueOf";
 
+    public static final Handle LAMBDA_METAFACTORY_HANDLE = new Handle(
+            Opcodes.H_INVOKESTATIC,
+            "java/lang/invoke/LambdaMetafactory",
+            "metafactory",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
+                    + "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodType;"
+                    + "Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)"
+                    + "Ljava/lang/invoke/CallSite;",
+            false
+    );
+
     public static final Map<Class<?>, PrimitiveElement> BOXED_PRIMITIVES = Map.of(
             Boolean.class, PrimitiveElement.BOOLEAN,
             Character.class, PrimitiveElement.CHAR,
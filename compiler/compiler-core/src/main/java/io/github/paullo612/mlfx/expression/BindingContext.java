@@ -52,6 +52,8 @@ public interface BindingContext extends ExpressionContext {
     interface BindingExpressionRendererContext extends LoadableCapturer, LoadableStorage, FlagSet {
 
         Loadable getListenerHelper();
+
+        int getClearVariableIndex();
     }
 
     interface BindingExpressionRenderer extends BindingExpressionRendererContext {
@@ -16,6 +16,7 @@
 package io.github.paullo612.mlfx.expression;
 
 import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.MethodElement;
 import org.objectweb.asm.commons.GeneratorAdapter;
 
 import java.util.Map;
@@ -34,6 +35,30 @@ public interface ExpressionContext {
         RenderCommand load();
     }
 
+    // Loadable whose value is a property of its owner. Binding expressions monitor property's model instead of treating
+    //  value as a constant.
+    interface ObservableLoadable extends Loadable {
+
+        Loadable getOwner();
+
+        // Property model method of owner's class.
+        MethodElement getPropertyModel();
+
+        // Consumes owner from stack top and loads value.
+        RenderCommand read();
+
+        @Override
+        default RenderCommand load() {
+            RenderCommand loadOwner = getOwner().load();
+            RenderCommand read = read();
+
+            return methodVisitor -> {
+                loadOwner.render(methodVisitor);
+                read.render(methodVisitor);
+            };
+        }
+    }
+
     RuntimeException compileError(String message);
 
     ClassElement getClassElement(Class<?> type);
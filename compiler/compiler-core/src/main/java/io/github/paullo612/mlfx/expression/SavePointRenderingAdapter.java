@@ -34,8 +34,6 @@ import java.util.Optional;
 
 class SavePointRenderingAdapter implements RenderingAdapter {
 
-    private static final int CLEAR_VARIABLE_INDEX = 2;
-
     private static class SavePointInfo {
         final int reservedLabelsCount;
         final ExpressionContext.RenderCommand command;
@@ -75,13 +73,14 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                 ExpressionContext.RenderCommand loadListenerHelperCommand,
                 ClassElement loadListenerHelperClassElement,
                 MethodElement propertyModelGetter,
-                int step) {
+                int step,
+                int clearVariableIndex) {
             Label out;
 
             if (renderClear) {
                 out = methodVisitor.newLabel();
 
-                methodVisitor.loadLocal(CLEAR_VARIABLE_INDEX);
+                methodVisitor.loadLocal(clearVariableIndex);
                 methodVisitor.push(0);
                 methodVisitor.ifICmp(GeneratorAdapter.NE, out);
             } else {
@@ -172,7 +171,7 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                 Label defaultValue = methodVisitor.newLabel();
                 Label out = methodVisitor.newLabel();
 
-                methodVisitor.loadLocal(CLEAR_VARIABLE_INDEX);
+                methodVisitor.loadLocal(rendererContext.getClearVariableIndex());
                 methodVisitor.push(0);
                 methodVisitor.ifICmp(GeneratorAdapter.NE, defaultValue);
                 renderCommand.render(methodVisitor);
@@ -235,7 +234,8 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                                 loadListenerHelperCommand,
                                 listenerHelperClassElement,
                                 propertyModelGetter,
-                                step
+                                step,
+                                rendererContext.getClearVariableIndex()
                         );
                     }
             );
@@ -337,6 +337,7 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                     - reservedByUs - reservedByChildren;
 
             ExpressionContext.RenderCommand loadCommand = result.loadable != null ? result.loadable.load() : null;
+            int clearVariableIndex = rendererContext.getClearVariableIndex();
 
             return methodVisitor -> {
                 if (shortCircuitLabels != null) {
@@ -363,7 +364,7 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                     Label clearEqual = methodVisitor.newLabel();
                     Label check = methodVisitor.newLabel();
 
-                    methodVisitor.loadLocal(CLEAR_VARIABLE_INDEX);
+                    methodVisitor.loadLocal(clearVariableIndex);
                     methodVisitor.push(0);
                     methodVisitor.ifICmp(GeneratorAdapter.EQ, clearEqual);
                     methodVisitor.push(true);
@@ -409,7 +410,7 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                         Label out = methodVisitor.newLabel();
                         Label clear = methodVisitor.newLabel();
 
-                        methodVisitor.loadLocal(CLEAR_VARIABLE_INDEX);
+                        methodVisitor.loadLocal(clearVariableIndex);
                         methodVisitor.push(0);
                         methodVisitor.ifICmp(GeneratorAdapter.NE, clear);
                         flag.set().render(methodVisitor);
@@ -422,10 +423,10 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                     if (shortCircuitLabels != null && !savePointIt.hasNext()) {
                         Label out = methodVisitor.newLabel();
 
-                        methodVisitor.loadLocal(CLEAR_VARIABLE_INDEX);
+                        methodVisitor.loadLocal(clearVariableIndex);
                         methodVisitor.push(0);
                         methodVisitor.ifICmp(GeneratorAdapter.EQ, out);
-                        methodVisitor.iinc(CLEAR_VARIABLE_INDEX, -1);
+                        methodVisitor.iinc(clearVariableIndex, -1);
                         methodVisitor.goTo(shortCircuitLabels.out);
                         methodVisitor.mark(out);
                     }
@@ -468,8 +469,30 @@ class SavePointRenderingAdapter implements RenderingAdapter {
 
                 @Override
                 public ExpressionContext.RenderCommand visit(ScopeReadContinuation continuation) {
+                    ExpressionContext.Loadable loadable = continuation.getLoadable();
+
+                    if (loadable instanceof ExpressionContext.ObservableLoadable) {
+                        ExpressionContext.ObservableLoadable observableLoadable =
+                                (ExpressionContext.ObservableLoadable) loadable;
+
+                        // Read value from captured owner, and make save point for owner's property model, same as
+                        //  for property read.
+                        savePointContainer.savePoint(
+                                rendererContext.capture(observableLoadable.getOwner()),
+                                rendererContext
+                        );
+                        savePointContainer.addCommand(
+                                observableLoadable.read(),
+                                observableLoadable.getClassElement(),
+                                rendererContext
+                        );
+                        savePointContainer.savePoint(observableLoadable.getPropertyModel(), rendererContext);
+
+                        return null;
+                    }
+
                     // All continuation containers start from scope read, if first continuation is not a literal
-                    savePointContainer.savePoint(rendererContext.capture(continuation.getLoadable()), rendererContext);
+                    savePointContainer.savePoint(rendererContext.capture(loadable), rendererContext);
 
                     return null;
                 }
@@ -492,7 +515,7 @@ class SavePointRenderingAdapter implements RenderingAdapter {
                     ShortCircuitLabels shortCircuitLabels = this.shortCircuitLabels;
 
                     return methodVisitor -> {
-                        methodVisitor.iinc(CLEAR_VARIABLE_INDEX, 1);
+                        methodVisitor.iinc(rendererContext.getClearVariableIndex(), 1);
                         methodVisitor.goTo(shortCircuitLabels.in);
                         methodVisitor.mark(shortCircuitLabels.out);
                     };
@@ -542,14 +565,14 @@ class SavePointRenderingAdapter implements RenderingAdapter {
         ExpressionContext.RenderCommand renderCommand = continuation.accept(visitor);
 
         if (!isClearVariableInitialized) {
+            int clearVariableIndex = rendererContext.getClearVariableIndex();
+
+            // NB: No local variable debug info here. Variable is allocated by GeneratorAdapter#newLocal, and
+            //  visitLocalVariable would remap its index once more.
             return methodVisitor -> {
-                Label start = methodVisitor.mark();
                 methodVisitor.push(0);
-                methodVisitor.storeLocal(CLEAR_VARIABLE_INDEX, Type.getType(int.class));
+                methodVisitor.storeLocal(clearVariableIndex, Type.getType(int.class));
                 renderCommand.render(methodVisitor);
-                Label end = methodVisitor.mark();
-
-                methodVisitor.visitLocalVariable("clear", "I", null, start, end, CLEAR_VARIABLE_INDEX);
             };
         }
 
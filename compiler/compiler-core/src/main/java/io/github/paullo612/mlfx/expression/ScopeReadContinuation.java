@@ -54,6 +54,11 @@ class ScopeReadContinuation implements ExpressionContinuation {
         return loadable;
     }
 
+    @Override
+    public int requiresMonitoringCount() {
+        return getLoadable() instanceof ExpressionContext.ObservableLoadable ? 1 : 0;
+    }
+
     @Override
     public ClassElement getClassElement() {
         return getLoadable().getClassElement();
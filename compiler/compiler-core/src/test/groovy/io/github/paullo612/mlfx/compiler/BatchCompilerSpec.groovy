@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+class BatchCompilerSpec extends Specification {
+
+    private static final String FX_INCLUDE_DIRECTORY = 'io/github/paullo612/mlfx/compiler/compliance/fx_include'
+    private static final String BATCH_COMPILER_DIRECTORY = 'io/github/paullo612/mlfx/compiler/batch_compiler'
+
+    @TempDir
+    Path outputDirectory
+
+    def "Batch compiler compiles FXML files against compiled classes"() {
+        given:
+        BatchCompiler compiler = new BatchCompiler(
+                List.of(CompileSpec.TEST_CLASSES_OUTPUT_PATH.toPath()),
+                Path.of('src/test/resources'),
+                outputDirectory,
+                2
+        )
+        StringWriter out = new StringWriter()
+
+        when:
+        boolean result = compiler.compile(
+                List.of(List.of(FX_INCLUDE_DIRECTORY)), StandardCharsets.UTF_8, new PrintWriter(out)
+        )
+
+        then:
+        result
+        out.toString().isEmpty()
+        Files.isRegularFile(outputDirectory.resolve(FX_INCLUDE_DIRECTORY).resolve('$Car$CompiledFXMLLoader.class'))
+        Files.isRegularFile(outputDirectory.resolve(FX_INCLUDE_DIRECTORY).resolve('$Wheel$CompiledFXMLLoader.class'))
+    }
+
+    def "Batch compiler merges service descriptors of units compiled in parallel"() {
+        given:
+        BatchCompiler compiler = new BatchCompiler(
+                List.of(CompileSpec.TEST_CLASSES_OUTPUT_PATH.toPath()),
+                Path.of('src/test/resources'),
+                outputDirectory,
+                2,
+                List.of(CompileFXMLVisitor.CONTROLLER_ACCESSORS_OPTION + '=true')
+        )
+        StringWriter out = new StringWriter()
+
+        when:
+        boolean result = compiler.compile(
+                List.of(List.of(BATCH_COMPILER_DIRECTORY + '/car'), List.of(BATCH_COMPILER_DIRECTORY + '/garage')),
+                StandardCharsets.UTF_8,
+                new PrintWriter(out)
+        )
+
+        then:
+        result
+        out.toString().isEmpty()
+        Files.readAllLines(outputDirectory.resolve(CompileFXMLVisitor.CONTROLLER_ACCESSORS_SERVICE_DESCRIPTOR)) == [
+                'io.github.paullo612.mlfx.compiler.test.CarController$CompiledControllerAccessor',
+                'io.github.paullo612.mlfx.compiler.test.GarageController$CompiledControllerAccessor'
+        ]
+    }
+
+    def "Batch compiler reports usage errors"() {
+        expect:
+        BatchCompiler.run(args as String[]) == 2
+
+        where:
+        args << [
+                [],
+                ['-d', 'out', FX_INCLUDE_DIRECTORY],
+                ['-r', 'src/test/resources', '-d', 'out'],
+                ['-r', 'src/test/resources', '-d', 'out', '--threads', '0', FX_INCLUDE_DIRECTORY],
+                ['--unknown', 'value', FX_INCLUDE_DIRECTORY],
+                ['-r', 'src/test/resources', '-d', 'out', '-A', FX_INCLUDE_DIRECTORY]
+        ]
+    }
+}
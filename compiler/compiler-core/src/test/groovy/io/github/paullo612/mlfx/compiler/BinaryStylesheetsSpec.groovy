@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.compiler.test.Car
+import javafx.css.Stylesheet
+import javafx.scene.Parent
+import javafx.scene.layout.VBox
+
+class BinaryStylesheetsSpec extends CompileSpec {
+
+    private static final List<String> OPTIONS =
+            List.of('-A' + CompileFXMLVisitor.BINARY_STYLESHEETS_OPTION + '=true')
+    private static final String BINARY_STYLESHEETS_PATH = COMPILER_PATH + 'binary_stylesheets/'
+
+    def "Stylesheets are converted to binary format at compile time"() {
+        when:
+        CompileResult compileResult = compileDirectory('binary_stylesheets', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        File panelStylesheet = new File(TEST_CLASSES_OUTPUT_PATH, BINARY_STYLESHEETS_PATH + 'panel.bss')
+        File titleStylesheet = new File(TEST_CLASSES_OUTPUT_PATH, BINARY_STYLESHEETS_PATH + 'styles/title.bss')
+
+        then:
+        panelStylesheet.isFile()
+        titleStylesheet.isFile()
+        !Stylesheet.loadBinary(panelStylesheet.toURI().toURL()).rules.isEmpty()
+        !Stylesheet.loadBinary(titleStylesheet.toURI().toURL()).rules.isEmpty()
+
+        when:
+        VBox panel = loadUsingCompiledFXMLLoader('binary_stylesheets', 'panel', NO_CONTROLLERS).rootInstance
+
+        then:
+        panel.stylesheets.size() == 1
+        panel.stylesheets[0].endsWith(BINARY_STYLESHEETS_PATH + 'panel.bss')
+        panel.children.every {
+            List<String> stylesheets = (it as Parent).stylesheets
+
+            stylesheets.size() == 1 && stylesheets[0].endsWith(BINARY_STYLESHEETS_PATH + 'styles/title.bss')
+        }
+    }
+
+    def "Relative paths assigned to other properties are not converted"() {
+        when:
+        CompileResult compileResult = compileDirectory('binary_stylesheets_strings', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        Car car = loadUsingCompiledFXMLLoader('binary_stylesheets_strings', 'car', NO_CONTROLLERS).rootInstance
+
+        then:
+        car.model.endsWith(COMPILER_PATH + 'binary_stylesheets_strings/model.css')
+        !new File(TEST_CLASSES_OUTPUT_PATH, COMPILER_PATH + 'binary_stylesheets_strings/model.bss').exists()
+    }
+
+    def "Stylesheet syntax errors are reported at compile time"() {
+        when:
+        CompileResult compileResult = compileDirectory('binary_stylesheets_invalid', OPTIONS)
+
+        then:
+        Boolean.FALSE == compileResult.result
+        compileResult.diagnostics.any {
+            it.getMessage(null).contains('Failed to parse stylesheet')
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.CompiledLoadException
+import javafx.util.Callback
+
+class CellTemplateSpec extends CompileSpec {
+
+    def "Cell template compiles to cell factory"() {
+        when:
+        CompileResult compileResult = compileDirectory('cell_template')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        // NB: Do not initialize cell class, controls can't be initialized without toolkit.
+        Class<?> cellClass = Class.forName(
+                computeLoaderClassName('cell_template', 'car_cell') + '$Cell',
+                false,
+                CellTemplateSpec.class.classLoader
+        )
+
+        then:
+        cellClass.superclass.name == 'javafx.scene.control.ListCell'
+
+        when:
+        Callback<?, ?> cellFactory = createCompiledFXMLLoader('cell_template', 'car_cell')
+                .createCellFactory(CONTROLLERS, null)
+
+        then:
+        cellFactory != null
+    }
+
+    def "Cell template cannot be loaded directly"() {
+        when:
+        CompileResult compileResult = compileDirectory('cell_template')
+
+        then:
+        Boolean.TRUE == compileResult.result
+
+        when:
+        createCompiledFXMLLoader('cell_template', 'car_cell').load(CONTROLLERS, null, null, null)
+
+        then:
+        CompiledLoadException e = thrown()
+        e.message == 'Cell template can only be loaded by cells of its cell factory.'
+    }
+
+    def "Cell template's root element must be a node"() {
+        when:
+        CompileResult compileResult = compileDirectory('cell_template_invalid_root')
+
+        then:
+        Boolean.FALSE == compileResult.result
+        compileResult.diagnostics.any {
+            it.getMessage(null).contains('Cell template\'s root element must be a javafx.scene.Node.')
+        }
+    }
+}
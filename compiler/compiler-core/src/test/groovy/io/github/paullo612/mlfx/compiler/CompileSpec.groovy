@@ -15,13 +15,20 @@
  */
 package io.github.paullo612.mlfx.compiler
 
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader
+import io.github.paullo612.mlfx.api.ControllerAccessor
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory
+import io.github.paullo612.mlfx.api.Result
 import io.micronaut.annotation.processing.TypeElementVisitorProcessor
 import io.micronaut.inject.visitor.VisitorContext
 import spock.lang.Specification
 
 import javax.tools.*
+import java.lang.reflect.Field
+import java.lang.reflect.Method
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.Paths
 import java.util.stream.Stream
 
 class CompileSpec extends Specification {
@@ -29,6 +36,40 @@ class CompileSpec extends Specification {
     // We still want the tests to be runnable from Intellij Idea, so, this one is hardcoded here, sorry.
     static final File TEST_CLASSES_OUTPUT_PATH = new File('target/test-classes')
 
+    static final String COMPILER_PATH = '/io/github/paullo612/mlfx/compiler/'
+
+    // Creates controllers and accesses their members reflectively, as FXMLLoader does.
+    static final ControllerAccessorFactory CONTROLLERS = new ControllerAccessorFactory() {
+
+        @Override
+        <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+            [
+                    getControllerClass: { controllerClass },
+                    newControllerInstance: { controllerClass.getDeclaredConstructor().newInstance() },
+                    setField: { Object controller, String fieldName, Object value ->
+                        Field field = controllerClass.getDeclaredField(fieldName)
+                        field.accessible = true
+                        field.set(controller, value)
+                    },
+                    executeMethod: { Object controller, String methodName, Object[] arguments ->
+                        Method method = controllerClass.declaredMethods
+                                .find { it.name == methodName && it.parameterCount == arguments.length }
+                        method.accessible = true
+                        method.invoke(controller, arguments)
+                    }
+            ] as ControllerAccessor<C>
+        }
+    }
+
+    // For documents without controllers.
+    static final ControllerAccessorFactory NO_CONTROLLERS = new ControllerAccessorFactory() {
+
+        @Override
+        <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+            throw new UnsupportedOperationException()
+        }
+    }
+
     static class CompileResult {
         final Boolean result
         final List<Diagnostic<? extends JavaFileObject>> diagnostics
@@ -39,7 +80,46 @@ class CompileSpec extends Specification {
         }
     }
 
+    // Returns class name of compiled loader of |fxmlFile| (without extension) placed in |directory| relative to
+    //  compiler tests root.
+    static String computeLoaderClassName(String directory, String fxmlFile) {
+        CompileFXMLVisitor.computeClassName(
+                (COMPILER_PATH + directory + '/').substring(1).replace('/', '.') + fxmlFile
+        )
+    }
+
+    static <R, C> CompiledFXMLLoader<R, C> createCompiledFXMLLoader(String directory, String fxmlFile) {
+        Class.forName(computeLoaderClassName(directory, fxmlFile))
+                .asSubclass(CompiledFXMLLoader.class)
+                .getDeclaredConstructor()
+                .newInstance()
+    }
+
+    static <R, C> Result<R, C> loadUsingCompiledFXMLLoader(
+            String directory,
+            String fxmlFile,
+            ControllerAccessorFactory controllerAccessorFactory,
+            ResourceBundle resourceBundle = null) {
+        CompiledFXMLLoader<R, C> loader = createCompiledFXMLLoader(directory, fxmlFile)
+
+        loader.load(controllerAccessorFactory, null, null, resourceBundle)
+    }
+
+    CompileResult compileDirectory(String directory) throws IOException {
+        compileDirectory(directory, List.of())
+    }
+
+    CompileResult compileDirectory(String directory, List<String> options) throws IOException {
+        Path path = Paths.get(CompileSpec.class.getResource(COMPILER_PATH + directory).toURI())
+
+        compile(path, options)
+    }
+
     CompileResult compile(Path path) throws IOException {
+        compile(path, List.of())
+    }
+
+    CompileResult compile(Path path, List<String> options) throws IOException {
         JavaCompiler compiler = ToolProvider.getSystemJavaCompiler()
 
         JavaCompiler.CompilationTask task
@@ -65,11 +145,11 @@ class CompileSpec extends Specification {
                     null,
                     fileManager,
                     collector,
-                    Arrays.asList(
+                    [
                             '-g',
                             '-parameters',
                             '-A' + CompileFXMLVisitor.RESOURCES_DIRECTORY_OPTION + '=src/test/resources'
-                    ),
+                    ] + options,
                     null,
                     compilationUnits
             )
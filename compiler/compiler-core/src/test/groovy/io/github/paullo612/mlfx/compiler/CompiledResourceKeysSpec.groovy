@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+class CompiledResourceKeysSpec extends CompileSpec {
+
+    def "Resource key not found in compiled resource bundles is compile error if keys are checked"() {
+        when:
+        CompileResult compileResult = compileDirectory('compiled_bundle_unknown_key')
+
+        then:
+        Boolean.FALSE == compileResult.result
+        compileResult.diagnostics.any {
+            it.getMessage(null).contains(
+                    'Resource "car.model" not found in '
+                            + 'io.github.paullo612.mlfx.compiler.compiled_bundle_unknown_key.labels resource bundle(s).'
+            )
+        }
+    }
+}
@@ -291,6 +291,28 @@ class ComplianceSpec extends CompileSpec {
         new LoadResult(rootObject, controllerObject)
     }
 
+    private static void loadAll(
+            Path path,
+            List<LoadResult> compiledFXMLLoaderResults,
+            List<LoadResult> FXMLLoaderResults) {
+        List<String> files = collectFiles(path)
+
+        Path workingDirectory = TEST_CLASSES_OUTPUT_PATH.toPath().toAbsolutePath()
+
+        for (String file : files) {
+            Path fxmlFile = path.resolve(file)
+
+            Object root = resolveRoot(workingDirectory, path, file)
+            Object controller = resolveController(workingDirectory, path, file)
+            ResourceBundle resourceBundle = resolveResourceBundle(workingDirectory, path, file)
+
+            compiledFXMLLoaderResults
+                    << loadUsingCompiledFXMLLoader(workingDirectory, fxmlFile, root, controller, resourceBundle)
+
+            FXMLLoaderResults << loadUsingFXMLLoader(workingDirectory, fxmlFile, root, controller, resourceBundle)
+        }
+    }
+
     def "FXMLLoader loads the same object tree as CompiledFXMLLoader for #pathAndTestName.testName"() {
         when:
         CompileResult compileResult = compile(pathAndTestName.path)
@@ -300,32 +322,63 @@ class ComplianceSpec extends CompileSpec {
         compileResult.diagnostics.isEmpty()
 
         when:
-        Path path = pathAndTestName.path
+        List<LoadResult> compiledFXMLLoaderResults = []
+        List<LoadResult> FXMLLoaderResults = []
 
-        List<String> files = collectFiles(path)
+        loadAll(pathAndTestName.path, compiledFXMLLoaderResults, FXMLLoaderResults)
+
+        then:
+        compiledFXMLLoaderResults == FXMLLoaderResults
+
+        where:
+        pathAndTestName << collectTests()
+    }
+
+    def "CompiledFXMLLoader with inlined includes matches FXMLLoader for #pathAndTestName.testName"() {
+        when:
+        CompileResult compileResult = compile(
+                pathAndTestName.path,
+                List.of('-A' + CompileFXMLVisitor.INLINE_INCLUDES_OPTION + '=true')
+        )
 
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
         List<LoadResult> compiledFXMLLoaderResults = []
         List<LoadResult> FXMLLoaderResults = []
 
-        Path workingDirectory = TEST_CLASSES_OUTPUT_PATH.toPath().toAbsolutePath()
+        loadAll(pathAndTestName.path, compiledFXMLLoaderResults, FXMLLoaderResults)
 
-        for (String file : files) {
-            Path fxmlFile = path.resolve(file)
+        then:
+        compiledFXMLLoaderResults == FXMLLoaderResults
 
-            Object root = resolveRoot(workingDirectory, path, file)
-            Object controller = resolveController(workingDirectory, path, file)
-            ResourceBundle resourceBundle = resolveResourceBundle(workingDirectory, path, file)
+        where:
+        pathAndTestName << collectTests().findAll { it.testName.startsWith('fx_include') }
+    }
 
-            compiledFXMLLoaderResults
-                    << loadUsingCompiledFXMLLoader(workingDirectory, fxmlFile, root, controller, resourceBundle)
+    def "CompiledFXMLLoader with static handlers matches FXMLLoader for #pathAndTestName.testName"() {
+        when:
+        CompileResult compileResult = compile(
+                pathAndTestName.path,
+                List.of('-A' + CompileFXMLVisitor.STATIC_HANDLERS_OPTION + '=true')
+        )
 
-            FXMLLoaderResults << loadUsingFXMLLoader(workingDirectory, fxmlFile, root, controller, resourceBundle)
-        }
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        List<LoadResult> compiledFXMLLoaderResults = []
+        List<LoadResult> FXMLLoaderResults = []
+
+        loadAll(pathAndTestName.path, compiledFXMLLoaderResults, FXMLLoaderResults)
 
         then:
         compiledFXMLLoaderResults == FXMLLoaderResults
 
         where:
-        pathAndTestName << collectTests()
+        pathAndTestName << collectTests().findAll { it.testName.endsWith('handlers') }
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader
+import io.github.paullo612.mlfx.api.ControllerAccessor
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Car
+import javafx.event.ActionEvent
+
+class ControllerAccessorsSpec extends CompileSpec {
+
+    private static final List<String> OPTIONS =
+            List.of('-A' + CompileFXMLVisitor.CONTROLLER_ACCESSORS_OPTION + '=true')
+    private static final String PACKAGE_NAME = 'io.github.paullo612.mlfx.compiler.controller_accessors'
+    private static final String CONTROLLER_CLASS_NAME = PACKAGE_NAME + '.GarageController'
+
+    def "Controller accessors are generated at compile time"() {
+        when:
+        CompileResult compileResult = compileDirectory('controller_accessors', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.size() == 1
+        compileResult.diagnostics[0].getMessage(null).contains('Controller method "park"')
+
+        when:
+        File serviceDescriptor = new File(
+                TEST_CLASSES_OUTPUT_PATH,
+                CompileFXMLVisitor.CONTROLLER_ACCESSORS_SERVICE_DESCRIPTOR
+        )
+
+        then:
+        serviceDescriptor.readLines().contains(ControllerAccessorRenderer.computeClassName(CONTROLLER_CLASS_NAME))
+
+        when:
+        String accessorClassName = ControllerAccessorRenderer.computeClassName(CONTROLLER_CLASS_NAME)
+        ControllerAccessor<?> accessor = Class.forName(accessorClassName)
+                .asSubclass(ControllerAccessor.class)
+                .getDeclaredConstructor()
+                .newInstance()
+
+        CompiledFXMLLoader<Car, ?> loader = createCompiledFXMLLoader('controller_accessors/view', 'garage')
+
+        ControllerAccessorFactory factory = new ControllerAccessorFactory() {
+            @Override
+            <C> ControllerAccessor<C> createControllerAccessor(Class<C> controllerClass) {
+                assert controllerClass == accessor.controllerClass
+
+                (ControllerAccessor<C>) accessor
+            }
+        }
+
+        Result<Car, ?> result = loader.load(factory, null, null, null)
+        ActionEvent event = new ActionEvent()
+        result.rootInstance.onDrive.handle(event)
+
+        then:
+        result.controller.car.is(result.rootInstance)
+        result.controller.initialized
+        result.controller.driveEvent.is(event)
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Car
+import io.github.paullo612.mlfx.compiler.test.Engine
+import io.github.paullo612.mlfx.compiler.test.Garage
+import javafx.fxml.FXMLLoader
+
+import javax.tools.Diagnostic
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+
+class FacadeSpec extends CompileSpec {
+
+    private static final List<String> OPTIONS = List.of('-A' + CompileFXMLVisitor.FACADES_OPTION + '=true')
+
+    private static Class<?> facadeClass(String directory, String fxmlFile) {
+        String loaderClassName = computeLoaderClassName(directory, fxmlFile)
+
+        Class.forName(FacadeRenderer.computeClassName(loaderClassName), false, FacadeSpec.class.classLoader)
+    }
+
+    private static List<List<Class<?>>> loadMethods(Class<?> facadeClass) {
+        facadeClass.declaredMethods
+                .findAll { it.name == 'load' }
+                .findAll { Modifier.isPublic(it.modifiers) && Modifier.isStatic(it.modifiers) }
+                .collect { it.parameterTypes as List<Class<?>> }
+    }
+
+    def "Facade loads document"() {
+        when:
+        CompileResult compileResult = compileDirectory('lazy_content', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        // fx:ids declared inside of lazy content have no namespace accessors.
+        compileResult.diagnostics.size() == 3
+        compileResult.diagnostics.every {
+            it.kind == Diagnostic.Kind.WARNING && it.getMessage(Locale.ROOT).contains('inside of lazy content')
+        }
+
+        when:
+        Class<?> facade = facadeClass('lazy_content', 'open_garage')
+        Method loadMethod = facade.getMethod(
+                'load', ControllerAccessorFactory, facade.getMethod('getLoader').invoke(null).controllerClass.get(),
+                Garage, ResourceBundle
+        )
+        Result<Garage, ?> result = loadMethod.invoke(null, CONTROLLERS, null, null, null) as Result<Garage, ?>
+
+        then:
+        Modifier.isPublic(facade.modifiers)
+        loadMethod.returnType == Result
+        result.rootInstance == new FXMLLoader(
+                FacadeSpec.class.getResource(COMPILER_PATH + 'lazy_content/open_garage.fxml')
+        ).load()
+        loadMethods(facade).size() == 3
+    }
+
+    def "Facade of document requiring root instance has no convenience load methods"() {
+        when:
+        CompileResult compileResult = compileDirectory('compliance/fx_root', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+
+        when:
+        Class<?> facade = facadeClass('compliance/fx_root', 'fxRoot')
+
+        then:
+        loadMethods(facade).size() == 1
+        loadMethods(facade)[0][2] == facade.getMethod('getLoader').invoke(null).rootInstanceClass.get()
+    }
+
+    def "Facade of cell template creates cell factory"() {
+        when:
+        CompileResult compileResult = compileDirectory('cell_template', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+
+        when:
+        Class<?> facade = facadeClass('cell_template', 'car_cell')
+
+        then:
+        loadMethods(facade).isEmpty()
+        facade.getMethod('createCellFactory', ResourceBundle) != null
+    }
+
+    def "Facade provides typed fx:id namespace"() {
+        when:
+        CompileResult compileResult = compileDirectory('namespace', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        Class<?> facade = facadeClass('namespace', 'car')
+        Result<Car, ?> result = facade.getMethod('load', ControllerAccessorFactory, Object, Car, ResourceBundle)
+                .invoke(null, CONTROLLERS, null, null, null) as Result<Car, ?>
+        Object namespace = facade.getMethod('getNamespace', Result).invoke(null, result)
+        Class<?> namespaceClass = namespace.getClass()
+
+        then:
+        namespace.is(result.namespace)
+        namespaceClass.name == facade.name + '$Namespace'
+        Modifier.isPublic(namespaceClass.modifiers)
+        namespaceClass.getMethod('car').returnType == Car
+        namespaceClass.getMethod('engine').returnType == Engine
+        namespace.car().is(result.rootInstance)
+        namespace.engine().is(result.rootInstance.engine)
+        namespace.engine().manufacturer == 'Ford'
+        // Object's method names can't be accessors.
+        namespaceClass.getMethod('toString').returnType == String
+        namespaceClass.declaredFields.every { !Modifier.isPublic(it.modifiers) }
+    }
+
+    def "Facade is not generated if its name is taken by existing type"() {
+        when:
+        CompileResult compileResult = compileDirectory('facade_clash', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.size() == 1
+        compileResult.diagnostics[0].kind == Diagnostic.Kind.WARNING
+        compileResult.diagnostics[0].getMessage(Locale.ROOT).contains(
+                'io.github.paullo612.mlfx.compiler.facade_clash.CarFXML'
+        )
+
+        when:
+        Class<?> clashingClass = facadeClass('facade_clash', 'car')
+        Class<?> facade = facadeClass('facade_clash', 'engine')
+
+        then:
+        clashingClass.getMethod('describe').invoke(null) == 'Hand written'
+        !clashingClass.declaredMethods.any { it.name == 'getLoader' }
+        Class.forName('io.github.paullo612.mlfx.compiler.facade_clash.EngineViews').getMethod('getLoader')
+                .invoke(null)
+                .is(facade.getMethod('getLoader').invoke(null))
+    }
+
+    def "Facade is not generated by default"() {
+        when:
+        CompileResult compileResult = compileDirectory('load_metrics')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        facadeClass('load_metrics', 'garage')
+
+        then:
+        thrown(ClassNotFoundException)
+    }
+}
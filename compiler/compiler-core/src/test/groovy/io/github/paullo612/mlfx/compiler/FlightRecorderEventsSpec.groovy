@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.BindingUpdateEvent
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader
+import io.github.paullo612.mlfx.api.ControllerAccessorFactory
+import io.github.paullo612.mlfx.api.DocumentLoadEvent
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Car
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class FlightRecorderEventsSpec extends CompileSpec {
+
+    private static final List<String> OPTIONS =
+            List.of('-A' + CompileFXMLVisitor.FLIGHT_RECORDER_EVENTS_OPTION + '=true')
+
+    def "Document loads and binding updates are recorded"() {
+        when:
+        // NB: Own documents, as shared ones are compiled without events.
+        CompileResult compileResult = compileDirectory('flight_recorder_events', OPTIONS)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        CompiledFXMLLoader<Car, ?> loader = createCompiledFXMLLoader('flight_recorder_events', 'car')
+        Path recordingFile = Files.createTempFile('mlfx', '.jfr')
+
+        Recording recording = new Recording()
+        recording.enable(DocumentLoadEvent.NAME)
+        recording.enable(BindingUpdateEvent.NAME).withThreshold(Duration.ZERO)
+        recording.start()
+
+        ControllerAccessorFactory factory = NO_CONTROLLERS
+        Result<Car, ?> result = loader.load(factory, null, null, null)
+        result.rootInstance.model = 'Mustang GT'
+
+        recording.stop()
+        recording.dump(recordingFile)
+        recording.close()
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile)
+        Files.delete(recordingFile)
+
+        List<RecordedEvent> documentLoads = events.findAll { it.eventType.name == DocumentLoadEvent.NAME }
+        List<RecordedEvent> bindingUpdates = events.findAll { it.eventType.name == BindingUpdateEvent.NAME }
+
+        then:
+        loader.emitsFlightRecorderEvents()
+
+        documentLoads.size() == 2
+        documentLoads.find { it.getString('uri').endsWith('flight_recorder_events/car.fxml') }
+                .getInt('includeDepth') == 0
+        documentLoads.find { it.getString('uri').endsWith('flight_recorder_events/engine.fxml') }
+                .getInt('includeDepth') == 1
+
+        bindingUpdates.size() == 2
+        bindingUpdates.every { it.getString('expression') == 'car.model' }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.ImageCache
+import org.objectweb.asm.ClassReader
+import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes
+import org.objectweb.asm.Type
+
+class ImageCacheSpec extends CompileSpec {
+
+    private static final String IMAGE_N = 'javafx/scene/image/Image'
+
+    // NB: Images can't be constructed without toolkit, so, check generated bytecode instead of loading document.
+    private static List<String> collectImageInstructions(String fxmlFile) {
+        String loaderClassName = computeLoaderClassName('image_cache', fxmlFile)
+
+        byte[] bytes = new File(TEST_CLASSES_OUTPUT_PATH, loaderClassName.replace('.', '/') + '.class').bytes
+
+        List<String> instructions = []
+
+        new ClassReader(bytes).accept(new ClassVisitor(Opcodes.ASM9) {
+
+            @Override
+            MethodVisitor visitMethod(
+                    int access,
+                    String name,
+                    String descriptor,
+                    String signature,
+                    String[] exceptions) {
+                new MethodVisitor(Opcodes.ASM9) {
+
+                    @Override
+                    void visitTypeInsn(int opcode, String type) {
+                        if (opcode == Opcodes.NEW && type == IMAGE_N) {
+                            instructions.add('new')
+                        }
+                    }
+
+                    @Override
+                    void visitMethodInsn(
+                            int opcode,
+                            String owner,
+                            String methodName,
+                            String methodDescriptor,
+                            boolean isInterface) {
+                        if (owner == Type.getInternalName(ImageCache.class)) {
+                            instructions.add(methodName + methodDescriptor)
+                        }
+                    }
+                }
+            }
+        }, 0)
+
+        instructions
+    }
+
+    def "Images with constant arguments are loaded through image cache"() {
+        when:
+        CompileResult compileResult = compileDirectory('image_cache')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        List<String> instructions = collectImageInstructions('toolbar')
+
+        then:
+        instructions == [
+                'get(Ljava/lang/String;)L' + IMAGE_N + ';',
+                'get(Ljava/lang/String;DDZZ)L' + IMAGE_N + ';',
+                'new'
+        ]
+    }
+
+    def "Images are loaded in background if document says so"() {
+        when:
+        CompileResult compileResult = compileDirectory('image_cache')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        List<String> instructions = collectImageInstructions('background_toolbar')
+
+        then:
+        instructions == [
+                'get(Ljava/lang/String;Z)L' + IMAGE_N + ';',
+                'get(Ljava/lang/String;DDZZZ)L' + IMAGE_N + ';'
+        ]
+    }
+
+    def "Images are not cached without processing instruction"() {
+        when:
+        CompileResult compileResult = compileDirectory('image_cache')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        List<String> instructions = collectImageInstructions('uncached_toolbar')
+
+        then:
+        instructions == ['new', 'new']
+    }
+}
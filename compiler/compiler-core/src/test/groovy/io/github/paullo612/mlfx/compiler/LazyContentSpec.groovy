@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Garage
+import javafx.fxml.FXMLLoader
+
+class LazyContentSpec extends CompileSpec {
+
+    private static final String LAZY_CONTENT_PATH = COMPILER_PATH + 'lazy_content/'
+
+    private static Garage loadUsingFXMLLoader(String fxmlFile) {
+        new FXMLLoader(LazyContentSpec.class.getResource(LAZY_CONTENT_PATH + fxmlFile + '.fxml')).load()
+    }
+
+    def "Lazy content is constructed when trigger property becomes true"() {
+        when:
+        CompileResult compileResult = compileDirectory('lazy_content')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        Result<Garage, ?> result = loadUsingCompiledFXMLLoader('lazy_content', 'garage', CONTROLLERS)
+        Garage garage = result.rootInstance
+
+        then:
+        garage.car == null
+        garage.spareEngine == null
+        result.controller.car == null
+        result.controller.spareEngine == null
+
+        when:
+        garage.open = true
+
+        Garage expected = loadUsingFXMLLoader('garage')
+        expected.open = true
+
+        then:
+        garage == expected
+        result.controller.car.is(garage.car)
+        result.controller.spareEngine.is(garage.spareEngine)
+
+        when:
+        def car = garage.car
+        garage.open = false
+        garage.open = true
+
+        then:
+        garage.car.is(car)
+    }
+
+    def "Lazy content is constructed on load if trigger property is already true"() {
+        when:
+        CompileResult compileResult = compileDirectory('lazy_content')
+
+        then:
+        Boolean.TRUE == compileResult.result
+
+        when:
+        Result<Garage, ?> result = loadUsingCompiledFXMLLoader('lazy_content', 'open_garage', CONTROLLERS)
+
+        then:
+        result.rootInstance == loadUsingFXMLLoader('open_garage')
+        result.controller.carOnInitialize.is(result.rootInstance.car)
+    }
+
+    def "Lazy content elements cannot be referenced from outside"() {
+        when:
+        CompileResult compileResult = compileDirectory('lazy_content_reference')
+
+        then:
+        Boolean.FALSE == compileResult.result
+        compileResult.diagnostics.any {
+            it.getMessage(null).contains('"engine" is declared inside of lazy content')
+        }
+    }
+
+    def "Lazy content cannot reference elements declared outside"() {
+        when:
+        CompileResult compileResult = compileDirectory('lazy_content_outer_reference')
+
+        then:
+        Boolean.FALSE == compileResult.result
+        compileResult.diagnostics.any {
+            it.getMessage(null).contains('Lazy content can only reference elements declared inside of it')
+        }
+    }
+}
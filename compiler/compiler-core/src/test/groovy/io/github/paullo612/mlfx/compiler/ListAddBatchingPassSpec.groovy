@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.micronaut.inject.visitor.VisitorContext
+import spock.lang.Specification
+
+import javax.xml.stream.XMLInputFactory
+
+class ListAddBatchingPassSpec extends Specification {
+
+    private static Map<String, Boolean> runPass(String fxml) {
+        FXMLDocument document = FXMLDocument.parse(
+                XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(fxml))
+        )
+
+        new ListAddBatchingPass().run(document, Stub(VisitorContext))
+
+        Map<String, Boolean> result = [:]
+        Closure collect
+        collect = { FXMLDocument.Element element ->
+            result[element.localName] = element.listAddBatchable
+            element.children.findAll { it instanceof FXMLDocument.Element }.each(collect)
+        }
+        document.nodes.findAll { it instanceof FXMLDocument.Element }.each(collect)
+
+        result
+    }
+
+    def "Elements nothing inside of which can observe siblings are batchable"() {
+        expect:
+        runPass('''<Convoy xmlns:fx="http://javafx.com/fxml/1">
+    <Car model="Mustang"/>
+    <Car model="Beetle"/>
+</Convoy>''') == [Convoy: true, Car: true]
+    }
+
+    def "Elements containing references, copies, scripts or expressions are not batchable"() {
+        expect:
+        runPass("""<Convoy xmlns:fx="http://javafx.com/fxml/1">
+    <Garage>
+        ${observer}
+    </Garage>
+    <Car model="Beetle"/>
+</Convoy>""").subMap(['Convoy', 'Garage', 'Car']) == [Convoy: false, Garage: false, Car: true]
+
+        where:
+        observer << [
+                '<fx:reference source="car"/>',
+                '<fx:copy source="car"/>',
+                '<fx:script>var a = 1;</fx:script>',
+                '<Car model="${car.model}"/>',
+                '<Car><model>${car.model}</model></Car>'
+        ]
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.LiveRegistry
+import io.github.paullo612.mlfx.api.LiveRegistryMXBean
+import io.github.paullo612.mlfx.compiler.test.Car
+
+import javax.management.JMX
+import javax.management.ObjectName
+import java.lang.management.ManagementFactory
+
+class LiveRegistrySpec extends CompileSpec {
+
+    def cleanup() {
+        LiveRegistry.unregister()
+    }
+
+    def "Live documents and bindings are tracked till they are collected"() {
+        when:
+        CompileResult compileResult = compileDirectory('live_registry')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        LiveRegistry.register()
+
+        LiveRegistryMXBean registry = JMX.newMXBeanProxy(
+                ManagementFactory.platformMBeanServer,
+                new ObjectName(LiveRegistry.OBJECT_NAME),
+                LiveRegistryMXBean.class
+        )
+
+        List<Car> cars = (1..2).collect {
+            loadUsingCompiledFXMLLoader('test', 'car', NO_CONTROLLERS).rootInstance as Car
+        }
+
+        then:
+        registry.liveDocumentCount == 4
+        registry.liveDocuments.find { it.key.endsWith('test/car.fxml') }.value == 2
+        registry.liveDocuments.find { it.key.endsWith('test/engine.fxml') }.value == 2
+        registry.liveBindingCount == 2
+        registry.liveBindings.keySet().every { it.startsWith(computeLoaderClassName('test', 'car') + '$') }
+        registry.listenerCount == 2
+
+        when:
+        cars.clear()
+
+        for (int i = 0; i < 100 && registry.liveDocumentCount > 0; ++i) {
+            System.gc()
+            Thread.sleep(10)
+        }
+
+        then:
+        registry.liveDocumentCount == 0
+        registry.liveBindingCount == 0
+        registry.listenerCount == 0
+
+        when:
+        LiveRegistry.unregister()
+
+        then:
+        !LiveRegistry.registered
+        !ManagementFactory.platformMBeanServer.isRegistered(new ObjectName(LiveRegistry.OBJECT_NAME))
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader
+import io.github.paullo612.mlfx.api.LoadListener
+import io.github.paullo612.mlfx.api.LoadMetrics
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Garage
+
+class LoadMetricsSpec extends CompileSpec {
+
+    private static final List<String> INLINE_INCLUDES_OPTIONS =
+            List.of('-A' + CompileFXMLVisitor.INLINE_INCLUDES_OPTION + '=true')
+
+    def cleanup() {
+        CompiledFXMLLoader.loadListener = LoadListener.NO_OP
+    }
+
+    def "Document loads are reported to load listener (#directory)"() {
+        when:
+        CompileResult compileResult = compileDirectory(directory, options)
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        List<LoadMetrics> reported = []
+        CompiledFXMLLoader.loadListener = { reported.add(it) } as LoadListener
+
+        Result<Garage, ?> result = loadUsingCompiledFXMLLoader(directory, 'garage', CONTROLLERS)
+
+        then:
+        result.controller.initialized
+        result.controller.car.is(result.rootInstance.car)
+
+        reported.size() == 1
+        reported[0].URI.path.endsWith(directory + '/garage.fxml')
+        reported[0].totalNanos > 0
+        reported[0].controllerCreationNanos > 0
+        reported[0].controllerAccessCount == 2
+
+        reported[0].includes.size() == 1
+        reported[0].includes[0].URI.path.endsWith(includesDirectory + '/car.fxml')
+        reported[0].includes[0].totalNanos <= reported[0].totalNanos
+        reported[0].includes[0].controllerCreationNanos == 0
+        reported[0].includes[0].controllerAccessCount == 0
+
+        reported[0].includes[0].includes.size() == 1
+        reported[0].includes[0].includes[0].URI.path.endsWith(includesDirectory + '/engine.fxml')
+        reported[0].includes[0].includes[0].includes.isEmpty()
+
+        when:
+        CompiledFXMLLoader.loadListener = LoadListener.NO_OP
+        loadUsingCompiledFXMLLoader(directory, 'garage', CONTROLLERS)
+
+        then:
+        reported.size() == 1
+
+        where:
+        directory             | includesDirectory     | options
+        'load_metrics'        | 'test'                | List.of()
+        // NB: Separate documents, as shared ones are compiled without inlined includes, and classes compiled by
+        //  previous iteration are already loaded.
+        'load_metrics_inline' | 'load_metrics_inline' | INLINE_INCLUDES_OPTIONS
+    }
+}
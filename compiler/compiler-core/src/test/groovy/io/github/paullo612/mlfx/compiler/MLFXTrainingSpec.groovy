@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.CompiledFXMLLoader
+import io.github.paullo612.mlfx.api.MLFXTraining
+
+class MLFXTrainingSpec extends CompileSpec {
+
+    private static final String TRAINING_PATH = COMPILER_PATH + 'training/'
+
+    private static String internalName(String className) {
+        className.replace('.', '/')
+    }
+
+    def "Training run reports loaded generated and controller classes"() {
+        when:
+        CompileResult compileResult = compileDirectory('training')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        Map<URI, CompiledFXMLLoader<?, ?>> loaders = ['workshop', 'car']
+                .collect { createCompiledFXMLLoader('training', it) }
+                .collectEntries { [(it.URI): it] }
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        List<String> classNames = MLFXTraining.loadAll(loaders, CONTROLLERS, null, new PrintStream(output, true))
+
+        then:
+        classNames == [
+                internalName(computeLoaderClassName('training', 'car')),
+                internalName(computeLoaderClassName('training', 'workshop')),
+                internalName(computeLoaderClassName('training', 'workshop') + '$Expression0'),
+                internalName(TRAINING_PATH.substring(1).replace('/', '.') + 'WorkshopController')
+        ]
+
+        and:
+        // NB: Document with external root can't be loaded standalone, but its loader is still reported.
+        output.toString().startsWith('Skipping ' + loaders.keySet().find { it.path.endsWith('/car.fxml') })
+    }
+}
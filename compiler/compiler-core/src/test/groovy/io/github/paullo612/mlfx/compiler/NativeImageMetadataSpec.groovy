@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+class NativeImageMetadataSpec extends CompileSpec {
+
+    private static final String PACKAGE_NAME = 'io.github.paullo612.mlfx.compiler.native_image'
+    private static final String METADATA_PATH =
+            'META-INF/native-image/io.github.paullo612.mlfx/' + PACKAGE_NAME + '.NativeImage/'
+
+    def "Native image metadata is written for compiled documents"() {
+        when:
+        CompileResult compileResult = compileDirectory(
+                'native_image',
+                List.of('-A' + CompileFXMLVisitor.NATIVE_IMAGE_METADATA_OPTION + '=true')
+        )
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        String metadata = new File(TEST_CLASSES_OUTPUT_PATH, METADATA_PATH + 'reachability-metadata.json').text
+        String properties = new File(TEST_CLASSES_OUTPUT_PATH, METADATA_PATH + 'native-image.properties').text
+
+        then:
+        metadata.contains('"type": "' + CompileFXMLVisitor.computeClassName(PACKAGE_NAME + '.panel') + '"')
+        metadata.contains('"type": "' + CompileFXMLVisitor.computeClassName(PACKAGE_NAME + '.engine') + '"')
+        metadata.contains('"glob": "META-INF/services/io.github.paullo612.mlfx.api.CompiledFXMLLoader"')
+        metadata.contains('"glob": "io/github/paullo612/mlfx/compiler/native_image/panel.fxml"')
+        metadata.contains('"glob": "io/github/paullo612/mlfx/compiler/native_image/engine.fxml"')
+        metadata.contains('"glob": "io/github/paullo612/mlfx/compiler/native_image/panel.css"')
+        metadata.contains('"name": "' + PACKAGE_NAME + '.engine"')
+        metadata.contains('"name": "' + PACKAGE_NAME + '.labels"')
+        properties.contains('--initialize-at-build-time=' + PACKAGE_NAME + '.labels')
+    }
+
+    def "Native image metadata is not written by default"() {
+        given:
+        new File(TEST_CLASSES_OUTPUT_PATH, METADATA_PATH).deleteDir()
+
+        when:
+        CompileResult compileResult = compileDirectory('native_image', List.of())
+
+        then:
+        Boolean.TRUE == compileResult.result
+        !new File(TEST_CLASSES_OUTPUT_PATH, METADATA_PATH).exists()
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.micronaut.inject.visitor.VisitorContext
+import spock.lang.Specification
+
+import javax.xml.stream.XMLInputFactory
+
+class ParallelIncludesPassSpec extends Specification {
+
+    private static FXMLDocument runPass(String fxml) {
+        FXMLDocument document = FXMLDocument.parse(
+                XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(fxml))
+        )
+
+        new ParallelIncludesPass().run(document, Stub(VisitorContext))
+
+        document
+    }
+
+    private static List<String> collectParallelIncludes(FXMLDocument document) {
+        List<String> result = []
+        Closure collect
+        collect = { FXMLDocument.Element element ->
+            if (element.parallelInclude) {
+                result << element.findAttribute('', 'source').get().value
+            }
+            element.children.findAll { it instanceof FXMLDocument.Element }.each(collect)
+        }
+        document.nodes.findAll { it instanceof FXMLDocument.Element }.each(collect)
+
+        result
+    }
+
+    def "Includes outside of lazy content are marked"() {
+        when:
+        FXMLDocument document = runPass('''<?mlfxParallelIncludes?>
+<Garage xmlns:fx="http://javafx.com/fxml/1">
+    <car>
+        <fx:include source="car.fxml"/>
+    </car>
+    <spareEngine>
+        <?mlfxLazy open?>
+        <fx:include source="engine.fxml"/>
+    </spareEngine>
+    <fx:define>
+        <fx:include source="engine.fxml"/>
+    </fx:define>
+</Garage>''')
+
+        then:
+        collectParallelIncludes(document) == ['car.fxml', 'engine.fxml']
+        document.parallelIncludeCount == 2
+    }
+
+    def "Nothing is marked without processing instruction"() {
+        when:
+        FXMLDocument document = runPass('''<Garage xmlns:fx="http://javafx.com/fxml/1">
+    <car>
+        <fx:include source="car.fxml"/>
+    </car>
+</Garage>''')
+
+        then:
+        collectParallelIncludes(document).isEmpty()
+        document.parallelIncludeCount == 0
+    }
+}
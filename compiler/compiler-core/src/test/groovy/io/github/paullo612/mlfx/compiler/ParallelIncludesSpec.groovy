@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Garage
+import javafx.fxml.FXMLLoader
+
+class ParallelIncludesSpec extends CompileSpec {
+
+    private static final String PARALLEL_INCLUDES_PATH = COMPILER_PATH + 'parallel_includes/'
+
+    private static Garage loadUsingFXMLLoader(String fxmlFile) {
+        new FXMLLoader(ParallelIncludesSpec.class.getResource(PARALLEL_INCLUDES_PATH + fxmlFile + '.fxml')).load()
+    }
+
+    def "Included documents are loaded ahead of time"() {
+        when:
+        CompileResult compileResult = compileDirectory('parallel_includes')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        Result<Garage, ?> result = loadUsingCompiledFXMLLoader('parallel_includes', 'garage', CONTROLLERS)
+        Garage garage = result.rootInstance
+
+        then:
+        result.controller.car.is(garage.car)
+        result.controller.carController.engine.is(garage.car.engine)
+        garage.spareEngine == null
+
+        when:
+        garage.open = true
+
+        Garage expected = loadUsingFXMLLoader('garage')
+        expected.open = true
+
+        then:
+        garage == expected
+        result.controller.spareEngine.is(garage.spareEngine)
+    }
+
+    def "Parallel includes processing instruction must precede root element"() {
+        when:
+        CompileResult compileResult = compileDirectory('parallel_includes_misplaced')
+
+        then:
+        Boolean.FALSE == compileResult.result
+        compileResult.diagnostics.any {
+            it.getMessage(null).contains('mlfxParallelIncludes processing instruction must precede root element')
+        }
+    }
+}
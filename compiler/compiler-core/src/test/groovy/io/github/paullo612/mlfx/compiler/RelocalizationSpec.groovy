@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.CompiledLoadException
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.compiler.test.Garage
+import javafx.fxml.FXMLLoader
+
+class RelocalizationSpec extends CompileSpec {
+
+    private static final String RELOCALIZATION_PATH = COMPILER_PATH + 'relocalization/'
+
+    private static class Bundle extends ListResourceBundle {
+
+        private final Object[][] contents
+
+        Bundle(String carName, String manufacturerName) {
+            this.contents = [['car.name', carName], ['engine.manufacturer.name', manufacturerName]] as Object[][]
+        }
+
+        @Override
+        protected Object[][] getContents() {
+            contents
+        }
+    }
+
+    private static Object loadUsingFXMLLoader(ResourceBundle resourceBundle) {
+        new FXMLLoader(RelocalizationSpec.class.getResource(RELOCALIZATION_PATH + 'car.fxml'), resourceBundle).load()
+    }
+
+    def "Relocalized document matches document loaded with new resource bundle"() {
+        when:
+        CompileResult compileResult = compileDirectory('relocalization')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        ResourceBundle english = new Bundle('Mustang', 'Ford')
+        ResourceBundle german = new Bundle('Kaefer', 'Volkswagen')
+
+        Result<?, ?> result = loadUsingCompiledFXMLLoader('relocalization', 'car', NO_CONTROLLERS, english)
+        Object root = result.rootInstance
+
+        result.relocalize(german)
+
+        then:
+        result.rootInstance.is(root)
+        root == loadUsingFXMLLoader(german)
+        root != loadUsingFXMLLoader(english)
+
+        when:
+        result.relocalize(null)
+
+        then:
+        thrown(CompiledLoadException)
+    }
+
+    def "Lazy content is constructed with and relocalized to latest resource bundle"() {
+        when:
+        CompileResult compileResult = compileDirectory('relocalization')
+
+        then:
+        Boolean.TRUE == compileResult.result
+        compileResult.diagnostics.isEmpty()
+
+        when:
+        Result<?, ?> result =
+                loadUsingCompiledFXMLLoader('relocalization', 'garage', NO_CONTROLLERS, new Bundle('Mustang', 'Ford'))
+        Garage garage = (Garage) result.rootInstance
+
+        result.relocalize(new Bundle('Kaefer', 'Volkswagen'))
+
+        then:
+        garage.car == null
+        garage.spareEngine == null
+
+        when:
+        garage.open = true
+
+        then:
+        garage.car.model == 'Kaefer'
+        garage.spareEngine.manufacturer == 'Volkswagen'
+
+        when:
+        result.relocalize(new Bundle('Mustang', 'Ford'))
+
+        then:
+        garage.car.model == 'Mustang'
+        garage.spareEngine.manufacturer == 'Ford'
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.ResourceBundleCache
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+
+class ResourceBundleCacheSpec extends Specification {
+
+    private static class Bundle extends ListResourceBundle {
+
+        @Override
+        protected Object[][] getContents() {
+            [] as Object[][]
+        }
+    }
+
+    def "Bundles are cached per locale"() {
+        given:
+        ResourceBundleCache cache = new ResourceBundleCache()
+        ResourceBundle english = new Bundle()
+        ResourceBundle german = new Bundle()
+
+        when:
+        cache.put(Locale.ENGLISH, ResourceBundleCache.generation(), english)
+        cache.put(Locale.GERMAN, ResourceBundleCache.generation(), german)
+
+        then:
+        cache.get(Locale.ENGLISH).is(english)
+        cache.get(Locale.GERMAN).is(german)
+        cache.get(Locale.FRENCH) == null
+    }
+
+    def "Invalidation drops bundles from all caches"() {
+        given:
+        ResourceBundleCache first = new ResourceBundleCache()
+        ResourceBundleCache second = new ResourceBundleCache()
+        first.put(Locale.ENGLISH, ResourceBundleCache.generation(), new Bundle())
+        second.put(Locale.ENGLISH, ResourceBundleCache.generation(), new Bundle())
+
+        when:
+        ResourceBundleCache.invalidateAll()
+
+        then:
+        first.get(Locale.ENGLISH) == null
+        second.get(Locale.ENGLISH) == null
+    }
+
+    def "Bundle cached after invalidation is kept"() {
+        given:
+        ResourceBundleCache cache = new ResourceBundleCache()
+        ResourceBundle stale = new Bundle()
+        ResourceBundle fresh = new Bundle()
+        cache.put(Locale.ENGLISH, ResourceBundleCache.generation(), stale)
+
+        when:
+        ResourceBundleCache.invalidateAll()
+
+        then:
+        cache.get(Locale.ENGLISH) == null
+
+        when:
+        cache.put(Locale.ENGLISH, ResourceBundleCache.generation(), fresh)
+
+        then:
+        cache.get(Locale.ENGLISH).is(fresh)
+        cache.get(Locale.ENGLISH).is(fresh)
+    }
+
+    def "Bundle looked up before invalidation is not cached"() {
+        given:
+        ResourceBundleCache cache = new ResourceBundleCache()
+        int generation = ResourceBundleCache.generation()
+
+        when:
+        ResourceBundleCache.invalidateAll()
+        ResourceBundle stale = new Bundle()
+
+        then:
+        cache.put(Locale.ENGLISH, generation, stale).is(stale)
+        cache.get(Locale.ENGLISH) == null
+    }
+
+    def "Concurrent lookups after invalidation keep one of freshly cached bundles"() {
+        given:
+        ResourceBundleCache cache = new ResourceBundleCache()
+        cache.put(Locale.ENGLISH, ResourceBundleCache.generation(), new Bundle())
+        Set<ResourceBundle> fresh = Collections.newSetFromMap(new ConcurrentHashMap<>())
+
+        when:
+        ResourceBundleCache.invalidateAll()
+
+        List<Thread> threads = (0..<8).collect {
+            Thread.start {
+                for (int i = 0; i < 1000; ++i) {
+                    if (cache.get(Locale.ENGLISH) == null) {
+                        int generation = ResourceBundleCache.generation()
+                        ResourceBundle bundle = new Bundle()
+                        fresh.add(bundle)
+                        cache.put(Locale.ENGLISH, generation, bundle)
+                    }
+                }
+            }
+        }
+        threads.each { it.join() }
+
+        then:
+        fresh.contains(cache.get(Locale.ENGLISH))
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.CompiledResourceBundle
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ResourceBundleCompilerSpec extends Specification {
+
+    private static final String BASE_NAME = 'io.github.paullo612.mlfx.compiler.large_bundle.labels'
+    private static final int KEY_COUNT = 10000
+
+    private static class BundleClassLoader extends ClassLoader implements FXMLCompiler.Delegate {
+
+        private final Map<String, ByteArrayOutputStream> classes = [:]
+
+        BundleClassLoader() {
+            super(BundleClassLoader.class.getClassLoader())
+        }
+
+        @Override
+        OutputStream createClass(String name) throws IOException {
+            classes.computeIfAbsent(name, __ -> new ByteArrayOutputStream())
+        }
+
+        @Override
+        OutputStream createResource(String name) throws IOException {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        void warn(String message) {
+            throw new IllegalStateException(message)
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            ByteArrayOutputStream data = classes.get(name)
+
+            if (data == null) {
+                throw new ClassNotFoundException(name)
+            }
+
+            byte[] bytes = data.toByteArray()
+            defineClass(name, bytes, 0, bytes.length)
+        }
+    }
+
+    private static void writeProperties(Path path, String valuePrefix, int count) {
+        Files.createDirectories(path.parent)
+
+        Files.newBufferedWriter(path, StandardCharsets.UTF_8).withCloseable { writer ->
+            for (int i = 0; i < count; ++i) {
+                writer.write("key.${i}=${valuePrefix} ${i}\n")
+            }
+        }
+    }
+
+    def "Bundle exceeding method size limit when filled inline compiles"() {
+        given:
+        Path resources = Files.createTempDirectory('mlfx')
+        Path directory = resources.resolve(BASE_NAME.substring(0, BASE_NAME.lastIndexOf('.')).replace('.', '/'))
+
+        writeProperties(directory.resolve('labels.properties'), 'Value', KEY_COUNT)
+        writeProperties(directory.resolve('labels_xx.properties'), 'Wert', KEY_COUNT / 2 as int)
+
+        BundleClassLoader classLoader = new BundleClassLoader()
+
+        when:
+        ResourceBundleCompiler.Family family = ResourceBundleCompiler.read(resources, BASE_NAME)
+        ResourceBundleCompiler.render(family, classLoader)
+
+        ResourceBundle bundle = ResourceBundle.getBundle(BASE_NAME, new Locale('xx'), classLoader)
+
+        then:
+        bundle instanceof CompiledResourceBundle
+        bundle.getString('key.0') == 'Wert 0'
+        bundle.getString("key.${KEY_COUNT - 1}") == "Value ${KEY_COUNT - 1}"
+        bundle.keySet().size() == KEY_COUNT
+        (bundle as CompiledResourceBundle).findString(family.indexOf('key.' + (KEY_COUNT / 2 as int))) ==
+                'Value ' + (KEY_COUNT / 2 as int)
+
+        cleanup:
+        resources?.toFile()?.deleteDir()
+    }
+}
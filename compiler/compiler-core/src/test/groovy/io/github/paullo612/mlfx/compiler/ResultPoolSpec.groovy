@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.github.paullo612.mlfx.api.Result
+import io.github.paullo612.mlfx.api.ResultPool
+import io.github.paullo612.mlfx.compiler.result_pool.NotificationController
+import io.github.paullo612.mlfx.compiler.test.Car
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ResultPoolSpec extends CompileSpec {
+
+    // Runs refills when asked to, so, pool state can be checked in between.
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>()
+
+        @Override
+        void execute(Runnable command) {
+            tasks.add(command)
+        }
+
+        int runAll() {
+            int count = 0
+
+            for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+                task.run()
+                ++count
+            }
+
+            count
+        }
+    }
+
+    private static ResultPool<Car, NotificationController> createPool(int size, Executor executor) {
+        new ResultPool<>(createCompiledFXMLLoader('result_pool', 'notification'), CONTROLLERS, null, size, executor)
+    }
+
+    def setup() {
+        CompileResult compileResult = compileDirectory('result_pool')
+
+        assert Boolean.TRUE == compileResult.result
+        assert compileResult.diagnostics.isEmpty()
+    }
+
+    def cleanup() {
+        NotificationController.failing = false
+    }
+
+    def "Pool is refilled on executor and reuses released documents"() {
+        given:
+        ManualExecutor executor = new ManualExecutor()
+        ResultPool<Car, NotificationController> pool = createPool(2, executor)
+
+        when:
+        Result<Car, NotificationController> result = pool.acquire()
+
+        then:
+        result.rootInstance.model == 'Mustang'
+        pool.size() == 0
+
+        when:
+        executor.runAll()
+
+        then:
+        pool.size() == 2
+
+        when:
+        pool.acquire()
+
+        then:
+        pool.size() == 1
+        executor.runAll() == 1
+        pool.size() == 2
+
+        and:
+        !pool.release(result)
+        result.controller.resetCount == 0
+
+        when:
+        pool.clear()
+
+        then:
+        pool.size() == 0
+        pool.release(result)
+        result.controller.resetCount == 1
+        pool.acquire().is(result)
+    }
+
+    def "Refill stops on load failure and acquire reports it"() {
+        given:
+        ManualExecutor executor = new ManualExecutor()
+        ResultPool<Car, NotificationController> pool = createPool(2, executor)
+
+        when:
+        NotificationController.failing = true
+        pool.prewarm()
+
+        then:
+        executor.runAll() == 1
+        pool.size() == 0
+
+        when:
+        pool.acquire()
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        NotificationController.failing = false
+        pool.prewarm()
+        executor.runAll()
+
+        then:
+        pool.size() == 2
+    }
+
+    def "Pool is full once concurrent acquires and refills settle"() {
+        given:
+        ExecutorService executor = Executors.newSingleThreadExecutor()
+        ResultPool<Car, NotificationController> pool = createPool(4, executor)
+        int threadCount = 4
+        CountDownLatch start = new CountDownLatch(1)
+
+        List<Thread> threads = (1..threadCount).collect {
+            Thread.start {
+                start.await()
+
+                for (int i = 0; i < 200; ++i) {
+                    pool.acquire()
+                }
+            }
+        }
+
+        when:
+        start.countDown()
+        threads*.join()
+
+        // NB: Refill that is in progress completes before executor terminates.
+        executor.shutdown()
+
+        then:
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+        pool.size() == pool.capacity
+    }
+}
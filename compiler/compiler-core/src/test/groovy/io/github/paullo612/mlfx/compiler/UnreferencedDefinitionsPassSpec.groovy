@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler
+
+import io.micronaut.inject.ast.ClassElement
+import io.micronaut.inject.visitor.VisitorContext
+import spock.lang.Specification
+
+import javax.xml.stream.XMLInputFactory
+
+class UnreferencedDefinitionsPassSpec extends Specification {
+
+    private List<String> runPass(String fxml) {
+        FXMLDocument document = FXMLDocument.parse(
+                XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(fxml))
+        )
+        VisitorContext context = Stub(VisitorContext) {
+            getClassElement(_ as String) >> { String name ->
+                try {
+                    Optional.of(ClassElement.of(Class.forName(name)))
+                } catch (ClassNotFoundException ignored) {
+                    Optional.empty()
+                }
+            }
+        }
+
+        new UnreferencedDefinitionsPass().run(document, context)
+
+        FXMLDocument.Element root = document.nodes.find { it instanceof FXMLDocument.Element }
+        FXMLDocument.Element define = root.children.find { it instanceof FXMLDocument.Element }
+
+        define.children
+                .findAll { it instanceof FXMLDocument.Element }
+                .collect { (it as FXMLDocument.Element).localName }
+    }
+
+    def "Unreferenced literal values are removed"() {
+        expect:
+        runPass('''<?import java.lang.Integer?>
+<?import java.lang.String?>
+<Car xmlns:fx="http://javafx.com/javafx/1">
+    <fx:define>
+        <String fx:value="Never referenced"/>
+        <Integer fx:value="42"/>
+        <java.lang.Double fx:value="1.5"/>
+    </fx:define>
+</Car>''').isEmpty()
+    }
+
+    def "Literal values of wildcard imported types are removed"() {
+        expect:
+        runPass('''<?import java.lang.*?>
+<Car xmlns:fx="http://javafx.com/javafx/1">
+    <fx:define>
+        <String fx:value="Never referenced"/>
+        <Long fx:value="42"/>
+    </fx:define>
+</Car>''').isEmpty()
+    }
+
+    def "Definitions that may have side effects are kept"() {
+        expect:
+        runPass('''<?import io.github.paullo612.mlfx.compiler.test.Engine?>
+<?import java.lang.Integer?>
+<?import java.lang.String?>
+<Car xmlns:fx="http://javafx.com/javafx/1">
+    <fx:define>
+        <Engine manufacturer="Ford"/>
+        <Integer fx:value="Not a number"/>
+        <Long fx:value="42"/>
+        <String fx:id="model" fx:value="Ford mustang"/>
+    </fx:define>
+</Car>''') == ['Engine', 'Integer', 'Long', 'String']
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler.test;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.util.Objects;
+
+public class Garage {
+
+    private final BooleanProperty open = new SimpleBooleanProperty();
+
+    private final ObjectProperty<Car> car = new SimpleObjectProperty<>();
+
+    private final ObjectProperty<Engine> spareEngine = new SimpleObjectProperty<>();
+
+    public boolean isOpen() {
+        return open.get();
+    }
+
+    public void setOpen(boolean open) {
+        this.open.set(open);
+    }
+
+    public BooleanProperty openProperty() {
+        return open;
+    }
+
+    public Car getCar() {
+        return car.get();
+    }
+
+    public void setCar(Car car) {
+        this.car.set(car);
+    }
+
+    public ObjectProperty<Car> carProperty() {
+        return car;
+    }
+
+    public Engine getSpareEngine() {
+        return spareEngine.get();
+    }
+
+    public void setSpareEngine(Engine spareEngine) {
+        this.spareEngine.set(spareEngine);
+    }
+
+    public ObjectProperty<Engine> spareEngineProperty() {
+        return spareEngine;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Garage)) {
+            return false;
+        }
+
+        Garage other = (Garage) obj;
+
+        return open.get() == other.open.get()
+                && Objects.equals(car.get(), other.car.get())
+                && Objects.equals(spareEngine.get(), other.spareEngine.get());
+    }
+
+    @Override
+    public String toString() {
+        return "Garage {\n  open = " + open.get() + ",\n  car = " + car.get() + ",\n  spareEngine = "
+                + spareEngine.get() + "}";
+    }
+}
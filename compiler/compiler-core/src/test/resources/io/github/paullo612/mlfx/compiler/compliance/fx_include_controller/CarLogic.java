@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler.compliance.fx_include_controller;
+
+import io.github.paullo612.mlfx.compiler.test.Engine;
+import javafx.fxml.FXML;
+
+import java.util.Objects;
+
+public class CarLogic {
+
+    @FXML
+    private Engine engine;
+
+    @FXML
+    private EngineLogic engineController;
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof CarLogic)) {
+            return false;
+        }
+
+        CarLogic other = (CarLogic) obj;
+
+        return Objects.equals(engine, other.engine) && Objects.equals(engineController, other.engineController);
+    }
+
+    private String dumpFields() {
+        return "  engine = " + engine + ",\n  engineController = " + engineController;
+    }
+
+    @Override
+    public String toString() {
+        return "CarLogic {\n" + dumpFields() + '}';
+    }
+}
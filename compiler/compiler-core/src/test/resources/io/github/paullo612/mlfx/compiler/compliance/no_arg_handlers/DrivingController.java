@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler.compliance.no_arg_handlers;
+
+import io.github.paullo612.mlfx.compiler.test.Car;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+
+import java.util.Objects;
+
+public class DrivingController {
+
+    @FXML
+    private Car car;
+
+    private boolean driveCalled;
+
+    public void initialize() {
+        car.getOnDrive().handle(new ActionEvent());
+    }
+
+    public void drive() {
+        driveCalled = true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof DrivingController)) {
+            return false;
+        }
+
+        DrivingController other = (DrivingController) obj;
+
+        return Objects.equals(car, other.car) && driveCalled == other.driveCalled;
+    }
+
+    @Override
+    public String toString() {
+        return "DrivingController {\n  car = " + car + ",\n  driveCalled = " + driveCalled + '}';
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Paullo612
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.paullo612.mlfx.compiler.compliance.no_arg_handlers;
+
+import io.github.paullo612.mlfx.compiler.test.Car;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+
+import java.util.Objects;
+
+public class ParkingController {
+
+    @FXML
+    private Car car;
+
+    private boolean parkCalled;
+
+    public void initialize() {
+        car.getOnDrive().handle(new ActionEvent());
+    }
+
+    @FXML
+    private void park() {
+        parkCalled = true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ParkingController)) {
+            return false;
+        }
+
+        ParkingController other = (ParkingController) obj;
+
+        return Objects.equals(car, other.car) && parkCalled == other.parkCalled;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingController {\n  car = " + car + ",\n  parkCalled = " + parkCalled + '}';
+    }
+}
@@ -49,6 +49,11 @@ public class CompileFXMLMicronautVisitor implements TypeElementVisitor<Generated
             return;
         }
 
+        if (!element.isAssignable(CompiledFXMLLoader.class)) {
+            // Not interested in facades, namespaces and compiled resource bundles either.
+            return;
+        }
+
         services.add(element);
     }
 